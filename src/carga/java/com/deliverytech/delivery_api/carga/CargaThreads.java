@@ -0,0 +1,333 @@
+package com.deliverytech.delivery_api.carga;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Teste de carga HTTP que compara o Tomcat em platform threads e em virtual threads
+ * (spring.threads.virtual.enabled) com o mesmo número de conexões simultâneas.
+ *
+ * Para cada modo, sobe o jar da aplicação em um processo separado (banco em memória, log em
+ * WARN), autentica, cria os pedidos consultados e mantém N conexões em laço fechado contra o
+ * endpoint: cada conexão envia a próxima requisição assim que recebe a resposta. As
+ * requisições do aquecimento (com a entrada gradual das conexões) ficam fora da medição.
+ * Reporta vazão, latências p50/p99/máxima e erros; o resultado vai para target/carga-resultado.json.
+ *
+ * Em laço fechado a fila do servidor segura o cliente (coordinated omission), então o p99
+ * subestima a espera de um tráfego de chegada constante: compare os modos entre si, na mesma
+ * máquina, e não com metas absolutas. Cliente e servidor dividem a CPU; para números de
+ * produção rode o cliente em outra máquina com url=http://servidor:8080.
+ *
+ * Parâmetros nome=valor (padrões em ler): jar, modos, conexoes, aquecimento e duracao (segundos),
+ * pedidos, porta, caminho ({id} = pedido criado), url, jvm (opções do processo da aplicação), saida.
+ *
+ * mvn -Pcarga package -DskipTests exec:exec
+ * mvn -Pcarga package -DskipTests exec:exec -Dcarga.args="conexoes=2000 duracao=60 modos=plataforma,virtual"
+ */
+public final class CargaThreads {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private record Configuracao(Path jar, List<String> modos, int conexoes, int aquecimentoSegundos,
+                                int duracaoSegundos, int pedidos, int porta, String caminho, String url,
+                                String jvm, Path saida) {
+    }
+
+    private record Resultado(String modo, int conexoes, long requisicoes, long erros, double vazao,
+                             double p50Ms, double p99Ms, double maximaMs) {
+    }
+
+    private CargaThreads() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Configuracao config = ler(args);
+        List<Resultado> resultados = new ArrayList<>();
+        if (config.url() != null) {
+            // Servidor já em execução (outra máquina, outro ajuste): mede só ele
+            resultados.add(medirServidor("externo", config.url(), config));
+        } else {
+            for (String modo : config.modos()) {
+                resultados.add(medirModo(modo, config));
+            }
+        }
+        imprimir(resultados);
+        gravar(resultados, config);
+    }
+
+    private static Resultado medirModo(String modo, Configuracao config) throws Exception {
+        boolean virtual = switch (modo) {
+            case "plataforma" -> false;
+            case "virtual" -> true;
+            default -> throw new IllegalArgumentException("Modo desconhecido: " + modo + " (plataforma ou virtual)");
+        };
+        List<String> comando = new ArrayList<>();
+        comando.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        comando.addAll(Arrays.asList(config.jvm().trim().split("\\s+")));
+        comando.addAll(List.of("-jar", config.jar().toString(),
+                "--server.port=" + config.porta(),
+                "--spring.threads.virtual.enabled=" + virtual,
+                "--spring.datasource.url=jdbc:h2:mem:carga;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.show-sql=false",
+                // application.properties liga DEBUG em várias categorias; sob carga o log dominaria a medição
+                "--logging.level.root=WARN",
+                "--logging.level.web=WARN",
+                "--logging.level.org.springframework.web=WARN",
+                "--logging.level.org.springframework.security=WARN",
+                "--logging.level.org.springframework.jdbc.datasource.init=WARN",
+                "--logging.level.io.micrometer=WARN",
+                "--logging.level.com.deliverytech=WARN",
+                "--captura.respostas.taxa-amostragem=0",
+                "--outbox.despachante.ativo=false",
+                "--arquivo.pedidos.ativo=false"));
+        System.out.printf("%n== %s: subindo %s na porta %d%n", modo, config.jar().getFileName(), config.porta());
+        Process aplicacao = new ProcessBuilder(comando)
+                .redirectErrorStream(true)
+                .redirectOutput(Path.of("target", "carga-" + modo + ".log").toFile())
+                .start();
+        try {
+            return medirServidor(modo, "http://localhost:" + config.porta(), config);
+        } finally {
+            aplicacao.destroy();
+            aplicacao.waitFor();
+        }
+    }
+
+    private static Resultado medirServidor(String modo, String base, Configuracao config) throws Exception {
+        try (HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build()) {
+            aguardarSaude(http, base);
+            String token = autenticar(http, base);
+            List<Long> ids = semear(http, base, token, config.pedidos());
+            System.out.printf("== %s: %d pedidos criados; %d conexões, %d s de aquecimento, %d s de medição%n",
+                    modo, ids.size(), config.conexoes(), config.aquecimentoSegundos(), config.duracaoSegundos());
+            return carga(modo, http, base, token, ids, config);
+        }
+    }
+
+    private static Resultado carga(String modo, HttpClient http, String base, String token, List<Long> ids,
+                                   Configuracao config) throws InterruptedException {
+        long inicio = System.nanoTime();
+        long inicioMedicao = inicio + Duration.ofSeconds(config.aquecimentoSegundos()).toNanos();
+        long fim = inicioMedicao + Duration.ofSeconds(config.duracaoSegundos()).toNanos();
+        long[][] latencias = new long[config.conexoes()][];
+        AtomicLong erros = new AtomicLong();
+        CountDownLatch concluidas = new CountDownLatch(config.conexoes());
+
+        for (int c = 0; c < config.conexoes(); c++) {
+            int conexao = c;
+            // Entrada gradual das conexões ao longo da primeira metade do aquecimento
+            long entrada = inicio + (inicioMedicao - inicio) / 2 * conexao / config.conexoes();
+            Thread.ofVirtual().name("carga-", conexao).start(() -> {
+                long[] medidas = new long[256];
+                int total = 0;
+                try {
+                    esperarAte(entrada);
+                    int i = conexao;
+                    while (true) {
+                        long antes = System.nanoTime();
+                        if (antes >= fim) {
+                            break;
+                        }
+                        long id = ids.get(i++ % ids.size());
+                        HttpRequest requisicao = HttpRequest.newBuilder(URI.create(base + config.caminho().replace("{id}", String.valueOf(id))))
+                                .header("Authorization", "Bearer " + token)
+                                .timeout(Duration.ofSeconds(30))
+                                .GET()
+                                .build();
+                        boolean ok;
+                        try {
+                            ok = http.send(requisicao, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+                        } catch (IOException e) {
+                            ok = false;
+                        }
+                        long depois = System.nanoTime();
+                        if (antes < inicioMedicao || depois > fim) {
+                            continue;
+                        }
+                        if (!ok) {
+                            erros.incrementAndGet();
+                            continue;
+                        }
+                        if (total == medidas.length) {
+                            medidas = Arrays.copyOf(medidas, total * 2);
+                        }
+                        medidas[total++] = depois - antes;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    latencias[conexao] = Arrays.copyOf(medidas, total);
+                    concluidas.countDown();
+                }
+            });
+        }
+        concluidas.await();
+
+        long[] todas = Arrays.stream(latencias).flatMapToLong(Arrays::stream).sorted().toArray();
+        double segundos = config.duracaoSegundos();
+        return new Resultado(modo, config.conexoes(), todas.length, erros.get(), todas.length / segundos,
+                percentil(todas, 0.50), percentil(todas, 0.99),
+                todas.length == 0 ? 0 : todas[todas.length - 1] / 1_000_000.0);
+    }
+
+    private static void aguardarSaude(HttpClient http, String base) throws Exception {
+        long limite = System.nanoTime() + Duration.ofSeconds(120).toNanos();
+        while (System.nanoTime() < limite) {
+            try {
+                HttpResponse<Void> resposta = http.send(HttpRequest.newBuilder(URI.create(base + "/health")).build(),
+                        HttpResponse.BodyHandlers.discarding());
+                if (resposta.statusCode() == 200) {
+                    return;
+                }
+            } catch (ConnectException e) {
+                // Ainda subindo
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException("Aplicação não respondeu /health em " + base);
+    }
+
+    private static String autenticar(HttpClient http, String base) throws Exception {
+        enviar(http, base + "/api/auth/register", null,
+                "{\"nome\":\"Carga\",\"email\":\"carga@email.com\",\"senha\":\"123456\",\"role\":\"ADMIN\"}");
+        HttpResponse<String> login = enviar(http, base + "/api/auth/login", null,
+                "{\"username\":\"carga@email.com\",\"password\":\"123456\"}");
+        if (login.statusCode() != 200) {
+            throw new IllegalStateException("Login respondeu " + login.statusCode());
+        }
+        return JSON.readTree(login.body()).get("token").asText();
+    }
+
+    // Pedidos com dois itens no restaurante 1, distribuídos entre os clientes ativos do DataLoader
+    private static List<Long> semear(HttpClient http, String base, String token, int quantidade) throws Exception {
+        long[] clientes = {1, 2, 4, 5};
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            HttpResponse<String> resposta = enviar(http, base + "/api/pedidos", token, """
+                    {"clienteId":%d,"restauranteId":1,
+                     "enderecoEntrega":{"rua":"Rua Carga","numero":"1","cep":"01001000"},
+                     "itens":[{"produtoId":1,"quantidade":1},{"produtoId":2,"quantidade":2}]}
+                    """.formatted(clientes[i % clientes.length]));
+            if (resposta.statusCode() != 201) {
+                throw new IllegalStateException("Criação de pedido respondeu " + resposta.statusCode() + ": " + resposta.body());
+            }
+            ids.add(JSON.readTree(resposta.body()).get("id").asLong());
+        }
+        return ids;
+    }
+
+    private static HttpResponse<String> enviar(HttpClient http, String url, String token, String corpo)
+            throws Exception {
+        HttpRequest.Builder requisicao = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(corpo));
+        if (token != null) {
+            requisicao.header("Authorization", "Bearer " + token);
+        }
+        return http.send(requisicao.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static void esperarAte(long instanteNanos) throws InterruptedException {
+        long restante = instanteNanos - System.nanoTime();
+        if (restante > 0) {
+            Thread.sleep(Duration.ofNanos(restante));
+        }
+    }
+
+    private static double percentil(long[] ordenadas, double p) {
+        if (ordenadas.length == 0) {
+            return 0;
+        }
+        int indice = (int) Math.ceil(p * ordenadas.length) - 1;
+        return ordenadas[Math.max(indice, 0)] / 1_000_000.0;
+    }
+
+    private static void imprimir(List<Resultado> resultados) {
+        System.out.printf("%n%-11s %9s %12s %8s %11s %10s %10s %11s%n",
+                "modo", "conexões", "requisições", "erros", "vazão/s", "p50 ms", "p99 ms", "máxima ms");
+        for (Resultado r : resultados) {
+            System.out.printf("%-11s %9d %12d %8d %11.1f %10.1f %10.1f %11.1f%n",
+                    r.modo(), r.conexoes(), r.requisicoes(), r.erros(), r.vazao(), r.p50Ms(), r.p99Ms(), r.maximaMs());
+        }
+    }
+
+    private static void gravar(List<Resultado> resultados, Configuracao config) throws IOException {
+        ArrayNode lista = JSON.createArrayNode();
+        for (Resultado r : resultados) {
+            ObjectNode item = lista.addObject();
+            item.put("modo", r.modo());
+            item.put("conexoes", r.conexoes());
+            item.put("endpoint", config.caminho());
+            item.put("duracaoSegundos", config.duracaoSegundos());
+            item.put("requisicoes", r.requisicoes());
+            item.put("erros", r.erros());
+            item.put("vazaoPorSegundo", r.vazao());
+            item.put("p50Ms", r.p50Ms());
+            item.put("p99Ms", r.p99Ms());
+            item.put("maximaMs", r.maximaMs());
+        }
+        Files.createDirectories(config.saida().getParent());
+        JSON.writerWithDefaultPrettyPrinter().writeValue(config.saida().toFile(), lista);
+        System.out.println("\nResultado: " + config.saida());
+    }
+
+    private static Configuracao ler(String[] args) {
+        Map<String, String> valores = new LinkedHashMap<>();
+        valores.put("jar", "target/delivery-api-0.0.1-SNAPSHOT.jar");
+        valores.put("modos", "plataforma,virtual");
+        valores.put("conexoes", "2000");
+        valores.put("aquecimento", "20");
+        valores.put("duracao", "60");
+        valores.put("pedidos", "200");
+        valores.put("porta", "8089");
+        valores.put("caminho", "/api/pedidos/{id}");
+        valores.put("url", null);
+        valores.put("jvm", "-Xms512m -Xmx1g");
+        valores.put("saida", "target/carga-resultado.json");
+        for (String arg : args) {
+            int igual = arg.indexOf('=');
+            String nome = igual > 0 ? arg.substring(0, igual) : arg;
+            if (igual <= 0 || !valores.containsKey(nome)) {
+                throw new IllegalArgumentException("Parâmetro inválido: " + arg
+                        + " (use nome=valor; aceitos: " + String.join(", ", valores.keySet()) + ")");
+            }
+            valores.put(nome, arg.substring(igual + 1));
+        }
+        Path jar = Path.of(valores.get("jar"));
+        if (valores.get("url") == null && !Files.isRegularFile(jar)) {
+            throw new IllegalArgumentException("Jar não encontrado: " + jar + " (rode com package)");
+        }
+        return new Configuracao(jar,
+                List.of(valores.get("modos").split(",")),
+                Integer.parseInt(valores.get("conexoes")),
+                Integer.parseInt(valores.get("aquecimento")),
+                Integer.parseInt(valores.get("duracao")),
+                Integer.parseInt(valores.get("pedidos")),
+                Integer.parseInt(valores.get("porta")),
+                valores.get("caminho"),
+                valores.get("url"),
+                valores.get("jvm"),
+                Path.of(valores.get("saida")));
+    }
+}
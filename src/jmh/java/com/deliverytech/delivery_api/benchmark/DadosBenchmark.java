@@ -0,0 +1,89 @@
+package com.deliverytech.delivery_api.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.deliverytech.delivery_api.dto.request.ItemPedidoRequest;
+import com.deliverytech.delivery_api.model.Cliente;
+import com.deliverytech.delivery_api.model.Endereco;
+import com.deliverytech.delivery_api.model.ItemPedido;
+import com.deliverytech.delivery_api.model.Pedido;
+import com.deliverytech.delivery_api.model.Produto;
+import com.deliverytech.delivery_api.model.Restaurante;
+import com.deliverytech.delivery_api.model.StatusPedido;
+
+/**
+ * Massa de dados em memória compartilhada pelos benchmarks (sem banco nem contexto Spring)
+ */
+final class DadosBenchmark {
+
+    private DadosBenchmark() {
+    }
+
+    static List<Produto> produtos(int quantidade) {
+        List<Produto> produtos = new ArrayList<>(quantidade);
+        for (long id = 1; id <= quantidade; id++) {
+            produtos.add(Produto.builder()
+                    .id(id)
+                    .nome("Produto " + id)
+                    .categoria("PIZZARIA")
+                    .descricao("Descrição do produto " + id)
+                    .preco(BigDecimal.valueOf(1990 + id * 37, 2))
+                    .disponivel(true)
+                    .build());
+        }
+        return produtos;
+    }
+
+    static Pedido pedido(long id, List<Produto> produtos) {
+        Restaurante restaurante = new Restaurante();
+        restaurante.setId(1L);
+        restaurante.setNome("Pizza Express");
+        Cliente cliente = new Cliente();
+        cliente.setId(1L);
+        cliente.setNome("João Silva");
+
+        Pedido pedido = Pedido.builder()
+                .id(id)
+                .cliente(cliente)
+                .restaurante(restaurante)
+                .statusPedido(StatusPedido.CONFIRMADO)
+                .dataPedido(LocalDateTime.of(2025, 1, 15, 12, 30))
+                .enderecoEntrega(Endereco.builder()
+                        .rua("Rua das Flores").numero("123").bairro("Centro")
+                        .cidade("São Paulo").estado("SP").cep("01310100")
+                        .build())
+                .build();
+
+        List<ItemPedido> itens = new ArrayList<>(produtos.size());
+        int quantidade = 1;
+        for (Produto produto : produtos) {
+            itens.add(ItemPedido.builder()
+                    .pedido(pedido)
+                    .produto(produto)
+                    .quantidade(quantidade)
+                    .precoUnitario(produto.getPreco())
+                    .subtotal(produto.getPreco().multiply(BigDecimal.valueOf(quantidade)))
+                    .build());
+            quantidade = quantidade % 3 + 1;
+        }
+        pedido.setItens(itens);
+        pedido.setValorTotal(itens.stream().map(ItemPedido::getSubtotal).reduce(BigDecimal.ZERO, BigDecimal::add));
+        return pedido;
+    }
+
+    static List<ItemPedidoRequest> itensRequest(List<Produto> produtos) {
+        List<ItemPedidoRequest> itens = new ArrayList<>(produtos.size());
+        int quantidade = 1;
+        for (Produto produto : produtos) {
+            ItemPedidoRequest item = new ItemPedidoRequest();
+            item.setProdutoId(produto.getId());
+            item.setQuantidade(quantidade);
+            itens.add(item);
+            quantidade = quantidade % 3 + 1;
+        }
+        return itens;
+    }
+}
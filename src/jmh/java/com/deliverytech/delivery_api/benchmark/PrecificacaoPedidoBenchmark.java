@@ -0,0 +1,99 @@
+package com.deliverytech.delivery_api.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import com.deliverytech.delivery_api.config.CacheConfig;
+import com.deliverytech.delivery_api.dto.request.ItemPedidoRequest;
+import com.deliverytech.delivery_api.dto.response.ProdutoResponse;
+import com.deliverytech.delivery_api.model.Pedido;
+import com.deliverytech.delivery_api.model.Produto;
+import com.deliverytech.delivery_api.repository.ProdutoRepository;
+import com.deliverytech.delivery_api.service.impl.CotacaoServiceImpl;
+import com.deliverytech.delivery_api.service.impl.PedidoServiceImpl;
+
+/**
+ * Cálculo de totais do pedido: soma dos itens já gravados (calcularTotal) e cotação do
+ * carrinho com os produtos no cache (calcularTotalPedido), como no POST de pedidos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrecificacaoPedidoBenchmark {
+
+    @Param({"3", "20"})
+    private int itens;
+
+    private PedidoServiceImpl pedidoService;
+    private Pedido pedido;
+    private List<ItemPedidoRequest> carrinho;
+
+    @Setup
+    public void preparar() {
+        List<Produto> produtos = DadosBenchmark.produtos(itens);
+        pedido = DadosBenchmark.pedido(1L, produtos);
+        carrinho = DadosBenchmark.itensRequest(produtos);
+
+        // Cache aquecido: o repositório só é consultado em falta de cache
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.PRODUTOS);
+        Cache cache = cacheManager.getCache(CacheConfig.PRODUTOS);
+        produtos.forEach(produto -> cache.put(produto.getId(), ProdutoResponse.de(produto)));
+
+        CotacaoServiceImpl cotacaoService = new CotacaoServiceImpl(repositorio(produtos), cacheManager);
+        pedidoService = new PedidoServiceImpl(null, null, null, cotacaoService, null, null, null, null, null);
+    }
+
+    @Benchmark
+    public BigDecimal calcularTotal() {
+        return pedidoService.calcularTotal(pedido);
+    }
+
+    @Benchmark
+    public BigDecimal calcularTotalPedido() {
+        return pedidoService.calcularTotalPedido(carrinho);
+    }
+
+    // Repositório em memória: só findAllById é usado pela cotação
+    @SuppressWarnings("unchecked")
+    private static ProdutoRepository repositorio(List<Produto> produtos) {
+        Map<Long, Produto> porId = produtos.stream().collect(Collectors.toMap(Produto::getId, Function.identity()));
+        return (ProdutoRepository) Proxy.newProxyInstance(
+                ProdutoRepository.class.getClassLoader(),
+                new Class<?>[] {ProdutoRepository.class},
+                (proxy, metodo, args) -> {
+                    if (metodo.getName().equals("findAllById")) {
+                        List<Produto> encontrados = new ArrayList<>();
+                        for (Long id : (Iterable<Long>) args[0]) {
+                            if (porId.containsKey(id)) {
+                                encontrados.add(porId.get(id));
+                            }
+                        }
+                        return encontrados;
+                    }
+                    throw new UnsupportedOperationException(metodo.getName());
+                });
+    }
+}
@@ -0,0 +1,107 @@
+package com.deliverytech.delivery_api.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.modelmapper.ModelMapper;
+
+import com.deliverytech.delivery_api.dto.response.ItemPedidoResponse;
+import com.deliverytech.delivery_api.dto.response.PedidoResponse;
+import com.deliverytech.delivery_api.model.Pedido;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * Caminho de resposta da listagem de pedidos (/api/pedidos): conversão entidade -> PedidoResponse
+ * e serialização JSON da página com o mesmo ObjectMapper da aplicação.
+ * A variante ModelMapper reproduz o mapeamento por reflexão usado antes das fábricas PedidoResponse.de
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializacaoPedidoBenchmark {
+
+    // Tamanho padrão e máximo da página por cursor
+    @Param({"20", "100"})
+    private int pedidos;
+
+    private ModelMapper modelMapper;
+    private ObjectMapper objectMapper;
+    private List<Pedido> pagina;
+    private List<PedidoResponse> respostas;
+
+    @Setup
+    public void preparar() {
+        // Mesma configuração que o PedidoController usava (itens mapeados à parte)
+        modelMapper = new ModelMapper();
+        modelMapper.typeMap(Pedido.class, PedidoResponse.class)
+                .addMappings(mapper -> mapper.skip(PedidoResponse::setItens));
+
+        // Mesma configuração de datas do Jackson auto-configurado pelo Spring Boot
+        objectMapper = JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        pagina = new ArrayList<>(pedidos);
+        for (long id = 1; id <= pedidos; id++) {
+            pagina.add(DadosBenchmark.pedido(id, DadosBenchmark.produtos(3)));
+        }
+        respostas = converterPagina();
+    }
+
+    @Benchmark
+    public List<PedidoResponse> converterPagina() {
+        List<PedidoResponse> convertidos = new ArrayList<>(pagina.size());
+        for (Pedido pedido : pagina) {
+            convertidos.add(PedidoResponse.de(pedido));
+        }
+        return convertidos;
+    }
+
+    @Benchmark
+    public List<PedidoResponse> converterPaginaModelMapper() {
+        List<PedidoResponse> convertidos = new ArrayList<>(pagina.size());
+        for (Pedido pedido : pagina) {
+            PedidoResponse response = modelMapper.map(pedido, PedidoResponse.class);
+            response.setItens(pedido.getItens().stream()
+                    .map(item -> modelMapper.map(item, ItemPedidoResponse.class))
+                    .toList());
+            convertidos.add(response);
+        }
+        return convertidos;
+    }
+
+    @Benchmark
+    public byte[] serializarPagina() throws Exception {
+        return objectMapper.writeValueAsBytes(respostas);
+    }
+
+    @Benchmark
+    public byte[] converterESerializarPagina() throws Exception {
+        return objectMapper.writeValueAsBytes(converterPagina());
+    }
+
+    @Benchmark
+    public byte[] converterESerializarPaginaModelMapper() throws Exception {
+        return objectMapper.writeValueAsBytes(converterPaginaModelMapper());
+    }
+}
@@ -0,0 +1,78 @@
+package com.deliverytech.delivery_api.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.deliverytech.delivery_api.security.JwtUtil;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Validação do JWT feita em toda requisição autenticada: com o cache de tokens
+ * verificados (hash SHA-256 + consulta) e sem cache (HMAC + parse do JSON a cada vez).
+ * A linha de base é a validação anterior, que decodificava a chave e montava o parser
+ * em toda chamada (não usa o JwtUtil, então tamanhoCache não a altera)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidacaoTokenBenchmark {
+
+    // Chave de teste (256 bits, Base64 URL); não é a do application.properties
+    private static final String SEGREDO = "ZGVsaXZlcnktdGVjaC1iZW5jaG1hcmstY2hhdmUtaG1hYy0yNTYtYml0cw";
+
+    // 0 desativa o cache: toda chamada refaz a verificação completa
+    @Param({"10000", "0"})
+    private long tamanhoCache;
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void preparar() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SEGREDO);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 86400000L);
+        ReflectionTestUtils.setField(jwtUtil, "tamanhoMaximoCache", tamanhoCache);
+        ReflectionTestUtils.setField(jwtUtil, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.invokeMethod(jwtUtil, "inicializar");
+
+        token = jwtUtil.gerarToken("admin@delivery.com", "ROLE_ADMIN");
+        if (jwtUtil.validarToken(token) == null) {
+            throw new IllegalStateException("Token gerado no setup não foi validado");
+        }
+    }
+
+    @Benchmark
+    public Claims validarToken() {
+        return jwtUtil.validarToken(token);
+    }
+
+    @Benchmark
+    public Claims validarTokenLinhaDeBase() {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(Decoders.BASE64URL.decode(SEGREDO)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
@@ -0,0 +1,55 @@
+package com.deliverytech.delivery_api.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.deliverytech.delivery_api.validation.CEPValidator;
+import com.deliverytech.delivery_api.validation.CategoriaValidator;
+
+/**
+ * Validadores customizados executados no bind dos requests (Bean Validation)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidadoresBenchmark {
+
+    // Entradas separadas por validador, para não cruzar os parâmetros entre si
+    @State(Scope.Benchmark)
+    public static class EntradaCep {
+        @Param({"01310-100", "01310100", "0131-0100"})
+        String cep;
+    }
+
+    @State(Scope.Benchmark)
+    public static class EntradaCategoria {
+        @Param({"pizzaria", "CAFETERIA", "CHURRASCARIA"})
+        String categoria;
+    }
+
+    private final CEPValidator cepValidator = new CEPValidator();
+    private final CategoriaValidator categoriaValidator = new CategoriaValidator();
+
+    @Benchmark
+    public boolean validarCep(EntradaCep entrada) {
+        return cepValidator.isValid(entrada.cep, null);
+    }
+
+    @Benchmark
+    public boolean validarCategoria(EntradaCategoria entrada) {
+        return categoriaValidator.isValid(entrada.categoria, null);
+    }
+}
@@ -0,0 +1,306 @@
+package com.deliverytech.delivery_api.arquivo;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Arquivo frio dos pedidos finalizados: um segmento por mês do pedido, só com anexação.
+ *
+ * A busca por id e a leitura por período usam o índice esparso (faixas de id e de data por
+ * bloco) para descompactar apenas os blocos que podem conter o pedido. Um mesmo id pode
+ * aparecer duas vezes no segmento do seu mês (queda entre a gravação do bloco e a remoção
+ * das linhas quentes); a leitura considera só a primeira ocorrência.
+ */
+@Slf4j
+@Component
+public class ArquivoPedidos {
+
+    private static final String PREFIXO = "pedidos-";
+    private static final String EXTENSAO_DADOS = ".seg";
+
+    // Mesma ordem da tabela pedido na exportação (data_pedido, id)
+    private static final Comparator<PedidoArquivado> ORDEM =
+            Comparator.comparing(PedidoArquivado::dataPedido).thenComparing(PedidoArquivado::id);
+
+    private record ChaveBloco(YearMonth mes, long posicao) {
+    }
+
+    private final Path diretorio;
+    private final int pedidosPorBloco;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader leitor;
+    // Blocos descompactados recentes (busca por id); leituras por período não passam pelo cache
+    private final Cache<ChaveBloco, List<PedidoArquivado>> blocosLidos;
+    private final ConcurrentSkipListMap<YearMonth, SegmentoMensal> segmentos = new ConcurrentSkipListMap<>();
+
+    public ArquivoPedidos(@Value("${arquivo.pedidos.diretorio:arquivo-pedidos}") String diretorio,
+                          @Value("${arquivo.pedidos.lote:500}") int pedidosPorBloco,
+                          @Value("${arquivo.pedidos.cache-blocos:32}") int cacheBlocos) {
+        this.diretorio = Path.of(diretorio);
+        this.pedidosPorBloco = pedidosPorBloco;
+        this.objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        this.leitor = objectMapper.readerFor(PedidoArquivado.class);
+        this.blocosLidos = Caffeine.newBuilder().maximumSize(cacheBlocos).build();
+    }
+
+    @PostConstruct
+    void abrir() throws IOException {
+        if (!Files.isDirectory(diretorio)) {
+            return;
+        }
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            for (Path arquivo : arquivos.toList()) {
+                String nome = arquivo.getFileName().toString();
+                if (nome.startsWith(PREFIXO) && nome.endsWith(EXTENSAO_DADOS)) {
+                    YearMonth mes = YearMonth.parse(nome.substring(PREFIXO.length(), nome.length() - EXTENSAO_DADOS.length()));
+                    segmentos.put(mes, SegmentoMensal.abrir(diretorio, PREFIXO, mes));
+                }
+            }
+        }
+        log.info("Arquivo de pedidos em {}: {} segmentos, {} blocos, {} pedidos", diretorio.toAbsolutePath(),
+                segmentos.size(), blocos().count(), blocos().mapToLong(SegmentoMensal.Bloco::quantidade).sum());
+    }
+
+    @PreDestroy
+    void fechar() {
+        for (SegmentoMensal segmento : segmentos.values()) {
+            try {
+                segmento.close();
+            } catch (IOException e) {
+                log.warn("Erro ao fechar segmento {}: {}", segmento.mes(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Anexa os pedidos aos segmentos dos seus meses, em blocos ordenados por id.
+     * Quando retorna, os blocos e as entradas do índice já estão no disco.
+     */
+    public synchronized void anexar(List<PedidoArquivado> pedidos) {
+        Map<YearMonth, List<PedidoArquivado>> porMes = new TreeMap<>();
+        for (PedidoArquivado pedido : pedidos) {
+            porMes.computeIfAbsent(YearMonth.from(pedido.dataPedido()), m -> new ArrayList<>()).add(pedido);
+        }
+        try {
+            Files.createDirectories(diretorio);
+            for (Map.Entry<YearMonth, List<PedidoArquivado>> mes : porMes.entrySet()) {
+                List<PedidoArquivado> doMes = mes.getValue();
+                doMes.sort(Comparator.comparing(PedidoArquivado::id));
+                SegmentoMensal segmento = segmento(mes.getKey());
+                for (int i = 0; i < doMes.size(); i += pedidosPorBloco) {
+                    anexarBloco(segmento, doMes.subList(i, Math.min(i + pedidosPorBloco, doMes.size())));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao gravar no arquivo de pedidos " + diretorio, e);
+        }
+    }
+
+    /**
+     * Pedido arquivado pelo id; só os blocos cuja faixa de ids contém o id são lidos
+     */
+    public Optional<PedidoArquivado> buscar(Long id) {
+        for (SegmentoMensal segmento : segmentos.descendingMap().values()) {
+            for (SegmentoMensal.Bloco bloco : segmento.blocos()) {
+                if (!bloco.contemId(id)) {
+                    continue;
+                }
+                List<PedidoArquivado> pedidos = blocosLidos.get(new ChaveBloco(segmento.mes(), bloco.posicao()),
+                        chave -> ler(segmento, bloco));
+                for (PedidoArquivado pedido : pedidos) {
+                    if (pedido.id().equals(id)) {
+                        return Optional.of(pedido);
+                    }
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Se algum bloco arquivado pode ter pedidos em [inicio, fim)
+     */
+    public boolean possui(LocalDateTime inicio, LocalDateTime fim) {
+        return meses(inicio, fim).stream()
+                .anyMatch(segmento -> segmento.blocos().stream().anyMatch(bloco -> bloco.cobre(inicio, fim)));
+    }
+
+    /**
+     * Data do pedido arquivado mais recente; vazio se nada foi arquivado
+     */
+    public Optional<LocalDateTime> ultimaData() {
+        return blocos().map(SegmentoMensal.Bloco::dataMaxima).max(Comparator.naturalOrder());
+    }
+
+    /**
+     * Entrega cada pedido arquivado com data em [inicio, fim), lendo só os meses e blocos do período
+     */
+    public void percorrer(LocalDateTime inicio, LocalDateTime fim, Consumer<PedidoArquivado> consumidor) {
+        for (SegmentoMensal segmento : meses(inicio, fim)) {
+            percorrer(segmento, inicio, fim, consumidor);
+        }
+    }
+
+    /**
+     * Pedidos arquivados com data em [inicio, fim) em ordem de data e id. Dentro do segmento os
+     * blocos seguem a ordem de arquivamento, então cada mês é lido e ordenado só quando o anterior
+     * foi consumido: apenas um mês fica em memória
+     */
+    public Iterator<PedidoArquivado> emOrdem(LocalDateTime inicio, LocalDateTime fim) {
+        Iterator<SegmentoMensal> meses = meses(inicio, fim).iterator();
+        return new Iterator<>() {
+            private Iterator<PedidoArquivado> mes = Collections.emptyIterator();
+
+            @Override
+            public boolean hasNext() {
+                while (!mes.hasNext() && meses.hasNext()) {
+                    List<PedidoArquivado> pedidos = new ArrayList<>();
+                    percorrer(meses.next(), inicio, fim, pedidos::add);
+                    pedidos.sort(ORDEM);
+                    mes = pedidos.iterator();
+                }
+                return mes.hasNext();
+            }
+
+            @Override
+            public PedidoArquivado next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return mes.next();
+            }
+        };
+    }
+
+    /**
+     * Até {@code limite} pedidos arquivados do filtro com data a partir de {@code inicio} que vêm
+     * depois de (data, id) na ordem da paginação por cursor (data DESC, id DESC). Os meses são lidos
+     * do cursor para trás e a leitura para no mês que completa o limite
+     */
+    public List<PedidoArquivado> anteriores(LocalDateTime inicio, LocalDateTime data, long id,
+                                            Predicate<PedidoArquivado> filtro, int limite) {
+        List<PedidoArquivado> encontrados = new ArrayList<>();
+        LocalDateTime fim = data.plusNanos(1);
+        List<SegmentoMensal> meses = new ArrayList<>(meses(inicio, fim));
+        Collections.reverse(meses);
+        for (SegmentoMensal segmento : meses) {
+            List<PedidoArquivado> doMes = new ArrayList<>();
+            percorrer(segmento, inicio, fim, pedido -> {
+                boolean antes = pedido.dataPedido().isBefore(data)
+                        || (pedido.dataPedido().isEqual(data) && pedido.id() < id);
+                if (antes && filtro.test(pedido)) {
+                    doMes.add(pedido);
+                }
+            });
+            doMes.sort(ORDEM.reversed());
+            encontrados.addAll(doMes);
+            if (encontrados.size() >= limite) {
+                return List.copyOf(encontrados.subList(0, limite));
+            }
+        }
+        return encontrados;
+    }
+
+    private void percorrer(SegmentoMensal segmento, LocalDateTime inicio, LocalDateTime fim,
+                           Consumer<PedidoArquivado> consumidor) {
+        Set<Long> vistos = new HashSet<>();
+        for (SegmentoMensal.Bloco bloco : segmento.blocos()) {
+            if (!bloco.cobre(inicio, fim)) {
+                continue;
+            }
+            for (PedidoArquivado pedido : ler(segmento, bloco)) {
+                if (!pedido.dataPedido().isBefore(inicio) && pedido.dataPedido().isBefore(fim)
+                        && vistos.add(pedido.id())) {
+                    consumidor.accept(pedido);
+                }
+            }
+        }
+    }
+
+    private List<SegmentoMensal> meses(LocalDateTime inicio, LocalDateTime fim) {
+        if (!inicio.isBefore(fim)) {
+            return List.of();
+        }
+        return List.copyOf(segmentos.subMap(YearMonth.from(inicio), true, YearMonth.from(fim), true).values());
+    }
+
+    private Stream<SegmentoMensal.Bloco> blocos() {
+        return segmentos.values().stream().flatMap(segmento -> segmento.blocos().stream());
+    }
+
+    private SegmentoMensal segmento(YearMonth mes) throws IOException {
+        SegmentoMensal segmento = segmentos.get(mes);
+        if (segmento == null) {
+            segmento = SegmentoMensal.abrir(diretorio, PREFIXO, mes);
+            segmentos.put(mes, segmento);
+        }
+        return segmento;
+    }
+
+    private void anexarBloco(SegmentoMensal segmento, List<PedidoArquivado> pedidos) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        LocalDateTime dataMinima = pedidos.get(0).dataPedido();
+        LocalDateTime dataMaxima = dataMinima;
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            for (PedidoArquivado pedido : pedidos) {
+                gzip.write(objectMapper.writeValueAsBytes(pedido));
+                gzip.write('\n');
+                dataMinima = pedido.dataPedido().isBefore(dataMinima) ? pedido.dataPedido() : dataMinima;
+                dataMaxima = pedido.dataPedido().isAfter(dataMaxima) ? pedido.dataPedido() : dataMaxima;
+            }
+        }
+        segmento.anexar(bytes.toByteArray(), pedidos.size(),
+                pedidos.get(0).id(), pedidos.get(pedidos.size() - 1).id(), dataMinima, dataMaxima);
+    }
+
+    private List<PedidoArquivado> ler(SegmentoMensal segmento, SegmentoMensal.Bloco bloco) {
+        try (MappingIterator<PedidoArquivado> linhas = leitor.readValues(
+                new GZIPInputStream(new ByteArrayInputStream(segmento.ler(bloco))))) {
+            List<PedidoArquivado> pedidos = new ArrayList<>(bloco.quantidade());
+            while (linhas.hasNext()) {
+                pedidos.add(linhas.next());
+            }
+            return pedidos;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao ler o bloco " + bloco.posicao() + " de " + segmento.mes(), e);
+        }
+    }
+}
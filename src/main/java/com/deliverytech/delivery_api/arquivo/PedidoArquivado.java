@@ -0,0 +1,87 @@
+package com.deliverytech.delivery_api.arquivo;
+
+import com.deliverytech.delivery_api.model.Cliente;
+import com.deliverytech.delivery_api.model.Endereco;
+import com.deliverytech.delivery_api.model.ItemPedido;
+import com.deliverytech.delivery_api.model.Pedido;
+import com.deliverytech.delivery_api.model.Produto;
+import com.deliverytech.delivery_api.model.Restaurante;
+import com.deliverytech.delivery_api.model.StatusPedido;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cópia de um pedido finalizado gravada no arquivo frio (uma linha JSON por pedido).
+ *
+ * Cliente, restaurante e produtos são guardados só pelo id (e o nome do produto, como na
+ * visão de detalhe); os relatórios resolvem os nomes atuais nas tabelas.
+ */
+public record PedidoArquivado(Long id, String numeroPedido, LocalDateTime dataPedido, StatusPedido status,
+                              BigDecimal subtotal, BigDecimal valorTotal, String observacoes,
+                              Endereco enderecoEntrega, Long clienteId, Long restauranteId, Long versao,
+                              List<Item> itens) {
+
+    public record Item(Long id, Long produtoId, String nomeProduto, Integer quantidade,
+                       BigDecimal precoUnitario, BigDecimal subtotal) {
+    }
+
+    /**
+     * Cópia do pedido com itens e produtos já carregados
+     */
+    public static PedidoArquivado de(Pedido pedido) {
+        List<Item> itens = pedido.getItens() == null ? List.of() : pedido.getItens().stream()
+                .map(i -> new Item(i.getId(), i.getProduto().getId(), i.getProduto().getNome(),
+                        i.getQuantidade(), i.getPrecoUnitario(), i.getSubtotal()))
+                .toList();
+        return new PedidoArquivado(pedido.getId(), pedido.getNumeroPedido(), pedido.getDataPedido(),
+                pedido.getStatusPedido(), pedido.getSubtotal(), pedido.getValorTotal(), pedido.getObservacoes(),
+                pedido.getEnderecoEntrega(),
+                pedido.getCliente() != null ? pedido.getCliente().getId() : null,
+                pedido.getRestaurante() != null ? pedido.getRestaurante().getId() : null,
+                pedido.getVersao(), itens);
+    }
+
+    /**
+     * Pedido desanexado para as mesmas conversões de resposta do pedido da tabela; nunca deve ser salvo
+     */
+    public Pedido paraPedido() {
+        Pedido pedido = Pedido.builder()
+                .id(id)
+                .numeroPedido(numeroPedido)
+                .dataPedido(dataPedido)
+                .statusPedido(status)
+                .subtotal(subtotal)
+                .valorTotal(valorTotal)
+                .observacoes(observacoes)
+                .enderecoEntrega(enderecoEntrega)
+                .versao(versao)
+                .build();
+        if (clienteId != null) {
+            pedido.setCliente(Cliente.builder().id(clienteId).build());
+        }
+        if (restauranteId != null) {
+            Restaurante restaurante = new Restaurante();
+            restaurante.setId(restauranteId);
+            pedido.setRestaurante(restaurante);
+        }
+
+        List<ItemPedido> itensPedido = new ArrayList<>(itens != null ? itens.size() : 0);
+        if (itens != null) {
+            for (Item item : itens) {
+                itensPedido.add(ItemPedido.builder()
+                        .id(item.id())
+                        .pedido(pedido)
+                        .produto(Produto.builder().id(item.produtoId()).nome(item.nomeProduto()).build())
+                        .quantidade(item.quantidade())
+                        .precoUnitario(item.precoUnitario())
+                        .subtotal(item.subtotal())
+                        .build());
+            }
+        }
+        pedido.setItens(itensPedido);
+        return pedido;
+    }
+}
@@ -0,0 +1,138 @@
+package com.deliverytech.delivery_api.arquivo;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Segmento de um mês do arquivo de pedidos: pedidos-AAAA-MM.seg e pedidos-AAAA-MM.idx.
+ *
+ * O .seg só recebe blocos no fim; cada bloco é um membro gzip com uma linha JSON por pedido
+ * (o arquivo inteiro pode ser lido com zcat). O .idx é o índice esparso, uma linha por bloco
+ * com posição, tamanho e faixas de id e de data, gravada depois do bloco: um bloco sem linha
+ * no índice (queda no meio da gravação) é ignorado.
+ */
+@Slf4j
+final class SegmentoMensal implements AutoCloseable {
+
+    /**
+     * Entrada do índice esparso
+     */
+    record Bloco(long posicao, int tamanho, int quantidade, long idMinimo, long idMaximo,
+                 LocalDateTime dataMinima, LocalDateTime dataMaxima) {
+
+        boolean contemId(long id) {
+            return id >= idMinimo && id <= idMaximo;
+        }
+
+        // Algum pedido do bloco pode estar em [inicio, fim)
+        boolean cobre(LocalDateTime inicio, LocalDateTime fim) {
+            return !dataMaxima.isBefore(inicio) && dataMinima.isBefore(fim);
+        }
+
+        String paraLinha() {
+            return posicao + ";" + tamanho + ";" + quantidade + ";" + idMinimo + ";" + idMaximo + ";"
+                    + dataMinima + ";" + dataMaxima;
+        }
+
+        static Bloco daLinha(String linha) {
+            String[] campos = linha.split(";");
+            return new Bloco(Long.parseLong(campos[0]), Integer.parseInt(campos[1]), Integer.parseInt(campos[2]),
+                    Long.parseLong(campos[3]), Long.parseLong(campos[4]),
+                    LocalDateTime.parse(campos[5]), LocalDateTime.parse(campos[6]));
+        }
+    }
+
+    private final YearMonth mes;
+    private final Path indice;
+    private final FileChannel dados;
+    // Lista imutável trocada a cada bloco: leitores nunca veem um bloco antes de ele estar gravado
+    private volatile List<Bloco> blocos;
+
+    private SegmentoMensal(YearMonth mes, Path indice, FileChannel dados, List<Bloco> blocos) {
+        this.mes = mes;
+        this.indice = indice;
+        this.dados = dados;
+        this.blocos = blocos;
+    }
+
+    static SegmentoMensal abrir(Path diretorio, String prefixo, YearMonth mes) throws IOException {
+        Path arquivoDados = diretorio.resolve(prefixo + mes + ".seg");
+        Path arquivoIndice = diretorio.resolve(prefixo + mes + ".idx");
+        FileChannel dados = FileChannel.open(arquivoDados,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        List<Bloco> blocos = new ArrayList<>();
+        if (Files.exists(arquivoIndice)) {
+            long tamanhoDados = dados.size();
+            for (String linha : Files.readAllLines(arquivoIndice, StandardCharsets.UTF_8)) {
+                try {
+                    Bloco bloco = Bloco.daLinha(linha);
+                    if (bloco.posicao() + bloco.tamanho() <= tamanhoDados) {
+                        blocos.add(bloco);
+                        continue;
+                    }
+                } catch (RuntimeException e) {
+                    // linha incompleta: tratada abaixo
+                }
+                log.warn("Entrada inválida ignorada no índice {}: {}", arquivoIndice, linha);
+            }
+        }
+        return new SegmentoMensal(mes, arquivoIndice, dados, List.copyOf(blocos));
+    }
+
+    YearMonth mes() {
+        return mes;
+    }
+
+    List<Bloco> blocos() {
+        return blocos;
+    }
+
+    /**
+     * Grava o bloco no fim do .seg e depois a entrada do índice, ambos sincronizados com o disco
+     */
+    synchronized Bloco anexar(byte[] conteudo, int quantidade, long idMinimo, long idMaximo,
+                              LocalDateTime dataMinima, LocalDateTime dataMaxima) throws IOException {
+        long posicao = dados.size();
+        ByteBuffer buffer = ByteBuffer.wrap(conteudo);
+        while (buffer.hasRemaining()) {
+            dados.write(buffer, posicao + buffer.position());
+        }
+        dados.force(false);
+
+        Bloco bloco = new Bloco(posicao, conteudo.length, quantidade, idMinimo, idMaximo, dataMinima, dataMaxima);
+        Files.writeString(indice, bloco.paraLinha() + "\n", StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.SYNC);
+
+        List<Bloco> novos = new ArrayList<>(blocos);
+        novos.add(bloco);
+        blocos = List.copyOf(novos);
+        return bloco;
+    }
+
+    byte[] ler(Bloco bloco) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(bloco.tamanho());
+        while (buffer.hasRemaining()) {
+            if (dados.read(buffer, bloco.posicao() + buffer.position()) < 0) {
+                throw new IOException("Bloco incompleto em " + mes + " na posição " + bloco.posicao());
+            }
+        }
+        return buffer.array();
+    }
+
+    @Override
+    public void close() throws IOException {
+        dados.close();
+    }
+}
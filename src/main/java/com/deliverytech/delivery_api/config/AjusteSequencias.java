@@ -0,0 +1,60 @@
+package com.deliverytech.delivery_api.config;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Ajuste das sequências de ID em bancos H2 que já tinham dados (ex.: volume /app/data do docker-compose).
+ *
+ * Os IDs passaram de IDENTITY para SEQUENCE e cada sequência começa em 1,
+ * mas as tabelas antigas já têm linhas. Na inicialização, toda sequência X_SEQ que estiver atrás
+ * do maior id da tabela X é reposicionada logo depois dele (pooled-lo: valor da sequência = próximo id).
+ * Em banco novo ou já ajustado não altera nada.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory") // depois das migrações do Flyway e antes de qualquer INSERT
+@RequiredArgsConstructor
+public class AjusteSequencias {
+
+    private static final String SUFIXO = "_SEQ";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    void ajustar() {
+        List<Map<String, Object>> sequencias = jdbcTemplate.queryForList(
+                "SELECT SEQUENCE_NAME, BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES " +
+                "WHERE SEQUENCE_SCHEMA = SCHEMA() AND SEQUENCE_NAME LIKE ? ESCAPE '!'", "%!" + SUFIXO);
+
+        for (Map<String, Object> sequencia : sequencias) {
+            String nome = (String) sequencia.get("SEQUENCE_NAME");
+            long proximo = ((Number) sequencia.get("BASE_VALUE")).longValue();
+            String tabela = nome.substring(0, nome.length() - SUFIXO.length());
+
+            if (!tabelaComId(tabela)) {
+                continue;
+            }
+            long maiorId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(ID), 0) FROM " + tabela, Long.class);
+            if (proximo <= maiorId) {
+                jdbcTemplate.execute("ALTER SEQUENCE " + nome + " RESTART WITH " + (maiorId + 1));
+                log.info("Sequência {} reposicionada de {} para {} (maior id em {})", nome, proximo, maiorId + 1, tabela);
+            }
+        }
+    }
+
+    private boolean tabelaComId(String tabela) {
+        Integer colunas = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS " +
+                "WHERE TABLE_SCHEMA = SCHEMA() AND TABLE_NAME = ? AND COLUMN_NAME = 'ID'", Integer.class, tabela);
+        return colunas != null && colunas > 0;
+    }
+}
@@ -0,0 +1,73 @@
+package com.deliverytech.delivery_api.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Cache em memória (Caffeine) do catálogo de restaurantes e produtos.
+ *
+ * Caches de entidade guardam um registro por ID; caches de consulta guardam
+ * o resultado de listagens. Todos têm tamanho e TTL limitados e registram
+ * estatísticas, que o Actuator publica no Prometheus como cache_gets/cache_puts/cache_evictions.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    // === CACHES DE ENTIDADE ===
+    public static final String RESTAURANTES = "restaurantes";
+    public static final String PRODUTOS = "produtos";
+
+    // === CACHES DE CONSULTA ===
+    public static final String RESTAURANTES_ATIVOS = "restaurantesAtivos";
+    public static final String RESTAURANTES_POR_CATEGORIA = "restaurantesPorCategoria";
+    public static final String RESTAURANTES_FILTROS = "restaurantesFiltros";
+    public static final String PRODUTOS_POR_RESTAURANTE = "produtosPorRestaurante";
+    public static final String PRODUTOS_POR_CATEGORIA = "produtosPorCategoria";
+    public static final String PRODUTOS_DISPONIVEIS = "produtosDisponiveis";
+
+    // === CACHES DE SEGURANÇA ===
+    public static final String USUARIOS_AUTENTICADOS = "usuariosAutenticados";
+    public static final String USUARIOS_REVOGADOS = "usuariosRevogados";
+
+    @Value("${cache.catalogo.entidade.spec:maximumSize=10000,expireAfterWrite=10m}")
+    private String especificacaoEntidade;
+
+    @Value("${cache.catalogo.consulta.spec:maximumSize=1000,expireAfterWrite=2m}")
+    private String especificacaoConsulta;
+
+    @Value("${cache.seguranca.usuarios.spec:maximumSize=10000,expireAfterWrite=5m}")
+    private String especificacaoUsuarios;
+
+    // O TTL precisa cobrir a validade do token (jwt.expiration)
+    @Value("${cache.seguranca.revogados.spec:maximumSize=100000,expireAfterWrite=24h}")
+    private String especificacaoRevogados;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setAllowNullValues(false);
+
+        registrar(cacheManager, especificacaoEntidade, RESTAURANTES, PRODUTOS);
+        registrar(cacheManager, especificacaoConsulta,
+                RESTAURANTES_ATIVOS, RESTAURANTES_POR_CATEGORIA, RESTAURANTES_FILTROS,
+                PRODUTOS_POR_RESTAURANTE, PRODUTOS_POR_CATEGORIA, PRODUTOS_DISPONIVEIS);
+        registrar(cacheManager, especificacaoUsuarios, USUARIOS_AUTENTICADOS);
+        registrar(cacheManager, especificacaoRevogados, USUARIOS_REVOGADOS);
+
+        return cacheManager;
+    }
+
+    // Registra os caches com a especificação informada; recordStats é obrigatório para as métricas
+    private void registrar(CaffeineCacheManager cacheManager, String especificacao, String... nomes) {
+        for (String nome : nomes) {
+            cacheManager.registerCustomCache(nome, Caffeine.from(especificacao).recordStats().build());
+        }
+    }
+}
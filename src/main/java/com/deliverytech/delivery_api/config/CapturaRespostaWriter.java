@@ -0,0 +1,232 @@
+package com.deliverytech.delivery_api.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gravação assíncrona das respostas capturadas pelo ResponseCaptureFilter.
+ *
+ * A thread da requisição só enfileira a captura (fila sem lock e com limite); uma thread
+ * de fundo grava uma linha NDJSON por captura em arquivos .ndjson.gz rotativos.
+ * Com a fila cheia a captura é descartada e contada, nunca bloqueando a requisição.
+ */
+@Slf4j
+public class CapturaRespostaWriter implements SmartLifecycle {
+
+    private static final DateTimeFormatter FORMATO_ARQUIVO = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+    private static final String PREFIXO = "capturas-";
+    private static final String EXTENSAO = ".ndjson.gz";
+
+    /**
+     * Dados de uma requisição capturada; os corpos já vêm copiados dos wrappers
+     */
+    public record Captura(LocalDateTime dataHora, String metodo, String url, int status,
+                          String contentType, byte[] corpoRequisicao, byte[] corpoResposta) {
+    }
+
+    private final Path diretorio;
+    private final int capacidadeFila;
+    private final long tamanhoMaximoArquivo;
+    private final int maximoArquivos;
+
+    private final ConcurrentLinkedQueue<Captura> fila = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger tamanhoFila = new AtomicInteger();
+    private final ObjectMapper objectMapper;
+    private final Counter descartadas;
+    private final Counter gravadas;
+
+    private volatile boolean executando;
+    private Thread gravador;
+
+    private Path arquivoAtual;
+    private OutputStream saida;
+
+    public CapturaRespostaWriter(Path diretorio, int capacidadeFila, long tamanhoMaximoArquivo,
+                                 int maximoArquivos, MeterRegistry meterRegistry) {
+        this.diretorio = diretorio;
+        this.capacidadeFila = capacidadeFila;
+        this.tamanhoMaximoArquivo = tamanhoMaximoArquivo;
+        this.maximoArquivos = maximoArquivos;
+
+        this.objectMapper = new ObjectMapper();
+        this.objectMapper.registerModule(new JavaTimeModule());
+
+        this.descartadas = Counter.builder("captura.respostas.descartadas")
+                .description("Capturas descartadas por fila cheia")
+                .register(meterRegistry);
+        this.gravadas = Counter.builder("captura.respostas.gravadas")
+                .description("Capturas gravadas em disco")
+                .register(meterRegistry);
+        Gauge.builder("captura.respostas.fila", tamanhoFila, AtomicInteger::get)
+                .description("Capturas aguardando gravação")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Enfileirar uma captura sem bloquear
+     * @return false se a fila estava cheia e a captura foi descartada
+     */
+    public boolean enfileirar(Captura captura) {
+        if (!executando) {
+            descartadas.increment();
+            return false;
+        }
+        if (tamanhoFila.incrementAndGet() > capacidadeFila) {
+            tamanhoFila.decrementAndGet();
+            descartadas.increment();
+            return false;
+        }
+        fila.offer(captura);
+        return true;
+    }
+
+    @Override
+    public void start() {
+        executando = true;
+        gravador = Thread.ofPlatform()
+                .name("captura-respostas")
+                .daemon(true)
+                .start(this::executar);
+        log.info("Captura de respostas ativa em {} (fila: {}, arquivo: {} bytes, arquivos: {})",
+                diretorio.toAbsolutePath(), capacidadeFila, tamanhoMaximoArquivo, maximoArquivos);
+    }
+
+    @Override
+    public void stop() {
+        executando = false;
+        if (gravador != null) {
+            LockSupport.unpark(gravador);
+            try {
+                gravador.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executando;
+    }
+
+    // Laço da thread de fundo: grava tudo o que houver na fila e aguarda a próxima leva
+    private void executar() {
+        while (executando || !fila.isEmpty()) {
+            if (!gravarPendentes()) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(200));
+            }
+        }
+        fecharArquivo();
+    }
+
+    private boolean gravarPendentes() {
+        Captura captura = fila.poll();
+        if (captura == null) {
+            return false;
+        }
+        try {
+            abrirArquivoSeNecessario();
+            do {
+                tamanhoFila.decrementAndGet();
+                saida.write(objectMapper.writeValueAsBytes(paraJson(captura)));
+                saida.write('\n');
+                gravadas.increment();
+                captura = fila.poll();
+            } while (captura != null);
+            // Sync flush do gzip: o arquivo aberto já pode ser lido até aqui
+            saida.flush();
+
+            if (Files.size(arquivoAtual) >= tamanhoMaximoArquivo) {
+                fecharArquivo();
+            }
+        } catch (IOException e) {
+            log.warn("Erro ao gravar capturas em {}: {}", arquivoAtual, e.getMessage());
+            fecharArquivo();
+        }
+        return true;
+    }
+
+    private ObjectNode paraJson(Captura captura) {
+        ObjectNode json = objectMapper.createObjectNode();
+        json.put("dataHora", captura.dataHora().toString());
+        json.put("metodo", captura.metodo());
+        json.put("url", captura.url());
+        json.put("status", captura.status());
+        json.put("contentType", captura.contentType());
+        json.set("requisicao", corpo(captura.corpoRequisicao()));
+        json.set("resposta", corpo(captura.corpoResposta()));
+        return json;
+    }
+
+    // Corpo JSON vai como objeto; qualquer outro conteúdo vai como texto
+    private JsonNode corpo(byte[] conteudo) {
+        if (conteudo == null || conteudo.length == 0) {
+            return objectMapper.nullNode();
+        }
+        try {
+            return objectMapper.readTree(conteudo);
+        } catch (IOException e) {
+            return objectMapper.getNodeFactory().textNode(new String(conteudo, StandardCharsets.UTF_8));
+        }
+    }
+
+    private void abrirArquivoSeNecessario() throws IOException {
+        if (saida != null) {
+            return;
+        }
+        Files.createDirectories(diretorio);
+        arquivoAtual = diretorio.resolve(PREFIXO + LocalDateTime.now().format(FORMATO_ARQUIVO) + EXTENSAO);
+        saida = new GZIPOutputStream(Files.newOutputStream(arquivoAtual), 8192, true);
+        removerArquivosAntigos();
+    }
+
+    private void fecharArquivo() {
+        if (saida == null) {
+            return;
+        }
+        try {
+            saida.close();
+        } catch (IOException e) {
+            log.warn("Erro ao fechar {}: {}", arquivoAtual, e.getMessage());
+        }
+        saida = null;
+        arquivoAtual = null;
+    }
+
+    // Mantém só os arquivos mais recentes (limite total de espaço em disco)
+    private void removerArquivosAntigos() throws IOException {
+        List<Path> arquivos;
+        try (Stream<Path> conteudo = Files.list(diretorio)) {
+            arquivos = conteudo
+                    .filter(p -> p.getFileName().toString().startsWith(PREFIXO)
+                            && p.getFileName().toString().endsWith(EXTENSAO))
+                    .sorted()
+                    .toList();
+        }
+        for (int i = 0; i < arquivos.size() - maximoArquivos; i++) {
+            Files.deleteIfExists(arquivos.get(i));
+        }
+    }
+}
@@ -27,9 +27,15 @@ public class DataLoader implements CommandLineRunner {
 
     @Override
     public void run(String... args) throws Exception {
+        // Banco em arquivo já carregado (ex.: volume /app/data): repetir a carga violaria o email único
+        if (clienteRepository.count() > 0) {
+            System.out.println("=== CARGA DE DADOS IGNORADA: banco já possui dados ===");
+            return;
+        }
+
         System.out.println("=== INICIANDO CARGA DE DADOS DE TESTE ===");
 
-        // Inserir dados de teste (sem limpar dados existentes)
+        // Inserir dados de teste (sem limpar dados existentes); saveAll sai em lote (IDs por sequência)
         inserirClientes();
         inserirRestaurantes();
 
@@ -41,7 +47,8 @@ public class DataLoader implements CommandLineRunner {
         
         // ✅ INFORMAR sobre captura automática
         System.out.println("\n🎯 SISTEMA DE CAPTURA AUTOMÁTICA ATIVO!");
-        System.out.println("📁 Respostas serão salvas em: ./entregaveis/");
+        System.out.println("📁 Respostas de uma amostra das requisições serão salvas em: ./entregaveis/");
+        System.out.println("   (fração em captura.respostas.taxa-amostragem; 1.0 captura todas)");
         System.out.println("🔄 Faça requisições para /api/* e veja os arquivos sendo gerados!\n");
     }
 
@@ -95,6 +102,7 @@ private void inserirRestaurantes() {
     restaurante1.setNome("Pizza Express");
     restaurante1.setCategoria("Italiana");
     restaurante1.setTelefone("1133333333");
+    restaurante1.setCep("01310100");
     restaurante1.setTaxaEntrega(new BigDecimal("3.50"));
     restaurante1.setAtivo(true);
 
@@ -102,6 +110,7 @@ private void inserirRestaurantes() {
     restaurante2.setNome("Burger King");
     restaurante2.setCategoria("Fast Food");
     restaurante2.setTelefone("1144444444");
+    restaurante2.setCep("04538132");
     restaurante2.setTaxaEntrega(new BigDecimal("5.00"));
     restaurante2.setAtivo(true);
 
@@ -109,6 +118,7 @@ private void inserirRestaurantes() {
     restaurante3.setNome("Sushi House");
     restaurante3.setCategoria("Japonesa");
     restaurante3.setTelefone("1155555555");
+    restaurante3.setCep("01508000");
     restaurante3.setTaxaEntrega(new BigDecimal("4.00"));
     restaurante3.setAtivo(true);
 
@@ -116,6 +126,7 @@ private void inserirRestaurantes() {
     restaurante4.setNome("Gyros Athenas");
     restaurante4.setCategoria("Grega");
     restaurante4.setTelefone("1166666666");
+    restaurante4.setCep("05422030");
     restaurante4.setTaxaEntrega(new BigDecimal("6.50"));
     restaurante4.setAtivo(true);
 
@@ -123,6 +134,7 @@ private void inserirRestaurantes() {
     restaurante5.setNome("Chiparia do Porto");
     restaurante5.setCategoria("Frutos do Mar");
     restaurante5.setTelefone("1177777777");
+    restaurante5.setCep("11010000");
     restaurante5.setTaxaEntrega(new BigDecimal("7.00"));
     restaurante5.setAtivo(true);
 
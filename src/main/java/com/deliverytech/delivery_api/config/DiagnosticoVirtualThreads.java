@@ -0,0 +1,110 @@
+package com.deliverytech.delivery_api.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Diagnóstico do modo virtual threads (spring.threads.virtual.enabled).
+ *
+ * Com diagnostico.virtual-threads.pinning.ativo=true, escuta o evento JFR
+ * jdk.VirtualThreadPinned: uma virtual thread que bloqueia (I/O, sleep, lock) dentro de um
+ * bloco synchronized fica presa à thread portadora. Cada pilha distinta é registrada no log
+ * uma única vez e todas as ocorrências são contadas em threads.virtuais.fixadas.
+ */
+@Slf4j
+@Component
+public class DiagnosticoVirtualThreads implements SmartLifecycle {
+
+    private static final int MAXIMO_PILHAS_REGISTRADAS = 500;
+    private static final int FRAMES_NO_LOG = 15;
+
+    private final Counter fixadas;
+    private final Set<String> pilhasRegistradas = ConcurrentHashMap.newKeySet();
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${diagnostico.virtual-threads.pinning.ativo:false}")
+    private boolean pinningAtivo;
+
+    @Value("${diagnostico.virtual-threads.pinning.limite-ms:20}")
+    private long limiteMs;
+
+    private RecordingStream stream;
+
+    public DiagnosticoVirtualThreads(MeterRegistry meterRegistry) {
+        this.fixadas = Counter.builder("threads.virtuais.fixadas")
+                .description("Bloqueios de virtual threads presas à thread portadora (synchronized)")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void informarModo() {
+        log.info("Requisições atendidas por {} (spring.threads.virtual.enabled={}); diagnóstico de pinning {}",
+                virtualThreads ? "virtual threads" : "pool de threads de plataforma", virtualThreads,
+                pinningAtivo ? "ativo (limite " + limiteMs + " ms)" : "desligado");
+    }
+
+    @Override
+    public void start() {
+        if (!pinningAtivo) {
+            return;
+        }
+        stream = new RecordingStream();
+        stream.enable("jdk.VirtualThreadPinned")
+                .withThreshold(Duration.ofMillis(limiteMs))
+                .withStackTrace();
+        stream.onEvent("jdk.VirtualThreadPinned", this::registrar);
+        stream.startAsync();
+    }
+
+    @Override
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    private void registrar(RecordedEvent evento) {
+        fixadas.increment();
+        RecordedStackTrace pilha = evento.getStackTrace();
+        if (pilha == null) {
+            return;
+        }
+        String frames = formatar(pilha.getFrames());
+        if (pilhasRegistradas.size() < MAXIMO_PILHAS_REGISTRADAS && pilhasRegistradas.add(frames)) {
+            log.warn("Virtual thread fixada por {} ms (bloqueio dentro de synchronized):\n{}",
+                    evento.getDuration().toMillis(), frames);
+        }
+    }
+
+    private static String formatar(List<RecordedFrame> frames) {
+        return frames.stream()
+                .limit(FRAMES_NO_LOG)
+                .map(frame -> "\tat " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + (frame.getLineNumber() > 0 ? ":" + frame.getLineNumber() : ""))
+                .collect(Collectors.joining("\n"));
+    }
+}
@@ -1,20 +1,46 @@
 package com.deliverytech.delivery_api.config;
 
+import java.nio.file.Path;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+
 @Configuration
 public class FilterConfig {
 
     @Bean
-    public FilterRegistrationBean<ResponseCaptureFilter> responseCaptureFilter() {
+    public CapturaRespostaWriter capturaRespostaWriter(
+            @Value("${captura.respostas.diretorio:entregaveis}") String diretorio,
+            @Value("${captura.respostas.fila.capacidade:1000}") int capacidadeFila,
+            @Value("${captura.respostas.arquivo.tamanho-maximo:10485760}") long tamanhoMaximoArquivo,
+            @Value("${captura.respostas.arquivo.maximo-arquivos:5}") int maximoArquivos,
+            MeterRegistry meterRegistry) {
+        return new CapturaRespostaWriter(Path.of(diretorio), capacidadeFila, tamanhoMaximoArquivo,
+                maximoArquivos, meterRegistry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ResponseCaptureFilter> responseCaptureFilter(
+            CapturaRespostaWriter capturaRespostaWriter,
+            @Value("${captura.respostas.taxa-amostragem:0.01}") double taxaAmostragem,
+            @Value("${captura.respostas.corpo.tamanho-maximo:65536}") int tamanhoMaximoCorpo,
+            @Value("${captura.respostas.ignorar:/api/pedidos/exportar,/api/pedidos/**/eventos}") List<String> urlsIgnoradas) {
         FilterRegistrationBean<ResponseCaptureFilter> registrationBean = new FilterRegistrationBean<>();
         
-        registrationBean.setFilter(new ResponseCaptureFilter());
+        registrationBean.setFilter(new ResponseCaptureFilter(capturaRespostaWriter, taxaAmostragem,
+                tamanhoMaximoCorpo, urlsIgnoradas));
         registrationBean.addUrlPatterns("/api/*");
+        registrationBean.setDispatcherTypes(DispatcherType.REQUEST, DispatcherType.ASYNC);
         registrationBean.setOrder(1);
+        // Taxa zero desliga a captura sem custo por requisição
+        registrationBean.setEnabled(taxaAmostragem > 0);
         
         return registrationBean;
     }
-}
\ No newline at end of file
+}
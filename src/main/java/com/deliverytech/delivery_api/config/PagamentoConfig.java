@@ -0,0 +1,51 @@
+package com.deliverytech.delivery_api.config;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.deliverytech.delivery_api.pagamento.DisjuntorCircuito;
+import com.deliverytech.delivery_api.pagamento.GatewayPagamento;
+import com.deliverytech.delivery_api.pagamento.GatewayProtegido;
+import com.deliverytech.delivery_api.pagamento.GatewaySimulado;
+
+@Configuration
+public class PagamentoConfig {
+
+    // Uma virtual thread por pagamento/chamada: esperar o gateway não ocupa thread de plataforma
+    @Bean(destroyMethod = "close")
+    public ExecutorService pagamentoExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("pagamento-", 0).factory());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "pagamento.gateway.tipo", havingValue = "simulado", matchIfMissing = true)
+    public GatewayPagamento gatewaySimulado(
+            @Value("${pagamento.simulado.latencia-ms:150}") long latenciaMs,
+            @Value("${pagamento.simulado.taxa-falha:0.0}") double taxaFalha,
+            @Value("${pagamento.simulado.limite-aprovacao:5000}") BigDecimal limiteAprovacao) {
+        return new GatewaySimulado(latenciaMs, taxaFalha, limiteAprovacao);
+    }
+
+    @Bean
+    public GatewayProtegido gatewayProtegido(
+            GatewayPagamento gatewayPagamento,
+            ExecutorService pagamentoExecutor,
+            @Value("${pagamento.gateway.concorrencia-maxima:20}") int concorrenciaMaxima,
+            @Value("${pagamento.gateway.timeout-ms:2000}") long timeoutMs,
+            @Value("${pagamento.gateway.espera-vaga-ms:500}") long esperaVagaMs,
+            @Value("${pagamento.disjuntor.janela:20}") int janela,
+            @Value("${pagamento.disjuntor.chamadas-minimas:10}") int chamadasMinimas,
+            @Value("${pagamento.disjuntor.taxa-falha:0.5}") double taxaFalha,
+            @Value("${pagamento.disjuntor.tempo-aberto-ms:30000}") long tempoAbertoMs) {
+        DisjuntorCircuito disjuntor = new DisjuntorCircuito(gatewayPagamento.nome(), janela, chamadasMinimas,
+                taxaFalha, tempoAbertoMs);
+        return new GatewayProtegido(gatewayPagamento, disjuntor, concorrenciaMaxima, timeoutMs, esperaVagaMs,
+                pagamentoExecutor);
+    }
+}
@@ -1,26 +1,40 @@
 package com.deliverytech.delivery_api.config;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import jakarta.servlet.*;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.web.util.ContentCachingRequestWrapper;
 import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
 
-import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Captura por amostragem das requisições /api/* (método, URL, status e corpos).
+ *
+ * Requisições fora da amostra não são envolvidas nos wrappers. As amostradas só copiam
+ * os corpos e enfileiram a captura; formatação e gravação ficam com o CapturaRespostaWriter.
+ */
 public class ResponseCaptureFilter implements Filter {
 
-    private final ObjectMapper objectMapper;
-
-    public ResponseCaptureFilter() {
-        this.objectMapper = new ObjectMapper();
-        this.objectMapper.registerModule(new JavaTimeModule());
+    private final CapturaRespostaWriter writer;
+    private final double taxaAmostragem;
+    private final int tamanhoMaximoCorpo;
+    // Respostas em streaming (padrões Ant): o wrapper guardaria o corpo inteiro em memória
+    private final List<String> urlsIgnoradas;
+    private final AntPathMatcher matcher = new AntPathMatcher();
+
+    public ResponseCaptureFilter(CapturaRespostaWriter writer, double taxaAmostragem, int tamanhoMaximoCorpo,
+                                 List<String> urlsIgnoradas) {
+        this.writer = writer;
+        this.taxaAmostragem = taxaAmostragem;
+        this.tamanhoMaximoCorpo = tamanhoMaximoCorpo;
+        this.urlsIgnoradas = urlsIgnoradas;
     }
 
     @Override
@@ -30,105 +44,90 @@ public class ResponseCaptureFilter implements Filter {
         HttpServletRequest httpRequest = (HttpServletRequest) request;
         HttpServletResponse httpResponse = (HttpServletResponse) response;
 
-        // ✅ Só processar APIs (não arquivos estáticos)
-        if (!httpRequest.getRequestURI().startsWith("/api/")) {
+        // Resposta assíncrona (CompletableFuture etc.): o corpo só é escrito no redespacho
+        if (httpRequest.getDispatcherType() == DispatcherType.ASYNC) {
+            concluirAssincrona(request, response, chain);
+            return;
+        }
+
+        // ✅ Só processar APIs (não arquivos estáticos) e apenas a fração amostrada
+        String uri = httpRequest.getRequestURI();
+        if (!uri.startsWith("/api/") || ignorada(uri) || !amostrar()) {
             chain.doFilter(request, response);
             return;
         }
 
         // ✅ Wrapper para capturar request e response
-        ContentCachingRequestWrapper requestWrapper = new ContentCachingRequestWrapper(httpRequest);
+        ContentCachingRequestWrapper requestWrapper = new ContentCachingRequestWrapper(httpRequest, tamanhoMaximoCorpo);
         ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(httpResponse);
 
+        boolean assincrona = false;
         try {
             // ✅ Executar a requisição
             chain.doFilter(requestWrapper, responseWrapper);
+            assincrona = requestWrapper.isAsyncStarted();
 
-            // ✅ Capturar e salvar a resposta
-            capturarResposta(requestWrapper, responseWrapper);
+            // ✅ Enfileirar a captura (sem bloquear a requisição)
+            if (!assincrona) {
+                capturarResposta(requestWrapper, responseWrapper);
+            }
 
         } finally {
-            // ✅ IMPORTANTE: Copiar response de volta para o cliente
-            responseWrapper.copyBodyToResponse();
+            // ✅ IMPORTANTE: Copiar response de volta para o cliente (no redespacho, se assíncrona)
+            if (!assincrona) {
+                responseWrapper.copyBodyToResponse();
+            }
         }
     }
 
-    private void capturarResposta(ContentCachingRequestWrapper request,
-                                 ContentCachingResponseWrapper response) {
-        try {
-            // ✅ Criar diretório se não existir
-            File dir = new File("entregaveis");
-            if (!dir.exists()) {
-                dir.mkdirs();
-            }
+    // Os wrappers da requisição amostrada chegam dentro dos wrappers do Spring Security
+    private void concluirAssincrona(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        chain.doFilter(request, response);
 
-            // ✅ Gerar nome do arquivo
-            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-            String method = request.getMethod();
-            String endpoint = request.getRequestURI()
-                    .replace("/api/", "")
-                    .replace("/", "_");
-            
-            String fileName = String.format("%s_%s_%s.txt", method, endpoint, timestamp);
-
-            // ✅ Capturar dados da requisição
-            String queryString = request.getQueryString();
-            String fullUrl = request.getRequestURL().toString();
-            if (queryString != null) {
-                fullUrl += "?" + queryString;
-            }
+        ContentCachingRequestWrapper requestWrapper =
+                WebUtils.getNativeRequest(request, ContentCachingRequestWrapper.class);
+        ContentCachingResponseWrapper responseWrapper =
+                WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+        if (requestWrapper == null || responseWrapper == null || request.isAsyncStarted()) {
+            return;
+        }
+        capturarResposta(requestWrapper, responseWrapper);
+        responseWrapper.copyBodyToResponse();
+    }
 
-            // ✅ Capturar body da requisição
-            String requestBody = new String(request.getContentAsByteArray());
-
-            // ✅ Capturar body da resposta (AQUI ESTÁ A MAGIA!)
-            String responseBody = new String(response.getContentAsByteArray());
-
-            // ✅ Preparar conteúdo do arquivo
-            StringBuilder content = new StringBuilder();
-            content.append("=== ENTREGA - TESTE DE ENDPOINT ===\n");
-            content.append("Data/Hora: ").append(LocalDateTime.now().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss"))).append("\n");
-            content.append("Método: ").append(method).append("\n");
-            content.append("URL Completa: ").append(fullUrl).append("\n");
-            content.append("Status HTTP: ").append(response.getStatus()).append("\n");
-            content.append("Content-Type: ").append(response.getContentType()).append("\n");
-
-            // ✅ ADICIONAR: Request Body (se houver)
-            if (!requestBody.isEmpty()) {
-                content.append("\n=== DADOS ENVIADOS ===\n");
-                try {
-                    Object jsonRequest = objectMapper.readValue(requestBody, Object.class);
-                    String formattedRequest = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(jsonRequest);
-                    content.append(formattedRequest);
-                } catch (Exception e) {
-                    content.append(requestBody);
-                }
+    private boolean ignorada(String uri) {
+        for (String padrao : urlsIgnoradas) {
+            if (matcher.match(padrao, uri)) {
+                return true;
             }
+        }
+        return false;
+    }
 
-            // ✅ ADICIONAR: Response Body REAL
-            content.append("\n\n=== RESPOSTA REAL ===\n");
-            if (!responseBody.isEmpty()) {
-                try {
-                    Object jsonResponse = objectMapper.readValue(responseBody, Object.class);
-                    String formattedResponse = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(jsonResponse);
-                    content.append(formattedResponse);
-                } catch (Exception e) {
-                    content.append(responseBody);
-                }
-            } else {
-                content.append("(Resposta vazia)");
-            }
+    private boolean amostrar() {
+        return taxaAmostragem >= 1.0 || ThreadLocalRandom.current().nextDouble() < taxaAmostragem;
+    }
 
-            // ✅ Salvar arquivo
-            try (FileWriter writer = new FileWriter(new File(dir, fileName))) {
-                writer.write(content.toString());
-            }
+    private void capturarResposta(ContentCachingRequestWrapper request,
+                                  ContentCachingResponseWrapper response) {
+        String fullUrl = request.getRequestURL().toString();
+        if (request.getQueryString() != null) {
+            fullUrl += "?" + request.getQueryString();
+        }
 
-            // ✅ Log no console
-            System.out.println("📄 Resposta completa salva: entregaveis/" + fileName);
+        writer.enfileirar(new CapturaRespostaWriter.Captura(
+                LocalDateTime.now(),
+                request.getMethod(),
+                fullUrl,
+                response.getStatus(),
+                response.getContentType(),
+                limitar(request.getContentAsByteArray()),
+                limitar(response.getContentAsByteArray())));
+    }
 
-        } catch (Exception e) {
-            System.err.println("❌ Erro ao salvar resposta: " + e.getMessage());
-        }
+    // Copia o corpo (o buffer do wrapper é descartado) limitado ao tamanho máximo
+    private byte[] limitar(byte[] corpo) {
+        return Arrays.copyOf(corpo, Math.min(corpo.length, tamanhoMaximoCorpo));
     }
-}
\ No newline at end of file
+}
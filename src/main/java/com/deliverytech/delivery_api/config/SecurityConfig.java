@@ -1,6 +1,7 @@
 package com.deliverytech.delivery_api.config;
 
 import com.deliverytech.delivery_api.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -28,6 +29,9 @@ public class SecurityConfig {
             .csrf(csrf -> csrf.disable())
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(authorize -> authorize
+                // Redespacho ASYNC de uma requisição já autorizada (exportação em streaming, SSE):
+                // o filtro JWT não roda de novo e a sessão é stateless, então não há autenticação
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers(
                     "/api/auth/**",
                     "/health",
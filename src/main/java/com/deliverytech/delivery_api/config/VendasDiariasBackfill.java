@@ -0,0 +1,27 @@
+package com.deliverytech.delivery_api.config;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.deliverytech.delivery_api.service.VendasDiariasService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Reconstrói o acumulado vendas_diarias na inicialização quando solicitado:
+ * java -jar delivery-api.jar --relatorios.vendas-diarias.reconstruir=true
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "relatorios.vendas-diarias.reconstruir", havingValue = "true")
+public class VendasDiariasBackfill implements ApplicationRunner {
+
+    private final VendasDiariasService vendasDiariasService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        vendasDiariasService.reconstruir();
+    }
+}
@@ -49,8 +49,7 @@ public class AuthController {
             Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword()));
 
-            String username = authentication.getName();
-            String token = jwtUtil.gerarToken(username);
+            String token = jwtUtil.gerarToken(authentication);
 
             LoginResponse dto = new LoginResponse(token);
             return ResponseEntity.ok(dto);
@@ -3,6 +3,7 @@ package com.deliverytech.delivery_api.controller;
 import com.deliverytech.delivery_api.model.Cliente;
 import com.deliverytech.delivery_api.dto.request.ClienteRequest; // ✅ ADICIONAR IMPORT
 import com.deliverytech.delivery_api.dto.response.ApiResponseWrapper;
+import com.deliverytech.delivery_api.dto.response.ClienteResponse;
 import com.deliverytech.delivery_api.service.ClienteService; // ✅ INTERFACE
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -49,9 +50,9 @@ public class ClienteController {
      * GET /clientes
      */
     @GetMapping
-    public ResponseEntity<List<Cliente>> listar() {
+    public ResponseEntity<List<ClienteResponse>> listar() {
         log.info("Recebida requisição para listar clientes ativos");
-        List<Cliente> clientes = clienteService.listarAtivos();
+        List<ClienteResponse> clientes = clienteService.listarAtivos();
         return ResponseEntity.ok(clientes);
     }
 
@@ -0,0 +1,46 @@
+package com.deliverytech.delivery_api.controller;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.deliverytech.delivery_api.dto.response.PagamentoResponse;
+import com.deliverytech.delivery_api.service.PagamentoService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/pagamentos")
+@RequiredArgsConstructor
+public class PagamentoController {
+
+    private final PagamentoService pagamentoService;
+
+    /**
+     * Pagar (ou reprocessar) o pedido
+     * POST /api/pagamentos/pedido/{pedidoId}
+     *
+     * A resposta é assíncrona: a thread do Tomcat é liberada enquanto o gateway responde.
+     */
+    @PostMapping("/pedido/{pedidoId}")
+    public CompletableFuture<ResponseEntity<PagamentoResponse>> pagar(@PathVariable Long pedidoId) {
+        return pagamentoService.processar(pedidoId)
+                .thenApply(pagamento -> ResponseEntity.ok(PagamentoResponse.de(pagamento)));
+    }
+
+    /**
+     * Consultar a situação do pagamento do pedido
+     * GET /api/pagamentos/pedido/{pedidoId}
+     */
+    @GetMapping("/pedido/{pedidoId}")
+    public ResponseEntity<PagamentoResponse> buscar(@PathVariable Long pedidoId) {
+        return pagamentoService.buscarPorPedido(pedidoId)
+                .map(pagamento -> ResponseEntity.ok(PagamentoResponse.de(pagamento)))
+                .orElseThrow(() -> new RuntimeException("Pagamento não encontrado"));
+    }
+}
@@ -2,26 +2,32 @@
 
 package com.deliverytech.delivery_api.controller;
 
+import com.deliverytech.delivery_api.dto.request.CursorPedido;
 import com.deliverytech.delivery_api.dto.request.PedidoRequest;
 import com.deliverytech.delivery_api.dto.request.StatusUpdateRequest;
-import com.deliverytech.delivery_api.dto.response.ItemPedidoResponse;
+import com.deliverytech.delivery_api.dto.response.PaginaCursorResponse;
 import com.deliverytech.delivery_api.dto.response.PedidoResponse;
+import com.deliverytech.delivery_api.dto.response.RestauranteResponse;
 import com.deliverytech.delivery_api.model.*;
 import com.deliverytech.delivery_api.service.ClienteService;
+import com.deliverytech.delivery_api.service.EventoPedidoService;
+import com.deliverytech.delivery_api.service.ExportacaoPedidoService;
 import com.deliverytech.delivery_api.service.PedidoService;
 import com.deliverytech.delivery_api.service.ProdutoService;
 import com.deliverytech.delivery_api.service.RestauranteService;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 // import java.util.Arrays;
 import org.springframework.format.annotation.DateTimeFormat;
 import java.time.LocalDate;
@@ -35,15 +41,10 @@ public class PedidoController {
     private final ClienteService clienteService;
     private final RestauranteService restauranteService;
     private final ProdutoService produtoService;
-    private final ModelMapper modelMapper = new ModelMapper();
+    private final ExportacaoPedidoService exportacaoPedidoService;
+    private final EventoPedidoService eventoPedidoService;
 
-    {
-        // Ignorar o campo 'itens' ao mapear Pedido -> PedidoResponse
-        modelMapper.typeMap(Pedido.class, PedidoResponse.class)
-            .addMappings(mapper -> mapper.skip(PedidoResponse::setItens));
-    }
-
-    // 1. CRIAR PEDIDO (Simplificado - sem itens iniciais)
+    // 1. CRIAR PEDIDO (com todos os itens em uma única requisição)
     @Transactional
     @PostMapping
     public ResponseEntity<PedidoResponse> criar(@Valid @RequestBody PedidoRequest request) {
@@ -56,71 +57,35 @@ public class PedidoController {
                 .cliente(cliente)
                 .restaurante(restaurante)
                 .statusPedido(StatusPedido.CRIADO)
-                .valorTotal(BigDecimal.ZERO) // Inicia com valor zero
                 .enderecoEntrega(request.getEnderecoEntrega())
                 .build();
 
-        Pedido salvo = pedidoService.criar(pedido);
-        
-        return ResponseEntity.status(201).body(new PedidoResponse(
-                salvo.getId(),
-                cliente.getId(),
-                restaurante.getId(),
-                salvo.getEnderecoEntrega(),
-                salvo.getValorTotal(),
-                salvo.getStatusPedido(),
-                salvo.getDataPedido(),
-                List.of()
-        ));
+        return ResponseEntity.status(201).body(pedidoService.criarComItens(pedido, request.getItens()));
     }
 
     // 2. BUSCAR PEDIDO POR ID
     @Transactional(readOnly = true) // ✅ ADICIONAR
     @GetMapping("/{id}")
     public ResponseEntity<PedidoResponse> buscarPorId(@PathVariable Long id) {
-        Pedido pedido = pedidoService.buscarPorId(id);
-        if (pedido == null) {
-            throw new RuntimeException("Pedido não encontrado");
-        }
+        // Plano de detalhe: pedido, itens e produtos em uma consulta
+        Pedido pedido = pedidoService.buscarPorIdComItens(id)
+                .orElseThrow(() -> new RuntimeException("Pedido não encontrado"));
 
-        List<ItemPedidoResponse> itensResp = pedido.getItens() != null ? 
-            pedido.getItens().stream()
-                .map(i -> new ItemPedidoResponse(i.getProduto().getId(), i.getProduto().getNome(), i.getQuantidade(), i.getPrecoUnitario()))
-                .collect(Collectors.toList()) : List.of();
-
-        return ResponseEntity.ok(new PedidoResponse(
-                pedido.getId(),
-                pedido.getCliente().getId(),
-                pedido.getRestaurante().getId(),
-                pedido.getEnderecoEntrega(),
-                pedido.getValorTotal(),
-                pedido.getStatusPedido(),
-                pedido.getDataPedido(),
-                itensResp
-        ));
+        return ResponseEntity.ok(PedidoResponse.de(pedido));
     }
 
-    // 3. BUSCAR PEDIDOS POR CLIENTE
+    // 3. BUSCAR PEDIDOS POR CLIENTE (paginado por cursor)
     @Transactional(readOnly = true) // ✅ ADICIONAR
     @GetMapping("/cliente/{clienteId}")
-    public ResponseEntity<List<PedidoResponse>> buscarPorCliente(@PathVariable Long clienteId) {
-        List<Pedido> pedidos = pedidoService.buscarPorCliente(clienteId);
-        List<PedidoResponse> pedidosResp = pedidos.stream()
-                .map(pedido -> new PedidoResponse(
-                        pedido.getId(),
-                        pedido.getCliente().getId(),
-                        pedido.getRestaurante().getId(),
-                        pedido.getEnderecoEntrega(),
-                        pedido.getValorTotal(),
-                        pedido.getStatusPedido(),
-                        pedido.getDataPedido(),
-                        pedido.getItens() != null ? pedido.getItens().stream()
-                                .map(i -> new ItemPedidoResponse(i.getProduto().getId(), i.getProduto().getNome(), i.getQuantidade(), i.getPrecoUnitario()))
-                                .collect(Collectors.toList()) : List.of()
-                ))
-                .collect(Collectors.toList());
-
-        return ResponseEntity.ok(pedidosResp);
+    public ResponseEntity<PaginaCursorResponse<PedidoResponse>> buscarPorCliente(
+            @PathVariable Long clienteId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamanho) {
+        int tamanhoPagina = CursorPedido.tamanhoValido(tamanho);
+        List<Pedido> pedidos = pedidoService.buscarPaginaPorCliente(clienteId, CursorPedido.decodificar(cursor), tamanhoPagina);
+
+        return ResponseEntity.ok(PaginaCursorResponse.de(pedidos, tamanhoPagina,
+                PedidoResponse::de, this::cursorDe));
     }
 
     //  4. ADICIONAR ITEM AO PEDIDO (IMPLEMENTAR)
@@ -129,7 +94,7 @@ public class PedidoController {
     public ResponseEntity<PedidoResponse> adicionarItem(@PathVariable Long pedidoId,
                                                        @RequestParam Long produtoId,
                                                        @RequestParam Integer quantidade) {
-        Produto produto = produtoService.buscarPorId(produtoId)
+        produtoService.buscarResumoPorId(produtoId)
                 .orElseThrow(() -> new RuntimeException("Produto não encontrado"));
 
         Pedido pedidoAtualizado = pedidoService.adicionarItem(pedidoId, produtoId, quantidade);
@@ -137,55 +102,17 @@ public class PedidoController {
         // Se necessário, você pode validar o status do pedido dentro do serviço adicionarItem
         // ou lançar uma exceção apropriada se não for permitido adicionar itens.
 
-        List<ItemPedidoResponse> itensResp = pedidoAtualizado.getItens().stream()
-                .map(i -> new ItemPedidoResponse(i.getProduto().getId(), i.getProduto().getNome(), i.getQuantidade(), i.getPrecoUnitario()))
-                .collect(Collectors.toList());
-
-        return ResponseEntity.ok(new PedidoResponse(
-                pedidoAtualizado.getId(),
-                pedidoAtualizado.getCliente().getId(),
-                pedidoAtualizado.getRestaurante().getId(),
-                pedidoAtualizado.getEnderecoEntrega(),
-                pedidoAtualizado.getValorTotal(),
-                pedidoAtualizado.getStatusPedido(),
-                pedidoAtualizado.getDataPedido(),
-                itensResp
-        ));
+        return ResponseEntity.ok(PedidoResponse.de(pedidoAtualizado));
     }
 
     // 5. CONFIRMAR PEDIDO (IMPLEMENTAR)
     @Transactional
     @PutMapping("/{id}/confirmar")
     public ResponseEntity<PedidoResponse> confirmar(@PathVariable Long id) {
-        Pedido pedido = pedidoService.buscarPorId(id);
-        if (pedido == null) {
-            throw new RuntimeException("Pedido não encontrado");
-        }
-        
-        if (pedido.getStatusPedido() != StatusPedido.CRIADO) {
-            throw new RuntimeException("Pedido já foi confirmado ou cancelado");
-        }
-
-        if (pedido.getItens() == null || pedido.getItens().isEmpty()) {
-            throw new RuntimeException("Não é possível confirmar um pedido sem itens");
-        }
-
+        // Status atual e itens validados no serviço (MaquinaEstadosPedido)
         Pedido pedidoConfirmado = pedidoService.confirmar(id);
         
-        List<ItemPedidoResponse> itensResp = pedidoConfirmado.getItens().stream()
-                .map(i -> new ItemPedidoResponse(i.getProduto().getId(), i.getProduto().getNome(), i.getQuantidade(), i.getPrecoUnitario()))
-                .collect(Collectors.toList());
-
-        return ResponseEntity.ok(new PedidoResponse(
-                pedidoConfirmado.getId(),
-                pedidoConfirmado.getCliente().getId(),
-                pedidoConfirmado.getRestaurante().getId(),
-                pedidoConfirmado.getEnderecoEntrega(),
-                pedidoConfirmado.getValorTotal(),
-                pedidoConfirmado.getStatusPedido(),
-                pedidoConfirmado.getDataPedido(),
-                itensResp
-        ));
+        return ResponseEntity.ok(PedidoResponse.de(pedidoConfirmado));
     }
 
 
@@ -197,16 +124,7 @@ public class PedidoController {
         Pedido pedidoCancelado = pedidoService.cancelar(id);
         
         // Retornar o pedido cancelado como resposta
-        return ResponseEntity.ok(new PedidoResponse(
-                pedidoCancelado.getId(),
-                pedidoCancelado.getCliente().getId(),
-                pedidoCancelado.getRestaurante().getId(),
-                pedidoCancelado.getEnderecoEntrega(),
-                pedidoCancelado.getValorTotal(),
-                pedidoCancelado.getStatusPedido(), // ✅ Agora será CANCELADO
-                pedidoCancelado.getDataPedido(),
-                List.of() // ou mapear os itens se necessário
-        ));
+        return ResponseEntity.ok(PedidoResponse.de(pedidoCancelado, List.of())); // ✅ Agora será CANCELADO
     }
 
     @Transactional
@@ -216,40 +134,87 @@ public class PedidoController {
         return ResponseEntity.noContent().build();
     }
 
-    // ✅ ADICIONAR: Endpoint para listar todos os pedidos
+    // ✅ ADICIONAR: Endpoint para listar pedidos (paginado por cursor)
     @GetMapping
     @Transactional(readOnly = true)
-    public ResponseEntity<List<PedidoResponse>> listarTodos(
+    public ResponseEntity<PaginaCursorResponse<PedidoResponse>> listarTodos(
             @RequestParam(required = false) StatusPedido status,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim) {
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamanho) {
         
-        List<Pedido> pedidos = pedidoService.listarComFiltros(status, dataInicio, dataFim);
-        List<PedidoResponse> pedidosResp = pedidos.stream()
-                .map(this::convertToPedidoResponse)
-                .collect(Collectors.toList());
+        int tamanhoPagina = CursorPedido.tamanhoValido(tamanho);
+        List<Pedido> pedidos = pedidoService.listarPagina(status, dataInicio, dataFim,
+                CursorPedido.decodificar(cursor), tamanhoPagina);
 
-        return ResponseEntity.ok(pedidosResp);
+        return ResponseEntity.ok(PaginaCursorResponse.de(pedidos, tamanhoPagina,
+                PedidoResponse::de, this::cursorDe));
     }
 
     /**
-     * Converter Pedido para PedidoResponse usando ModelMapper
+     * Exportar pedidos do período em NDJSON ou CSV (streaming)
+     * GET /api/pedidos/exportar?dataInicio=2025-01-01&dataFim=2025-12-31&formato=csv
      */
-    private PedidoResponse convertToPedidoResponse(Pedido pedido) {
-        PedidoResponse response = modelMapper.map(pedido, PedidoResponse.class);
-
-        // Evitar que o ModelMapper tente mapear a coleção lazy
-        response.setItens(null);
-
-        // Mapear itens manualmente (relacionamento complexo)
-        if (pedido.getItens() != null) {
-            List<ItemPedidoResponse> itensResp = pedido.getItens().stream()
-                .map(item -> modelMapper.map(item, ItemPedidoResponse.class))
-                .collect(Collectors.toList());
-            response.setItens(itensResp);
+    @GetMapping("/exportar")
+    public ResponseEntity<StreamingResponseBody> exportar(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
+            @RequestParam(defaultValue = "ndjson") String formato) {
+
+        // Validar antes de começar a escrever: depois do primeiro byte não há como responder 400
+        ExportacaoPedidoService.Formato formatoExportacao = ExportacaoPedidoService.Formato.de(formato);
+        if (dataFim.isBefore(dataInicio)) {
+            throw new IllegalArgumentException("Data final deve ser igual ou posterior à data inicial");
         }
 
-        return response;
+        // A transação é aberta na thread assíncrona que escreve a resposta
+        StreamingResponseBody corpo = saida ->
+                exportacaoPedidoService.exportar(dataInicio, dataFim, formatoExportacao, saida);
+
+        String arquivo = "pedidos_" + dataInicio + "_" + dataFim + "." + formatoExportacao.getExtensao();
+        return ResponseEntity.ok()
+                .contentType(formatoExportacao.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + arquivo + "\"")
+                .body(corpo);
+    }
+
+    /**
+     * Acompanhar o status de um pedido por Server-Sent Events
+     * GET /api/pedidos/{id}/eventos (reconexão com o cabeçalho Last-Event-ID)
+     */
+    @GetMapping(value = "/{id}/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter eventosDoPedido(@PathVariable Long id,
+            @RequestHeader(value = "Last-Event-ID", required = false) String ultimoEventoId) {
+        pedidoService.buscarPorId(id); // 404 para pedido inexistente antes de abrir o stream
+        return eventoPedidoService.assinar(EventoPedidoService.Escopo.PEDIDO, id, ultimoEventoId);
+    }
+
+    /**
+     * Acompanhar os pedidos de um cliente por Server-Sent Events
+     * GET /api/pedidos/cliente/{clienteId}/eventos
+     */
+    @GetMapping(value = "/cliente/{clienteId}/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter eventosDoCliente(@PathVariable Long clienteId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String ultimoEventoId) {
+        return eventoPedidoService.assinar(EventoPedidoService.Escopo.CLIENTE, clienteId, ultimoEventoId);
+    }
+
+    /**
+     * Acompanhar os pedidos de um restaurante por Server-Sent Events
+     * GET /api/pedidos/restaurante/{restauranteId}/eventos
+     */
+    @GetMapping(value = "/restaurante/{restauranteId}/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter eventosDoRestaurante(@PathVariable Long restauranteId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String ultimoEventoId) {
+        return eventoPedidoService.assinar(EventoPedidoService.Escopo.RESTAURANTE, restauranteId, ultimoEventoId);
+    }
+
+    /**
+     * Cursor opaco apontando para logo após o pedido informado
+     */
+    private String cursorDe(Pedido pedido) {
+        return new CursorPedido(pedido.getDataPedido(), pedido.getId()).codificar();
     }
 
     /**
@@ -260,68 +225,20 @@ public class PedidoController {
     @PatchMapping("/{id}/status")
     public ResponseEntity<PedidoResponse> atualizarStatus(@PathVariable Long id,
                                                      @Valid @RequestBody StatusUpdateRequest request) {
+        // Extrair status do DTO
+        String statusStr = request.getStatus();
+
+        // Converter string para enum
+        StatusPedido status;
         try {
-            // Extrair status do DTO
-            String statusStr = request.getStatus();
-            
-            // Converter string para enum
-            StatusPedido status;
-            try {
-                status = StatusPedido.valueOf(statusStr.toUpperCase());
-            } catch (IllegalArgumentException e) {
-                throw new IllegalArgumentException("Status inválido: " + statusStr);
-            }
-            
-            // ADICIONAR APENAS ESTAS 4 LINHAS:
-            Pedido pedido = pedidoService.buscarPorId(id);
-            if (pedido == null) {
-                throw new RuntimeException("Pedido não encontrado");
-            }
-            
-            validarTransicaoStatus(pedido.getStatusPedido(), status);
-            // FIM DA ADIÇÃO
-            
-            // Atualizar status
-            Pedido pedidoAtualizado = pedidoService.atualizarStatus(id, status);
-            return ResponseEntity.ok(convertToPedidoResponse(pedidoAtualizado));
-            
-        } catch (Exception e) {
-            throw new RuntimeException("Erro ao atualizar status: " + e.getMessage());
+            status = StatusPedido.valueOf(statusStr.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Status inválido: " + statusStr);
         }
-    }
 
-    /**
-     * Validar se a transição de status é válida
-     */
-    private void validarTransicaoStatus(StatusPedido statusAtual, StatusPedido novoStatus) {
-        // Regras de negócio para transição de status
-        switch (statusAtual) {
-            case CRIADO:
-                if (novoStatus != StatusPedido.CONFIRMADO && novoStatus != StatusPedido.CANCELADO) {
-                    throw new IllegalArgumentException("De CRIADO só pode ir para CONFIRMADO ou CANCELADO");
-                }
-                break;
-            case CONFIRMADO:
-                if (novoStatus != StatusPedido.PREPARANDO && novoStatus != StatusPedido.CANCELADO) {
-                    throw new IllegalArgumentException("De CONFIRMADO só pode ir para PREPARANDO ou CANCELADO");
-                }
-                break;
-            case PREPARANDO:
-                if (novoStatus != StatusPedido.SAIU_PARA_ENTREGA && novoStatus != StatusPedido.CANCELADO) {
-                    throw new IllegalArgumentException("De PREPARANDO só pode ir para SAIU_PARA_ENTREGA ou CANCELADO");
-                }
-                break;
-            case SAIU_PARA_ENTREGA:
-                if (novoStatus != StatusPedido.ENTREGUE) {
-                    throw new IllegalArgumentException("De SAIU_PARA_ENTREGA só pode ir para ENTREGUE");
-                }
-                break;
-            case ENTREGUE:
-            case CANCELADO:
-                throw new IllegalArgumentException("Pedido já está em status final: " + statusAtual);
-            default:
-                throw new IllegalArgumentException("Status atual inválido: " + statusAtual);
-        }
+        // Transição validada no serviço, sob a trava do pedido (MaquinaEstadosPedido)
+        Pedido pedidoAtualizado = pedidoService.atualizarStatus(id, status);
+        return ResponseEntity.ok(PedidoResponse.de(pedidoAtualizado));
     }
 
     /**
@@ -330,13 +247,16 @@ public class PedidoController {
      */
     @GetMapping("/restaurante/{restauranteId}")
     @Transactional(readOnly = true)
-    public ResponseEntity<List<PedidoResponse>> buscarPorRestaurante(@PathVariable Long restauranteId) {
-        List<Pedido> pedidos = pedidoService.buscarPorRestaurante(restauranteId);
-        List<PedidoResponse> pedidosResp = pedidos.stream()
-                .map(this::convertToPedidoResponse)
-                .collect(Collectors.toList());
-
-        return ResponseEntity.ok(pedidosResp);
+    public ResponseEntity<PaginaCursorResponse<PedidoResponse>> buscarPorRestaurante(
+            @PathVariable Long restauranteId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamanho) {
+        int tamanhoPagina = CursorPedido.tamanhoValido(tamanho);
+        List<Pedido> pedidos = pedidoService.buscarPaginaPorRestaurante(restauranteId,
+                CursorPedido.decodificar(cursor), tamanhoPagina);
+
+        return ResponseEntity.ok(PaginaCursorResponse.de(pedidos, tamanhoPagina,
+                PedidoResponse::de, this::cursorDe));
     }
 
     /**
@@ -346,22 +266,11 @@ public class PedidoController {
     @PostMapping("/calcular")
     public ResponseEntity<Map<String, Object>> calcularTotal(@Valid @RequestBody PedidoRequest request) {
         // Buscar restaurante para obter taxa de entrega
-        Restaurante restaurante = restauranteService.buscarPorId(request.getRestauranteId())
+        RestauranteResponse restaurante = restauranteService.buscarResumoPorId(request.getRestauranteId())
                 .orElseThrow(() -> new RuntimeException("Restaurante não encontrado"));
         
-        BigDecimal subtotal = BigDecimal.ZERO;
-        
-        // Calcular subtotal dos itens (se houver)
-        if (request.getItens() != null && !request.getItens().isEmpty()) {
-            for (var itemRequest : request.getItens()) {
-                Produto produto = produtoService.buscarPorId(itemRequest.getProdutoId())
-                        .orElseThrow(() -> new RuntimeException("Produto não encontrado: " + itemRequest.getProdutoId()));
-                
-                BigDecimal valorItem = produto.getPreco()
-                        .multiply(BigDecimal.valueOf(itemRequest.getQuantidade()));
-                subtotal = subtotal.add(valorItem);
-            }
-        }
+        // Subtotal dos itens com todos os produtos resolvidos de uma vez
+        BigDecimal subtotal = pedidoService.calcularTotalPedido(request.getItens());
         
         BigDecimal taxaEntrega = restaurante.getTaxaEntrega();
         BigDecimal valorTotal = subtotal.add(taxaEntrega);
@@ -39,16 +39,12 @@ public class ProdutoController {
                 .build();
 
         Produto salvo = produtoService.cadastrar(produto);
-        return ResponseEntity.status(201).body(new ProdutoResponse(
-                salvo.getId(), salvo.getNome(), salvo.getCategoria(), 
-                salvo.getDescricao(), salvo.getPreco(), salvo.getDisponivel()));
+        return ResponseEntity.status(201).body(ProdutoResponse.de(salvo));
     }
 
     @GetMapping("/restaurante/{restauranteId}")
     public List<ProdutoResponse> listarPorRestaurante(@PathVariable Long restauranteId) {
-        return produtoService.buscarPorRestaurante(restauranteId).stream()
-                .map(p -> new ProdutoResponse(p.getId(), p.getNome(), p.getCategoria(), p.getDescricao(), p.getPreco(), p.getDisponivel()))
-                .collect(Collectors.toList());
+        return produtoService.buscarPorRestaurante(restauranteId);
     }
 
     @PutMapping("/{id}")
@@ -60,7 +56,7 @@ public class ProdutoController {
                 .preco(request.getPreco())
                 .build();
         Produto salvo = produtoService.atualizar(id, atualizado);
-        return ResponseEntity.ok(new ProdutoResponse(salvo.getId(), salvo.getNome(), salvo.getCategoria(), salvo.getDescricao(), salvo.getPreco(), salvo.getDisponivel()));
+        return ResponseEntity.ok(ProdutoResponse.de(salvo));
     }
 
     @PatchMapping("/{id}/disponibilidade")
@@ -72,18 +68,13 @@ public class ProdutoController {
     // ADICIONAR: Listar todos os produtos
     @GetMapping
     public List<ProdutoResponse> listarTodos() {
-        return produtoService.listarTodos().stream()
-                .map(p -> new ProdutoResponse(p.getId(), p.getNome(), p.getCategoria(),
-                     p.getDescricao(), p.getPreco(), p.getDisponivel()))
-                .collect(Collectors.toList());
+        return produtoService.listarTodos();
     }
 
     // ADICIONAR: Buscar produto por ID
     @GetMapping("/{id}")
     public ResponseEntity<ProdutoResponse> buscarPorId(@PathVariable Long id) {
-        return produtoService.buscarPorId(id)
-                .map(p -> new ProdutoResponse(p.getId(), p.getNome(), p.getCategoria(),
-                     p.getDescricao(), p.getPreco(), p.getDisponivel()))
+        return produtoService.buscarResumoPorId(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -108,11 +99,7 @@ public class ProdutoController {
      */
     @GetMapping("/categoria/{categoria}")
     public List<ProdutoResponse> buscarPorCategoria(@PathVariable String categoria) {
-        return produtoService.buscarPorCategoria(categoria).stream()
-                .map(p -> new ProdutoResponse(
-                    p.getId(), p.getNome(), p.getCategoria(), 
-                    p.getDescricao(), p.getPreco(), p.getDisponivel()))
-                .collect(Collectors.toList());
+        return produtoService.buscarPorCategoria(categoria);
     }
 
     /**
@@ -125,9 +112,7 @@ public class ProdutoController {
             List<Produto> produtos = produtoService.buscarPorNome(nome);
             
             List<ProdutoResponse> response = produtos.stream()
-                .map(p -> new ProdutoResponse(
-                    p.getId(), p.getNome(), p.getCategoria(),
-                    p.getDescricao(), p.getPreco(), p.getDisponivel()))
+                .map(ProdutoResponse::de)
                 .collect(Collectors.toList());
             
             return ResponseEntity.ok(response);
@@ -1,6 +1,12 @@
 package com.deliverytech.delivery_api.controller;
 
+import com.deliverytech.delivery_api.projection.RelatorioPedidosPeriodo;
+import com.deliverytech.delivery_api.projection.RelatorioVendas;
+import com.deliverytech.delivery_api.projection.RelatorioVendasClientes;
+import com.deliverytech.delivery_api.projection.RelatorioVendasProdutos;
+import com.deliverytech.delivery_api.projection.ResumoVendas;
 import com.deliverytech.delivery_api.service.RelatorioService;
+import com.deliverytech.delivery_api.service.VendasDiariasService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
@@ -21,6 +27,7 @@ import java.util.Map;
 public class RelatorioController {
 
     private final RelatorioService relatorioService;
+    private final VendasDiariasService vendasDiariasService;
 
     /**
      * Relatório de vendas por restaurante
@@ -28,11 +35,11 @@ public class RelatorioController {
      */
     @GetMapping("/vendas-por-restaurante")
     @Transactional(readOnly = true)
-    public ResponseEntity<List<Map<String, Object>>> vendasPorRestaurante(
+    public ResponseEntity<List<RelatorioVendas>> vendasPorRestaurante(
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim) {
         
-        List<Map<String, Object>> vendas = relatorioService.relatorioVendasPorRestaurante(dataInicio, dataFim);
+        List<RelatorioVendas> vendas = relatorioService.relatorioVendasPorRestaurante(dataInicio, dataFim);
         return ResponseEntity.ok(vendas);
     }
 
@@ -42,12 +49,12 @@ public class RelatorioController {
      */
     @GetMapping("/produtos-mais-vendidos")
     @Transactional(readOnly = true)
-    public ResponseEntity<List<Map<String, Object>>> produtosMaisVendidos(
+    public ResponseEntity<List<RelatorioVendasProdutos>> produtosMaisVendidos(
             @RequestParam(defaultValue = "10") int limite,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim) {
         
-        List<Map<String, Object>> produtos = relatorioService.relatorioProdutosMaisVendidos(limite, dataInicio, dataFim);
+        List<RelatorioVendasProdutos> produtos = relatorioService.relatorioProdutosMaisVendidos(limite, dataInicio, dataFim);
         return ResponseEntity.ok(produtos);
     }
 
@@ -57,12 +64,12 @@ public class RelatorioController {
      */
     @GetMapping("/clientes-ativos")
     @Transactional(readOnly = true)
-    public ResponseEntity<List<Map<String, Object>>> clientesAtivos(
+    public ResponseEntity<List<RelatorioVendasClientes>> clientesAtivos(
             @RequestParam(defaultValue = "10") int limite,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim) {
         
-        List<Map<String, Object>> clientes = relatorioService.relatorioClientesAtivos(limite, dataInicio, dataFim);
+        List<RelatorioVendasClientes> clientes = relatorioService.relatorioClientesAtivos(limite, dataInicio, dataFim);
         return ResponseEntity.ok(clientes);
     }
 
@@ -72,12 +79,12 @@ public class RelatorioController {
      */
     @GetMapping("/pedidos-por-periodo")
     @Transactional(readOnly = true)
-    public ResponseEntity<Map<String, Object>> pedidosPorPeriodo(
+    public ResponseEntity<List<RelatorioPedidosPeriodo>> pedidosPorPeriodo(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
             @RequestParam(required = false) String agrupamento) { // 'dia', 'mes', 'ano'
         
-        Map<String, Object> relatorio = relatorioService.relatorioPedidosPorPeriodo(dataInicio, dataFim, agrupamento);
+        List<RelatorioPedidosPeriodo> relatorio = relatorioService.relatorioPedidosPorPeriodo(dataInicio, dataFim, agrupamento);
         return ResponseEntity.ok(relatorio);
     }
 
@@ -87,11 +94,24 @@ public class RelatorioController {
      */
     @GetMapping("/resumo-vendas")
     @Transactional(readOnly = true)
-    public ResponseEntity<Map<String, Object>> resumoVendas(
+    public ResponseEntity<ResumoVendas> resumoVendas(
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim) {
         
-        Map<String, Object> resumo = relatorioService.resumoVendas(dataInicio, dataFim);
+        ResumoVendas resumo = relatorioService.resumoVendas(dataInicio, dataFim);
         return ResponseEntity.ok(resumo);
     }
+
+    /**
+     * Reconstruir o acumulado de vendas diárias a partir dos pedidos (backfill)
+     * POST /api/relatorios/vendas-diarias/reconstruir
+     */
+    @PostMapping("/vendas-diarias/reconstruir")
+    public ResponseEntity<Map<String, Object>> reconstruirVendasDiarias() {
+        int linhas = vendasDiariasService.reconstruir();
+        return ResponseEntity.ok(Map.of(
+            "mensagem", "Acumulado de vendas diárias reconstruído",
+            "linhas", linhas
+        ));
+    }
 }
\ No newline at end of file
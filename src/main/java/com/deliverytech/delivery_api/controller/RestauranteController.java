@@ -3,7 +3,9 @@
 package com.deliverytech.delivery_api.controller;
 
 import com.deliverytech.delivery_api.dto.request.RestauranteRequest;
+import com.deliverytech.delivery_api.dto.response.RestauranteProximoResponse;
 import com.deliverytech.delivery_api.dto.response.RestauranteResponse;
+import com.deliverytech.delivery_api.geo.Vizinho;
 import com.deliverytech.delivery_api.model.Restaurante;
 import com.deliverytech.delivery_api.service.RestauranteService;
 import lombok.RequiredArgsConstructor;
@@ -16,7 +18,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 import com.deliverytech.delivery_api.dto.response.ProdutoResponse;
-import com.deliverytech.delivery_api.model.Produto;
 import com.deliverytech.delivery_api.service.ProdutoService;
 
 @RestController
@@ -24,6 +25,9 @@ import com.deliverytech.delivery_api.service.ProdutoService;
 @RequiredArgsConstructor
 public class RestauranteController {
 
+    // Limite de restaurantes na consulta de taxas em lote
+    private static final int MAXIMO_TAXAS_POR_CONSULTA = 200;
+
     private final RestauranteService restauranteService;
     private final ProdutoService produtoService;
 
@@ -31,9 +35,7 @@ public class RestauranteController {
     public ResponseEntity<RestauranteResponse> cadastrar(@Valid @RequestBody RestauranteRequest request) {
         Restaurante salvo = restauranteService.cadastrar(request);
 
-        return ResponseEntity.status(201).body(new RestauranteResponse(
-                salvo.getId(), salvo.getNome(), salvo.getCategoria(), salvo.getTelefone(),
-                salvo.getTaxaEntrega(), salvo.getTempoEntregaMinutos(), salvo.getAtivo()));
+        return ResponseEntity.status(201).body(RestauranteResponse.de(salvo));
     }
 
     @GetMapping
@@ -41,38 +43,26 @@ public class RestauranteController {
         @RequestParam(required = false) String categoria,
         @RequestParam(required = false) Boolean ativo) {
         
-        List<Restaurante> restaurantes = restauranteService.listarComFiltros(categoria, ativo);
-        
-        List<RestauranteResponse> response = restaurantes.stream()
-            .map(r -> new RestauranteResponse(r.getId(), r.getNome(), r.getCategoria(), 
-                r.getTelefone(), r.getTaxaEntrega(), r.getTempoEntregaMinutos(), r.getAtivo()))
-            .collect(Collectors.toList());
-        
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(restauranteService.listarComFiltros(categoria, ativo));
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<RestauranteResponse> buscarPorId(@PathVariable Long id) {
-        return restauranteService.buscarPorId(id)
-                .map(r -> new RestauranteResponse(r.getId(), r.getNome(), r.getCategoria(), r.getTelefone(), r.getTaxaEntrega(), r.getTempoEntregaMinutos(), r.getAtivo()))
+        return restauranteService.buscarResumoPorId(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/categoria/{categoria}")
     public List<RestauranteResponse> buscarPorCategoria(@PathVariable String categoria) {
-        return restauranteService.buscarPorCategoria(categoria).stream()
-                .map(r -> new RestauranteResponse(r.getId(), r.getNome(), r.getCategoria(), r.getTelefone(), r.getTaxaEntrega(), r.getTempoEntregaMinutos(), r.getAtivo()))
-                .collect(Collectors.toList());
+        return restauranteService.buscarPorCategoria(categoria);
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<RestauranteResponse> atualizar(@PathVariable Long id, @Valid @RequestBody RestauranteRequest request) {
         Restaurante salvo = restauranteService.atualizar(id, request);
         
-        return ResponseEntity.ok(new RestauranteResponse(
-                salvo.getId(), salvo.getNome(), salvo.getCategoria(), salvo.getTelefone(), 
-                salvo.getTaxaEntrega(), salvo.getTempoEntregaMinutos(), salvo.getAtivo()));
+        return ResponseEntity.ok(RestauranteResponse.de(salvo));
     }
 
     @DeleteMapping("/{id}")
@@ -87,11 +77,7 @@ public class RestauranteController {
      */
     @GetMapping("/disponiveis")
     public List<RestauranteResponse> buscarDisponiveis() {
-        return restauranteService.listarAtivos().stream()
-                .map(r -> new RestauranteResponse(
-                    r.getId(), r.getNome(), r.getCategoria(), r.getTelefone(), 
-                    r.getTaxaEntrega(), r.getTempoEntregaMinutos(), r.getAtivo()))
-                .collect(Collectors.toList());
+        return restauranteService.listarAtivos();
     }
 
     /**
@@ -130,24 +116,11 @@ public class RestauranteController {
     @GetMapping("/{id}/produtos")
     public ResponseEntity<List<ProdutoResponse>> buscarProdutosPorRestaurante(@PathVariable Long id) {
         // Verificar se restaurante existe
-        restauranteService.buscarPorId(id)
+        restauranteService.buscarResumoPorId(id)
             .orElseThrow(() -> new RuntimeException("Restaurante não encontrado"));
         
-        // Buscar produtos do restaurante
-        List<Produto> produtos = produtoService.buscarPorRestaurante(id);
-        
-        // Converter para Response
-        List<ProdutoResponse> response = produtos.stream()
-            .map(p -> new ProdutoResponse(
-                p.getId(), 
-                p.getNome(), 
-                p.getCategoria(), 
-                p.getDescricao(), 
-                p.getPreco(), 
-                p.getDisponivel()))
-            .collect(Collectors.toList());
-        
-        return ResponseEntity.ok(response);
+        // Buscar produtos do restaurante (já como Response, do cache)
+        return ResponseEntity.ok(produtoService.buscarPorRestaurante(id));
     }
 
     /**
@@ -160,10 +133,28 @@ public class RestauranteController {
         Boolean ativo = request.get("ativo");
         Restaurante restaurante = restauranteService.alterarStatus(id, ativo);
         
-        return ResponseEntity.ok(new RestauranteResponse(
-            restaurante.getId(), restaurante.getNome(), restaurante.getCategoria(), 
-            restaurante.getTelefone(), restaurante.getTaxaEntrega(), 
-            restaurante.getTempoEntregaMinutos(), restaurante.getAtivo()));
+        return ResponseEntity.ok(RestauranteResponse.de(restaurante));
+    }
+
+    /**
+     * Calcular taxas de entrega de vários restaurantes para um CEP em uma chamada
+     * GET /api/restaurantes/taxas-entrega/{cep}?ids=1,2,3
+     */
+    @GetMapping("/taxas-entrega/{cep}")
+    public ResponseEntity<Map<String, Object>> calcularTaxasEntrega(@PathVariable String cep,
+                                                                    @RequestParam List<Long> ids) {
+        if (ids.size() > MAXIMO_TAXAS_POR_CONSULTA) {
+            throw new IllegalArgumentException("Máximo de " + MAXIMO_TAXAS_POR_CONSULTA + " restaurantes por consulta");
+        }
+        Map<Long, BigDecimal> taxas = restauranteService.calcularTaxasEntrega(ids, cep);
+        List<Long> indisponiveis = ids.stream().filter(id -> !taxas.containsKey(id)).distinct().toList();
+
+        return ResponseEntity.ok(Map.of(
+            "cep", cep,
+            "taxas", taxas,
+            "indisponiveis", indisponiveis,
+            "moeda", "BRL"
+        ));
     }
 
     /**
@@ -184,19 +175,25 @@ public class RestauranteController {
     }
 
     /**
-     * Buscar restaurantes próximos por CEP
-     * GET /api/restaurantes/proximos/{cep}
+     * Buscar restaurantes próximos por CEP, do mais próximo ao mais distante
+     * GET /api/restaurantes/proximos/{cep}?raioKm=5 ou ?limite=10 (os N mais próximos)
      */
     @GetMapping("/proximos/{cep}")
-    public ResponseEntity<List<RestauranteResponse>> buscarProximos(@PathVariable String cep) {
-        List<Restaurante> restaurantes = restauranteService.buscarProximos(cep);
+    public ResponseEntity<List<RestauranteProximoResponse>> buscarProximos(@PathVariable String cep,
+            @RequestParam(required = false) Double raioKm,
+            @RequestParam(required = false) Integer limite) {
+        List<Vizinho<Restaurante>> restaurantes = restauranteService.buscarProximos(cep, raioKm, limite);
         
-        List<RestauranteResponse> response = restaurantes.stream()
-            .map(r -> new RestauranteResponse(
-                r.getId(), r.getNome(), r.getCategoria(), r.getTelefone(),
-                r.getTaxaEntrega(), r.getTempoEntregaMinutos(), r.getAtivo()))
+        List<RestauranteProximoResponse> response = restaurantes.stream()
+            .map(v -> {
+                Restaurante r = v.item();
+                return new RestauranteProximoResponse(
+                    r.getId(), r.getNome(), r.getCategoria(), r.getTelefone(),
+                    r.getTaxaEntrega(), r.getTempoEntregaMinutos(), r.getAtivo(),
+                    Math.round(v.distanciaKm() * 100) / 100.0);
+            })
             .collect(Collectors.toList());
         
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,69 @@
+package com.deliverytech.delivery_api.dto.request;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Cursor da paginação por chave (keyset) de pedidos, ordenada por (dataPedido DESC, id DESC).
+ *
+ * O cliente recebe o cursor como um token opaco (Base64 URL) e o devolve para buscar a
+ * próxima página. A consulta continua exatamente após o último pedido entregue,
+ * sem OFFSET, então o custo de cada página não cresce com a profundidade.
+ */
+public record CursorPedido(LocalDateTime dataPedido, Long id) {
+
+    public static final int TAMANHO_PADRAO = 20;
+    public static final int TAMANHO_MAXIMO = 100;
+
+    // Posição antes do primeiro pedido (pedidos mais recentes primeiro)
+    public static final CursorPedido INICIO = new CursorPedido(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    private static final String SEPARADOR = "|";
+
+    /**
+     * Decodificar o token recebido do cliente; token ausente significa primeira página
+     */
+    public static CursorPedido decodificar(String token) {
+        if (token == null || token.isBlank()) {
+            return INICIO;
+        }
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separador = valor.indexOf(SEPARADOR);
+            return new CursorPedido(
+                    LocalDateTime.parse(valor.substring(0, separador)),
+                    Long.parseLong(valor.substring(separador + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor inválido: " + token);
+        }
+    }
+
+    /**
+     * Gerar o token opaco que aponta para logo após este pedido
+     */
+    public String codificar() {
+        String valor = dataPedido + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Limitar o cursor ao fim do período filtrado (dataFim inclusiva)
+     */
+    public CursorPedido limitadoA(LocalDateTime fim) {
+        if (fim == null || !dataPedido.isAfter(fim)) {
+            return this;
+        }
+        return new CursorPedido(fim, Long.MAX_VALUE);
+    }
+
+    /**
+     * Normalizar o tamanho de página solicitado para o intervalo permitido
+     */
+    public static int tamanhoValido(Integer tamanho) {
+        if (tamanho == null || tamanho < 1) {
+            return TAMANHO_PADRAO;
+        }
+        return Math.min(tamanho, TAMANHO_MAXIMO);
+    }
+}
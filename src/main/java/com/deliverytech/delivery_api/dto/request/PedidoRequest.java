@@ -4,6 +4,7 @@ import java.util.List;
 
 import com.deliverytech.delivery_api.model.Endereco;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -24,5 +25,5 @@ public class PedidoRequest {
     private Endereco enderecoEntrega;
 
     @NotNull
-    private List<ItemPedidoRequest> itens;
+    private List<@Valid ItemPedidoRequest> itens;
 }
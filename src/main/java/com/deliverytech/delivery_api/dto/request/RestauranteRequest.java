@@ -2,6 +2,8 @@ package com.deliverytech.delivery_api.dto.request;
 
 import java.math.BigDecimal;
 
+import com.deliverytech.delivery_api.validation.ValidCEP;
+
 import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Min;
@@ -27,6 +29,9 @@ public class RestauranteRequest {
     @NotBlank
     private String endereco;
 
+    @ValidCEP
+    private String cep;
+
 
     @DecimalMin("0.0")
     @NotNull(message = "Taxa de entrega é obrigatória")
@@ -19,6 +19,6 @@ public class ClienteResponse {
     private String telefone; 
     private String endereco;
     private Boolean ativo;
-    private LocalDateTime dataCadastro;
+    private LocalDateTime dataCriacao;
 
 }
@@ -0,0 +1,39 @@
+package com.deliverytech.delivery_api.dto.response;
+
+import java.time.LocalDateTime;
+
+import com.deliverytech.delivery_api.model.StatusPedido;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Schema(description = "Mudança de status de um pedido (evento SSE)", title = "Evento Status Pedido Response")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventoStatusPedidoResponse {
+
+    @Schema(description = "ID sequencial do evento (usado no Last-Event-ID)", example = "42")
+    private Long eventoId;
+
+    @Schema(description = "ID do pedido", example = "1")
+    private Long pedidoId;
+
+    @Schema(description = "ID do cliente", example = "1")
+    private Long clienteId;
+
+    @Schema(description = "ID do restaurante", example = "1")
+    private Long restauranteId;
+
+    @Schema(description = "Status anterior", example = "CRIADO")
+    private StatusPedido statusAnterior;
+
+    @Schema(description = "Status atual", example = "CONFIRMADO")
+    private StatusPedido statusAtual;
+
+    @Schema(description = "Momento da alteração")
+    private LocalDateTime dataHora;
+
+}
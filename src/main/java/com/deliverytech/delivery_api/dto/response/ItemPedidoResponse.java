@@ -2,6 +2,8 @@ package com.deliverytech.delivery_api.dto.response;
 
 import java.math.BigDecimal;
 
+import com.deliverytech.delivery_api.model.ItemPedido;
+
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -14,4 +16,9 @@ public class ItemPedidoResponse {
     private String nomeProduto;
     private Integer quantidade;
     private BigDecimal precoUnitario;
+
+    public static ItemPedidoResponse de(ItemPedido item) {
+        return new ItemPedidoResponse(item.getProduto().getId(), item.getProduto().getNome(),
+                item.getQuantidade(), item.getPrecoUnitario());
+    }
 }
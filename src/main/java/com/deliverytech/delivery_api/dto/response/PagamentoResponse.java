@@ -0,0 +1,49 @@
+package com.deliverytech.delivery_api.dto.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.deliverytech.delivery_api.model.Pagamento;
+import com.deliverytech.delivery_api.model.StatusPagamento;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Schema(description = "Situação do pagamento de um pedido", title = "Pagamento Response")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PagamentoResponse {
+
+    @Schema(description = "ID do pedido", example = "1")
+    private Long pedidoId;
+
+    @Schema(description = "Valor cobrado", example = "51.80")
+    private BigDecimal valor;
+
+    @Schema(description = "Status do pagamento", example = "APROVADO")
+    private StatusPagamento status;
+
+    @Schema(description = "Tentativas de cobrança realizadas", example = "1")
+    private int tentativas;
+
+    @Schema(description = "Gateway utilizado", example = "simulado")
+    private String gateway;
+
+    @Schema(description = "ID da transação no gateway (quando aprovado)")
+    private String transacaoId;
+
+    @Schema(description = "Motivo da recusa ou da falha")
+    private String motivo;
+
+    @Schema(description = "Última atualização")
+    private LocalDateTime atualizadoEm;
+
+    public static PagamentoResponse de(Pagamento pagamento) {
+        return new PagamentoResponse(pagamento.getPedidoId(), pagamento.getValor(), pagamento.getStatus(),
+                pagamento.getTentativas(), pagamento.getGateway(), pagamento.getTransacaoId(),
+                pagamento.getMotivo(), pagamento.getAtualizadoEm());
+    }
+}
@@ -0,0 +1,40 @@
+package com.deliverytech.delivery_api.dto.response;
+
+import java.util.List;
+import java.util.function.Function;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Schema(description = "Página de resultados com cursor para a próxima página", title = "Pagina Cursor Response")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaCursorResponse<T> {
+
+    @Schema(description = "Itens da página")
+    private List<T> itens;
+
+    @Schema(description = "Cursor opaco para buscar a próxima página (nulo na última página)")
+    private String proximoCursor;
+
+    @Schema(description = "Indica se existem mais itens após esta página", example = "true")
+    private boolean temMais;
+
+    @Schema(description = "Quantidade de itens nesta página", example = "20")
+    private int tamanho;
+
+    /**
+     * Montar a página a partir das linhas buscadas com tamanho + 1 (a linha extra só indica que há mais)
+     */
+    public static <E, T> PaginaCursorResponse<T> de(List<E> linhas, int tamanho,
+                                                    Function<E, T> conversor, Function<E, String> cursor) {
+        boolean temMais = linhas.size() > tamanho;
+        List<E> pagina = temMais ? linhas.subList(0, tamanho) : linhas;
+        List<T> itens = pagina.stream().map(conversor).toList();
+        String proximoCursor = temMais ? cursor.apply(pagina.get(pagina.size() - 1)) : null;
+        return new PaginaCursorResponse<>(itens, proximoCursor, temMais, itens.size());
+    }
+}
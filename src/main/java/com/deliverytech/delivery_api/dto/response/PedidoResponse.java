@@ -5,6 +5,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import com.deliverytech.delivery_api.model.Endereco;
+import com.deliverytech.delivery_api.model.Pedido;
 import com.deliverytech.delivery_api.model.StatusPedido;
 
 import lombok.AllArgsConstructor;
@@ -25,4 +26,19 @@ public class PedidoResponse {
     private LocalDateTime dataPedido;
     private List<ItemPedidoResponse> itens;
 
+    /**
+     * Conversão direta (sem reflexão), incluindo os itens; pedido sem itens vira lista vazia
+     */
+    public static PedidoResponse de(Pedido pedido) {
+        List<ItemPedidoResponse> itens = pedido.getItens() != null
+                ? pedido.getItens().stream().map(ItemPedidoResponse::de).toList()
+                : List.of();
+        return de(pedido, itens);
+    }
+
+    public static PedidoResponse de(Pedido pedido, List<ItemPedidoResponse> itens) {
+        return new PedidoResponse(pedido.getId(), pedido.getCliente().getId(), pedido.getRestaurante().getId(),
+                pedido.getEnderecoEntrega(), pedido.getValorTotal(), pedido.getStatusPedido(),
+                pedido.getDataPedido(), itens);
+    }
 }
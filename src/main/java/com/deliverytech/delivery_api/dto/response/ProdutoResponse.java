@@ -2,18 +2,37 @@ package com.deliverytech.delivery_api.dto.response;
 
 import java.math.BigDecimal;
 
+import com.deliverytech.delivery_api.model.Produto;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Value;
 
-@Data
-@NoArgsConstructor
+/**
+ * Produto do catálogo. Imutável: é o valor guardado nos caches de produto, compartilhado entre requisições
+ */
+@Value
 @AllArgsConstructor
 public class ProdutoResponse {
-    private Long id;
-    private String nome;
-    private String categoria;
-    private String descricao;
-    private BigDecimal preco;
-    private Boolean disponivel;
+    Long id;
+    String nome;
+    String categoria;
+    String descricao;
+    BigDecimal preco;
+    Boolean disponivel;
+
+    // Usado na cotação para conferir o restaurante do pedido; fora do JSON
+    @JsonIgnore
+    Long restauranteId;
+
+    public static ProdutoResponse de(Produto produto) {
+        return new ProdutoResponse(produto.getId(), produto.getNome(), produto.getCategoria(),
+                produto.getDescricao(), produto.getPreco(), produto.getDisponivel(),
+                produto.getRestaurante() != null ? produto.getRestaurante().getId() : null);
+    }
+
+    @JsonIgnore
+    public boolean isAtivo() {
+        return Boolean.TRUE.equals(disponivel);
+    }
 }
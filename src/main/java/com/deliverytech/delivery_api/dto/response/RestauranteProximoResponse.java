@@ -0,0 +1,23 @@
+package com.deliverytech.delivery_api.dto.response;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RestauranteProximoResponse {
+
+    private Long id;
+    private String nome;
+    private String categoria;
+    private String telefone;
+    private BigDecimal taxaEntrega;
+    private Integer tempoEntregaMinutos;
+    private Boolean ativo;
+    private Double distanciaKm;
+
+}
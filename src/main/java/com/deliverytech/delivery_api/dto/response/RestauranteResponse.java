@@ -2,21 +2,29 @@ package com.deliverytech.delivery_api.dto.response;
 
 import java.math.BigDecimal;
 
+import com.deliverytech.delivery_api.model.Restaurante;
+
 import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Value;
 
-@Data
-@NoArgsConstructor
+/**
+ * Restaurante do catálogo. Imutável: é o valor guardado nos caches de restaurante, compartilhado entre requisições
+ */
+@Value
 @AllArgsConstructor
 public class RestauranteResponse {
 
-    private Long id;
-    private String nome;
-    private String categoria;
-    private String telefone;
-    private BigDecimal taxaEntrega;
-    private Integer tempoEntregaMinutos;
-    private Boolean ativo;
-    
+    Long id;
+    String nome;
+    String categoria;
+    String telefone;
+    BigDecimal taxaEntrega;
+    Integer tempoEntregaMinutos;
+    Boolean ativo;
+
+    public static RestauranteResponse de(Restaurante restaurante) {
+        return new RestauranteResponse(restaurante.getId(), restaurante.getNome(), restaurante.getCategoria(),
+                restaurante.getTelefone(), restaurante.getTaxaEntrega(), restaurante.getTempoEntregaMinutos(),
+                restaurante.getAtivo());
+    }
 }
@@ -0,0 +1,83 @@
+package com.deliverytech.delivery_api.geo;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Tabela offline de centroides por prefixo de CEP (classpath:geo/cep-centroides.csv).
+ *
+ * O CEP é resolvido pelo prefixo mais longo presente na tabela (5 dígitos até 1),
+ * então uma tabela mais detalhada pode substituir a empacotada sem mudar código.
+ */
+@Slf4j
+@Component
+public class CentroidesCep {
+
+    private static final int TAMANHO_CEP = 8;
+    private static final int MAIOR_PREFIXO = 5;
+
+    @Value("${proximidade.centroides:classpath:geo/cep-centroides.csv}")
+    private Resource arquivo;
+
+    private final Map<String, Coordenada> centroides = new HashMap<>();
+
+    @PostConstruct
+    void carregar() throws IOException {
+        try (BufferedReader leitor = new BufferedReader(
+                new InputStreamReader(arquivo.getInputStream(), StandardCharsets.UTF_8))) {
+            String linha;
+            while ((linha = leitor.readLine()) != null) {
+                linha = linha.strip();
+                if (linha.isEmpty() || linha.startsWith("#")) {
+                    continue;
+                }
+                // prefixo;latitude;longitude;descrição
+                String[] campos = linha.split(";");
+                centroides.put(campos[0], new Coordenada(
+                        Double.parseDouble(campos[1]), Double.parseDouble(campos[2])));
+            }
+        }
+        log.info("Centroides de CEP carregados: {} prefixos", centroides.size());
+    }
+
+    /**
+     * Localizar o centroide da região do CEP (com ou sem hífen)
+     * @return coordenada do prefixo mais específico conhecido, ou vazio se o CEP for inválido
+     */
+    public Optional<Coordenada> localizar(String cep) {
+        String digitos = normalizar(cep);
+        if (digitos == null) {
+            return Optional.empty();
+        }
+        for (int tamanho = MAIOR_PREFIXO; tamanho >= 1; tamanho--) {
+            Coordenada coordenada = centroides.get(digitos.substring(0, tamanho));
+            if (coordenada != null) {
+                return Optional.of(coordenada);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * CEP só com dígitos, ou null se não tiver 8 dígitos
+     */
+    public static String normalizar(String cep) {
+        if (cep == null) {
+            return null;
+        }
+        String digitos = cep.replaceAll("\\D", "");
+        return digitos.length() == TAMANHO_CEP ? digitos : null;
+    }
+}
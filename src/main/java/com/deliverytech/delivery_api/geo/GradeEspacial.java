@@ -0,0 +1,144 @@
+package com.deliverytech.delivery_api.geo;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Índice espacial em grade uniforme (células de N graus de latitude x longitude).
+ *
+ * Consulta por raio visita só as células que cobrem o círculo; a busca dos k mais
+ * próximos expande anéis de células a partir do ponto até que nenhuma célula ainda não
+ * visitada possa conter algo mais perto que o k-ésimo encontrado.
+ * Não é thread-safe: o chamador controla a concorrência.
+ */
+public class GradeEspacial<K> {
+
+    private static final double KM_POR_GRAU_LATITUDE = 110.574;
+    private static final double KM_POR_GRAU_LONGITUDE = 111.320;
+
+    private record Ponto<K>(K chave, Coordenada coordenada) {
+    }
+
+    private final double tamanhoCelula;
+    private final Map<Long, List<Ponto<K>>> celulas = new HashMap<>();
+    private final Map<K, Ponto<K>> pontos = new HashMap<>();
+
+    public GradeEspacial(double tamanhoCelulaGraus) {
+        this.tamanhoCelula = tamanhoCelulaGraus;
+    }
+
+    public int tamanho() {
+        return pontos.size();
+    }
+
+    public void limpar() {
+        celulas.clear();
+        pontos.clear();
+    }
+
+    /**
+     * Incluir ou mover o ponto associado à chave
+     */
+    public void inserir(K chave, Coordenada coordenada) {
+        remover(chave);
+        Ponto<K> ponto = new Ponto<>(chave, coordenada);
+        pontos.put(chave, ponto);
+        celulas.computeIfAbsent(celula(linha(coordenada.latitude()), coluna(coordenada.longitude())),
+                c -> new ArrayList<>()).add(ponto);
+    }
+
+    public void remover(K chave) {
+        Ponto<K> ponto = pontos.remove(chave);
+        if (ponto == null) {
+            return;
+        }
+        long celula = celula(linha(ponto.coordenada().latitude()), coluna(ponto.coordenada().longitude()));
+        List<Ponto<K>> lista = celulas.get(celula);
+        lista.remove(ponto);
+        if (lista.isEmpty()) {
+            celulas.remove(celula);
+        }
+    }
+
+    /**
+     * Pontos a até raioKm do centro, do mais próximo ao mais distante
+     */
+    public List<Vizinho<K>> noRaio(Coordenada centro, double raioKm) {
+        int linhas = (int) Math.ceil(raioKm / KM_POR_GRAU_LATITUDE / tamanhoCelula);
+        int colunas = (int) Math.ceil(raioKm / kmPorGrauLongitude(centro) / tamanhoCelula);
+        int linhaCentro = linha(centro.latitude());
+        int colunaCentro = coluna(centro.longitude());
+
+        List<Vizinho<K>> encontrados = new ArrayList<>();
+        for (int l = linhaCentro - linhas; l <= linhaCentro + linhas; l++) {
+            for (int c = colunaCentro - colunas; c <= colunaCentro + colunas; c++) {
+                coletar(celula(l, c), centro, raioKm, encontrados);
+            }
+        }
+        encontrados.sort(Comparator.comparingDouble(Vizinho::distanciaKm));
+        return encontrados;
+    }
+
+    /**
+     * Os k pontos mais próximos do centro, limitados a raioMaximoKm
+     */
+    public List<Vizinho<K>> maisProximos(Coordenada centro, int k, double raioMaximoKm) {
+        int linhaCentro = linha(centro.latitude());
+        int colunaCentro = coluna(centro.longitude());
+        // Menor distância garantida por anel de células (a longitude encolhe com a latitude)
+        double kmPorAnel = tamanhoCelula * Math.min(KM_POR_GRAU_LATITUDE, kmPorGrauLongitude(centro));
+        int anelMaximo = (int) Math.ceil(raioMaximoKm / kmPorAnel) + 1;
+
+        List<Vizinho<K>> encontrados = new ArrayList<>();
+        for (int anel = 0; anel <= anelMaximo; anel++) {
+            for (int l = linhaCentro - anel; l <= linhaCentro + anel; l++) {
+                for (int c = colunaCentro - anel; c <= colunaCentro + anel; c++) {
+                    // Só a borda do anel; o interior já foi visitado
+                    if (Math.abs(l - linhaCentro) == anel || Math.abs(c - colunaCentro) == anel) {
+                        coletar(celula(l, c), centro, raioMaximoKm, encontrados);
+                    }
+                }
+            }
+            if (encontrados.size() >= k) {
+                encontrados.sort(Comparator.comparingDouble(Vizinho::distanciaKm));
+                if (encontrados.get(k - 1).distanciaKm() <= anel * kmPorAnel) {
+                    break;
+                }
+            }
+        }
+        encontrados.sort(Comparator.comparingDouble(Vizinho::distanciaKm));
+        return encontrados.size() > k ? new ArrayList<>(encontrados.subList(0, k)) : encontrados;
+    }
+
+    private void coletar(long celula, Coordenada centro, double raioKm, List<Vizinho<K>> encontrados) {
+        List<Ponto<K>> lista = celulas.get(celula);
+        if (lista == null) {
+            return;
+        }
+        for (Ponto<K> ponto : lista) {
+            double distancia = centro.distanciaKm(ponto.coordenada());
+            if (distancia <= raioKm) {
+                encontrados.add(new Vizinho<>(ponto.chave(), distancia));
+            }
+        }
+    }
+
+    private double kmPorGrauLongitude(Coordenada centro) {
+        return Math.max(KM_POR_GRAU_LONGITUDE * Math.cos(Math.toRadians(centro.latitude())), 1e-6);
+    }
+
+    private int linha(double latitude) {
+        return (int) Math.floor(latitude / tamanhoCelula);
+    }
+
+    private int coluna(double longitude) {
+        return (int) Math.floor(longitude / tamanhoCelula);
+    }
+
+    private static long celula(int linha, int coluna) {
+        return ((long) linha << 32) | (coluna & 0xffffffffL);
+    }
+}
@@ -0,0 +1,7 @@
+package com.deliverytech.delivery_api.geo;
+
+/**
+ * Resultado de consulta espacial: item encontrado e sua distância ao ponto consultado
+ */
+public record Vizinho<T>(T item, double distanciaKm) {
+}
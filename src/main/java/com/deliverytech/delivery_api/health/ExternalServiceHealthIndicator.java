@@ -4,27 +4,32 @@ import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.HealthIndicator;
 import org.springframework.stereotype.Component;
 
+import com.deliverytech.delivery_api.pagamento.DisjuntorCircuito;
+import com.deliverytech.delivery_api.pagamento.GatewayProtegido;
+
+import lombok.RequiredArgsConstructor;
+
+// Estado real do gateway de pagamento, pelo disjuntor: circuito aberto = DOWN
 @Component("externalService")
+@RequiredArgsConstructor
 public class ExternalServiceHealthIndicator implements HealthIndicator {
 
-    private boolean serviceUp = true;
+    private final GatewayProtegido gatewayPagamento;
 
     @Override
     public Health health() {
         try {
-            if (serviceUp) {
-                return Health.up().withDetail("ServiceName", "Payment gateway")
-                        .withDetail("status", "Reachable").build();
-            }
-
-            return Health.down().withDetail("ServiceName", "Payment gateway")
-                    .withDetail("status", "Service not reachable or responding").build();
+            DisjuntorCircuito disjuntor = gatewayPagamento.getDisjuntor();
+            DisjuntorCircuito.Estado estado = disjuntor.estado();
+            Health.Builder builder = estado == DisjuntorCircuito.Estado.ABERTO ? Health.down() : Health.up();
+            return builder.withDetail("ServiceName", "Payment gateway")
+                    .withDetail("gateway", gatewayPagamento.nome())
+                    .withDetail("circuitBreaker", estado)
+                    .withDetail("failureRate", Math.round(disjuntor.taxaFalha() * 100) + "%")
+                    .withDetail("inFlight", gatewayPagamento.chamadasEmAndamento() + "/" + gatewayPagamento.getConcorrenciaMaxima())
+                    .build();
         } catch (Exception e) {
             return Health.down(e).withDetail("error", e.getMessage()).build();
         }
     }
-
-    public void setServiceUp(boolean serviceUp) {
-        this.serviceUp = serviceUp;
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,41 @@
+package com.deliverytech.delivery_api.model;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Pedidos não cancelados de cada cliente por dia (tabela clientes_diarios).
+ *
+ * Mantido junto com o acumulado de vendas diárias. Clientes distintos não se somam
+ * entre restaurantes, então o resumo de vendas conta as linhas desta tabela no período.
+ */
+@Entity
+@Table(name = "clientes_diarios")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClienteDiario {
+
+    @EmbeddedId
+    private Chave id;
+
+    @Column(name = "quantidade_pedidos", nullable = false)
+    private Long quantidadePedidos;
+
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Chave implements Serializable {
+
+        @Column(name = "dia", nullable = false)
+        private LocalDate dia;
+
+        @Column(name = "cliente_id", nullable = false)
+        private Long clienteId;
+    }
+}
@@ -0,0 +1,59 @@
+package com.deliverytech.delivery_api.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Evento de domínio pendente de entrega (tabela evento_outbox).
+ *
+ * Gravado na mesma transação da alteração que o originou, então o evento existe se e
+ * somente se a alteração foi confirmada. O DespachanteOutbox lê os pendentes em lotes e
+ * os entrega aos tratadores fora da requisição.
+ */
+@Entity
+@Table(name = "evento_outbox",
+       indexes = @Index(name = "idx_evento_outbox_pendentes", columnList = "status, proxima_tentativa"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventoOutbox {
+
+    // Tipos de evento publicados
+    public static final String PEDIDO_STATUS_ALTERADO = "PEDIDO_STATUS_ALTERADO";
+
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "evento_outbox_seq")
+    @SequenceGenerator(name = "evento_outbox_seq", sequenceName = "evento_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, length = 60)
+    private String tipo;
+
+    @Column(name = "agregado_id")
+    private Long agregadoId;
+
+    // Dados do evento em JSON
+    @Column(nullable = false, length = 4000)
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private StatusEventoOutbox status;
+
+    @Column(nullable = false)
+    private int tentativas;
+
+    @Column(name = "proxima_tentativa", nullable = false)
+    private LocalDateTime proximaTentativa;
+
+    @Column(name = "criado_em", nullable = false)
+    private LocalDateTime criadoEm;
+
+    @Column(name = "processado_em")
+    private LocalDateTime processadoEm;
+
+    @Column(name = "ultimo_erro", length = 1000)
+    private String ultimoErro;
+}
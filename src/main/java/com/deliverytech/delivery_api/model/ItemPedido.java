@@ -13,15 +13,20 @@ import java.math.BigDecimal;
 public class ItemPedido {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_pedido_seq")
+    @SequenceGenerator(name = "item_pedido_seq", sequenceName = "item_pedido_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "pedido_id", nullable = false)
     private Pedido pedido;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    // Fora do equals/hashCode/toString: o Hibernate compara os itens no flush e a referência
+    // ao produto (getReferenceById na criação) seria carregada só para isso
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "produto_id", nullable = false)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private Produto produto;
 
     @Column(nullable = false)
@@ -0,0 +1,55 @@
+package com.deliverytech.delivery_api.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Pagamento de um pedido (um por pedido). A chave de idempotência acompanha todas as
+ * tentativas de cobrança, então reprocessar nunca cobra duas vezes.
+ */
+@Entity
+@Table(name = "pagamento")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Pagamento {
+
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pagamento_seq")
+    @SequenceGenerator(name = "pagamento_seq", sequenceName = "pagamento_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "pedido_id", nullable = false, unique = true)
+    private Long pedidoId;
+
+    @Column(name = "chave_idempotencia", nullable = false, unique = true, length = 60)
+    private String chaveIdempotencia;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal valor;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private StatusPagamento status;
+
+    @Column(nullable = false)
+    private int tentativas;
+
+    @Column(length = 30)
+    private String gateway;
+
+    @Column(name = "transacao_id", length = 100)
+    private String transacaoId;
+
+    @Column(length = 500)
+    private String motivo;
+
+    @Column(name = "criado_em", nullable = false)
+    private LocalDateTime criadoEm;
+
+    @Column(name = "atualizado_em", nullable = false)
+    private LocalDateTime atualizadoEm;
+}
@@ -8,6 +8,10 @@ import java.time.LocalDateTime;
 // import java.time.LocalTime;
 import java.util.List;
 
+// Planos de busca por caso de uso; a listagem paginada não usa grafo (itens e produtos vêm em lote)
+@NamedEntityGraph(name = Pedido.GRAFO_DETALHE,
+        attributeNodes = @NamedAttributeNode(value = "itens", subgraph = "itens.produto"),
+        subgraphs = @NamedSubgraph(name = "itens.produto", attributeNodes = @NamedAttributeNode("produto")))
 @Entity
 @Data
 @NoArgsConstructor
@@ -15,14 +19,18 @@ import java.util.List;
 @Builder
 public class Pedido {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Detalhe: itens e produtos na mesma consulta
+    public static final String GRAFO_DETALHE = "Pedido.detalhe";
+
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pedido_seq")
+    @SequenceGenerator(name = "pedido_seq", sequenceName = "pedido_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "cliente_id")
     private Cliente cliente;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "restaurante_id")
     private Restaurante restaurante;
 
@@ -45,6 +53,10 @@ public class Pedido {
 
     @Embedded
     private Endereco enderecoEntrega;
+
+    // Controle de concorrência otimista: alteração concorrente falha em vez de sobrescrever
+    @Version
+    private Long versao;
     
 
 
@@ -6,6 +6,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import lombok.AllArgsConstructor;
@@ -20,7 +21,8 @@ import lombok.NoArgsConstructor;
 @Builder
 public class Produto {
 
-     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+     @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "produto_seq")
+     @SequenceGenerator(name = "produto_seq", sequenceName = "produto_seq", allocationSize = 50)
      private Long id;
 
      private String nome;
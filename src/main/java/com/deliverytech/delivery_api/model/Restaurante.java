@@ -11,6 +11,7 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -24,7 +25,8 @@ import lombok.NoArgsConstructor;
 @Builder
 public class Restaurante {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "restaurante_seq")
+    @SequenceGenerator(name = "restaurante_seq", sequenceName = "restaurante_seq", allocationSize = 50)
     private Long Id;
 
     private String nome;
@@ -33,6 +35,9 @@ public class Restaurante {
 
     private String telefone;
 
+    // Localiza o restaurante para a busca por proximidade
+    private String cep;
+
     private BigDecimal avaliacao;
 
     private BigDecimal taxaEntrega;
@@ -0,0 +1,7 @@
+package com.deliverytech.delivery_api.model;
+
+public enum StatusEventoOutbox {
+    PENDENTE,     // Aguardando entrega (ou nova tentativa após falha)
+    PROCESSADO,   // Entregue a todos os tratadores
+    FALHOU        // Esgotou as tentativas (dead-letter): exige análise manual
+}
@@ -0,0 +1,12 @@
+package com.deliverytech.delivery_api.model;
+
+public enum StatusPagamento {
+    PROCESSANDO,   // Em cobrança no gateway (ou interrompido: pode ser reprocessado)
+    APROVADO,      // Cobrança aprovada (final)
+    RECUSADO,      // Cobrança recusada pelo gateway (final)
+    FALHOU;        // Gateway indisponível após todas as tentativas: pode ser reprocessado
+
+    public boolean isFinal() {
+        return this == APROVADO || this == RECUSADO;
+    }
+}
@@ -0,0 +1,50 @@
+package com.deliverytech.delivery_api.model;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Acumulado diário de pedidos por restaurante e status (tabela vendas_diarias).
+ *
+ * Mantido de forma incremental pelo PedidoServiceImpl a cada criação, alteração de
+ * itens ou transição de status. Os relatórios de vendas leem esta tabela em vez de
+ * varrer a tabela pedido, então o custo depende do número de dias e não de pedidos.
+ */
+@Entity
+@Table(name = "vendas_diarias")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class VendaDiaria {
+
+    @EmbeddedId
+    private Chave id;
+
+    @Column(name = "quantidade_pedidos", nullable = false)
+    private Long quantidadePedidos;
+
+    @Column(name = "valor_total", nullable = false, precision = 15, scale = 2)
+    private BigDecimal valorTotal;
+
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Chave implements Serializable {
+
+        @Column(name = "restaurante_id", nullable = false)
+        private Long restauranteId;
+
+        @Column(name = "dia", nullable = false)
+        private LocalDate dia;
+
+        @Enumerated(EnumType.STRING)
+        @Column(name = "status_pedido", nullable = false, length = 30)
+        private StatusPedido statusPedido;
+    }
+}
@@ -0,0 +1,151 @@
+package com.deliverytech.delivery_api.pagamento;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Disjuntor (circuit breaker) por taxa de falha em uma janela deslizante das últimas chamadas.
+ *
+ * FECHADO: chamadas liberadas; abre quando a taxa de falha da janela atinge o limite
+ * (com um mínimo de chamadas registradas). ABERTO: chamadas recusadas sem tocar o gateway
+ * até passar o tempo de espera. MEIO_ABERTO: uma única chamada de teste; sucesso fecha,
+ * falha reabre.
+ */
+@Slf4j
+public class DisjuntorCircuito {
+
+    public enum Estado {
+        FECHADO, ABERTO, MEIO_ABERTO
+    }
+
+    private final String nome;
+    private final int chamadasMinimas;
+    private final double taxaFalhaLimite;
+    private final long tempoAbertoNanos;
+
+    // Janela circular: true = falha
+    private final boolean[] janela;
+    private int posicao;
+    private int registradas;
+    private int falhas;
+
+    private Estado estado = Estado.FECHADO;
+    private long abertoDesde;
+    private boolean testeEmAndamento;
+
+    public DisjuntorCircuito(String nome, int tamanhoJanela, int chamadasMinimas,
+                             double taxaFalhaLimite, long tempoAbertoMs) {
+        this.nome = nome;
+        this.janela = new boolean[tamanhoJanela];
+        this.chamadasMinimas = chamadasMinimas;
+        this.taxaFalhaLimite = taxaFalhaLimite;
+        this.tempoAbertoNanos = TimeUnit.MILLISECONDS.toNanos(tempoAbertoMs);
+    }
+
+    /**
+     * Reservar uma chamada; false se o circuito estiver aberto (ou já houver um teste em andamento)
+     */
+    public boolean permitir() {
+        synchronized (this) {
+            switch (estado) {
+                case FECHADO:
+                    return true;
+                case ABERTO:
+                    if (System.nanoTime() - abertoDesde < tempoAbertoNanos) {
+                        return false;
+                    }
+                    estado = Estado.MEIO_ABERTO;
+                    testeEmAndamento = true;
+                    break;
+                default:
+                    if (testeEmAndamento) {
+                        return false;
+                    }
+                    testeEmAndamento = true;
+                    return true;
+            }
+        }
+        // Log fora do lock: escrita de log é I/O e fixaria virtual threads no monitor
+        log.info("Disjuntor {} meio aberto: liberando chamada de teste", nome);
+        return true;
+    }
+
+    public void registrarSucesso() {
+        boolean fechou = false;
+        synchronized (this) {
+            if (estado == Estado.MEIO_ABERTO) {
+                fechar();
+                fechou = true;
+            } else {
+                registrar(false);
+            }
+        }
+        if (fechou) {
+            log.info("Disjuntor {} fechado", nome);
+        }
+    }
+
+    public void registrarFalha() {
+        boolean abriu = false;
+        double taxa;
+        synchronized (this) {
+            if (estado == Estado.MEIO_ABERTO) {
+                taxa = taxaFalha();
+                abrir();
+                abriu = true;
+            } else {
+                registrar(true);
+                taxa = taxaFalha();
+                if (estado == Estado.FECHADO && registradas >= chamadasMinimas && taxa >= taxaFalhaLimite) {
+                    abrir();
+                    abriu = true;
+                }
+            }
+        }
+        if (abriu) {
+            log.warn("Disjuntor {} aberto (taxa de falha {}%)", nome, Math.round(taxa * 100));
+        }
+    }
+
+    public synchronized Estado estado() {
+        return estado;
+    }
+
+    public synchronized double taxaFalha() {
+        return registradas == 0 ? 0.0 : (double) falhas / registradas;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    private void registrar(boolean falha) {
+        if (registradas == janela.length) {
+            if (janela[posicao]) {
+                falhas--;
+            }
+        } else {
+            registradas++;
+        }
+        janela[posicao] = falha;
+        if (falha) {
+            falhas++;
+        }
+        posicao = (posicao + 1) % janela.length;
+    }
+
+    private void abrir() {
+        estado = Estado.ABERTO;
+        abertoDesde = System.nanoTime();
+        testeEmAndamento = false;
+    }
+
+    private void fechar() {
+        estado = Estado.FECHADO;
+        testeEmAndamento = false;
+        posicao = 0;
+        registradas = 0;
+        falhas = 0;
+    }
+}
@@ -0,0 +1,16 @@
+package com.deliverytech.delivery_api.pagamento;
+
+/**
+ * Falha transitória ao falar com o gateway (erro, timeout, circuito aberto ou sem vaga):
+ * a cobrança pode ser repetida
+ */
+public class GatewayIndisponivelException extends RuntimeException {
+
+    public GatewayIndisponivelException(String message) {
+        super(message);
+    }
+
+    public GatewayIndisponivelException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
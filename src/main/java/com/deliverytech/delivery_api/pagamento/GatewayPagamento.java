@@ -0,0 +1,15 @@
+package com.deliverytech.delivery_api.pagamento;
+
+/**
+ * Integração com um gateway de pagamento.
+ *
+ * A chamada é bloqueante: roda em uma virtual thread do GatewayProtegido, que aplica
+ * limite de concorrência, timeout e disjuntor. Recusa é um resultado; exceção é falha
+ * transitória e a cobrança é repetida com a mesma chave de idempotência.
+ */
+public interface GatewayPagamento {
+
+    String nome();
+
+    ResultadoGateway cobrar(SolicitacaoCobranca solicitacao) throws Exception;
+}
@@ -0,0 +1,91 @@
+package com.deliverytech.delivery_api.pagamento;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Gateway com as proteções de cada integração: limite de chamadas simultâneas, timeout
+ * por chamada e disjuntor. Toda falha vira GatewayIndisponivelException (transitória).
+ */
+public class GatewayProtegido {
+
+    private final GatewayPagamento gateway;
+    private final DisjuntorCircuito disjuntor;
+    private final Semaphore vagas;
+    private final int concorrenciaMaxima;
+    private final long timeoutMs;
+    private final long esperaVagaMs;
+    private final ExecutorService executor;
+
+    public GatewayProtegido(GatewayPagamento gateway, DisjuntorCircuito disjuntor, int concorrenciaMaxima,
+                            long timeoutMs, long esperaVagaMs, ExecutorService executor) {
+        this.gateway = gateway;
+        this.disjuntor = disjuntor;
+        this.vagas = new Semaphore(concorrenciaMaxima);
+        this.concorrenciaMaxima = concorrenciaMaxima;
+        this.timeoutMs = timeoutMs;
+        this.esperaVagaMs = esperaVagaMs;
+        this.executor = executor;
+    }
+
+    /**
+     * Cobrar no gateway respeitando vaga, disjuntor e timeout
+     * @throws GatewayIndisponivelException em qualquer falha transitória
+     */
+    public ResultadoGateway cobrar(SolicitacaoCobranca solicitacao) {
+        try {
+            if (!vagas.tryAcquire(esperaVagaMs, TimeUnit.MILLISECONDS)) {
+                throw new GatewayIndisponivelException(nome() + ": limite de chamadas simultâneas atingido");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GatewayIndisponivelException(nome() + ": espera por vaga interrompida", e);
+        }
+
+        try {
+            if (!disjuntor.permitir()) {
+                throw new GatewayIndisponivelException(nome() + ": circuito aberto");
+            }
+            Future<ResultadoGateway> chamada = executor.submit(() -> gateway.cobrar(solicitacao));
+            try {
+                ResultadoGateway resultado = chamada.get(timeoutMs, TimeUnit.MILLISECONDS);
+                disjuntor.registrarSucesso();
+                return resultado;
+            } catch (TimeoutException e) {
+                chamada.cancel(true);
+                disjuntor.registrarFalha();
+                throw new GatewayIndisponivelException(nome() + ": timeout após " + timeoutMs + " ms", e);
+            } catch (ExecutionException e) {
+                disjuntor.registrarFalha();
+                throw new GatewayIndisponivelException(nome() + ": " + e.getCause().getMessage(), e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                chamada.cancel(true);
+                disjuntor.registrarFalha();
+                throw new GatewayIndisponivelException(nome() + ": chamada interrompida", e);
+            }
+        } finally {
+            vagas.release();
+        }
+    }
+
+    public String nome() {
+        return gateway.nome();
+    }
+
+    public DisjuntorCircuito getDisjuntor() {
+        return disjuntor;
+    }
+
+    public int chamadasEmAndamento() {
+        return concorrenciaMaxima - vagas.availablePermits();
+    }
+
+    public int getConcorrenciaMaxima() {
+        return concorrenciaMaxima;
+    }
+}
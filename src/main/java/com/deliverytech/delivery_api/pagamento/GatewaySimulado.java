@@ -0,0 +1,43 @@
+package com.deliverytech.delivery_api.pagamento;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Gateway em memória para desenvolvimento e testes: latência fixa, falhas aleatórias
+ * configuráveis e recusa acima de um valor limite. Respeita a chave de idempotência:
+ * a mesma chave sempre devolve o primeiro resultado definitivo.
+ */
+public class GatewaySimulado implements GatewayPagamento {
+
+    private final long latenciaMs;
+    private final double taxaFalha;
+    private final BigDecimal limiteAprovacao;
+    private final Map<String, ResultadoGateway> processados = new ConcurrentHashMap<>();
+
+    public GatewaySimulado(long latenciaMs, double taxaFalha, BigDecimal limiteAprovacao) {
+        this.latenciaMs = latenciaMs;
+        this.taxaFalha = taxaFalha;
+        this.limiteAprovacao = limiteAprovacao;
+    }
+
+    @Override
+    public String nome() {
+        return "simulado";
+    }
+
+    @Override
+    public ResultadoGateway cobrar(SolicitacaoCobranca solicitacao) throws Exception {
+        Thread.sleep(latenciaMs);
+        if (ThreadLocalRandom.current().nextDouble() < taxaFalha) {
+            throw new IllegalStateException("Falha simulada de comunicação com o gateway");
+        }
+        return processados.computeIfAbsent(solicitacao.chaveIdempotencia(), chave ->
+                solicitacao.valor().compareTo(limiteAprovacao) > 0
+                        ? ResultadoGateway.recusado("Valor acima do limite aprovado")
+                        : ResultadoGateway.aprovado(UUID.randomUUID().toString()));
+    }
+}
@@ -0,0 +1,15 @@
+package com.deliverytech.delivery_api.pagamento;
+
+/**
+ * Resposta definitiva do gateway: aprovada (com ID da transação) ou recusada (com motivo)
+ */
+public record ResultadoGateway(boolean aprovado, String transacaoId, String motivo) {
+
+    public static ResultadoGateway aprovado(String transacaoId) {
+        return new ResultadoGateway(true, transacaoId, null);
+    }
+
+    public static ResultadoGateway recusado(String motivo) {
+        return new ResultadoGateway(false, null, motivo);
+    }
+}
@@ -0,0 +1,10 @@
+package com.deliverytech.delivery_api.pagamento;
+
+import java.math.BigDecimal;
+
+/**
+ * Cobrança enviada ao gateway; a chave de idempotência é a mesma em todas as tentativas
+ * do mesmo pagamento, então o gateway nunca cobra duas vezes
+ */
+public record SolicitacaoCobranca(String chaveIdempotencia, Long pedidoId, BigDecimal valor) {
+}
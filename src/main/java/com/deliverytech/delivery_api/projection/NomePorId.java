@@ -0,0 +1,8 @@
+package com.deliverytech.delivery_api.projection;
+
+public interface NomePorId {
+
+    Long getId();
+    String getNome();
+
+}
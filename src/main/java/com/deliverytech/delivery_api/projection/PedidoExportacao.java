@@ -0,0 +1,20 @@
+package com.deliverytech.delivery_api.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.deliverytech.delivery_api.model.StatusPedido;
+
+public interface PedidoExportacao {
+
+    Long getId();
+    LocalDateTime getDataPedido();
+    StatusPedido getStatus();
+    BigDecimal getValorTotal();
+    Long getClienteId();
+    String getClienteNome();
+    Long getRestauranteId();
+    String getRestauranteNome();
+    String getCep();
+
+}
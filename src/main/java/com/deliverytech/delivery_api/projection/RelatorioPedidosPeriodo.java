@@ -0,0 +1,11 @@
+package com.deliverytech.delivery_api.projection;
+
+import java.math.BigDecimal;
+
+public interface RelatorioPedidosPeriodo {
+
+    String getPeriodo();
+    Long getTotalPedidos();
+    BigDecimal getValorTotal();
+
+}
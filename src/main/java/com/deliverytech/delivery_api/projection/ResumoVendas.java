@@ -0,0 +1,13 @@
+package com.deliverytech.delivery_api.projection;
+
+import java.math.BigDecimal;
+
+public interface ResumoVendas {
+
+    Long getTotalPedidos();
+    BigDecimal getValorTotalVendas();
+    BigDecimal getTicketMedio();
+    Long getRestaurantesAtivos();
+    Long getClientesAtivos();
+
+}
@@ -0,0 +1,37 @@
+package com.deliverytech.delivery_api.repository;
+
+import java.time.LocalDate;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.deliverytech.delivery_api.model.ClienteDiario;
+
+public interface ClienteDiarioRepository extends JpaRepository<ClienteDiario, ClienteDiario.Chave> {
+
+    // Soma a quantidade na linha do cliente no dia; cria a linha se ainda não existir
+    @Modifying
+    @Query(value = "MERGE INTO clientes_diarios c " +
+                   "USING (VALUES (CAST(:dia AS DATE), CAST(:clienteId AS BIGINT), CAST(:quantidade AS BIGINT))) " +
+                   "      AS d(dia, cliente_id, quantidade_pedidos) " +
+                   "ON c.dia = d.dia AND c.cliente_id = d.cliente_id " +
+                   "WHEN MATCHED THEN UPDATE SET quantidade_pedidos = c.quantidade_pedidos + d.quantidade_pedidos " +
+                   "WHEN NOT MATCHED THEN INSERT (dia, cliente_id, quantidade_pedidos) " +
+                   "     VALUES (d.dia, d.cliente_id, d.quantidade_pedidos)",
+           nativeQuery = true)
+    int acumular(@Param("clienteId") Long clienteId,
+                 @Param("dia") LocalDate dia,
+                 @Param("quantidade") long quantidade);
+
+    // Recalcula a tabela a partir da tabela pedido (backfill)
+    @Modifying
+    @Query(value = "INSERT INTO clientes_diarios (dia, cliente_id, quantidade_pedidos) " +
+                   "SELECT CAST(p.data_pedido AS DATE), p.cliente_id, COUNT(*) " +
+                   "FROM pedido p " +
+                   "WHERE p.cliente_id IS NOT NULL AND p.data_pedido IS NOT NULL AND p.status_pedido <> 'CANCELADO' " +
+                   "GROUP BY CAST(p.data_pedido AS DATE), p.cliente_id",
+           nativeQuery = true)
+    int reconstruirAPartirDosPedidos();
+}
@@ -1,13 +1,17 @@
 package com.deliverytech.delivery_api.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.deliverytech.delivery_api.dto.response.ClienteResponse;
 import com.deliverytech.delivery_api.model.Cliente;
+import com.deliverytech.delivery_api.projection.NomePorId;
 
 public interface ClienteRepository extends JpaRepository<Cliente, Long> {
 
@@ -20,6 +24,16 @@ public interface ClienteRepository extends JpaRepository<Cliente, Long> {
     List<Cliente> findByAtivoTrue();
     // SELECT * FROM cliente WHERE ativo = true
 
+    // Nomes dos clientes de pedidos arquivados (exportação), sem entidades no contexto de persistência
+    @Query("SELECT c.id AS id, c.nome AS nome FROM Cliente c WHERE c.id IN :ids")
+    List<NomePorId> buscarNomes(@Param("ids") Collection<Long> ids);
+
+    // Listagem: projeção direto no DTO, sem entidades no contexto de persistência
+    @Query("SELECT new com.deliverytech.delivery_api.dto.response.ClienteResponse(" +
+           "c.id, c.nome, c.email, c.telefone, c.endereco, c.ativo, c.dataCriacao) " +
+           "FROM Cliente c WHERE c.ativo = true ORDER BY c.id")
+    List<ClienteResponse> listarAtivosResumo();
+
     List<Cliente> findByNomeContainingIgnoreCase(String nome);
     // SELECT * FROM cliente WHERE lower(nome) LIKE lower('%...%')
 
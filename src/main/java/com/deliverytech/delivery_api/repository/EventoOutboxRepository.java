@@ -0,0 +1,30 @@
+package com.deliverytech.delivery_api.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.deliverytech.delivery_api.model.EventoOutbox;
+import com.deliverytech.delivery_api.model.StatusEventoOutbox;
+
+public interface EventoOutboxRepository extends JpaRepository<EventoOutbox, Long> {
+
+    // Próximo lote a entregar, na ordem de gravação (usa idx_evento_outbox_pendentes)
+    @Query("SELECT e FROM EventoOutbox e WHERE e.status = :status AND e.proximaTentativa <= :agora ORDER BY e.id")
+    List<EventoOutbox> buscarProntos(@Param("status") StatusEventoOutbox status,
+                                     @Param("agora") LocalDateTime agora,
+                                     Pageable pageable);
+
+    long countByStatus(StatusEventoOutbox status);
+
+    // Limpeza dos eventos já entregues
+    @Modifying
+    @Query("DELETE FROM EventoOutbox e WHERE e.status = :status AND e.processadoEm < :limite")
+    int removerProcessadosAntesDe(@Param("status") StatusEventoOutbox status,
+                                  @Param("limite") LocalDateTime limite);
+}
@@ -0,0 +1,12 @@
+package com.deliverytech.delivery_api.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.deliverytech.delivery_api.model.Pagamento;
+
+public interface PagamentoRepository extends JpaRepository<Pagamento, Long> {
+
+    Optional<Pagamento> findByPedidoId(Long pedidoId);
+}
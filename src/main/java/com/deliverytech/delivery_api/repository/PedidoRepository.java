@@ -2,15 +2,28 @@ package com.deliverytech.delivery_api.repository;
 
 import com.deliverytech.delivery_api.model.Pedido;
 import com.deliverytech.delivery_api.model.StatusPedido;
+import com.deliverytech.delivery_api.projection.PedidoExportacao;
+import com.deliverytech.delivery_api.projection.RelatorioPedidosPeriodo;
+import com.deliverytech.delivery_api.projection.RelatorioVendasClientes;
+import com.deliverytech.delivery_api.projection.RelatorioVendasProdutos;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface PedidoRepository extends JpaRepository<Pedido, Long> {
     List<Pedido> findByClienteId(Long clienteId);
@@ -22,10 +35,26 @@ public interface PedidoRepository extends JpaRepository<Pedido, Long> {
 
     List<Pedido> findByDataPedidoBetween(LocalDateTime inicio, LocalDateTime fim);
 
-    @Query("SELECT p FROM Pedido p LEFT JOIN FETCH p.itens i LEFT JOIN FETCH i.produto WHERE p.id = :id")
+    // Exportação: cursor somente leitura em lotes (fetch size), sem entidades gerenciadas; fim exclusivo
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p.id AS id, p.dataPedido AS dataPedido, p.statusPedido AS status, p.valorTotal AS valorTotal, " +
+           "c.id AS clienteId, c.nome AS clienteNome, r.id AS restauranteId, r.nome AS restauranteNome, " +
+           "p.enderecoEntrega.cep AS cep " +
+           "FROM Pedido p LEFT JOIN p.cliente c LEFT JOIN p.restaurante r " +
+           "WHERE p.dataPedido >= :inicio AND p.dataPedido < :fim " +
+           "ORDER BY p.dataPedido, p.id")
+    Stream<PedidoExportacao> streamExportacao(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
+
+    // Visão de detalhe: pedido, itens e produtos em uma única consulta
+    @EntityGraph(Pedido.GRAFO_DETALHE)
+    @Query("SELECT p FROM Pedido p WHERE p.id = :id")
     Optional<Pedido> findByIdWithItens(@Param("id") Long id);
 
-    @Query("SELECT p FROM Pedido p LEFT JOIN FETCH p.itens i LEFT JOIN FETCH i.produto WHERE p.cliente.id = :clienteId")
+    @EntityGraph(Pedido.GRAFO_DETALHE)
+    @Query("SELECT p FROM Pedido p WHERE p.cliente.id = :clienteId")
     List<Pedido> findByClienteIdWithItens(@Param("clienteId") Long clienteId);
 
     @Query("SELECT p.restaurante.nome, SUM(p.valorTotal) FROM Pedido p GROUP BY p.restaurante.nome ORDER BY SUM(p.valorTotal) DESC")
@@ -38,8 +67,72 @@ public interface PedidoRepository extends JpaRepository<Pedido, Long> {
     @Query("SELECT p FROM Pedido p WHERE p.dataPedido BETWEEN :inicio AND :fim AND p.statusPedido = :status ORDER BY p.dataPedido DESC")
     List<Pedido> relatorioPedidosPorPeriodoEStatus(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim, @Param("status") StatusPedido status);
 
-    @Query("SELECT p.restaurante.nome as nomeRestaurante, SUM(p.valorTotal) as totalVendas, COUNT(p.id) as quantidadePedidos FROM Pedido p GROUP BY p.restaurante.nome")
-    List<RelatorioVendas> obterRelatorioVendasPorRestaurante();
+    // === ARQUIVAMENTO (pedidos finalizados antigos vão para o ArquivoPedidos) ===
+
+    @Query("SELECT p.id FROM Pedido p WHERE p.statusPedido IN :status AND p.dataPedido < :limite ORDER BY p.id")
+    List<Long> buscarIdsParaArquivar(@Param("status") List<StatusPedido> status,
+                                     @Param("limite") LocalDateTime limite,
+                                     Pageable lote);
+
+    // Finalizados até a data do último arquivado que continuam na tabela: lote já gravado no arquivo
+    // e ainda não removido (ou cuja remoção falhou). Quem soma tabela e arquivo ignora a cópia arquivada
+    @Query("SELECT p.id FROM Pedido p WHERE p.statusPedido IN " +
+           "(com.deliverytech.delivery_api.model.StatusPedido.ENTREGUE, com.deliverytech.delivery_api.model.StatusPedido.CANCELADO) " +
+           "AND p.dataPedido < :limite")
+    List<Long> buscarIdsFinalizadosAntesDe(@Param("limite") LocalDateTime limite);
+
+    @EntityGraph(Pedido.GRAFO_DETALHE)
+    @Query("SELECT p FROM Pedido p WHERE p.id IN :ids")
+    List<Pedido> buscarComItensPorIds(@Param("ids") List<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM ItemPedido i WHERE i.pedido.id IN :ids")
+    int removerItensDosPedidos(@Param("ids") List<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM Pedido p WHERE p.id IN :ids")
+    int removerPorIds(@Param("ids") List<Long> ids);
+
+    // === RELATÓRIOS AGREGADOS ===
+    // Agregação feita no banco (GROUP BY) sobre o período [inicio, fim); nenhuma entidade Pedido é carregada.
+    // Pedidos cancelados não contam como venda.
+
+    @Query("SELECT pr.id as idProduto, pr.nome as nomeProduto, SUM(i.subtotal) as totalVendas, SUM(i.quantidade) as quantidadeItemPedido " +
+           "FROM ItemPedido i JOIN i.produto pr JOIN i.pedido p " +
+           "WHERE p.dataPedido >= :inicio AND p.dataPedido < :fim " +
+           "AND p.statusPedido <> com.deliverytech.delivery_api.model.StatusPedido.CANCELADO " +
+           "GROUP BY pr.id, pr.nome ORDER BY SUM(i.quantidade) DESC")
+    List<RelatorioVendasProdutos> obterProdutosMaisVendidos(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim, Pageable limite);
+
+    @Query("SELECT c.id as idCliente, c.nome as nomeCliente, SUM(p.valorTotal) as totalCompras, COUNT(p.id) as quantidadePedidos " +
+           "FROM Pedido p JOIN p.cliente c " +
+           "WHERE p.dataPedido >= :inicio AND p.dataPedido < :fim " +
+           "AND p.statusPedido <> com.deliverytech.delivery_api.model.StatusPedido.CANCELADO " +
+           "GROUP BY c.id, c.nome ORDER BY COUNT(p.id) DESC, SUM(p.valorTotal) DESC")
+    List<RelatorioVendasClientes> obterClientesMaisAtivos(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim, Pageable limite);
+
+    @Query("SELECT format(p.dataPedido as 'yyyy-MM-dd') as periodo, COUNT(p.id) as totalPedidos, SUM(p.valorTotal) as valorTotal " +
+           "FROM Pedido p WHERE p.dataPedido >= :inicio AND p.dataPedido < :fim " +
+           "AND p.statusPedido <> com.deliverytech.delivery_api.model.StatusPedido.CANCELADO " +
+           "GROUP BY format(p.dataPedido as 'yyyy-MM-dd') ORDER BY format(p.dataPedido as 'yyyy-MM-dd')")
+    List<RelatorioPedidosPeriodo> obterPedidosPorDia(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
+
+    @Query("SELECT format(p.dataPedido as 'yyyy-MM') as periodo, COUNT(p.id) as totalPedidos, SUM(p.valorTotal) as valorTotal " +
+           "FROM Pedido p WHERE p.dataPedido >= :inicio AND p.dataPedido < :fim " +
+           "AND p.statusPedido <> com.deliverytech.delivery_api.model.StatusPedido.CANCELADO " +
+           "GROUP BY format(p.dataPedido as 'yyyy-MM') ORDER BY format(p.dataPedido as 'yyyy-MM')")
+    List<RelatorioPedidosPeriodo> obterPedidosPorMes(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
+
+    @Query("SELECT format(p.dataPedido as 'yyyy') as periodo, COUNT(p.id) as totalPedidos, SUM(p.valorTotal) as valorTotal " +
+           "FROM Pedido p WHERE p.dataPedido >= :inicio AND p.dataPedido < :fim " +
+           "AND p.statusPedido <> com.deliverytech.delivery_api.model.StatusPedido.CANCELADO " +
+           "GROUP BY format(p.dataPedido as 'yyyy') ORDER BY format(p.dataPedido as 'yyyy')")
+    List<RelatorioPedidosPeriodo> obterPedidosPorAno(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
+
+    @Query("SELECT 'total' as periodo, COUNT(p.id) as totalPedidos, COALESCE(SUM(p.valorTotal), 0) as valorTotal " +
+           "FROM Pedido p WHERE p.dataPedido >= :inicio AND p.dataPedido < :fim " +
+           "AND p.statusPedido <> com.deliverytech.delivery_api.model.StatusPedido.CANCELADO")
+    List<RelatorioPedidosPeriodo> obterPedidosNoPeriodo(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
 
     // CORREÇÃO 3: Renomeado para coincidir com a propriedade 'statusPedido'
     List<Pedido> findByStatusPedidoAndDataPedidoBetween(StatusPedido status, LocalDateTime inicio, LocalDateTime fim);
@@ -47,4 +140,51 @@ public interface PedidoRepository extends JpaRepository<Pedido, Long> {
     List<Pedido> findByDataPedidoGreaterThanEqual(LocalDateTime data);
 
     List<Pedido> findByDataPedidoLessThanEqual(LocalDateTime data);
+
+    // === PAGINAÇÃO POR CURSOR (keyset em dataPedido DESC, id DESC) ===
+    // O Pageable só limita a quantidade de linhas (sempre página 0, sem COUNT nem OFFSET)
+    // Visão de lista: só o pedido (a resposta usa apenas os ids de cliente e restaurante); itens e
+    // produtos da página são carregados em lote (default_batch_fetch_size), sem fetch de coleção com limite
+    // O "dataPedido <= :cursorData" repete o limite do OR para o banco usar a faixa nos índices (x, data_pedido, id)
+
+    @Query("SELECT p FROM Pedido p " +
+           "WHERE p.dataPedido >= :inicio " +
+           "AND p.dataPedido <= :cursorData " +
+           "AND (p.dataPedido < :cursorData OR (p.dataPedido = :cursorData AND p.id < :cursorId)) " +
+           "ORDER BY p.dataPedido DESC, p.id DESC")
+    List<Pedido> buscarPaginaApos(@Param("inicio") LocalDateTime inicio,
+                                  @Param("cursorData") LocalDateTime cursorData,
+                                  @Param("cursorId") Long cursorId,
+                                  Pageable limite);
+
+    @Query("SELECT p FROM Pedido p " +
+           "WHERE p.statusPedido = :status AND p.dataPedido >= :inicio " +
+           "AND p.dataPedido <= :cursorData " +
+           "AND (p.dataPedido < :cursorData OR (p.dataPedido = :cursorData AND p.id < :cursorId)) " +
+           "ORDER BY p.dataPedido DESC, p.id DESC")
+    List<Pedido> buscarPaginaPorStatusApos(@Param("status") StatusPedido status,
+                                           @Param("inicio") LocalDateTime inicio,
+                                           @Param("cursorData") LocalDateTime cursorData,
+                                           @Param("cursorId") Long cursorId,
+                                           Pageable limite);
+
+    @Query("SELECT p FROM Pedido p " +
+           "WHERE p.cliente.id = :clienteId " +
+           "AND p.dataPedido <= :cursorData " +
+           "AND (p.dataPedido < :cursorData OR (p.dataPedido = :cursorData AND p.id < :cursorId)) " +
+           "ORDER BY p.dataPedido DESC, p.id DESC")
+    List<Pedido> buscarPaginaPorClienteApos(@Param("clienteId") Long clienteId,
+                                            @Param("cursorData") LocalDateTime cursorData,
+                                            @Param("cursorId") Long cursorId,
+                                            Pageable limite);
+
+    @Query("SELECT p FROM Pedido p " +
+           "WHERE p.restaurante.id = :restauranteId " +
+           "AND p.dataPedido <= :cursorData " +
+           "AND (p.dataPedido < :cursorData OR (p.dataPedido = :cursorData AND p.id < :cursorId)) " +
+           "ORDER BY p.dataPedido DESC, p.id DESC")
+    List<Pedido> buscarPaginaPorRestauranteApos(@Param("restauranteId") Long restauranteId,
+                                                @Param("cursorData") LocalDateTime cursorData,
+                                                @Param("cursorId") Long cursorId,
+                                                Pageable limite);
 }
\ No newline at end of file
@@ -1,9 +1,9 @@
 package com.deliverytech.delivery_api.repository;
 
+import com.deliverytech.delivery_api.dto.response.ProdutoResponse;
 import com.deliverytech.delivery_api.model.Produto;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
@@ -12,9 +12,6 @@ public interface ProdutoRepository extends JpaRepository<Produto, Long> {
     List<Produto> findByDisponivelTrue();
     List<Produto> findByCategoria(String categoria);
     
-    @Query("SELECT p FROM Produto p WHERE LOWER(p.nome) LIKE LOWER(CONCAT('%', :nome, '%'))")
-    List<Produto> findByNomeContainingIgnoreCase(@Param("nome") String nome);
-    
     @Query(value = "SELECT p.nome, COUNT(ip.produto_id) as quantidade_vendida " +
                    "FROM produto p " +
                    "LEFT JOIN item_pedido ip ON p.id = ip.produto_id " +
@@ -22,4 +19,10 @@ public interface ProdutoRepository extends JpaRepository<Produto, Long> {
                    "ORDER BY quantidade_vendida DESC " +
                    "LIMIT 5", nativeQuery = true)
     List<Object[]> produtosMaisVendidos();
+
+    // Listagem: projeção direto no DTO, sem entidades (nem o restaurante de cada produto)
+    @Query("SELECT new com.deliverytech.delivery_api.dto.response.ProdutoResponse(" +
+           "p.id, p.nome, p.categoria, p.descricao, p.preco, p.disponivel, p.restaurante.id) " +
+           "FROM Produto p ORDER BY p.id")
+    List<ProdutoResponse> listarResumos();
 }
\ No newline at end of file
@@ -1,12 +1,16 @@
 package com.deliverytech.delivery_api.repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.deliverytech.delivery_api.dto.response.RestauranteResponse;
 import com.deliverytech.delivery_api.model.Restaurante;
+import com.deliverytech.delivery_api.projection.NomePorId;
 import com.deliverytech.delivery_api.projection.RelatorioVendas;
 
 public interface RestauranteRepository extends JpaRepository<Restaurante, Long>{
@@ -24,7 +28,19 @@ public interface RestauranteRepository extends JpaRepository<Restaurante, Long>{
             "GROUP BY r.id, r.nome")
     List<RelatorioVendas> relatorioVendasPorRestaurante();       
     List<Restaurante> findByAtivoFalse();
+
+    // Nomes dos restaurantes de pedidos arquivados (exportação), sem entidades no contexto de persistência
+    @Query("SELECT r.id AS id, r.nome AS nome FROM Restaurante r WHERE r.id IN :ids")
+    List<NomePorId> buscarNomes(@Param("ids") Collection<Long> ids);
     List<Restaurante> findByCategoriaAndAtivo(String categoria, Boolean ativo);
+
+    // Listagem com filtros opcionais: projeção direto no DTO, sem entidades no contexto de persistência
+    @Query("SELECT new com.deliverytech.delivery_api.dto.response.RestauranteResponse(" +
+            "r.id, r.nome, r.categoria, r.telefone, r.taxaEntrega, r.tempoEntregaMinutos, r.ativo) " +
+            "FROM Restaurante r " +
+            "WHERE (:categoria IS NULL OR r.categoria = :categoria) AND (:ativo IS NULL OR r.ativo = :ativo) " +
+            "ORDER BY r.id")
+    List<RestauranteResponse> listarResumos(@Param("categoria") String categoria, @Param("ativo") Boolean ativo);
     
 
 }
@@ -0,0 +1,95 @@
+package com.deliverytech.delivery_api.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.deliverytech.delivery_api.model.VendaDiaria;
+import com.deliverytech.delivery_api.projection.RelatorioVendas;
+import com.deliverytech.delivery_api.projection.ResumoVendas;
+
+public interface VendaDiariaRepository extends JpaRepository<VendaDiaria, VendaDiaria.Chave> {
+
+    // Soma (quantidade, valor) na linha do dia; cria a linha se ainda não existir
+    @Modifying
+    @Query(value = "MERGE INTO vendas_diarias v " +
+                   "USING (VALUES (CAST(:restauranteId AS BIGINT), CAST(:dia AS DATE), CAST(:status AS VARCHAR(30)), " +
+                   "               CAST(:quantidade AS BIGINT), CAST(:valor AS NUMERIC(15,2)))) " +
+                   "      AS d(restaurante_id, dia, status_pedido, quantidade_pedidos, valor_total) " +
+                   "ON v.restaurante_id = d.restaurante_id AND v.dia = d.dia AND v.status_pedido = d.status_pedido " +
+                   "WHEN MATCHED THEN UPDATE SET quantidade_pedidos = v.quantidade_pedidos + d.quantidade_pedidos, " +
+                   "                             valor_total = v.valor_total + d.valor_total " +
+                   "WHEN NOT MATCHED THEN INSERT (restaurante_id, dia, status_pedido, quantidade_pedidos, valor_total) " +
+                   "     VALUES (d.restaurante_id, d.dia, d.status_pedido, d.quantidade_pedidos, d.valor_total)",
+           nativeQuery = true)
+    int acumular(@Param("restauranteId") Long restauranteId,
+                 @Param("dia") LocalDate dia,
+                 @Param("status") String status,
+                 @Param("quantidade") long quantidade,
+                 @Param("valor") BigDecimal valor);
+
+    // Recalcula todo o acumulado a partir da tabela pedido (backfill)
+    @Modifying
+    @Query(value = "INSERT INTO vendas_diarias (restaurante_id, dia, status_pedido, quantidade_pedidos, valor_total) " +
+                   "SELECT p.restaurante_id, CAST(p.data_pedido AS DATE), p.status_pedido, COUNT(*), COALESCE(SUM(p.valor_total), 0) " +
+                   "FROM pedido p " +
+                   "WHERE p.restaurante_id IS NOT NULL AND p.status_pedido IS NOT NULL AND p.data_pedido IS NOT NULL " +
+                   "GROUP BY p.restaurante_id, CAST(p.data_pedido AS DATE), p.status_pedido",
+           nativeQuery = true)
+    int reconstruirAPartirDosPedidos();
+
+    // === RELATÓRIOS ===
+    // Dias fechados vêm do acumulado [diaInicio, diaFim); o dia corrente vem ao vivo da tabela pedido [inicioAoVivo, fimAoVivo)
+
+    @Query(value = "SELECT r.nome AS \"nomeRestaurante\", SUM(t.valor) AS \"totalVendas\", SUM(t.quantidade) AS \"quantidadePedidos\" " +
+                   "FROM (" +
+                   "  SELECT v.restaurante_id, v.valor_total AS valor, v.quantidade_pedidos AS quantidade " +
+                   "  FROM vendas_diarias v " +
+                   "  WHERE v.dia >= :diaInicio AND v.dia < :diaFim AND v.status_pedido <> 'CANCELADO' " +
+                   "  UNION ALL " +
+                   "  SELECT p.restaurante_id, COALESCE(p.valor_total, 0), 1 " +
+                   "  FROM pedido p " +
+                   "  WHERE p.data_pedido >= :inicioAoVivo AND p.data_pedido < :fimAoVivo AND p.status_pedido <> 'CANCELADO'" +
+                   ") t JOIN restaurante r ON r.id = t.restaurante_id " +
+                   "GROUP BY r.id, r.nome " +
+                   "HAVING SUM(t.quantidade) > 0 " +
+                   "ORDER BY SUM(t.valor) DESC",
+           nativeQuery = true)
+    List<RelatorioVendas> relatorioVendasPorRestaurante(@Param("diaInicio") LocalDate diaInicio,
+                                                        @Param("diaFim") LocalDate diaFim,
+                                                        @Param("inicioAoVivo") LocalDateTime inicioAoVivo,
+                                                        @Param("fimAoVivo") LocalDateTime fimAoVivo);
+
+    // Clientes distintos não são deriváveis do acumulado por restaurante: vêm de clientes_diarios nos dias fechados
+    @Query(value = "SELECT COALESCE(SUM(t.quantidade), 0) AS \"totalPedidos\", " +
+                   "       COALESCE(SUM(t.valor), 0) AS \"valorTotalVendas\", " +
+                   "       CASE WHEN SUM(t.quantidade) > 0 THEN ROUND(SUM(t.valor) / SUM(t.quantidade), 2) ELSE 0 END AS \"ticketMedio\", " +
+                   "       COUNT(DISTINCT CASE WHEN t.quantidade > 0 THEN t.restaurante_id END) AS \"restaurantesAtivos\", " +
+                   "       (SELECT COUNT(DISTINCT c.cliente_id) FROM (" +
+                   "          SELECT d.cliente_id FROM clientes_diarios d " +
+                   "          WHERE d.dia >= :diaInicio AND d.dia < :diaFim AND d.quantidade_pedidos > 0 " +
+                   "          UNION " +
+                   "          SELECT p.cliente_id FROM pedido p " +
+                   "          WHERE p.data_pedido >= :inicioAoVivo AND p.data_pedido < :fimAoVivo AND p.status_pedido <> 'CANCELADO'" +
+                   "        ) c) AS \"clientesAtivos\" " +
+                   "FROM (" +
+                   "  SELECT v.restaurante_id, v.valor_total AS valor, v.quantidade_pedidos AS quantidade " +
+                   "  FROM vendas_diarias v " +
+                   "  WHERE v.dia >= :diaInicio AND v.dia < :diaFim AND v.status_pedido <> 'CANCELADO' " +
+                   "  UNION ALL " +
+                   "  SELECT p.restaurante_id, COALESCE(p.valor_total, 0), 1 " +
+                   "  FROM pedido p " +
+                   "  WHERE p.data_pedido >= :inicioAoVivo AND p.data_pedido < :fimAoVivo AND p.status_pedido <> 'CANCELADO'" +
+                   ") t",
+           nativeQuery = true)
+    ResumoVendas resumoVendas(@Param("diaInicio") LocalDate diaInicio,
+                              @Param("diaFim") LocalDate diaFim,
+                              @Param("inicioAoVivo") LocalDateTime inicioAoVivo,
+                              @Param("fimAoVivo") LocalDateTime fimAoVivo);
+}
@@ -3,16 +3,17 @@ package com.deliverytech.delivery_api.security;
 import java.io.IOException;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 // import io.micrometer.common.lang.NonNull;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import com.deliverytech.delivery_api.repository.UsuarioRepository;
-
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -27,7 +28,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private JwtUtil jwtUtil;
     @Autowired
-    private UsuarioRepository usuarioRepository;
+    private UsuarioAutenticadoCache usuarioAutenticadoCache;
+
+    // Quando ativo, o perfil vem da claim assinada do token e o usuário não é consultado
+    @Value("${jwt.autorizacao-por-claims:false}")
+    private boolean autorizacaoPorClaims;
 
     @Override
     protected void doFilterInternal(
@@ -36,19 +41,35 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
            @NonNull FilterChain filterChain) throws ServletException, IOException {
         var token = this.recoverToken(request);
         if (token != null) {
-            var login = jwtUtil.getEmailFromToken(token);
-            UserDetails user = usuarioRepository.findByEmail(login);
+            Claims claims = jwtUtil.validarToken(token);
+            UserDetails user = claims != null ? this.recoverUser(claims) : null;
 
-            var authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+            if (user != null && user.isEnabled()) {
+                var authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            }
         }
         filterChain.doFilter(request, response);
     }
 
+    private UserDetails recoverUser(Claims claims) {
+        String role = claims.get(JwtUtil.CLAIM_ROLE, String.class);
+        if (autorizacaoPorClaims && role != null) {
+            if (usuarioAutenticadoCache.revogado(claims.getSubject())) {
+                return null;
+            }
+            return User.withUsername(claims.getSubject())
+                    .password("")
+                    .authorities(role)
+                    .build();
+        }
+        return usuarioAutenticadoCache.buscar(claims.getSubject());
+    }
+
     private String recoverToken(HttpServletRequest request) {
         var authHeader = request.getHeader("Authorization");
         if (authHeader == null)
             return null;
         return authHeader.replace("Bearer ", "");
     }
-}
\ No newline at end of file
+}
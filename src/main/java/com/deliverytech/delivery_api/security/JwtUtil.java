@@ -1,13 +1,29 @@
 package com.deliverytech.delivery_api.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.Date;
 
 import javax.crypto.SecretKey;
@@ -18,48 +34,116 @@ import javax.crypto.SecretKey;
 @Component
 public class JwtUtil {
 
+    // Perfil do usuário, usado quando jwt.autorizacao-por-claims=true
+    public static final String CLAIM_ROLE = "role";
+
     @Value("${jwt.secret}")
     private String secret;
-    
+
     @Value("${jwt.expiration}")
     private Long expiration;
-    
+
+    // Quantidade máxima de tokens já verificados mantidos em memória
+    @Value("${jwt.cache-tokens.tamanho-maximo:10000}")
+    private long tamanhoMaximoCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Chave e parser são imutáveis: montados uma vez na inicialização
+    private SecretKey key;
+    private JwtParser parser;
+
+    // Hash SHA-256 do token -> claims verificadas; cada entrada expira junto com o token (exp)
+    private Cache<String, Claims> tokensVerificados;
+
+    @PostConstruct
+    void inicializar() {
+        key = Keys.hmacShaKeyFor(Decoders.BASE64URL.decode(secret));
+        parser = Jwts.parser()
+                .verifyWith(key)
+                .build();
+        tokensVerificados = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximoCache)
+                .expireAfter(Expiry.<String, Claims>creating((hash, claims) -> tempoRestante(claims)))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, tokensVerificados, "tokensVerificados");
+    }
+
     // Gera um token JWT para o usuário
     public String gerarToken(String email) {
+        return gerarToken(email, null);
+    }
+
+    // Gera um token JWT com o perfil do usuário como claim assinada
+    public String gerarToken(String email, String role) {
         Date agora = new Date();
         Date dataExpiracao = new Date(agora.getTime() + expiration);
-        SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64URL.decode(secret));
-        
+
         return Jwts.builder()
                 .subject(email)
+                .claim(CLAIM_ROLE, role)
                 .issuedAt(agora)
                 .expiration(dataExpiracao)
                 .signWith(key)
                 .compact();
     }
-    
+
     // Valida um token JWT e retorna as claims
+    // Tokens repetidos são atendidos pelo cache, sem refazer HMAC nem parse do JSON
     public Claims validarToken(String token) {
-        try {
-            SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64URL.decode(secret));
+        String hash = hash(token);
+        Claims claims = tokensVerificados.getIfPresent(hash);
+        if (claims != null) {
+            return claims;
+        }
 
-            return Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+        try {
+            claims = parser.parseSignedClaims(token).getPayload();
         } catch (Exception e) {
             return null; // Token inválido
         }
+
+        if (!tempoRestante(claims).isZero()) {
+            tokensVerificados.put(hash, claims);
+        }
+        return claims;
     }
-    
+
     // Extrai o email (subject) do token
     public String getEmailFromToken(String token) {
         Claims claims = validarToken(token);
         return claims != null ? claims.getSubject() : null;
     }
 
+    // Gera o token do usuário autenticado, com o primeiro perfil como claim
+    public String gerarToken(Authentication authentication) {
+        String role = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .findFirst()
+                .orElse(null);
+        return gerarToken(authentication.getName(), role);
+    }
+
     public String generateToken(String name) {
         return gerarToken(name);
     }
-}
\ No newline at end of file
+
+    // Tempo até a expiração do token; sem exp, usa a validade padrão
+    private Duration tempoRestante(Claims claims) {
+        Date exp = claims.getExpiration();
+        long restante = exp != null ? exp.getTime() - System.currentTimeMillis() : expiration;
+        return Duration.ofMillis(Math.max(restante, 0));
+    }
+
+    // O cache guarda apenas o hash, nunca o token em si
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+}
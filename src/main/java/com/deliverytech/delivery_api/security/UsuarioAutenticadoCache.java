@@ -0,0 +1,80 @@
+package com.deliverytech.delivery_api.security;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import com.deliverytech.delivery_api.config.CacheConfig;
+import com.deliverytech.delivery_api.repository.UsuarioRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cache dos usuários autenticados por e-mail (subject do token).
+ *
+ * Evita uma consulta a usuario por requisição autenticada. O cache é limitado em
+ * tamanho e TTL (cache.seguranca.usuarios.spec) e deve ser invalidado sempre que o
+ * usuário for inativado ou tiver o perfil alterado.
+ *
+ * Usuários inativados também ficam numa lista de revogados enquanto os tokens já emitidos
+ * podem ser válidos: com jwt.autorizacao-por-claims=true o usuário não é consultado e
+ * essa lista é o que barra o token.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UsuarioAutenticadoCache {
+
+    private final UsuarioRepository usuarioRepository;
+    private final CacheManager cacheManager;
+
+    /**
+     * Buscar o usuário pelo e-mail, consultando o banco apenas em caso de falta no cache
+     * @return usuário ou null se não existir
+     */
+    public UserDetails buscar(String email) {
+        Cache cache = cache();
+        UserDetails usuario = cache.get(email, UserDetails.class);
+        if (usuario == null) {
+            usuario = usuarioRepository.findByEmail(email);
+            if (usuario != null) {
+                cache.put(email, usuario);
+            }
+        }
+        return usuario;
+    }
+
+    /**
+     * Remover o usuário do cache (inativação, troca de perfil)
+     */
+    public void invalidar(String email) {
+        if (email != null) {
+            cache().evict(email);
+            log.debug("Usuário removido do cache de autenticação: {}", email);
+        }
+    }
+
+    /**
+     * Remover o usuário do cache e barrar os tokens já emitidos para ele (inativação)
+     */
+    public void revogar(String email) {
+        if (email != null) {
+            invalidar(email);
+            cacheManager.getCache(CacheConfig.USUARIOS_REVOGADOS).put(email, Boolean.TRUE);
+            log.info("Tokens do usuário revogados: {}", email);
+        }
+    }
+
+    /**
+     * Indicar se o usuário foi inativado depois da emissão dos tokens ainda válidos
+     */
+    public boolean revogado(String email) {
+        return email != null && cacheManager.getCache(CacheConfig.USUARIOS_REVOGADOS).get(email) != null;
+    }
+
+    private Cache cache() {
+        return cacheManager.getCache(CacheConfig.USUARIOS_AUTENTICADOS);
+    }
+}
@@ -0,0 +1,36 @@
+package com.deliverytech.delivery_api.service;
+
+import java.util.List;
+
+import com.deliverytech.delivery_api.model.Produto;
+
+/**
+ * Índice invertido em memória para busca textual de produtos
+ * (nome, descrição e categoria), sem LIKE no banco.
+ */
+public interface BuscaProdutoService {
+
+    /**
+     * Buscar produtos disponíveis que contenham todos os termos em alguma palavra de nome, categoria
+     * ou descrição: palavra inteira, prefixo (2 letras ou mais) ou trecho do meio (3 letras ou mais)
+     * @param texto texto digitado pelo usuário; acentos e maiúsculas são ignorados
+     * @return produtos ordenados por relevância
+     */
+    List<Produto> buscar(String texto);
+
+    /**
+     * Incluir ou atualizar o produto no índice (produtos indisponíveis são removidos)
+     */
+    void indexar(Produto produto);
+
+    /**
+     * Remover o produto do índice
+     */
+    void remover(Long produtoId);
+
+    /**
+     * Reconstruir todo o índice a partir do banco
+     * @return quantidade de produtos indexados
+     */
+    int reconstruir();
+}
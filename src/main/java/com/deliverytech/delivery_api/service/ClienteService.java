@@ -2,6 +2,7 @@
 package com.deliverytech.delivery_api.service;
 
 import com.deliverytech.delivery_api.dto.request.ClienteRequest;
+import com.deliverytech.delivery_api.dto.response.ClienteResponse;
 import com.deliverytech.delivery_api.model.Cliente;
 
 
@@ -23,7 +24,8 @@ public interface ClienteService {
     Optional<Cliente> buscarPorEmail(String email);
     
 
-    List<Cliente> listarAtivos();
+    // Projeção direto no DTO de resposta (sem entidades gerenciadas)
+    List<ClienteResponse> listarAtivos();
     
 
     List<Cliente> buscarPorNome(String nome);
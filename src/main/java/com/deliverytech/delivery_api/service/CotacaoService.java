@@ -0,0 +1,30 @@
+package com.deliverytech.delivery_api.service;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import com.deliverytech.delivery_api.dto.request.ItemPedidoRequest;
+import com.deliverytech.delivery_api.dto.response.ProdutoResponse;
+
+/**
+ * Cotação de itens do carrinho (sem salvar pedido)
+ */
+public interface CotacaoService {
+
+    /**
+     * Resolver os produtos informados de uma só vez (cache do catálogo + uma consulta para o restante)
+     * @param produtoIds IDs dos produtos
+     * @return produtos encontrados e disponíveis, por ID
+     * @throws IllegalArgumentException listando todos os produtos não encontrados ou indisponíveis
+     */
+    Map<Long, ProdutoResponse> buscarProdutosDisponiveis(Collection<Long> produtoIds);
+
+    /**
+     * Calcular o subtotal dos itens em uma única passada
+     * @param itens itens do carrinho
+     * @return soma de preço x quantidade
+     */
+    BigDecimal calcularSubtotal(List<ItemPedidoRequest> itens);
+}
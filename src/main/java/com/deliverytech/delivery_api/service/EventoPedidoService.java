@@ -0,0 +1,31 @@
+package com.deliverytech.delivery_api.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.deliverytech.delivery_api.model.Pedido;
+import com.deliverytech.delivery_api.model.StatusPedido;
+
+/**
+ * Barramento em memória das mudanças de status de pedidos, entregues por Server-Sent Events
+ */
+public interface EventoPedidoService {
+
+    /**
+     * Escopo da assinatura: um pedido, todos os pedidos de um cliente ou de um restaurante
+     */
+    enum Escopo {
+        PEDIDO, CLIENTE, RESTAURANTE
+    }
+
+    /**
+     * Publicar a mudança de status; a entrega acontece após o commit da transação corrente
+     */
+    void publicar(Pedido pedido, StatusPedido statusAnterior);
+
+    /**
+     * Abrir um stream SSE para o escopo informado
+     * @param ultimoEventoId valor do cabeçalho Last-Event-ID (nulo na primeira conexão);
+     *                       eventos posteriores ainda no buffer são reenviados
+     */
+    SseEmitter assinar(Escopo escopo, Long id, String ultimoEventoId);
+}
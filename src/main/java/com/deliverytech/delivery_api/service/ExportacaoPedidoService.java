@@ -0,0 +1,48 @@
+package com.deliverytech.delivery_api.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Exportação de pedidos por período em streaming (memória constante)
+ */
+public interface ExportacaoPedidoService {
+
+    enum Formato {
+        NDJSON("ndjson", MediaType.parseMediaType("application/x-ndjson")),
+        CSV("csv", MediaType.parseMediaType("text/csv;charset=UTF-8"));
+
+        private final String extensao;
+        private final MediaType mediaType;
+
+        Formato(String extensao, MediaType mediaType) {
+            this.extensao = extensao;
+            this.mediaType = mediaType;
+        }
+
+        public String getExtensao() {
+            return extensao;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        public static Formato de(String valor) {
+            for (Formato formato : values()) {
+                if (formato.extensao.equalsIgnoreCase(valor)) {
+                    return formato;
+                }
+            }
+            throw new IllegalArgumentException("Formato de exportação inválido: " + valor + " (use ndjson ou csv)");
+        }
+    }
+
+    /**
+     * Escrever na saída os pedidos de dataInicio até dataFim (inclusive), um por linha
+     */
+    void exportar(LocalDate dataInicio, LocalDate dataFim, Formato formato, OutputStream saida) throws IOException;
+}
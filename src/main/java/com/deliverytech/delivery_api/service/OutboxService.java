@@ -0,0 +1,13 @@
+package com.deliverytech.delivery_api.service;
+
+/**
+ * Registro de eventos na tabela outbox, dentro da transação de quem os gera
+ */
+public interface OutboxService {
+
+    /**
+     * Gravar o evento na transação corrente (obrigatória); a entrega é assíncrona
+     * @param payload objeto serializado em JSON
+     */
+    void registrar(String tipo, Long agregadoId, Object payload);
+}
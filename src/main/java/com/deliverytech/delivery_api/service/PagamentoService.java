@@ -1,6 +1,23 @@
 package com.deliverytech.delivery_api.service;
 
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import com.deliverytech.delivery_api.model.Pagamento;
+
 public interface PagamentoService {
 
+    /**
+     * Disparar o pagamento do pedido sem esperar o resultado
+     */
     public void processPayment(Long orderId);
-}
\ No newline at end of file
+
+    /**
+     * Processar o pagamento do pedido em virtual thread; chamadas repetidas para o mesmo
+     * pedido compartilham o processamento em andamento, e pagamentos já concluídos
+     * (aprovado ou recusado) são devolvidos sem nova cobrança
+     */
+    CompletableFuture<Pagamento> processar(Long pedidoId);
+
+    Optional<Pagamento> buscarPorPedido(Long pedidoId);
+}
@@ -1,6 +1,8 @@
 package com.deliverytech.delivery_api.service;
 
+import com.deliverytech.delivery_api.dto.request.CursorPedido;
 import com.deliverytech.delivery_api.dto.request.ItemPedidoRequest;
+import com.deliverytech.delivery_api.dto.response.PedidoResponse;
 import java.time.LocalDate;
 
 import com.deliverytech.delivery_api.model.Pedido;
@@ -15,6 +17,15 @@ public interface PedidoService {
     
     // === OPERAÇÕES BÁSICAS ===
     Pedido criar(Pedido pedido);
+
+    /**
+     * Criar o pedido já com todos os itens em uma única transação
+     * @param pedido pedido com cliente, restaurante e endereço preenchidos
+     * @param itens itens solicitados (produto e quantidade)
+     * @return pedido salvo com itens e valor total (nome do produto vindo da cotação)
+     */
+    PedidoResponse criarComItens(Pedido pedido, List<ItemPedidoRequest> itens);
+
     Pedido buscarPorId(Long id);
     
     // === BUSCAS ESPECÍFICAS ===
@@ -40,10 +51,17 @@ public interface PedidoService {
      */
     BigDecimal calcularTotalPedido(List<ItemPedidoRequest> itens);
 
+    // === PAGINAÇÃO POR CURSOR ===
+    // Retornam até tamanho + 1 pedidos após o cursor; o item extra indica que existe próxima página
+
     /**
-     * Listar pedidos com filtros opcionais
+     * Listar uma página de pedidos com filtros opcionais
      */
-    List<Pedido> listarComFiltros(StatusPedido status, LocalDate dataInicio, LocalDate dataFim);
+    List<Pedido> listarPagina(StatusPedido status, LocalDate dataInicio, LocalDate dataFim, CursorPedido cursor, int tamanho);
+
+    List<Pedido> buscarPaginaPorCliente(Long clienteId, CursorPedido cursor, int tamanho);
+
+    List<Pedido> buscarPaginaPorRestaurante(Long restauranteId, CursorPedido cursor, int tamanho);
     
     // === RELATÓRIOS ===
     List<Pedido> buscarPorPeriodo(LocalDateTime inicio, LocalDateTime fim);
@@ -51,6 +69,5 @@ public interface PedidoService {
     // === BUSCAS COM ITENS ===
     Optional<Pedido> buscarPorIdComItens(Long id);
     List<Pedido> buscarPorClienteComItens(Long clienteId);
-    List<Pedido> listarTodos();
     void deletar(Long id);
 }
\ No newline at end of file
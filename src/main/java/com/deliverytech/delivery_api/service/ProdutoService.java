@@ -1,5 +1,6 @@
 package com.deliverytech.delivery_api.service;
 
+import com.deliverytech.delivery_api.dto.response.ProdutoResponse;
 import com.deliverytech.delivery_api.model.Produto;
 
 import java.math.BigDecimal;
@@ -9,16 +10,17 @@ import java.util.Optional;
 public interface ProdutoService {
     // === OPERAÇÕES BÁSICAS ===
     Produto cadastrar(Produto produto);                        
-    Optional<Produto> buscarPorId(Long id);                   
-    List<Produto> listarTodos();                              
+    Optional<Produto> buscarPorId(Long id);                   // Entidade gerenciada, sem cache
+    Optional<ProdutoResponse> buscarResumoPorId(Long id);      // Cache do catálogo
+    List<ProdutoResponse> listarTodos();                       // Projeção direto no DTO
     Produto atualizar(Long id, Produto produtoAtualizado);    
     void inativar(Long id);                                   
     void deletar(Long id);
     
     // === BUSCAS ESPECÍFICAS ===
-    List<Produto> buscarPorRestaurante(Long restauranteId);   
-    List<Produto> buscarPorCategoria(String categoria);       
-    List<Produto> listarDisponiveis();
+    List<ProdutoResponse> buscarPorRestaurante(Long restauranteId);
+    List<ProdutoResponse> buscarPorCategoria(String categoria);
+    List<ProdutoResponse> listarDisponiveis();
     List<Produto> buscarPorNome(String nome);
 
     
@@ -0,0 +1,38 @@
+package com.deliverytech.delivery_api.service;
+
+import java.util.List;
+
+import com.deliverytech.delivery_api.geo.Vizinho;
+import com.deliverytech.delivery_api.model.Restaurante;
+
+/**
+ * Descoberta de restaurantes por proximidade geográfica.
+ * Restaurantes ativos ficam em um índice espacial em memória, localizados pelo CEP.
+ */
+public interface ProximidadeService {
+
+    /**
+     * Restaurantes ativos a até raioKm do CEP, do mais próximo ao mais distante
+     * @return IDs dos restaurantes com a distância em km
+     * @throws IllegalArgumentException se o CEP não puder ser localizado
+     */
+    List<Vizinho<Long>> buscarNoRaio(String cep, double raioKm);
+
+    /**
+     * Os k restaurantes ativos mais próximos do CEP (limitados ao raio máximo configurado)
+     * @throws IllegalArgumentException se o CEP não puder ser localizado
+     */
+    List<Vizinho<Long>> buscarMaisProximos(String cep, int k);
+
+    /**
+     * Incluir, mover ou retirar (se inativo ou sem CEP) o restaurante do índice
+     */
+    void indexar(Restaurante restaurante);
+
+    /**
+     * Reconstruir o índice a partir dos restaurantes ativos; os que não têm CEP localizável
+     * ficam de fora e são listados em um aviso no log
+     * @return quantidade de restaurantes indexados
+     */
+    int reconstruir();
+}
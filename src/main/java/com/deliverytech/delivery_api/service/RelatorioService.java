@@ -1,34 +1,38 @@
 package com.deliverytech.delivery_api.service;
 
-// import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
-import java.util.Map;
+
+import com.deliverytech.delivery_api.projection.RelatorioPedidosPeriodo;
+import com.deliverytech.delivery_api.projection.RelatorioVendas;
+import com.deliverytech.delivery_api.projection.RelatorioVendasClientes;
+import com.deliverytech.delivery_api.projection.RelatorioVendasProdutos;
+import com.deliverytech.delivery_api.projection.ResumoVendas;
 
 public interface RelatorioService {
     
     /**
      * Relatório de vendas por restaurante
      */
-    List<Map<String, Object>> relatorioVendasPorRestaurante(LocalDate dataInicio, LocalDate dataFim);
+    List<RelatorioVendas> relatorioVendasPorRestaurante(LocalDate dataInicio, LocalDate dataFim);
     
     /**
      * Relatório dos produtos mais vendidos
      */
-    List<Map<String, Object>> relatorioProdutosMaisVendidos(int limite, LocalDate dataInicio, LocalDate dataFim);
+    List<RelatorioVendasProdutos> relatorioProdutosMaisVendidos(int limite, LocalDate dataInicio, LocalDate dataFim);
     
     /**
      * Relatório dos clientes mais ativos
      */
-    List<Map<String, Object>> relatorioClientesAtivos(int limite, LocalDate dataInicio, LocalDate dataFim);
+    List<RelatorioVendasClientes> relatorioClientesAtivos(int limite, LocalDate dataInicio, LocalDate dataFim);
     
     /**
-     * Relatório de pedidos por período
+     * Relatório de pedidos por período, agrupado por 'dia', 'mes', 'ano' ou total (cancelados não contam)
      */
-    Map<String, Object> relatorioPedidosPorPeriodo(LocalDate dataInicio, LocalDate dataFim, String agrupamento);
+    List<RelatorioPedidosPeriodo> relatorioPedidosPorPeriodo(LocalDate dataInicio, LocalDate dataFim, String agrupamento);
     
     /**
      * Resumo geral de vendas
      */
-    Map<String, Object> resumoVendas(LocalDate dataInicio, LocalDate dataFim);
-}
\ No newline at end of file
+    ResumoVendas resumoVendas(LocalDate dataInicio, LocalDate dataFim);
+}
@@ -2,10 +2,13 @@
 package com.deliverytech.delivery_api.service;
 
 import com.deliverytech.delivery_api.dto.request.RestauranteRequest;
+import com.deliverytech.delivery_api.dto.response.RestauranteResponse;
+import com.deliverytech.delivery_api.geo.Vizinho;
 import com.deliverytech.delivery_api.model.Restaurante;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface RestauranteService {
@@ -16,9 +19,14 @@ public interface RestauranteService {
     Restaurante cadastrar(RestauranteRequest restauranteRequest);
     
     /**
-     * Buscar restaurante por ID
+     * Buscar restaurante por ID (entidade gerenciada, sem cache: para associar a pedidos e produtos)
      */
     Optional<Restaurante> buscarPorId(Long id);
+
+    /**
+     * Buscar restaurante por ID para leitura, servido pelo cache do catálogo
+     */
+    Optional<RestauranteResponse> buscarResumoPorId(Long id);
     
     /**
      * Listar todos os restaurantes
@@ -28,12 +36,12 @@ public interface RestauranteService {
     /**
      * Listar apenas restaurantes ativos
      */
-    List<Restaurante> listarAtivos();
+    List<RestauranteResponse> listarAtivos();
     
     /**
      * Buscar restaurantes por categoria
      */
-    List<Restaurante> buscarPorCategoria(String categoria);
+    List<RestauranteResponse> buscarPorCategoria(String categoria);
     
     /**
      * Buscar restaurantes por avaliação mínima
@@ -63,9 +71,25 @@ public interface RestauranteService {
      */
     BigDecimal calcularTaxaEntrega(Long restauranteId, String cep);
 
+    /**
+     * Calcular a taxa de entrega de vários restaurantes para o mesmo CEP
+     * @return taxa por ID do restaurante (inexistentes ou inativos ficam de fora)
+     */
+    Map<Long, BigDecimal> calcularTaxasEntrega(List<Long> restauranteIds, String cep);
+
     Restaurante alterarStatus(Long id, Boolean ativo);
 
     List<Restaurante> buscarProximos(String cep);
 
-    List<Restaurante> listarComFiltros(String categoria, Boolean ativo);
+    /**
+     * Buscar restaurantes ativos próximos ao CEP, com a distância em km
+     * @param raioKm raio da busca (padrão proximidade.raio-padrao-km)
+     * @param limite se informado, retorna apenas os N mais próximos
+     */
+    List<Vizinho<Restaurante>> buscarProximos(String cep, Double raioKm, Integer limite);
+
+    /**
+     * Listar restaurantes com filtros opcionais, projetados direto no DTO de resposta
+     */
+    List<RestauranteResponse> listarComFiltros(String categoria, Boolean ativo);
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.deliverytech.delivery_api.service;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Map;
+
+import com.deliverytech.delivery_api.model.Restaurante;
+
+/**
+ * Taxas de entrega pré-calculadas por (restaurante, região do CEP)
+ */
+public interface TaxaEntregaService {
+
+    /**
+     * Taxa de entrega do restaurante para o CEP
+     * @throws RuntimeException se o restaurante não existir ou estiver inativo
+     */
+    BigDecimal calcular(Long restauranteId, String cep);
+
+    /**
+     * Taxas de vários restaurantes para o mesmo CEP em uma única chamada
+     * @return taxa por ID; restaurantes inexistentes ou inativos ficam de fora
+     */
+    Map<Long, BigDecimal> calcularEmLote(Collection<Long> restauranteIds, String cep);
+
+    /**
+     * Recalcular a linha do restaurante (taxa base ou status alterados)
+     */
+    void atualizar(Restaurante restaurante);
+
+    /**
+     * Recalcular a tabela inteira a partir dos restaurantes ativos
+     * @return quantidade de restaurantes na tabela
+     */
+    int reconstruir();
+}
@@ -0,0 +1,26 @@
+package com.deliverytech.delivery_api.service;
+
+import java.util.Set;
+
+import com.deliverytech.delivery_api.model.EventoOutbox;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Tratador de eventos da outbox; todo bean que implementa esta interface é registrado
+ * no despachante.
+ *
+ * A entrega é "pelo menos uma vez": após uma falha o evento é reentregue a todos os
+ * tratadores do tipo, então o tratamento deve ser idempotente.
+ */
+public interface TratadorEventoOutbox {
+
+    /**
+     * Tipos de evento atendidos (ex.: EventoOutbox.PEDIDO_STATUS_ALTERADO)
+     */
+    Set<String> tipos();
+
+    /**
+     * Tratar o evento; uma exceção agenda nova tentativa com backoff
+     */
+    void tratar(EventoOutbox evento, JsonNode payload) throws Exception;
+}
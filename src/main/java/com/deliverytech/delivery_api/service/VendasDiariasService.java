@@ -0,0 +1,29 @@
+package com.deliverytech.delivery_api.service;
+
+import java.math.BigDecimal;
+
+import com.deliverytech.delivery_api.model.Pedido;
+import com.deliverytech.delivery_api.model.StatusPedido;
+
+/**
+ * Manutenção do acumulado diário de vendas (vendas_diarias)
+ */
+public interface VendasDiariasService {
+
+    /**
+     * Aplicar no acumulado a mudança de um pedido: retira (statusAnterior, valorAnterior)
+     * e soma o estado atual do pedido. Use statusAnterior nulo para pedido novo.
+     */
+    void registrarAlteracao(Pedido pedido, StatusPedido statusAnterior, BigDecimal valorAnterior);
+
+    /**
+     * Retirar do acumulado um pedido que será excluído
+     */
+    void registrarExclusao(Pedido pedido);
+
+    /**
+     * Reconstruir todo o acumulado a partir da tabela pedido (backfill)
+     * @return quantidade de linhas geradas
+     */
+    int reconstruir();
+}
@@ -0,0 +1,27 @@
+package com.deliverytech.delivery_api.service.impl;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Executar ações em estruturas em memória (índices) só depois que a transação
+ * corrente for confirmada; sem transação ativa, executa na hora.
+ */
+final class AposCommit {
+
+    private AposCommit() {
+    }
+
+    static void executar(Runnable acao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    acao.run();
+                }
+            });
+        } else {
+            acao.run();
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.deliverytech.delivery_api.service.impl;
+
+import com.deliverytech.delivery_api.arquivo.ArquivoPedidos;
+import com.deliverytech.delivery_api.arquivo.PedidoArquivado;
+import com.deliverytech.delivery_api.model.StatusPedido;
+import com.deliverytech.delivery_api.repository.PedidoRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Move para o ArquivoPedidos os pedidos ENTREGUE ou CANCELADO mais antigos que o prazo de
+ * retenção, mantendo a tabela pedido só com os pedidos recentes ou em andamento.
+ *
+ * Cada lote é lido, gravado no arquivo (já sincronizado com o disco) e só então removido da
+ * tabela. O acumulado vendas_diarias não muda: o pedido continua contando como venda.
+ * Desativado por padrão: o arquivo só aceita um escritor, então arquivo.pedidos.ativo=true
+ * deve ser ligado em uma única instância.
+ */
+@Slf4j
+@Component
+public class ArquivamentoPedidos {
+
+    private static final List<StatusPedido> FINALIZADOS = List.of(StatusPedido.ENTREGUE, StatusPedido.CANCELADO);
+
+    private final PedidoRepository pedidoRepository;
+    private final ArquivoPedidos arquivoPedidos;
+    private final TransactionTemplate transacao;
+    private final TransactionTemplate leitura;
+    private final Counter arquivados;
+
+    @Value("${arquivo.pedidos.ativo:false}")
+    private boolean ativo;
+
+    @Value("${arquivo.pedidos.dias-retencao:90}")
+    private long diasRetencao;
+
+    @Value("${arquivo.pedidos.intervalo-ms:3600000}")
+    private long intervaloMs;
+
+    @Value("${arquivo.pedidos.lote:500}")
+    private int tamanhoLote;
+
+    private ScheduledExecutorService executor;
+
+    public ArquivamentoPedidos(PedidoRepository pedidoRepository, ArquivoPedidos arquivoPedidos,
+                               PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.pedidoRepository = pedidoRepository;
+        this.arquivoPedidos = arquivoPedidos;
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.leitura = new TransactionTemplate(transactionManager);
+        this.leitura.setReadOnly(true);
+        this.arquivados = Counter.builder("arquivo.pedidos.arquivados")
+                .description("Pedidos movidos da tabela pedido para o arquivo")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        if (!ativo) {
+            log.info("Arquivamento de pedidos desativado nesta instância");
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("arquivamento-pedidos")
+                .daemon(true)
+                .factory());
+        executor.scheduleWithFixedDelay(this::executarCiclo, intervaloMs, intervaloMs, TimeUnit.MILLISECONDS);
+        log.info("Arquivamento de pedidos ativo (retenção: {} dias, intervalo: {} ms)", diasRetencao, intervaloMs);
+    }
+
+    @PreDestroy
+    void encerrar() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    // Uma exceção aqui não pode matar o agendamento
+    private void executarCiclo() {
+        try {
+            // Dias inteiros: o dia corrente (lido ao vivo pelos relatórios) nunca é arquivado
+            LocalDateTime limite = LocalDate.now().minusDays(diasRetencao).atStartOfDay();
+            long total = arquivar(limite);
+            if (total > 0) {
+                log.info("Arquivamento: {} pedidos anteriores a {} movidos para o arquivo", total, limite);
+            }
+        } catch (RuntimeException e) {
+            log.error("Erro no ciclo de arquivamento de pedidos", e);
+        }
+    }
+
+    /**
+     * Arquiva em lotes os pedidos finalizados anteriores ao limite, até não sobrar nenhum
+     * (ou a instância ser encerrada); retorna quantos foram movidos
+     */
+    long arquivar(LocalDateTime limite) {
+        long total = 0;
+        int movidos;
+        do {
+            movidos = arquivarLote(limite);
+            total += movidos;
+        } while (movidos == tamanhoLote && (executor == null || !executor.isShutdown()));
+        return total;
+    }
+
+    private int arquivarLote(LocalDateTime limite) {
+        List<PedidoArquivado> lote = leitura.execute(status -> {
+            List<Long> ids = pedidoRepository.buscarIdsParaArquivar(FINALIZADOS, limite, PageRequest.of(0, tamanhoLote));
+            return ids.isEmpty() ? List.<PedidoArquivado>of()
+                    : pedidoRepository.buscarComItensPorIds(ids).stream().map(PedidoArquivado::de).toList();
+        });
+        if (lote == null || lote.isEmpty()) {
+            return 0;
+        }
+
+        arquivoPedidos.anexar(lote);
+
+        List<Long> ids = lote.stream().map(PedidoArquivado::id).toList();
+        transacao.executeWithoutResult(status -> {
+            pedidoRepository.removerItensDosPedidos(ids);
+            pedidoRepository.removerPorIds(ids);
+        });
+        arquivados.increment(ids.size());
+        return ids.size();
+    }
+}
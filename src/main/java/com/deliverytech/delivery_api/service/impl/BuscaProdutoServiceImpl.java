@@ -0,0 +1,287 @@
+package com.deliverytech.delivery_api.service.impl;
+
+import com.deliverytech.delivery_api.model.Produto;
+import com.deliverytech.delivery_api.repository.ProdutoRepository;
+import com.deliverytech.delivery_api.service.BuscaProdutoService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Índice invertido: termo -> (produto -> peso).
+ *
+ * Cada palavra é normalizada (minúsculas, sem acento) e indexada inteira e por prefixos
+ * a partir de PREFIXO_MINIMO letras, para atender a busca enquanto o usuário digita.
+ * Para casar também no meio da palavra (como o antigo LIKE '%nome%': "burg" acha
+ * "Hambúrguer"), cada palavra entra ainda num índice de trigramas; um termo com 3 letras
+ * ou mais é procurado pelos trigramas e confirmado nas palavras do produto.
+ * A consulta é um acesso ao mapa por termo, então o tempo não cresce com o catálogo
+ * inteiro, apenas com a quantidade de produtos que casam.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BuscaProdutoServiceImpl implements BuscaProdutoService {
+
+    private static final int PREFIXO_MINIMO = 2;
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // Peso por campo e redução para casamento apenas por prefixo
+    private static final double PESO_NOME = 3.0;
+    private static final double PESO_CATEGORIA = 2.0;
+    private static final double PESO_DESCRICAO = 1.0;
+    private static final double FATOR_PREFIXO = 0.5;
+    private static final double FATOR_INFIXO = 0.25;
+    private static final int TAMANHO_TRIGRAMA = 3;
+
+    private final ProdutoRepository produtoRepository;
+
+    @Value("${busca.produtos.limite-resultados:50}")
+    private int limiteResultados;
+
+    private final Map<String, Map<Long, Double>> indice = new HashMap<>();
+    private final Map<Long, Map<String, Double>> termosPorProduto = new HashMap<>();
+    // Casamento no meio da palavra: trigrama -> produtos e palavra -> peso do campo, por produto
+    private final Map<String, Set<Long>> trigramas = new HashMap<>();
+    private final Map<Long, Map<String, Double>> palavrasPorProduto = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Carga inicial depois dos CommandLineRunner (DataLoader) terem populado o banco
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregarIndice() {
+        int total = reconstruir();
+        log.info("Índice de busca de produtos carregado com {} produtos", total);
+    }
+
+    @Override
+    public List<Produto> buscar(String texto) {
+        List<String> termos = normalizar(texto);
+        if (termos.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Double> pontuacao;
+        lock.readLock().lock();
+        try {
+            pontuacao = pontuar(termos);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Long> ids = pontuacao.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(limiteResultados)
+                .map(Map.Entry::getKey)
+                .toList();
+
+        // Carrega só os produtos da página de resultados, mantendo a ordem de relevância
+        Map<Long, Produto> produtos = produtoRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Produto::getId, Function.identity()));
+        return ids.stream()
+                .map(produtos::get)
+                .filter(p -> p != null && p.getAtivo())
+                .toList();
+    }
+
+    @Override
+    public void indexar(Produto produto) {
+        if (produto == null || produto.getId() == null) {
+            return;
+        }
+        Long id = produto.getId();
+        if (!produto.getAtivo()) {
+            remover(id);
+            return;
+        }
+
+        Map<String, Double> termos = new HashMap<>();
+        Map<String, Double> palavras = new HashMap<>();
+        adicionarCampo(termos, palavras, produto.getNome(), PESO_NOME);
+        adicionarCampo(termos, palavras, produto.getCategoria(), PESO_CATEGORIA);
+        adicionarCampo(termos, palavras, produto.getDescricao(), PESO_DESCRICAO);
+
+        AposCommit.executar(() -> {
+            lock.writeLock().lock();
+            try {
+                removerDoIndice(id);
+                termos.forEach((termo, peso) -> indice.computeIfAbsent(termo, t -> new HashMap<>()).put(id, peso));
+                termosPorProduto.put(id, termos);
+                for (String palavra : palavras.keySet()) {
+                    for (String trigrama : trigramasDe(palavra)) {
+                        trigramas.computeIfAbsent(trigrama, t -> new HashSet<>()).add(id);
+                    }
+                }
+                palavrasPorProduto.put(id, palavras);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    @Override
+    public void remover(Long produtoId) {
+        AposCommit.executar(() -> {
+            lock.writeLock().lock();
+            try {
+                removerDoIndice(produtoId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    @Override
+    public int reconstruir() {
+        List<Produto> disponiveis = produtoRepository.findByDisponivelTrue();
+        lock.writeLock().lock();
+        try {
+            indice.clear();
+            termosPorProduto.clear();
+            trigramas.clear();
+            palavrasPorProduto.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        disponiveis.forEach(this::indexar);
+        return disponiveis.size();
+    }
+
+    // Soma os pesos de cada termo; o produto precisa casar com todos os termos da busca
+    private Map<Long, Double> pontuar(List<String> termos) {
+        Map<Long, Double> pontuacao = null;
+        for (String termo : termos) {
+            Map<Long, Double> postagens = postagensDe(termo);
+            if (pontuacao == null) {
+                pontuacao = new HashMap<>(postagens);
+            } else {
+                pontuacao.keySet().retainAll(postagens.keySet());
+                pontuacao.replaceAll((id, valor) -> valor + postagens.get(id));
+            }
+            if (pontuacao.isEmpty()) {
+                break;
+            }
+        }
+        return pontuacao;
+    }
+
+    // Palavra inteira ou prefixo pelo índice; com 3 letras ou mais, também no meio de uma palavra
+    private Map<Long, Double> postagensDe(String termo) {
+        Map<Long, Double> postagens = indice.getOrDefault(termo, Map.of());
+        if (termo.length() < TAMANHO_TRIGRAMA) {
+            return postagens;
+        }
+
+        Set<Long> candidatos = null;
+        for (String trigrama : trigramasDe(termo)) {
+            Set<Long> produtos = trigramas.getOrDefault(trigrama, Set.of());
+            if (candidatos == null) {
+                candidatos = new HashSet<>(produtos);
+            } else {
+                candidatos.retainAll(produtos);
+            }
+            if (candidatos.isEmpty()) {
+                return postagens;
+            }
+        }
+
+        // Os trigramas podem vir de palavras diferentes: confirmar nas palavras do produto
+        Map<Long, Double> comInfixo = new HashMap<>(postagens);
+        for (Long id : candidatos) {
+            if (comInfixo.containsKey(id)) {
+                continue;
+            }
+            double peso = 0;
+            for (Map.Entry<String, Double> palavra : palavrasPorProduto.getOrDefault(id, Map.of()).entrySet()) {
+                if (palavra.getKey().contains(termo)) {
+                    peso = Math.max(peso, palavra.getValue() * FATOR_INFIXO);
+                }
+            }
+            if (peso > 0) {
+                comInfixo.put(id, peso);
+            }
+        }
+        return comInfixo;
+    }
+
+    private void adicionarCampo(Map<String, Double> termos, Map<String, Double> palavras, String valor, double peso) {
+        for (String palavra : normalizar(valor)) {
+            palavras.merge(palavra, peso, Math::max);
+            termos.merge(palavra, peso, Math::max);
+            for (int tamanho = PREFIXO_MINIMO; tamanho < palavra.length(); tamanho++) {
+                termos.merge(palavra.substring(0, tamanho), peso * FATOR_PREFIXO, Math::max);
+            }
+        }
+    }
+
+    private void removerDoIndice(Long id) {
+        Map<String, Double> palavras = palavrasPorProduto.remove(id);
+        if (palavras != null) {
+            for (String palavra : palavras.keySet()) {
+                for (String trigrama : trigramasDe(palavra)) {
+                    Set<Long> produtos = trigramas.get(trigrama);
+                    if (produtos != null) {
+                        produtos.remove(id);
+                        if (produtos.isEmpty()) {
+                            trigramas.remove(trigrama);
+                        }
+                    }
+                }
+            }
+        }
+
+        Map<String, Double> termos = termosPorProduto.remove(id);
+        if (termos == null) {
+            return;
+        }
+        for (String termo : termos.keySet()) {
+            Map<Long, Double> postagens = indice.get(termo);
+            if (postagens != null) {
+                postagens.remove(id);
+                if (postagens.isEmpty()) {
+                    indice.remove(termo);
+                }
+            }
+        }
+    }
+
+    private static List<String> trigramasDe(String palavra) {
+        List<String> resultado = new ArrayList<>();
+        for (int i = 0; i + TAMANHO_TRIGRAMA <= palavra.length(); i++) {
+            resultado.add(palavra.substring(i, i + TAMANHO_TRIGRAMA));
+        }
+        return resultado;
+    }
+
+    // Minúsculas, sem acentos ("Açaí" -> "acai") e separado em palavras
+    static List<String> normalizar(String texto) {
+        if (texto == null || texto.isBlank()) {
+            return List.of();
+        }
+        String semAcento = ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        List<String> palavras = new ArrayList<>();
+        for (String palavra : SEPARADORES.split(semAcento.toLowerCase())) {
+            if (!palavra.isEmpty()) {
+                palavras.add(palavra);
+            }
+        }
+        return palavras;
+    }
+}
@@ -2,6 +2,7 @@ package com.deliverytech.delivery_api.service.impl;
 
 import com.deliverytech.delivery_api.model.Cliente;
 import com.deliverytech.delivery_api.dto.request.ClienteRequest; // ADICIONAR IMPORT
+import com.deliverytech.delivery_api.dto.response.ClienteResponse;
 import com.deliverytech.delivery_api.repository.ClienteRepository;
 import com.deliverytech.delivery_api.service.ClienteService;
 import lombok.RequiredArgsConstructor;
@@ -80,9 +81,9 @@ public class ClienteServiceImpl implements ClienteService {
      */
     @Override
     @Transactional(readOnly = true)
-    public List<Cliente> listarAtivos() {
+    public List<ClienteResponse> listarAtivos() {
         log.debug("Listando clientes ativos");
-        return clienteRepository.findByAtivoTrue();
+        return clienteRepository.listarAtivosResumo();
     }
 
     /**
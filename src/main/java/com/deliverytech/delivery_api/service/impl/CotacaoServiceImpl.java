@@ -0,0 +1,104 @@
+package com.deliverytech.delivery_api.service.impl;
+
+import com.deliverytech.delivery_api.config.CacheConfig;
+import com.deliverytech.delivery_api.dto.request.ItemPedidoRequest;
+import com.deliverytech.delivery_api.dto.response.ProdutoResponse;
+import com.deliverytech.delivery_api.model.Produto;
+import com.deliverytech.delivery_api.repository.ProdutoRepository;
+import com.deliverytech.delivery_api.service.CotacaoService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Motor de cotação: resolve todos os produtos do carrinho de uma vez.
+ *
+ * Produtos já presentes no cache do catálogo (o mesmo usado por ProdutoService.buscarResumoPorId)
+ * não vão ao banco; os demais são carregados com um único findAllById e guardados no cache como DTO.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class CotacaoServiceImpl implements CotacaoService {
+
+    private final ProdutoRepository produtoRepository;
+    private final CacheManager cacheManager;
+
+    @Override
+    public Map<Long, ProdutoResponse> buscarProdutosDisponiveis(Collection<Long> produtoIds) {
+        Set<Long> ids = new LinkedHashSet<>(produtoIds);
+        Map<Long, ProdutoResponse> produtos = new HashMap<>(ids.size());
+        Cache cache = cacheManager.getCache(CacheConfig.PRODUTOS);
+
+        List<Long> faltantes = new ArrayList<>();
+        for (Long id : ids) {
+            ProdutoResponse produto = cache != null ? cache.get(id, ProdutoResponse.class) : null;
+            if (produto != null) {
+                produtos.put(id, produto);
+            } else {
+                faltantes.add(id);
+            }
+        }
+
+        if (!faltantes.isEmpty()) {
+            for (Produto encontrado : produtoRepository.findAllById(faltantes)) {
+                ProdutoResponse produto = ProdutoResponse.de(encontrado);
+                produtos.put(produto.getId(), produto);
+                if (cache != null) {
+                    cache.put(produto.getId(), produto);
+                }
+            }
+        }
+        log.debug("Cotação: {} produtos, {} do cache, {} do banco", ids.size(), ids.size() - faltantes.size(), faltantes.size());
+
+        // Validar tudo de uma vez para o cliente corrigir o carrinho em uma única resposta
+        List<Long> naoEncontrados = ids.stream().filter(id -> !produtos.containsKey(id)).sorted().toList();
+        List<Long> indisponiveis = ids.stream()
+                .filter(id -> produtos.containsKey(id) && !produtos.get(id).isAtivo())
+                .sorted()
+                .toList();
+
+        if (!naoEncontrados.isEmpty() || !indisponiveis.isEmpty()) {
+            List<String> problemas = new ArrayList<>();
+            if (!naoEncontrados.isEmpty()) {
+                problemas.add("produtos inexistentes - ID(s): " + naoEncontrados);
+            }
+            if (!indisponiveis.isEmpty()) {
+                problemas.add("produtos indisponíveis - ID(s): " + indisponiveis);
+            }
+            throw new IllegalArgumentException("Itens inválidos: " + String.join("; ", problemas));
+        }
+
+        return produtos;
+    }
+
+    @Override
+    public BigDecimal calcularSubtotal(List<ItemPedidoRequest> itens) {
+        if (itens == null || itens.isEmpty()) {
+            return BigDecimal.ZERO;
+        }
+
+        Map<Long, ProdutoResponse> produtos = buscarProdutosDisponiveis(
+                itens.stream().map(ItemPedidoRequest::getProdutoId).toList());
+
+        BigDecimal subtotal = BigDecimal.ZERO;
+        for (ItemPedidoRequest item : itens) {
+            BigDecimal preco = produtos.get(item.getProdutoId()).getPreco();
+            subtotal = subtotal.add(preco.multiply(BigDecimal.valueOf(item.getQuantidade())));
+        }
+        return subtotal;
+    }
+}
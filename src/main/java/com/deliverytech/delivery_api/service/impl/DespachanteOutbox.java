@@ -0,0 +1,201 @@
+package com.deliverytech.delivery_api.service.impl;
+
+import com.deliverytech.delivery_api.model.EventoOutbox;
+import com.deliverytech.delivery_api.model.StatusEventoOutbox;
+import com.deliverytech.delivery_api.repository.EventoOutboxRepository;
+import com.deliverytech.delivery_api.service.TratadorEventoOutbox;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entrega em segundo plano dos eventos gravados na outbox.
+ *
+ * Uma thread busca periodicamente um lote de eventos prontos, chama os tratadores do tipo
+ * e grava o resultado de cada evento em uma transação curta. Falhas reagendam o evento com
+ * backoff exponencial (com jitter); esgotadas as tentativas ele vai para FALHOU
+ * (dead-letter). Não há disputa entre instâncias: apenas uma deve ter
+ * outbox.despachante.ativo=true.
+ */
+@Slf4j
+@Component
+public class DespachanteOutbox {
+
+    private static final int TAMANHO_MAXIMO_ERRO = 1000;
+
+    private final EventoOutboxRepository eventoOutboxRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transacao;
+    private final Map<String, List<TratadorEventoOutbox>> tratadoresPorTipo = new HashMap<>();
+
+    private final Counter entregues;
+    private final Counter reagendados;
+    private final Counter descartados;
+
+    @Value("${outbox.despachante.ativo:true}")
+    private boolean ativo;
+
+    @Value("${outbox.despachante.intervalo-ms:1000}")
+    private long intervaloMs;
+
+    @Value("${outbox.despachante.lote:100}")
+    private int tamanhoLote;
+
+    @Value("${outbox.despachante.tentativas-maximas:8}")
+    private int tentativasMaximas;
+
+    @Value("${outbox.despachante.backoff-inicial-ms:1000}")
+    private long backoffInicialMs;
+
+    @Value("${outbox.despachante.backoff-maximo-ms:300000}")
+    private long backoffMaximoMs;
+
+    @Value("${outbox.retencao-horas:24}")
+    private long retencaoHoras;
+
+    private ScheduledExecutorService executor;
+
+    public DespachanteOutbox(EventoOutboxRepository eventoOutboxRepository, ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager, List<TratadorEventoOutbox> tratadores,
+                             MeterRegistry meterRegistry) {
+        this.eventoOutboxRepository = eventoOutboxRepository;
+        this.objectMapper = objectMapper;
+        this.transacao = new TransactionTemplate(transactionManager);
+        for (TratadorEventoOutbox tratador : tratadores) {
+            for (String tipo : tratador.tipos()) {
+                tratadoresPorTipo.computeIfAbsent(tipo, t -> new ArrayList<>()).add(tratador);
+            }
+        }
+
+        this.entregues = Counter.builder("outbox.eventos.entregues")
+                .description("Eventos da outbox entregues a todos os tratadores")
+                .register(meterRegistry);
+        this.reagendados = Counter.builder("outbox.eventos.reagendados")
+                .description("Falhas de entrega reagendadas com backoff")
+                .register(meterRegistry);
+        this.descartados = Counter.builder("outbox.eventos.dead-letter")
+                .description("Eventos que esgotaram as tentativas (status FALHOU)")
+                .register(meterRegistry);
+    }
+
+    // Começa depois do DataLoader, com o contexto completo
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        if (!ativo) {
+            log.info("Despachante da outbox desativado nesta instância");
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("despachante-outbox")
+                .daemon(true)
+                .factory());
+        executor.scheduleWithFixedDelay(this::executarCiclo, intervaloMs, intervaloMs, TimeUnit.MILLISECONDS);
+        executor.scheduleWithFixedDelay(this::removerProcessados, 1, 60, TimeUnit.MINUTES);
+        log.info("Despachante da outbox ativo (tratadores por tipo: {})", tratadoresPorTipo.keySet());
+    }
+
+    @PreDestroy
+    void encerrar() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    // Esvazia a fila de prontos em lotes; uma exceção aqui não pode matar o agendamento
+    private void executarCiclo() {
+        try {
+            List<EventoOutbox> lote;
+            do {
+                lote = eventoOutboxRepository.buscarProntos(StatusEventoOutbox.PENDENTE,
+                        LocalDateTime.now(), PageRequest.of(0, tamanhoLote));
+                lote.forEach(this::entregar);
+            } while (lote.size() == tamanhoLote && !executor.isShutdown());
+        } catch (RuntimeException e) {
+            log.error("Erro no ciclo do despachante da outbox", e);
+        }
+    }
+
+    private void entregar(EventoOutbox evento) {
+        try {
+            List<TratadorEventoOutbox> tratadores = tratadoresPorTipo.getOrDefault(evento.getTipo(), List.of());
+            if (!tratadores.isEmpty()) {
+                JsonNode payload = objectMapper.readTree(evento.getPayload());
+                for (TratadorEventoOutbox tratador : tratadores) {
+                    tratador.tratar(evento, payload);
+                }
+            }
+            evento.setStatus(StatusEventoOutbox.PROCESSADO);
+            evento.setProcessadoEm(LocalDateTime.now());
+            evento.setUltimoErro(null);
+            entregues.increment();
+        } catch (Exception e) {
+            registrarFalha(evento, e);
+        }
+        transacao.executeWithoutResult(status -> eventoOutboxRepository.save(evento));
+    }
+
+    private void registrarFalha(EventoOutbox evento, Exception e) {
+        int tentativas = evento.getTentativas() + 1;
+        evento.setTentativas(tentativas);
+        evento.setUltimoErro(resumir(e));
+
+        if (tentativas >= tentativasMaximas) {
+            evento.setStatus(StatusEventoOutbox.FALHOU);
+            descartados.increment();
+            log.error("Evento {} ({}) movido para dead-letter após {} tentativas: {}",
+                    evento.getId(), evento.getTipo(), tentativas, evento.getUltimoErro());
+            return;
+        }
+        Duration espera = backoff(tentativas);
+        evento.setProximaTentativa(LocalDateTime.now().plus(espera));
+        reagendados.increment();
+        log.warn("Falha ao entregar evento {} ({}), tentativa {} de {}; nova tentativa em {} ms: {}",
+                evento.getId(), evento.getTipo(), tentativas, tentativasMaximas, espera.toMillis(), evento.getUltimoErro());
+    }
+
+    // Exponencial a partir do backoff inicial, limitado ao máximo, com jitter de ±20%
+    private Duration backoff(int tentativas) {
+        long base = backoffInicialMs << Math.min(tentativas - 1, 30);
+        long limitado = Math.min(base > 0 ? base : backoffMaximoMs, backoffMaximoMs);
+        double jitter = ThreadLocalRandom.current().nextDouble(0.8, 1.2);
+        return Duration.ofMillis((long) (limitado * jitter));
+    }
+
+    private void removerProcessados() {
+        try {
+            Integer removidos = transacao.execute(status -> eventoOutboxRepository.removerProcessadosAntesDe(
+                    StatusEventoOutbox.PROCESSADO, LocalDateTime.now().minusHours(retencaoHoras)));
+            if (removidos != null && removidos > 0) {
+                log.info("Outbox: {} eventos processados removidos", removidos);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Erro ao limpar eventos processados da outbox: {}", e.getMessage());
+        }
+    }
+
+    private static String resumir(Exception e) {
+        String mensagem = e.getClass().getSimpleName() + ": " + e.getMessage();
+        return mensagem.length() > TAMANHO_MAXIMO_ERRO ? mensagem.substring(0, TAMANHO_MAXIMO_ERRO) : mensagem;
+    }
+}
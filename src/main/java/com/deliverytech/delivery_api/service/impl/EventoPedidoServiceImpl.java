@@ -0,0 +1,238 @@
+package com.deliverytech.delivery_api.service.impl;
+
+import com.deliverytech.delivery_api.dto.response.EventoStatusPedidoResponse;
+import com.deliverytech.delivery_api.model.Pedido;
+import com.deliverytech.delivery_api.model.StatusPedido;
+import com.deliverytech.delivery_api.service.EventoPedidoService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Publicação e entrega dos eventos de status de pedidos.
+ *
+ * Toda a entrega (eventos, replay e heartbeats) roda em uma única thread: a requisição que
+ * altera o pedido só agenda o envio, os envios a um mesmo cliente nunca concorrem e o replay
+ * de uma reconexão não se intercala com eventos novos. O buffer de replay guarda os últimos
+ * eventos publicados; quem volta com um Last-Event-ID mais antigo que o buffer recebe um
+ * evento "resincronizar" e deve recarregar o pedido por GET.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EventoPedidoServiceImpl implements EventoPedidoService {
+
+    private static final String EVENTO_STATUS = "status";
+    private static final String EVENTO_RESINCRONIZAR = "resincronizar";
+    private static final String COMENTARIO_CONECTADO = "conectado";
+
+    private record Chave(Escopo escopo, Long id) {
+    }
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${eventos.pedidos.replay.capacidade:1000}")
+    private int capacidadeReplay;
+
+    @Value("${eventos.pedidos.sse.timeout:1800000}")
+    private long timeout;
+
+    @Value("${eventos.pedidos.sse.heartbeat:15000}")
+    private long intervaloHeartbeat;
+
+    private final Map<Chave, Set<SseEmitter>> assinantes = new ConcurrentHashMap<>();
+    private final AtomicInteger totalAssinantes = new AtomicInteger();
+
+    // Acessados apenas pela thread de entrega
+    private final ArrayDeque<EventoStatusPedidoResponse> replay = new ArrayDeque<>();
+    private long ultimoId;
+
+    private ScheduledExecutorService entrega;
+
+    @PostConstruct
+    void iniciar() {
+        entrega = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("eventos-pedidos")
+                .daemon(true)
+                .factory());
+        entrega.scheduleWithFixedDelay(this::enviarHeartbeats,
+                intervaloHeartbeat, intervaloHeartbeat, TimeUnit.MILLISECONDS);
+        Gauge.builder("eventos.pedidos.assinantes", totalAssinantes, AtomicInteger::get)
+                .description("Conexões SSE abertas de status de pedidos")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void encerrar() {
+        entrega.shutdownNow();
+        assinantes.values().forEach(emitters -> emitters.forEach(SseEmitter::complete));
+        assinantes.clear();
+    }
+
+    @Override
+    public void publicar(Pedido pedido, StatusPedido statusAnterior) {
+        if (pedido.getStatusPedido() == statusAnterior) {
+            return;
+        }
+        // Dados copiados na thread da requisição: a entidade não sai da transação
+        EventoStatusPedidoResponse evento = new EventoStatusPedidoResponse(
+                null,
+                pedido.getId(),
+                pedido.getCliente() != null ? pedido.getCliente().getId() : null,
+                pedido.getRestaurante() != null ? pedido.getRestaurante().getId() : null,
+                statusAnterior,
+                pedido.getStatusPedido(),
+                LocalDateTime.now());
+        AposCommit.executar(() -> entrega.execute(() -> distribuir(evento)));
+    }
+
+    @Override
+    public SseEmitter assinar(Escopo escopo, Long id, String ultimoEventoId) {
+        Long desde = idEvento(ultimoEventoId);
+        Chave chave = new Chave(escopo, id);
+        SseEmitter emitter = new SseEmitter(timeout);
+
+        emitter.onCompletion(() -> remover(chave, emitter));
+        emitter.onTimeout(() -> remover(chave, emitter));
+        emitter.onError(e -> remover(chave, emitter));
+
+        entrega.execute(() -> {
+            // O Spring só confirma a resposta SSE na primeira escrita: sem isto o cliente
+            // ficaria sem os cabeçalhos até o primeiro evento ou heartbeat
+            try {
+                emitter.send(SseEmitter.event().comment(COMENTARIO_CONECTADO));
+            } catch (IOException | IllegalStateException e) {
+                emitter.completeWithError(e);
+                return;
+            }
+            if (desde != null && !reenviar(chave, emitter, desde)) {
+                return;
+            }
+            assinantes.computeIfAbsent(chave, c -> ConcurrentHashMap.newKeySet()).add(emitter);
+            totalAssinantes.incrementAndGet();
+        });
+        return emitter;
+    }
+
+    private void distribuir(EventoStatusPedidoResponse evento) {
+        evento.setEventoId(++ultimoId);
+        replay.addLast(evento);
+        if (replay.size() > capacidadeReplay) {
+            replay.removeFirst();
+        }
+
+        enviarPara(new Chave(Escopo.PEDIDO, evento.getPedidoId()), evento);
+        if (evento.getClienteId() != null) {
+            enviarPara(new Chave(Escopo.CLIENTE, evento.getClienteId()), evento);
+        }
+        if (evento.getRestauranteId() != null) {
+            enviarPara(new Chave(Escopo.RESTAURANTE, evento.getRestauranteId()), evento);
+        }
+    }
+
+    private void enviarPara(Chave chave, EventoStatusPedidoResponse evento) {
+        Set<SseEmitter> emitters = assinantes.get(chave);
+        if (emitters == null) {
+            return;
+        }
+        for (SseEmitter emitter : emitters) {
+            enviar(chave, emitter, evento);
+        }
+    }
+
+    // Reenvia os eventos do escopo posteriores ao último recebido; false se a conexão caiu
+    private boolean reenviar(Chave chave, SseEmitter emitter, long desde) {
+        // Eventos perdidos (fora do buffer) ou ID de antes de um reinício da aplicação
+        EventoStatusPedidoResponse maisAntigo = replay.peekFirst();
+        if (desde > ultimoId || (maisAntigo != null && desde < maisAntigo.getEventoId() - 1)) {
+            try {
+                emitter.send(SseEmitter.event().name(EVENTO_RESINCRONIZAR).data(""));
+            } catch (IOException | IllegalStateException e) {
+                emitter.completeWithError(e);
+                return false;
+            }
+        }
+        for (EventoStatusPedidoResponse evento : replay) {
+            if (evento.getEventoId() > desde && pertence(chave, evento)
+                    && !enviar(chave, emitter, evento)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean enviar(Chave chave, SseEmitter emitter, EventoStatusPedidoResponse evento) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .id(String.valueOf(evento.getEventoId()))
+                    .name(EVENTO_STATUS)
+                    .data(evento, MediaType.APPLICATION_JSON));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // Cliente desconectado: o onError/onCompletion também remove, remover é idempotente
+            remover(chave, emitter);
+            emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    // Comentário SSE mantém a conexão viva através de proxies e detecta clientes que saíram
+    private void enviarHeartbeats() {
+        assinantes.forEach((chave, emitters) -> {
+            for (SseEmitter emitter : emitters) {
+                try {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                } catch (IOException | IllegalStateException e) {
+                    remover(chave, emitter);
+                    emitter.completeWithError(e);
+                }
+            }
+        });
+    }
+
+    private void remover(Chave chave, SseEmitter emitter) {
+        assinantes.computeIfPresent(chave, (c, emitters) -> {
+            if (emitters.remove(emitter)) {
+                totalAssinantes.decrementAndGet();
+            }
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+
+    private static boolean pertence(Chave chave, EventoStatusPedidoResponse evento) {
+        return switch (chave.escopo()) {
+            case PEDIDO -> chave.id().equals(evento.getPedidoId());
+            case CLIENTE -> chave.id().equals(evento.getClienteId());
+            case RESTAURANTE -> chave.id().equals(evento.getRestauranteId());
+        };
+    }
+
+    private static Long idEvento(String ultimoEventoId) {
+        if (ultimoEventoId == null || ultimoEventoId.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(ultimoEventoId.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Last-Event-ID inválido: " + ultimoEventoId);
+        }
+    }
+}
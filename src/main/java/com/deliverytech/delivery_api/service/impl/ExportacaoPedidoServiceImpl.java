@@ -0,0 +1,283 @@
+package com.deliverytech.delivery_api.service.impl;
+
+import com.deliverytech.delivery_api.arquivo.ArquivoPedidos;
+import com.deliverytech.delivery_api.arquivo.PedidoArquivado;
+import com.deliverytech.delivery_api.model.StatusPedido;
+import com.deliverytech.delivery_api.projection.NomePorId;
+import com.deliverytech.delivery_api.projection.PedidoExportacao;
+import com.deliverytech.delivery_api.repository.ClienteRepository;
+import com.deliverytech.delivery_api.repository.PedidoRepository;
+import com.deliverytech.delivery_api.repository.RestauranteRepository;
+import com.deliverytech.delivery_api.service.ExportacaoPedidoService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Lê os pedidos por um cursor somente leitura (Stream do Spring Data) e escreve cada linha
+ * direto na resposta: nenhuma lista é montada e nenhuma entidade fica no contexto de
+ * persistência, então o consumo de memória não depende do tamanho do período.
+ *
+ * Pedidos já arquivados são intercalados na mesma ordem (data, id); do arquivo fica em
+ * memória no máximo um mês, e os nomes de cliente e restaurante são buscados em lotes.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExportacaoPedidoServiceImpl implements ExportacaoPedidoService {
+
+    private static final int LINHAS_POR_FLUSH = 1000;
+    private static final String CABECALHO_CSV =
+            "id,dataPedido,status,valorTotal,clienteId,clienteNome,restauranteId,restauranteNome,cep";
+
+    // Ordem da consulta de exportação (data_pedido, id)
+    private static final Comparator<PedidoExportacao> ORDEM =
+            Comparator.comparing(PedidoExportacao::getDataPedido).thenComparing(PedidoExportacao::getId);
+
+    private final PedidoRepository pedidoRepository;
+    private final ClienteRepository clienteRepository;
+    private final RestauranteRepository restauranteRepository;
+    private final ArquivoPedidos arquivoPedidos;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportar(LocalDate dataInicio, LocalDate dataFim, Formato formato, OutputStream saida) throws IOException {
+        long linhas = 0;
+        LocalDateTime inicio = dataInicio.atStartOfDay();
+        LocalDateTime fim = dataFim.plusDays(1).atStartOfDay();
+        try (Stream<PedidoExportacao> pedidos = pedidoRepository.streamExportacao(inicio, fim)) {
+            Iterator<PedidoExportacao> todos = arquivoPedidos.possui(inicio, fim)
+                    ? new Intercalacao(pedidos.iterator(), new ArquivadosComNomes(arquivoPedidos.emOrdem(inicio, fim)))
+                    : pedidos.iterator();
+            linhas = formato == Formato.CSV
+                    ? escreverCsv(todos, saida)
+                    : escreverNdjson(todos, saida);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            log.info("Exportação de pedidos {} a {} ({}): {} linhas", dataInicio, dataFim, formato, linhas);
+        }
+    }
+
+    private long escreverNdjson(Iterator<PedidoExportacao> pedidos, OutputStream saida) throws IOException {
+        long linhas = 0;
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(saida)) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Cada objeto termina com '\n' (NDJSON), sem o separador padrão entre valores raiz
+            json.setRootValueSeparator(null);
+            while (pedidos.hasNext()) {
+                PedidoExportacao p = pedidos.next();
+                json.writeStartObject();
+                json.writeNumberField("id", p.getId());
+                json.writeStringField("dataPedido", p.getDataPedido() != null ? p.getDataPedido().toString() : null);
+                json.writeStringField("status", p.getStatus() != null ? p.getStatus().name() : null);
+                json.writeNumberField("valorTotal", p.getValorTotal());
+                escreverNumero(json, "clienteId", p.getClienteId());
+                json.writeStringField("clienteNome", p.getClienteNome());
+                escreverNumero(json, "restauranteId", p.getRestauranteId());
+                json.writeStringField("restauranteNome", p.getRestauranteNome());
+                json.writeStringField("cep", p.getCep());
+                json.writeEndObject();
+                json.writeRaw('\n');
+                if (++linhas % LINHAS_POR_FLUSH == 0) {
+                    json.flush();
+                }
+            }
+        }
+        return linhas;
+    }
+
+    private long escreverCsv(Iterator<PedidoExportacao> pedidos, OutputStream saida) throws IOException {
+        long linhas = 0;
+        Writer csv = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+        csv.write(CABECALHO_CSV);
+        csv.write('\n');
+        while (pedidos.hasNext()) {
+            PedidoExportacao p = pedidos.next();
+            csv.write(String.join(",",
+                    valor(p.getId()),
+                    valor(p.getDataPedido()),
+                    valor(p.getStatus()),
+                    valor(p.getValorTotal()),
+                    valor(p.getClienteId()),
+                    valor(p.getClienteNome()),
+                    valor(p.getRestauranteId()),
+                    valor(p.getRestauranteNome()),
+                    valor(p.getCep())));
+            csv.write('\n');
+            if (++linhas % LINHAS_POR_FLUSH == 0) {
+                csv.flush();
+            }
+        }
+        csv.flush();
+        return linhas;
+    }
+
+    /**
+     * Intercala as linhas da tabela e do arquivo, as duas em ordem (data, id). Um pedido nas
+     * duas (arquivado, ainda não removido da tabela) sai uma vez só, com a linha da tabela
+     */
+    private static final class Intercalacao implements Iterator<PedidoExportacao> {
+
+        private final Iterator<PedidoExportacao> tabela;
+        private final Iterator<PedidoExportacao> arquivo;
+        private PedidoExportacao proximaDaTabela;
+        private PedidoExportacao proximaDoArquivo;
+
+        Intercalacao(Iterator<PedidoExportacao> tabela, Iterator<PedidoExportacao> arquivo) {
+            this.tabela = tabela;
+            this.arquivo = arquivo;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (proximaDaTabela == null && tabela.hasNext()) {
+                proximaDaTabela = tabela.next();
+            }
+            if (proximaDoArquivo == null && arquivo.hasNext()) {
+                proximaDoArquivo = arquivo.next();
+            }
+            return proximaDaTabela != null || proximaDoArquivo != null;
+        }
+
+        @Override
+        public PedidoExportacao next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int comparacao = proximaDaTabela == null ? 1
+                    : proximaDoArquivo == null ? -1
+                    : ORDEM.compare(proximaDaTabela, proximaDoArquivo);
+            if (comparacao == 0) {
+                proximaDoArquivo = null;
+            }
+            PedidoExportacao linha;
+            if (comparacao <= 0) {
+                linha = proximaDaTabela;
+                proximaDaTabela = null;
+            } else {
+                linha = proximaDoArquivo;
+                proximaDoArquivo = null;
+            }
+            return linha;
+        }
+    }
+
+    /**
+     * Pedidos arquivados como linhas de exportação, com os nomes atuais de cliente e restaurante
+     * buscados para cada lote de LINHAS_POR_FLUSH pedidos (só os ids ainda não vistos)
+     */
+    private final class ArquivadosComNomes implements Iterator<PedidoExportacao> {
+
+        private final Iterator<PedidoArquivado> arquivados;
+        private final Deque<PedidoArquivado> lote = new ArrayDeque<>(LINHAS_POR_FLUSH);
+        private final Map<Long, String> clientes = new HashMap<>();
+        private final Map<Long, String> restaurantes = new HashMap<>();
+
+        ArquivadosComNomes(Iterator<PedidoArquivado> arquivados) {
+            this.arquivados = arquivados;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (lote.isEmpty()) {
+                while (lote.size() < LINHAS_POR_FLUSH && arquivados.hasNext()) {
+                    lote.add(arquivados.next());
+                }
+                carregarNomes(clientes, PedidoArquivado::clienteId, clienteRepository::buscarNomes);
+                carregarNomes(restaurantes, PedidoArquivado::restauranteId, restauranteRepository::buscarNomes);
+            }
+            return !lote.isEmpty();
+        }
+
+        @Override
+        public PedidoExportacao next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            PedidoArquivado p = lote.poll();
+            return new LinhaArquivada(p.id(), p.dataPedido(), p.status(), p.valorTotal(),
+                    p.clienteId(), clientes.get(p.clienteId()),
+                    p.restauranteId(), restaurantes.get(p.restauranteId()),
+                    p.enderecoEntrega() != null ? p.enderecoEntrega().getCep() : null);
+        }
+
+        private void carregarNomes(Map<Long, String> nomes, Function<PedidoArquivado, Long> id,
+                                   Function<Collection<Long>, List<NomePorId>> buscar) {
+            Set<Long> faltantes = new HashSet<>();
+            for (PedidoArquivado pedido : lote) {
+                Long valor = id.apply(pedido);
+                if (valor != null && !nomes.containsKey(valor)) {
+                    faltantes.add(valor);
+                }
+            }
+            if (faltantes.isEmpty()) {
+                return;
+            }
+            faltantes.forEach(faltante -> nomes.put(faltante, null));
+            buscar.apply(faltantes).forEach(nome -> nomes.put(nome.getId(), nome.getNome()));
+        }
+    }
+
+    @Value
+    private static class LinhaArquivada implements PedidoExportacao {
+        Long id;
+        LocalDateTime dataPedido;
+        StatusPedido status;
+        BigDecimal valorTotal;
+        Long clienteId;
+        String clienteNome;
+        Long restauranteId;
+        String restauranteNome;
+        String cep;
+    }
+
+    private static void escreverNumero(JsonGenerator json, String campo, Long valor) throws IOException {
+        if (valor != null) {
+            json.writeNumberField(campo, valor);
+        } else {
+            json.writeNullField(campo);
+        }
+    }
+
+    // Campo CSV (RFC 4180): aspas quando houver vírgula, aspas ou quebra de linha
+    private static String valor(Object valor) {
+        if (valor == null) {
+            return "";
+        }
+        String texto = valor.toString();
+        if (texto.indexOf(',') >= 0 || texto.indexOf('"') >= 0 || texto.indexOf('\n') >= 0 || texto.indexOf('\r') >= 0) {
+            return '"' + texto.replace("\"", "\"\"") + '"';
+        }
+        return texto;
+    }
+}
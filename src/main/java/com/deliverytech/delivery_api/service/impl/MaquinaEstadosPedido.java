@@ -0,0 +1,94 @@
+package com.deliverytech.delivery_api.service.impl;
+
+import com.deliverytech.delivery_api.model.Pedido;
+import com.deliverytech.delivery_api.model.StatusPedido;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Máquina de estados dos pedidos: tabela de transições permitidas por status de origem
+ * e guardas verificadas ao entrar em um status de destino.
+ *
+ * Status fora da tabela (PENDENTE) não têm transições definidas; status com conjunto
+ * vazio (ENTREGUE, CANCELADO) são finais.
+ */
+@Component
+public class MaquinaEstadosPedido {
+
+    private record Guarda(Predicate<Pedido> condicao, String mensagem) {
+    }
+
+    private final Map<StatusPedido, Set<StatusPedido>> transicoes = new EnumMap<>(StatusPedido.class);
+    private final Map<StatusPedido, List<Guarda>> guardas = new EnumMap<>(StatusPedido.class);
+
+    public MaquinaEstadosPedido() {
+        permitir(StatusPedido.CRIADO, StatusPedido.CONFIRMADO, StatusPedido.CANCELADO);
+        permitir(StatusPedido.CONFIRMADO, StatusPedido.PREPARANDO, StatusPedido.CANCELADO);
+        permitir(StatusPedido.PREPARANDO, StatusPedido.SAIU_PARA_ENTREGA, StatusPedido.CANCELADO);
+        permitir(StatusPedido.SAIU_PARA_ENTREGA, StatusPedido.ENTREGUE);
+        transicoes.put(StatusPedido.ENTREGUE, EnumSet.noneOf(StatusPedido.class));
+        transicoes.put(StatusPedido.CANCELADO, EnumSet.noneOf(StatusPedido.class));
+
+        guardar(StatusPedido.CONFIRMADO,
+                pedido -> pedido.getItens() != null && !pedido.getItens().isEmpty(),
+                "Não é possível confirmar um pedido sem itens");
+    }
+
+    /**
+     * Indica se a tabela permite ir de um status para o outro (sem avaliar guardas)
+     */
+    public boolean podeTransitar(StatusPedido statusAtual, StatusPedido novoStatus) {
+        Set<StatusPedido> destinos = transicoes.get(statusAtual);
+        return destinos != null && destinos.contains(novoStatus);
+    }
+
+    /**
+     * Status para os quais o status atual pode ir
+     */
+    public Set<StatusPedido> destinos(StatusPedido statusAtual) {
+        Set<StatusPedido> destinos = transicoes.get(statusAtual);
+        return destinos != null ? Collections.unmodifiableSet(destinos) : Set.of();
+    }
+
+    /**
+     * Validar a transição do pedido para o novo status
+     * @throws IllegalArgumentException se a transição não for permitida ou uma guarda falhar
+     */
+    public void validar(Pedido pedido, StatusPedido novoStatus) {
+        StatusPedido statusAtual = pedido.getStatusPedido();
+        Set<StatusPedido> destinos = transicoes.get(statusAtual);
+        if (destinos == null) {
+            throw new IllegalArgumentException("Status atual inválido: " + statusAtual);
+        }
+        if (destinos.isEmpty()) {
+            throw new IllegalArgumentException("Pedido já está em status final: " + statusAtual);
+        }
+        if (!destinos.contains(novoStatus)) {
+            throw new IllegalArgumentException("De " + statusAtual + " só pode ir para " + destinos.stream()
+                    .map(StatusPedido::name)
+                    .collect(Collectors.joining(" ou ")));
+        }
+        for (Guarda guarda : guardas.getOrDefault(novoStatus, List.of())) {
+            if (!guarda.condicao().test(pedido)) {
+                throw new IllegalArgumentException(guarda.mensagem());
+            }
+        }
+    }
+
+    private void permitir(StatusPedido origem, StatusPedido... destinos) {
+        transicoes.put(origem, EnumSet.of(destinos[0], destinos));
+    }
+
+    private void guardar(StatusPedido destino, Predicate<Pedido> condicao, String mensagem) {
+        guardas.computeIfAbsent(destino, d -> new ArrayList<>()).add(new Guarda(condicao, mensagem));
+    }
+}
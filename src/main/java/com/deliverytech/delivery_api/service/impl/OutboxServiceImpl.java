@@ -0,0 +1,44 @@
+package com.deliverytech.delivery_api.service.impl;
+
+import com.deliverytech.delivery_api.model.EventoOutbox;
+import com.deliverytech.delivery_api.model.StatusEventoOutbox;
+import com.deliverytech.delivery_api.repository.EventoOutboxRepository;
+import com.deliverytech.delivery_api.service.OutboxService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Service
+@RequiredArgsConstructor
+public class OutboxServiceImpl implements OutboxService {
+
+    private final EventoOutboxRepository eventoOutboxRepository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrar(String tipo, Long agregadoId, Object payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Payload do evento " + tipo + " não serializável", e);
+        }
+
+        LocalDateTime agora = LocalDateTime.now();
+        eventoOutboxRepository.save(EventoOutbox.builder()
+                .tipo(tipo)
+                .agregadoId(agregadoId)
+                .payload(json)
+                .status(StatusEventoOutbox.PENDENTE)
+                .tentativas(0)
+                .proximaTentativa(agora)
+                .criadoEm(agora)
+                .build());
+    }
+}
@@ -0,0 +1,191 @@
+package com.deliverytech.delivery_api.service.impl;
+
+import com.deliverytech.delivery_api.model.Pagamento;
+import com.deliverytech.delivery_api.model.Pedido;
+import com.deliverytech.delivery_api.model.StatusPagamento;
+import com.deliverytech.delivery_api.model.StatusPedido;
+import com.deliverytech.delivery_api.pagamento.GatewayIndisponivelException;
+import com.deliverytech.delivery_api.pagamento.GatewayProtegido;
+import com.deliverytech.delivery_api.pagamento.ResultadoGateway;
+import com.deliverytech.delivery_api.pagamento.SolicitacaoCobranca;
+import com.deliverytech.delivery_api.repository.PagamentoRepository;
+import com.deliverytech.delivery_api.repository.PedidoRepository;
+import com.deliverytech.delivery_api.service.PagamentoService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Processamento de pagamentos em virtual threads.
+ *
+ * Cada pagamento roda em sua própria virtual thread: as esperas (vaga no gateway, resposta,
+ * backoff entre tentativas) não ocupam threads do Tomcat nem de plataforma. Falhas
+ * transitórias são repetidas com a mesma chave de idempotência; o disjuntor do
+ * GatewayProtegido corta as chamadas enquanto o gateway estiver fora.
+ */
+@Slf4j
+@Service
+public class PagamentoServiceImpl implements PagamentoService {
+
+    private static final int TAMANHO_MAXIMO_MOTIVO = 500;
+
+    private final PagamentoRepository pagamentoRepository;
+    private final PedidoRepository pedidoRepository;
+    private final GatewayProtegido gateway;
+    private final ExecutorService executor;
+    private final TransactionTemplate transacao;
+    private final Map<StatusPagamento, Counter> resultados = new EnumMap<>(StatusPagamento.class);
+
+    // Um processamento por pedido nesta instância
+    private final Map<Long, CompletableFuture<Pagamento>> emAndamento = new ConcurrentHashMap<>();
+
+    @Value("${pagamento.tentativas-maximas:3}")
+    private int tentativasMaximas;
+
+    @Value("${pagamento.backoff-inicial-ms:200}")
+    private long backoffInicialMs;
+
+    public PagamentoServiceImpl(PagamentoRepository pagamentoRepository, PedidoRepository pedidoRepository,
+                                GatewayProtegido gateway, ExecutorService pagamentoExecutor,
+                                PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.pagamentoRepository = pagamentoRepository;
+        this.pedidoRepository = pedidoRepository;
+        this.gateway = gateway;
+        this.executor = pagamentoExecutor;
+        this.transacao = new TransactionTemplate(transactionManager);
+        for (StatusPagamento status : EnumSet.of(StatusPagamento.APROVADO, StatusPagamento.RECUSADO, StatusPagamento.FALHOU)) {
+            resultados.put(status, Counter.builder("pagamentos.processados")
+                    .description("Pagamentos concluídos por resultado")
+                    .tag("resultado", status.name())
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    public void processPayment(Long orderId) {
+        processar(orderId).exceptionally(e -> {
+            log.warn("Pagamento do pedido {} não processado: {}", orderId, e.getMessage());
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Pagamento> processar(Long pedidoId) {
+        CompletableFuture<Pagamento> novo = new CompletableFuture<>();
+        CompletableFuture<Pagamento> existente = emAndamento.putIfAbsent(pedidoId, novo);
+        if (existente != null) {
+            return existente;
+        }
+        executor.execute(() -> {
+            try {
+                Pagamento pagamento = executar(pedidoId);
+                emAndamento.remove(pedidoId, novo);
+                novo.complete(pagamento);
+            } catch (Throwable e) {
+                emAndamento.remove(pedidoId, novo);
+                novo.completeExceptionally(e);
+            }
+        });
+        return novo;
+    }
+
+    @Override
+    public Optional<Pagamento> buscarPorPedido(Long pedidoId) {
+        return pagamentoRepository.findByPedidoId(pedidoId);
+    }
+
+    private Pagamento executar(Long pedidoId) {
+        Pagamento pagamento = transacao.execute(status -> preparar(pedidoId));
+        if (pagamento.getStatus().isFinal()) {
+            return pagamento;
+        }
+
+        SolicitacaoCobranca solicitacao = new SolicitacaoCobranca(
+                pagamento.getChaveIdempotencia(), pedidoId, pagamento.getValor());
+        String ultimoErro = null;
+        for (int tentativa = 1; tentativa <= tentativasMaximas; tentativa++) {
+            try {
+                ResultadoGateway resultado = gateway.cobrar(solicitacao);
+                return concluir(pagamento, tentativa,
+                        resultado.aprovado() ? StatusPagamento.APROVADO : StatusPagamento.RECUSADO,
+                        resultado.transacaoId(), resultado.motivo());
+            } catch (GatewayIndisponivelException e) {
+                ultimoErro = e.getMessage();
+                log.warn("Pagamento do pedido {}: tentativa {} de {} falhou: {}",
+                        pedidoId, tentativa, tentativasMaximas, ultimoErro);
+                if (tentativa < tentativasMaximas && !aguardar(backoffInicialMs << (tentativa - 1))) {
+                    break;
+                }
+            }
+        }
+        return concluir(pagamento, tentativasMaximas, StatusPagamento.FALHOU, null, ultimoErro);
+    }
+
+    // Cria o pagamento (ou retoma um que falhou) a partir do valor atual do pedido
+    private Pagamento preparar(Long pedidoId) {
+        Pedido pedido = pedidoRepository.findById(pedidoId)
+                .orElseThrow(() -> new RuntimeException("Pedido não encontrado"));
+        if (pedido.getStatusPedido() == StatusPedido.CRIADO || pedido.getStatusPedido() == StatusPedido.CANCELADO) {
+            throw new IllegalArgumentException("Pedido " + pedidoId + " não pode ser pago no status " + pedido.getStatusPedido());
+        }
+        BigDecimal valor = pedido.getValorTotal();
+        if (valor == null || valor.signum() <= 0) {
+            throw new IllegalArgumentException("Pedido " + pedidoId + " não tem valor a pagar");
+        }
+
+        LocalDateTime agora = LocalDateTime.now();
+        Pagamento pagamento = pagamentoRepository.findByPedidoId(pedidoId)
+                .orElseGet(() -> Pagamento.builder()
+                        .pedidoId(pedidoId)
+                        .chaveIdempotencia("pedido-" + pedidoId)
+                        .valor(valor)
+                        .criadoEm(agora)
+                        .build());
+        if (pagamento.getStatus() != null && pagamento.getStatus().isFinal()) {
+            return pagamento;
+        }
+        pagamento.setStatus(StatusPagamento.PROCESSANDO);
+        pagamento.setGateway(gateway.nome());
+        pagamento.setAtualizadoEm(agora);
+        return pagamentoRepository.save(pagamento);
+    }
+
+    private Pagamento concluir(Pagamento pagamento, int tentativas, StatusPagamento status,
+                               String transacaoId, String motivo) {
+        pagamento.setStatus(status);
+        pagamento.setTentativas(pagamento.getTentativas() + tentativas);
+        pagamento.setTransacaoId(transacaoId);
+        pagamento.setMotivo(motivo != null && motivo.length() > TAMANHO_MAXIMO_MOTIVO
+                ? motivo.substring(0, TAMANHO_MAXIMO_MOTIVO) : motivo);
+        pagamento.setAtualizadoEm(LocalDateTime.now());
+        Pagamento salvo = transacao.execute(s -> pagamentoRepository.save(pagamento));
+        resultados.get(status).increment();
+        log.info("Pagamento do pedido {}: {}", pagamento.getPedidoId(), status);
+        return salvo;
+    }
+
+    // Backoff em virtual thread: dormir não prende thread de plataforma
+    private static boolean aguardar(long ms) {
+        try {
+            Thread.sleep(ms);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.deliverytech.delivery_api.service.impl;
+
+import com.deliverytech.delivery_api.model.EventoOutbox;
+import com.deliverytech.delivery_api.model.StatusPedido;
+import com.deliverytech.delivery_api.service.PagamentoService;
+import com.deliverytech.delivery_api.service.TratadorEventoOutbox;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Dispara o processamento do pagamento quando o pedido é confirmado
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PagamentoTratadorEvento implements TratadorEventoOutbox {
+
+    // Opcional: sem implementação de PagamentoService registrada, o evento é apenas consumido
+    private final ObjectProvider<PagamentoService> pagamentoService;
+
+    @Override
+    public Set<String> tipos() {
+        return Set.of(EventoOutbox.PEDIDO_STATUS_ALTERADO);
+    }
+
+    @Override
+    public void tratar(EventoOutbox evento, JsonNode payload) {
+        if (!StatusPedido.CONFIRMADO.name().equals(payload.path("statusAtual").asText())) {
+            return;
+        }
+        PagamentoService servico = pagamentoService.getIfAvailable();
+        if (servico == null) {
+            log.debug("Pedido {} confirmado, mas nenhum PagamentoService está disponível", evento.getAgregadoId());
+            return;
+        }
+        servico.processPayment(evento.getAgregadoId());
+    }
+}
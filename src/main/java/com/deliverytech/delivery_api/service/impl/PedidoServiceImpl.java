@@ -1,21 +1,40 @@
 package com.deliverytech.delivery_api.service.impl;
 
+import com.deliverytech.delivery_api.arquivo.ArquivoPedidos;
+import com.deliverytech.delivery_api.arquivo.PedidoArquivado;
+import com.deliverytech.delivery_api.dto.request.CursorPedido;
 import com.deliverytech.delivery_api.dto.request.ItemPedidoRequest;
+import com.deliverytech.delivery_api.dto.response.ItemPedidoResponse;
+import com.deliverytech.delivery_api.dto.response.PedidoResponse;
+import com.deliverytech.delivery_api.dto.response.ProdutoResponse;
+import com.deliverytech.delivery_api.exception.ExceptionMessage;
 import com.deliverytech.delivery_api.model.*;
 import com.deliverytech.delivery_api.repository.PedidoRepository;
 import com.deliverytech.delivery_api.repository.ProdutoRepository;
+import com.deliverytech.delivery_api.service.CotacaoService;
+import com.deliverytech.delivery_api.service.EventoPedidoService;
+import com.deliverytech.delivery_api.service.OutboxService;
 import com.deliverytech.delivery_api.service.PedidoService;
+import com.deliverytech.delivery_api.service.VendasDiariasService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
 
 @Slf4j
 @Service
@@ -25,26 +44,72 @@ public class PedidoServiceImpl implements PedidoService {
 
     private final PedidoRepository pedidoRepository;
     private final ProdutoRepository produtoRepository;
+    private final VendasDiariasService vendasDiariasService;
+    private final CotacaoService cotacaoService;
+    private final EventoPedidoService eventoPedidoService;
+    private final MaquinaEstadosPedido maquinaEstadosPedido;
+    private final TravasPedido travasPedido;
+    private final OutboxService outboxService;
+    private final ArquivoPedidos arquivoPedidos;
 
     @Override
     public Pedido criar(Pedido pedido) {
         // ✅ SIMPLIFICAR: Definir dados básicos do pedido
         pedido.setStatusPedido(StatusPedido.CRIADO); // ✅ USAR CRIADO ao invés de PENDENTE
         pedido.setDataPedido(LocalDateTime.now());
-        pedido.setValorTotal(BigDecimal.ZERO); // ✅ Iniciar com valor zero
+        pedido.setValorTotal(calcularTotal(pedido)); // ✅ Zero quando o pedido ainda não tem itens
         
         // ✅ SALVAR e retornar o pedido
         Pedido pedidoSalvo = pedidoRepository.save(pedido);
+        vendasDiariasService.registrarAlteracao(pedidoSalvo, null, null);
         log.info("Pedido criado com sucesso - ID: {}", pedidoSalvo.getId());
         
         return pedidoSalvo;
     }
 
+    @Override
+    public PedidoResponse criarComItens(Pedido pedido, List<ItemPedidoRequest> itens) {
+        List<ItemPedidoRequest> solicitados = itens != null ? itens : List.of();
+        log.info("Criando pedido com {} itens", solicitados.size());
+
+        // Todos os produtos do pedido resolvidos e validados de uma vez
+        Map<Long, ProdutoResponse> produtos = cotacaoService.buscarProdutosDisponiveis(
+                solicitados.stream().map(ItemPedidoRequest::getProdutoId).toList());
+
+        Long restauranteId = pedido.getRestaurante() != null ? pedido.getRestaurante().getId() : null;
+        List<ItemPedido> itensPedido = new ArrayList<>(solicitados.size());
+        List<ItemPedidoResponse> itensResposta = new ArrayList<>(solicitados.size());
+        for (ItemPedidoRequest itemRequest : solicitados) {
+            ProdutoResponse produto = produtos.get(itemRequest.getProdutoId());
+            if (restauranteId != null && produto.getRestauranteId() != null
+                    && !restauranteId.equals(produto.getRestauranteId())) {
+                throw new IllegalArgumentException(ExceptionMessage.ProdutoNaoPertenceAoRestaurante + " ID: " + produto.getId());
+            }
+            // Só a FK do item vai para o banco: referência gerenciada pelo id, sem consulta ao produto
+            itensPedido.add(ItemPedido.builder()
+                    .pedido(pedido)
+                    .produto(produtoRepository.getReferenceById(produto.getId()))
+                    .quantidade(itemRequest.getQuantidade())
+                    .precoUnitario(produto.getPreco())
+                    .build());
+            // Nome e preço da resposta vêm da cotação (não inicializam a referência)
+            itensResposta.add(new ItemPedidoResponse(produto.getId(), produto.getNome(),
+                    itemRequest.getQuantidade(), produto.getPreco()));
+        }
+
+        // Itens são gravados em cascata junto com o pedido
+        pedido.setItens(itensPedido);
+        return PedidoResponse.de(criar(pedido), itensResposta);
+    }
+
     // ✅ IMPLEMENTAR métodos básicos se não existirem
+    // Pedido fora da tabela é procurado no arquivo (pedidos finalizados antigos); o arquivado é
+    // desanexado e só serve para leitura: alterações continuam buscando apenas na tabela
     @Override
     @Transactional(readOnly = true)
     public Pedido buscarPorId(Long id) {
         return pedidoRepository.findById(id)
+                .or(() -> buscarArquivado(id))
                 .orElseThrow(() -> new RuntimeException("Pedido não encontrado"));
     }
 
@@ -57,7 +122,12 @@ public class PedidoServiceImpl implements PedidoService {
     @Override
     @Transactional(readOnly = true)
     public Optional<Pedido> buscarPorIdComItens(Long id) {
-        return pedidoRepository.findByIdWithItens(id);
+        return pedidoRepository.findByIdWithItens(id)
+                .or(() -> buscarArquivado(id));
+    }
+
+    private Optional<Pedido> buscarArquivado(Long id) {
+        return arquivoPedidos.buscar(id).map(PedidoArquivado::paraPedido);
     }
 
     @Override
@@ -89,39 +159,64 @@ public class PedidoServiceImpl implements PedidoService {
         pedido.getItens().add(item);
 
         // ✅ RECALCULAR valor total
+        BigDecimal valorAnterior = pedido.getValorTotal();
         BigDecimal novoTotal = calcularTotal(pedido);
         pedido.setValorTotal(novoTotal);
 
-        return pedidoRepository.save(pedido);
+        Pedido salvo = pedidoRepository.save(pedido);
+        vendasDiariasService.registrarAlteracao(salvo, salvo.getStatusPedido(), valorAnterior);
+        return salvo;
     }
 
     @Override
     public Pedido confirmar(Long pedidoId) {
-        Pedido pedido = pedidoRepository.findById(pedidoId)
-                .orElseThrow(() -> new RuntimeException("Pedido não encontrado"));
-
-        pedido.setStatusPedido(StatusPedido.CONFIRMADO);
-        return pedidoRepository.save(pedido);
+        return transitar(pedidoId, StatusPedido.CONFIRMADO);
     }
 
     @Override
     @Transactional
     public Pedido atualizarStatus(Long pedidoId, StatusPedido novoStatus) {
         log.info("Atualizando status do pedido {} para: {}", pedidoId, novoStatus);
-        
+
+        Pedido salvo = transitar(pedidoId, novoStatus);
+        log.info("Status do pedido {} atualizado com sucesso para: {}", pedidoId, novoStatus);
+
+        return salvo;
+    }
+
+    /**
+     * Leitura, validação e gravação do novo status sob a trava do pedido (liberada no fim da
+     * transação), então duas alterações simultâneas nunca validam contra o mesmo status antigo
+     */
+    private Pedido transitar(Long pedidoId, StatusPedido novoStatus) {
+        travasPedido.travarAteFimDaTransacao(pedidoId);
+
         Pedido pedido = pedidoRepository.findById(pedidoId)
                 .orElseThrow(() -> new RuntimeException("Pedido não encontrado"));
-        
-        log.info("Status atual do pedido {}: {}", pedidoId, pedido.getStatusPedido());
-        
+
+        StatusPedido statusAnterior = pedido.getStatusPedido();
+        maquinaEstadosPedido.validar(pedido, novoStatus);
         pedido.setStatusPedido(novoStatus);
-        
+
         Pedido salvo = pedidoRepository.save(pedido);
-        log.info("Status do pedido {} atualizado com sucesso para: {}", pedidoId, novoStatus);
-        
+        vendasDiariasService.registrarAlteracao(salvo, statusAnterior, salvo.getValorTotal());
+        eventoPedidoService.publicar(salvo, statusAnterior);
+        registrarEventoStatus(salvo, statusAnterior);
         return salvo;
     }
 
+    // Evento na outbox (mesma transação): pagamento e demais tratadores rodam fora da requisição
+    private void registrarEventoStatus(Pedido pedido, StatusPedido statusAnterior) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("pedidoId", pedido.getId());
+        payload.put("clienteId", pedido.getCliente() != null ? pedido.getCliente().getId() : null);
+        payload.put("restauranteId", pedido.getRestaurante() != null ? pedido.getRestaurante().getId() : null);
+        payload.put("statusAnterior", statusAnterior);
+        payload.put("statusAtual", pedido.getStatusPedido());
+        payload.put("valorTotal", pedido.getValorTotal());
+        outboxService.registrar(EventoOutbox.PEDIDO_STATUS_ALTERADO, pedido.getId(), payload);
+    }
+
     // ✅ IMPLEMENTAR método calcularTotal
     @Override
     public BigDecimal calcularTotal(Pedido pedido) {
@@ -144,19 +239,7 @@ public class PedidoServiceImpl implements PedidoService {
     // ✅ ADICIONAR: Método para cancelar pedido
     @Override
     public Pedido cancelar(Long pedidoId) {
-        Pedido pedido = pedidoRepository.findById(pedidoId)
-                .orElseThrow(() -> new RuntimeException("Pedido não encontrado"));
-
-        // Verificar se pode cancelar
-        if (pedido.getStatusPedido() == StatusPedido.ENTREGUE) {
-            throw new RuntimeException("Não é possível cancelar um pedido já entregue");
-        }
-        if (pedido.getStatusPedido() == StatusPedido.CANCELADO) {
-            throw new RuntimeException("Pedido já está cancelado");
-        }
-
-        pedido.setStatusPedido(StatusPedido.CANCELADO);
-        Pedido pedidoCancelado = pedidoRepository.save(pedido);
+        Pedido pedidoCancelado = transitar(pedidoId, StatusPedido.CANCELADO);
         log.info("Pedido cancelado - ID: {}", pedidoId);
         
         return pedidoCancelado; // ✅ RETORNAR o pedido cancelado
@@ -177,12 +260,6 @@ public class PedidoServiceImpl implements PedidoService {
         return pedidoRepository.findByDataPedidoBetween(inicio, fim);
     }
 
-    @Override
-    @Transactional(readOnly = true)
-    public List<Pedido> listarTodos() {
-        return pedidoRepository.findAll();
-    }
-
     /**
      * Calcular total do pedido baseado nos itens (sem salvar)
      * Para cotações e pré-cálculos - método requerido pela atividade
@@ -190,36 +267,15 @@ public class PedidoServiceImpl implements PedidoService {
     @Override
     @Transactional(readOnly = true)
     public BigDecimal calcularTotalPedido(List<ItemPedidoRequest> itens) {
-        log.info("Calculando total do pedido com {} itens", itens.size());
-        
         if (itens == null || itens.isEmpty()) {
             log.warn("Lista de itens vazia, retornando total zero");
             return BigDecimal.ZERO;
         }
-        
-        BigDecimal total = BigDecimal.ZERO;
-        
-        for (ItemPedidoRequest itemRequest : itens) {
-            // Buscar produto para obter preço atual
-            Produto produto = produtoRepository.findById(itemRequest.getProdutoId()) 
-                .orElseThrow(() -> new RuntimeException("Produto não encontrado - ID: " + itemRequest.getProdutoId())); 
-            
-            // Validar disponibilidade
-            if (!produto.getAtivo()) {
-                throw new RuntimeException("Produto não está disponível - ID: " + itemRequest.getProdutoId()); 
-            }
-            
-            // Calcular subtotal do item
-            BigDecimal precoUnitario = produto.getPreco();
-            BigDecimal quantidade = BigDecimal.valueOf(itemRequest.getQuantidade()); 
-            BigDecimal subtotal = precoUnitario.multiply(quantidade);
-            
-            total = total.add(subtotal);
-            
-            log.debug("Item calculado - Produto: {}, Qtd: {}, Preço: R$ {}, Subtotal: R$ {}", 
-                      produto.getNome(), itemRequest.getQuantidade(), precoUnitario, subtotal);
-        }
-        
+        log.info("Calculando total do pedido com {} itens", itens.size());
+
+        // Produtos resolvidos em lote pelo motor de cotação (cache + uma consulta)
+        BigDecimal total = cotacaoService.calcularSubtotal(itens);
+
         log.info("Total calculado: R$ {}", total);
         return total;
     }
@@ -229,51 +285,74 @@ public class PedidoServiceImpl implements PedidoService {
     public void deletar(Long id) {
         Pedido pedido = pedidoRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Pedido não encontrado"));
+        vendasDiariasService.registrarExclusao(pedido);
         pedidoRepository.delete(pedido);
         log.info("Pedido deletado - ID: {}", id);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<Pedido> listarComFiltros(StatusPedido status, LocalDate dataInicio, LocalDate dataFim) {
-        log.info("Listando pedidos com filtros - Status: {}, Data início: {}, Data fim: {}", status, dataInicio, dataFim);
-        
-        // Se nenhum filtro foi fornecido, retorna todos
-        if (status == null && dataInicio == null && dataFim == null) {
-            return pedidoRepository.findAll();
-        }
-        
-        // Converter LocalDate para LocalDateTime para comparação
-        LocalDateTime inicioDateTime = dataInicio != null ? dataInicio.atStartOfDay() : null;
-        LocalDateTime fimDateTime = dataFim != null ? dataFim.atTime(23, 59, 59) : null;
-        
-        // Se apenas status foi fornecido
-        if (status != null && inicioDateTime == null && fimDateTime == null) {
-            // CORREÇÃO 2: findByStatus -> findByStatusPedido
-            return pedidoRepository.findByStatusPedido(status);
-        }
-        
-        // Se apenas período foi fornecido
-        if (status == null && inicioDateTime != null && fimDateTime != null) {
-            return pedidoRepository.findByDataPedidoBetween(inicioDateTime, fimDateTime);
+    public List<Pedido> listarPagina(StatusPedido status, LocalDate dataInicio, LocalDate dataFim,
+                                     CursorPedido cursor, int tamanho) {
+        log.info("Listando página de pedidos - Status: {}, Data início: {}, Data fim: {}, Tamanho: {}",
+                status, dataInicio, dataFim, tamanho);
+
+        // Período aberto vira limites fixos: o início é um filtro simples e o fim limita o próprio cursor
+        LocalDateTime inicio = dataInicio != null ? dataInicio.atStartOfDay() : LocalDateTime.of(1970, 1, 1, 0, 0);
+        CursorPedido posicao = cursor.limitadoA(dataFim != null ? dataFim.atTime(LocalTime.MAX) : null);
+
+        if (status == null) {
+            return comArquivados(pedidoRepository.buscarPaginaApos(inicio, posicao.dataPedido(), posicao.id(), limite(tamanho)),
+                    inicio, posicao, pedido -> true, tamanho);
         }
-        
-        // Se status e período foram fornecidos
-        if (status != null && inicioDateTime != null && fimDateTime != null) {
-            // CORREÇÃO 3: findByStatusAndDataPedidoBetween -> findByStatusPedidoAndDataPedidoBetween
-            // NOTA: O parâmetro na chamada deve ser 'status' e não 'statusPedido'
-            return pedidoRepository.findByStatusPedidoAndDataPedidoBetween(status, inicioDateTime, fimDateTime);
+        List<Pedido> daTabela = pedidoRepository.buscarPaginaPorStatusApos(status, inicio, posicao.dataPedido(), posicao.id(), limite(tamanho));
+        if (status != StatusPedido.ENTREGUE && status != StatusPedido.CANCELADO) {
+            return daTabela; // Só pedidos finalizados são arquivados
         }
-        
-        // Casos parciais (apenas dataInicio ou apenas dataFim)
-        if (inicioDateTime != null && fimDateTime == null) {
-            return pedidoRepository.findByDataPedidoGreaterThanEqual(inicioDateTime);
+        return comArquivados(daTabela, inicio, posicao, pedido -> pedido.status() == status, tamanho);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Pedido> buscarPaginaPorCliente(Long clienteId, CursorPedido cursor, int tamanho) {
+        return comArquivados(pedidoRepository.buscarPaginaPorClienteApos(clienteId, cursor.dataPedido(), cursor.id(), limite(tamanho)),
+                LocalDateTime.MIN, cursor, pedido -> clienteId.equals(pedido.clienteId()), tamanho);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Pedido> buscarPaginaPorRestaurante(Long restauranteId, CursorPedido cursor, int tamanho) {
+        return comArquivados(pedidoRepository.buscarPaginaPorRestauranteApos(restauranteId, cursor.dataPedido(), cursor.id(), limite(tamanho)),
+                LocalDateTime.MIN, cursor, pedido -> restauranteId.equals(pedido.restauranteId()), tamanho);
+    }
+
+    /**
+     * Completa a página da tabela com os pedidos arquivados do mesmo filtro, na ordem do cursor
+     * (data DESC, id DESC). Com a página da tabela cheia, só o trecho entre o cursor e a última
+     * linha dela pode ter arquivados; sem blocos do arquivo nesse trecho, o arquivo não é lido
+     */
+    private List<Pedido> comArquivados(List<Pedido> daTabela, LocalDateTime inicio, CursorPedido cursor,
+                                       Predicate<PedidoArquivado> filtro, int tamanho) {
+        boolean cheia = daTabela.size() > tamanho;
+        LocalDateTime desde = cheia ? daTabela.get(daTabela.size() - 1).getDataPedido() : inicio;
+        if (!arquivoPedidos.possui(desde, cursor.dataPedido().plusNanos(1))) {
+            return daTabela;
         }
-        
-        if (inicioDateTime == null && fimDateTime != null) {
-            return pedidoRepository.findByDataPedidoLessThanEqual(fimDateTime);
+        // Pedido arquivado ainda não removido da tabela entra uma vez só, com a linha da tabela
+        Set<Long> naTabela = new HashSet<>();
+        daTabela.forEach(pedido -> naTabela.add(pedido.getId()));
+        List<Pedido> pagina = new ArrayList<>(daTabela);
+        for (PedidoArquivado arquivado : arquivoPedidos.anteriores(desde, cursor.dataPedido(), cursor.id(), filtro, tamanho + 1)) {
+            if (!naTabela.contains(arquivado.id())) {
+                pagina.add(arquivado.paraPedido());
+            }
         }
-        
-        return pedidoRepository.findAll();
+        pagina.sort(Comparator.comparing(Pedido::getDataPedido).thenComparing(Pedido::getId).reversed());
+        return pagina.size() > tamanho + 1 ? pagina.subList(0, tamanho + 1) : pagina;
+    }
+
+    // Busca uma linha a mais que o tamanho da página para saber se há próxima página
+    private PageRequest limite(int tamanho) {
+        return PageRequest.of(0, tamanho + 1);
     }
-}
\ No newline at end of file
+}
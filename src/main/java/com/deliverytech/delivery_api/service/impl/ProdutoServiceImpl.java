@@ -1,10 +1,16 @@
 package com.deliverytech.delivery_api.service.impl;
 
+import com.deliverytech.delivery_api.config.CacheConfig;
 import com.deliverytech.delivery_api.model.Produto;
+import com.deliverytech.delivery_api.dto.response.ProdutoResponse;
 import com.deliverytech.delivery_api.repository.ProdutoRepository;
+import com.deliverytech.delivery_api.service.BuscaProdutoService;
 import com.deliverytech.delivery_api.service.ProdutoService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j; //ADICIONAR ESTE IMPORT
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,8 +25,14 @@ import java.util.Optional;
 public class ProdutoServiceImpl implements ProdutoService {
 
     private final ProdutoRepository produtoRepository;
+    private final BuscaProdutoService buscaProdutoService;
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PRODUTOS_POR_RESTAURANTE, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.PRODUTOS_POR_CATEGORIA, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.PRODUTOS_DISPONIVEIS, allEntries = true)
+    })
     public Produto cadastrar(Produto produto) {
         // MELHORADO: Validar preço antes de cadastrar
         validarPreco(produto.getPreco());
@@ -30,20 +42,39 @@ public class ProdutoServiceImpl implements ProdutoService {
             produto.setDisponivel(true);
         }
         
-        return produtoRepository.save(produto);
+        Produto salvo = produtoRepository.save(produto);
+        buscaProdutoService.indexar(salvo);
+        return salvo;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<Produto> buscarPorId(Long id) {
         return produtoRepository.findById(id);
     }
 
+    // O cache guarda o DTO imutável (o mesmo lido pela cotação), nunca a entidade;
+    // id inexistente não é guardado (o cache não aceita nulos)
     @Override
-    public List<Produto> listarTodos() {
-        return produtoRepository.findAll();
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.PRODUTOS, key = "#id", unless = "#result == null")
+    public Optional<ProdutoResponse> buscarResumoPorId(Long id) {
+        return produtoRepository.findById(id).map(ProdutoResponse::de);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public List<ProdutoResponse> listarTodos() {
+        return produtoRepository.listarResumos();
+    }
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PRODUTOS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.PRODUTOS_POR_RESTAURANTE, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.PRODUTOS_POR_CATEGORIA, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.PRODUTOS_DISPONIVEIS, allEntries = true)
+    })
     public Produto atualizar(Long id, Produto atualizado) {
         return produtoRepository.findById(id)
             .map(produto -> {
@@ -63,27 +94,43 @@ public class ProdutoServiceImpl implements ProdutoService {
                     produto.setCategoria(atualizado.getCategoria());
                 }
                 
-                return produtoRepository.save(produto);
+                Produto salvo = produtoRepository.save(produto);
+                buscaProdutoService.indexar(salvo);
+                return salvo;
             })
             .orElseThrow(() -> new RuntimeException("Produto não encontrado"));
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PRODUTOS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.PRODUTOS_POR_RESTAURANTE, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.PRODUTOS_POR_CATEGORIA, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.PRODUTOS_DISPONIVEIS, allEntries = true)
+    })
     public void deletar(Long id) {
         if (!produtoRepository.existsById(id)) {
             throw new RuntimeException("Produto não encontrado - ID: " + id);
         }
         produtoRepository.deleteById(id);
+        buscaProdutoService.remover(id);
         log.info("Produto deletado - ID: {}", id); //Agora funciona
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PRODUTOS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.PRODUTOS_POR_RESTAURANTE, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.PRODUTOS_POR_CATEGORIA, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.PRODUTOS_DISPONIVEIS, allEntries = true)
+    })
     public void inativar(Long id) {
         produtoRepository.findById(id)
             .ifPresentOrElse(
                 produto -> {
                     produto.setDisponivel(false);
                     produtoRepository.save(produto);
+                    buscaProdutoService.remover(id);
                     log.info("Produto inativado - ID: {}", id); // ✅ Agora funciona
                 },
                 () -> {
@@ -93,26 +140,36 @@ public class ProdutoServiceImpl implements ProdutoService {
     }
 
     @Override
-    public List<Produto> buscarPorRestaurante(Long restauranteId) {
-        return produtoRepository.findByRestauranteId(restauranteId);
+    @Cacheable(cacheNames = CacheConfig.PRODUTOS_POR_RESTAURANTE, key = "#restauranteId")
+    public List<ProdutoResponse> buscarPorRestaurante(Long restauranteId) {
+        return produtoRepository.findByRestauranteId(restauranteId).stream().map(ProdutoResponse::de).toList();
     }
 
     @Override
-    public List<Produto> buscarPorCategoria(String categoria) {
-        return produtoRepository.findByCategoria(categoria);
+    @Cacheable(cacheNames = CacheConfig.PRODUTOS_POR_CATEGORIA, key = "#categoria")
+    public List<ProdutoResponse> buscarPorCategoria(String categoria) {
+        return produtoRepository.findByCategoria(categoria).stream().map(ProdutoResponse::de).toList();
     }
 
     @Override
-    public List<Produto> listarDisponiveis() {
-        return produtoRepository.findByDisponivelTrue();
+    @Cacheable(cacheNames = CacheConfig.PRODUTOS_DISPONIVEIS, key = "'todos'")
+    public List<ProdutoResponse> listarDisponiveis() {
+        return produtoRepository.findByDisponivelTrue().stream().map(ProdutoResponse::de).toList();
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PRODUTOS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.PRODUTOS_POR_RESTAURANTE, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.PRODUTOS_POR_CATEGORIA, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.PRODUTOS_DISPONIVEIS, allEntries = true)
+    })
     public void alterarDisponibilidade(Long id, boolean disponivel) {
         produtoRepository.findById(id)
             .ifPresentOrElse(produto -> {
                 produto.setDisponivel(disponivel);
                 produtoRepository.save(produto);
+                buscaProdutoService.indexar(produto);
             }, () -> {
                 throw new RuntimeException("Produto não encontrado");
             });
@@ -141,6 +198,7 @@ public class ProdutoServiceImpl implements ProdutoService {
         if (nome == null || nome.trim().isEmpty()) {
             return List.of(); // Retorna lista vazia se nome for nulo ou vazio
         }
-        return produtoRepository.findByNomeContainingIgnoreCase(nome.trim());
+        // Índice invertido em memória (sem LIKE '%nome%' no banco)
+        return buscaProdutoService.buscar(nome);
     }
 }
\ No newline at end of file
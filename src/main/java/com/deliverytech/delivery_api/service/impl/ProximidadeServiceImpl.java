@@ -0,0 +1,127 @@
+package com.deliverytech.delivery_api.service.impl;
+
+import com.deliverytech.delivery_api.geo.CentroidesCep;
+import com.deliverytech.delivery_api.geo.Coordenada;
+import com.deliverytech.delivery_api.geo.GradeEspacial;
+import com.deliverytech.delivery_api.geo.Vizinho;
+import com.deliverytech.delivery_api.model.Restaurante;
+import com.deliverytech.delivery_api.repository.RestauranteRepository;
+import com.deliverytech.delivery_api.service.ProximidadeService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Slf4j
+@Service
+public class ProximidadeServiceImpl implements ProximidadeService {
+
+    private final RestauranteRepository restauranteRepository;
+    private final CentroidesCep centroidesCep;
+    private final GradeEspacial<Long> grade;
+    private final double raioMaximoKm;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Ids listados no aviso de restaurantes fora do índice
+    private static final int IDS_NO_AVISO = 20;
+
+    public ProximidadeServiceImpl(RestauranteRepository restauranteRepository,
+                                  CentroidesCep centroidesCep,
+                                  @Value("${proximidade.grade.celula-graus:0.05}") double tamanhoCelula,
+                                  @Value("${proximidade.raio-maximo-km:50}") double raioMaximoKm) {
+        this.restauranteRepository = restauranteRepository;
+        this.centroidesCep = centroidesCep;
+        this.grade = new GradeEspacial<>(tamanhoCelula);
+        this.raioMaximoKm = raioMaximoKm;
+    }
+
+    // Carga inicial depois dos CommandLineRunner (DataLoader) terem populado o banco
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregarIndice() {
+        int total = reconstruir();
+        log.info("Índice espacial de restaurantes carregado com {} restaurantes", total);
+    }
+
+    @Override
+    public List<Vizinho<Long>> buscarNoRaio(String cep, double raioKm) {
+        Coordenada centro = localizar(cep);
+        double raio = Math.min(raioKm, raioMaximoKm);
+        lock.readLock().lock();
+        try {
+            return grade.noRaio(centro, raio);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Vizinho<Long>> buscarMaisProximos(String cep, int k) {
+        Coordenada centro = localizar(cep);
+        lock.readLock().lock();
+        try {
+            return grade.maisProximos(centro, k, raioMaximoKm);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void indexar(Restaurante restaurante) {
+        Long id = restaurante.getId();
+        Optional<Coordenada> coordenada = Boolean.TRUE.equals(restaurante.getAtivo())
+                ? centroidesCep.localizar(restaurante.getCep())
+                : Optional.empty();
+
+        AposCommit.executar(() -> {
+            lock.writeLock().lock();
+            try {
+                coordenada.ifPresentOrElse(c -> grade.inserir(id, c), () -> grade.remover(id));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    @Override
+    public int reconstruir() {
+        List<Restaurante> ativos = restauranteRepository.findByAtivoTrue();
+        List<Long> foraDoIndice = new ArrayList<>();
+        int indexados;
+        lock.writeLock().lock();
+        try {
+            grade.limpar();
+            for (Restaurante restaurante : ativos) {
+                centroidesCep.localizar(restaurante.getCep())
+                        .ifPresentOrElse(c -> grade.inserir(restaurante.getId(), c),
+                                () -> foraDoIndice.add(restaurante.getId()));
+            }
+            indexados = grade.tamanho();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        avisarForaDoIndice(foraDoIndice);
+        return indexados;
+    }
+
+    // Restaurantes cadastrados antes da coluna cep (V1) ficam sem CEP até serem atualizados
+    private void avisarForaDoIndice(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        log.warn("{} restaurantes ativos fora do índice de proximidade (CEP ausente ou sem centroide): {}{}. " +
+                        "Informe o cep com PUT /api/restaurantes/{id}; o restaurante é indexado ao salvar",
+                ids.size(), ids.subList(0, Math.min(ids.size(), IDS_NO_AVISO)), ids.size() > IDS_NO_AVISO ? "..." : "");
+    }
+
+    private Coordenada localizar(String cep) {
+        return centroidesCep.localizar(cep)
+                .orElseThrow(() -> new IllegalArgumentException("CEP não localizado: " + cep));
+    }
+}
@@ -1,16 +1,41 @@
 package com.deliverytech.delivery_api.service.impl;
 
+import com.deliverytech.delivery_api.arquivo.ArquivoPedidos;
+import com.deliverytech.delivery_api.arquivo.PedidoArquivado;
+import com.deliverytech.delivery_api.model.Cliente;
+import com.deliverytech.delivery_api.model.Produto;
+import com.deliverytech.delivery_api.model.StatusPedido;
+import com.deliverytech.delivery_api.projection.RelatorioPedidosPeriodo;
+import com.deliverytech.delivery_api.projection.RelatorioVendas;
+import com.deliverytech.delivery_api.projection.RelatorioVendasClientes;
+import com.deliverytech.delivery_api.projection.RelatorioVendasProdutos;
+import com.deliverytech.delivery_api.projection.ResumoVendas;
+import com.deliverytech.delivery_api.repository.ClienteRepository;
 import com.deliverytech.delivery_api.repository.PedidoRepository;
+import com.deliverytech.delivery_api.repository.ProdutoRepository;
+import com.deliverytech.delivery_api.repository.VendaDiariaRepository;
 import com.deliverytech.delivery_api.service.RelatorioService;
+import lombok.AllArgsConstructor;
+import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 @Slf4j
 @Service
@@ -18,51 +43,251 @@ import java.util.Map;
 @Transactional(readOnly = true)
 public class RelatorioServiceImpl implements RelatorioService {
 
+    private static final int LIMITE_MAXIMO = 100;
+
+    // Limites usados quando o período não é informado
+    private static final LocalDateTime INICIO_PADRAO = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime FIM_PADRAO = LocalDateTime.of(9999, 12, 31, 0, 0);
+
     private final PedidoRepository pedidoRepository;
+    private final VendaDiariaRepository vendaDiariaRepository;
+    private final ProdutoRepository produtoRepository;
+    private final ClienteRepository clienteRepository;
+    private final ArquivoPedidos arquivoPedidos;
 
     @Override
-    public List<Map<String, Object>> relatorioVendasPorRestaurante(LocalDate dataInicio, LocalDate dataFim) {
-        // Implementação simplificada - você pode usar queries nativas ou JPQL
-        return List.of(
-            Map.of("restaurante", "Restaurante A", "totalVendas", new BigDecimal("1500.00"), "quantidadePedidos", 25),
-            Map.of("restaurante", "Restaurante B", "totalVendas", new BigDecimal("1200.00"), "quantidadePedidos", 18)
-        );
+    public List<RelatorioVendas> relatorioVendasPorRestaurante(LocalDate dataInicio, LocalDate dataFim) {
+        log.info("Relatório de vendas por restaurante - {} a {}", dataInicio, dataFim);
+        PeriodoAcumulado periodo = PeriodoAcumulado.de(inicio(dataInicio), fim(dataFim));
+        return vendaDiariaRepository.relatorioVendasPorRestaurante(
+                periodo.diaInicio(), periodo.diaFim(), periodo.inicioAoVivo(), periodo.fimAoVivo());
     }
 
     @Override
-    public List<Map<String, Object>> relatorioProdutosMaisVendidos(int limite, LocalDate dataInicio, LocalDate dataFim) {
-        return List.of(
-            Map.of("produto", "Pizza Margherita", "quantidadeVendida", 50, "totalArrecadado", new BigDecimal("1000.00")),
-            Map.of("produto", "Hambúrguer", "quantidadeVendida", 35, "totalArrecadado", new BigDecimal("700.00"))
-        );
+    public List<RelatorioVendasProdutos> relatorioProdutosMaisVendidos(int limite, LocalDate dataInicio, LocalDate dataFim) {
+        log.info("Relatório de produtos mais vendidos - limite: {}, {} a {}", limite, dataInicio, dataFim);
+        PageRequest pagina = limite(limite);
+        LocalDateTime inicio = inicio(dataInicio);
+        LocalDateTime fim = fim(dataFim);
+        if (!arquivoPedidos.possui(inicio, fim)) {
+            return pedidoRepository.obterProdutosMaisVendidos(inicio, fim, pagina);
+        }
+
+        // Período com pedidos arquivados: soma tabela e arquivo por produto e só então ordena e limita
+        Map<Long, ProdutoVendido> produtos = new LinkedHashMap<>();
+        for (RelatorioVendasProdutos p : pedidoRepository.obterProdutosMaisVendidos(inicio, fim, Pageable.unpaged())) {
+            produtos.put(p.getIdProduto(), new ProdutoVendido(p.getIdProduto(), p.getNomeProduto(),
+                    valor(p.getTotalVendas()), p.getQuantidadeItemPedido()));
+        }
+        Map<Long, ProdutoVendido> soArquivados = new LinkedHashMap<>();
+        percorrerArquivados(inicio, fim, pedido -> {
+            if (pedido.status() == StatusPedido.CANCELADO) {
+                return;
+            }
+            for (PedidoArquivado.Item item : pedido.itens()) {
+                ProdutoVendido produto = produtos.containsKey(item.produtoId()) ? produtos.get(item.produtoId())
+                        : soArquivados.computeIfAbsent(item.produtoId(), id -> new ProdutoVendido(id, null, BigDecimal.ZERO, 0L));
+                produto.somar(valor(item.subtotal()), item.quantidade());
+            }
+        });
+        // Nomes atuais dos produtos que só aparecem no arquivo (produto removido fica de fora, como no JOIN)
+        Map<Long, String> nomes = nomes(produtoRepository.findAllById(soArquivados.keySet()), Produto::getId, Produto::getNome);
+        soArquivados.forEach((id, produto) -> {
+            if (nomes.containsKey(id)) {
+                produto.setNomeProduto(nomes.get(id));
+                produtos.put(id, produto);
+            }
+        });
+        return produtos.values().stream()
+                .sorted(Comparator.comparing(ProdutoVendido::getQuantidadeItemPedido).reversed())
+                .limit(pagina.getPageSize())
+                .map(RelatorioVendasProdutos.class::cast)
+                .toList();
     }
 
     @Override
-    public List<Map<String, Object>> relatorioClientesAtivos(int limite, LocalDate dataInicio, LocalDate dataFim) {
-        return List.of(
-            Map.of("cliente", "João Silva", "quantidadePedidos", 12, "totalGasto", new BigDecimal("600.00")),
-            Map.of("cliente", "Maria Santos", "quantidadePedidos", 8, "totalGasto", new BigDecimal("450.00"))
-        );
+    public List<RelatorioVendasClientes> relatorioClientesAtivos(int limite, LocalDate dataInicio, LocalDate dataFim) {
+        log.info("Relatório de clientes mais ativos - limite: {}, {} a {}", limite, dataInicio, dataFim);
+        PageRequest pagina = limite(limite);
+        LocalDateTime inicio = inicio(dataInicio);
+        LocalDateTime fim = fim(dataFim);
+        if (!arquivoPedidos.possui(inicio, fim)) {
+            return pedidoRepository.obterClientesMaisAtivos(inicio, fim, pagina);
+        }
+
+        Map<Long, ClienteAtivo> clientes = new LinkedHashMap<>();
+        for (RelatorioVendasClientes c : pedidoRepository.obterClientesMaisAtivos(inicio, fim, Pageable.unpaged())) {
+            clientes.put(c.getIdCliente(), new ClienteAtivo(c.getIdCliente(), c.getNomeCliente(),
+                    valor(c.getTotalCompras()), c.getQuantidadePedidos()));
+        }
+        Map<Long, ClienteAtivo> soArquivados = new LinkedHashMap<>();
+        percorrerArquivados(inicio, fim, pedido -> {
+            if (pedido.status() == StatusPedido.CANCELADO || pedido.clienteId() == null) {
+                return;
+            }
+            ClienteAtivo cliente = clientes.containsKey(pedido.clienteId()) ? clientes.get(pedido.clienteId())
+                    : soArquivados.computeIfAbsent(pedido.clienteId(), id -> new ClienteAtivo(id, null, BigDecimal.ZERO, 0L));
+            cliente.somar(valor(pedido.valorTotal()));
+        });
+        Map<Long, String> nomes = nomes(clienteRepository.findAllById(soArquivados.keySet()), Cliente::getId, Cliente::getNome);
+        soArquivados.forEach((id, cliente) -> {
+            if (nomes.containsKey(id)) {
+                cliente.setNomeCliente(nomes.get(id));
+                clientes.put(id, cliente);
+            }
+        });
+        return clientes.values().stream()
+                .sorted(Comparator.comparing(ClienteAtivo::getQuantidadePedidos)
+                        .thenComparing(ClienteAtivo::getTotalCompras).reversed())
+                .limit(pagina.getPageSize())
+                .map(RelatorioVendasClientes.class::cast)
+                .toList();
     }
 
     @Override
-    public Map<String, Object> relatorioPedidosPorPeriodo(LocalDate dataInicio, LocalDate dataFim, String agrupamento) {
-        return Map.of(
-            "periodo", dataInicio + " até " + dataFim,
-            "totalPedidos", 150,
-            "valorTotal", new BigDecimal("7500.00"),
-            "agrupamento", agrupamento != null ? agrupamento : "total"
-        );
+    public List<RelatorioPedidosPeriodo> relatorioPedidosPorPeriodo(LocalDate dataInicio, LocalDate dataFim, String agrupamento) {
+        log.info("Relatório de pedidos por período - {} a {}, agrupamento: {}", dataInicio, dataFim, agrupamento);
+        LocalDateTime inicio = inicio(dataInicio);
+        LocalDateTime fim = fim(dataFim);
+
+        if (agrupamento == null || agrupamento.isBlank() || agrupamento.equalsIgnoreCase("total")) {
+            return somarArquivados(pedidoRepository.obterPedidosNoPeriodo(inicio, fim), inicio, fim, pedido -> "total");
+        }
+
+        return switch (agrupamento.toLowerCase()) {
+            case "dia" -> somarArquivados(pedidoRepository.obterPedidosPorDia(inicio, fim), inicio, fim, formato("yyyy-MM-dd"));
+            case "mes" -> somarArquivados(pedidoRepository.obterPedidosPorMes(inicio, fim), inicio, fim, formato("yyyy-MM"));
+            case "ano" -> somarArquivados(pedidoRepository.obterPedidosPorAno(inicio, fim), inicio, fim, formato("yyyy"));
+            default -> throw new IllegalArgumentException("Agrupamento inválido: " + agrupamento + " (use dia, mes ou ano)");
+        };
+    }
+
+    // Soma os pedidos arquivados do período às linhas da tabela, com a mesma chave de agrupamento
+    private List<RelatorioPedidosPeriodo> somarArquivados(List<RelatorioPedidosPeriodo> daTabela, LocalDateTime inicio,
+                                                          LocalDateTime fim, Function<PedidoArquivado, String> periodo) {
+        if (!arquivoPedidos.possui(inicio, fim)) {
+            return daTabela;
+        }
+        Map<String, PedidosNoPeriodo> periodos = new TreeMap<>();
+        for (RelatorioPedidosPeriodo p : daTabela) {
+            periodos.put(p.getPeriodo(), new PedidosNoPeriodo(p.getPeriodo(), p.getTotalPedidos(), valor(p.getValorTotal())));
+        }
+        percorrerArquivados(inicio, fim, pedido -> {
+            if (pedido.status() != StatusPedido.CANCELADO) {
+                periodos.computeIfAbsent(periodo.apply(pedido), chave -> new PedidosNoPeriodo(chave, 0L, BigDecimal.ZERO))
+                        .somar(valor(pedido.valorTotal()));
+            }
+        });
+        return List.copyOf(periodos.values());
+    }
+
+    // Um lote gravado no arquivo e ainda não removido da tabela já foi somado pelas consultas da tabela
+    private void percorrerArquivados(LocalDateTime inicio, LocalDateTime fim, Consumer<PedidoArquivado> consumidor) {
+        Set<Long> naTabela = arquivoPedidos.ultimaData()
+                .map(data -> Set.copyOf(pedidoRepository.buscarIdsFinalizadosAntesDe(data.plusNanos(1))))
+                .orElse(Set.of());
+        arquivoPedidos.percorrer(inicio, fim, pedido -> {
+            if (!naTabela.contains(pedido.id())) {
+                consumidor.accept(pedido);
+            }
+        });
+    }
+
+    private static Function<PedidoArquivado, String> formato(String padrao) {
+        DateTimeFormatter formatador = DateTimeFormatter.ofPattern(padrao);
+        return pedido -> pedido.dataPedido().format(formatador);
     }
 
     @Override
-    public Map<String, Object> resumoVendas(LocalDate dataInicio, LocalDate dataFim) {
-        return Map.of(
-            "totalPedidos", 150,
-            "valorTotalVendas", new BigDecimal("7500.00"),
-            "ticketMedio", new BigDecimal("50.00"),
-            "restaurantesAtivos", 5,
-            "clientesAtivos", 45
-        );
-    }
-}
\ No newline at end of file
+    public ResumoVendas resumoVendas(LocalDate dataInicio, LocalDate dataFim) {
+        log.info("Resumo de vendas - {} a {}", dataInicio, dataFim);
+        LocalDateTime inicio = inicio(dataInicio);
+        PeriodoAcumulado periodo = PeriodoAcumulado.de(inicio, fim(dataFim));
+        return vendaDiariaRepository.resumoVendas(
+                periodo.diaInicio(), periodo.diaFim(), periodo.inicioAoVivo(), periodo.fimAoVivo());
+    }
+
+    // Período fechado em datas vira o intervalo [início do dia inicial, início do dia seguinte ao final)
+    private LocalDateTime inicio(LocalDate dataInicio) {
+        return dataInicio != null ? dataInicio.atStartOfDay() : INICIO_PADRAO;
+    }
+
+    private LocalDateTime fim(LocalDate dataFim) {
+        return dataFim != null ? dataFim.plusDays(1).atStartOfDay() : FIM_PADRAO;
+    }
+
+    /**
+     * Divide o período entre o acumulado diário (dias anteriores a hoje) e a leitura
+     * ao vivo da tabela pedido (a partir do início de hoje)
+     */
+    private record PeriodoAcumulado(LocalDate diaInicio, LocalDate diaFim,
+                                    LocalDateTime inicioAoVivo, LocalDateTime fimAoVivo) {
+
+        static PeriodoAcumulado de(LocalDateTime inicio, LocalDateTime fim) {
+            LocalDateTime inicioDeHoje = LocalDate.now().atStartOfDay();
+            LocalDate diaFim = fim.isBefore(inicioDeHoje) ? fim.toLocalDate() : inicioDeHoje.toLocalDate();
+            LocalDateTime inicioAoVivo = inicio.isAfter(inicioDeHoje) ? inicio : inicioDeHoje;
+            return new PeriodoAcumulado(inicio.toLocalDate(), diaFim, inicioAoVivo, fim);
+        }
+    }
+
+    private static <T> Map<Long, String> nomes(List<T> entidades, Function<T, Long> id, Function<T, String> nome) {
+        Map<Long, String> nomes = new LinkedHashMap<>();
+        entidades.forEach(entidade -> nomes.put(id.apply(entidade), nome.apply(entidade)));
+        return nomes;
+    }
+
+    private static BigDecimal valor(BigDecimal valor) {
+        return valor != null ? valor : BigDecimal.ZERO;
+    }
+
+    // === LINHAS DOS RELATÓRIOS SOMADOS AO ARQUIVO (mesmos campos das projeções) ===
+
+    @Data
+    @AllArgsConstructor
+    public static class ProdutoVendido implements RelatorioVendasProdutos {
+        private Long idProduto;
+        private String nomeProduto;
+        private BigDecimal totalVendas;
+        private Long quantidadeItemPedido;
+
+        void somar(BigDecimal valor, Integer quantidade) {
+            totalVendas = totalVendas.add(valor);
+            quantidadeItemPedido += quantidade != null ? quantidade : 0;
+        }
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class ClienteAtivo implements RelatorioVendasClientes {
+        private Long idCliente;
+        private String nomeCliente;
+        private BigDecimal totalCompras;
+        private Long quantidadePedidos;
+
+        void somar(BigDecimal valor) {
+            totalCompras = totalCompras.add(valor);
+            quantidadePedidos++;
+        }
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class PedidosNoPeriodo implements RelatorioPedidosPeriodo {
+        private String periodo;
+        private Long totalPedidos;
+        private BigDecimal valorTotal;
+
+        void somar(BigDecimal valor) {
+            valorTotal = valorTotal.add(valor);
+            totalPedidos++;
+        }
+    }
+
+    private PageRequest limite(int limite) {
+        if (limite < 1) {
+            throw new IllegalArgumentException("Limite deve ser maior que zero");
+        }
+        return PageRequest.of(0, Math.min(limite, LIMITE_MAXIMO));
+    }
+}
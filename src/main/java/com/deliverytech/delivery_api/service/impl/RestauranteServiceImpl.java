@@ -1,16 +1,28 @@
 package com.deliverytech.delivery_api.service.impl;
 
+import com.deliverytech.delivery_api.config.CacheConfig;
 import com.deliverytech.delivery_api.model.Restaurante;
 import com.deliverytech.delivery_api.dto.request.RestauranteRequest;
+import com.deliverytech.delivery_api.dto.response.RestauranteResponse;
 import com.deliverytech.delivery_api.repository.RestauranteRepository;
+import com.deliverytech.delivery_api.geo.Vizinho;
+import com.deliverytech.delivery_api.service.ProximidadeService;
 import com.deliverytech.delivery_api.service.RestauranteService;
+import com.deliverytech.delivery_api.service.TaxaEntregaService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 @Slf4j 
 @Service
 @Transactional
@@ -18,8 +30,18 @@ import java.util.Optional;
 public class RestauranteServiceImpl implements RestauranteService {
 
     private final RestauranteRepository restauranteRepository;
+    private final ProximidadeService proximidadeService;
+    private final TaxaEntregaService taxaEntregaService;
+
+    @Value("${proximidade.raio-padrao-km:10}")
+    private double raioPadraoKm;
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.RESTAURANTES_ATIVOS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.RESTAURANTES_POR_CATEGORIA, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.RESTAURANTES_FILTROS, allEntries = true)
+    })
     public Restaurante cadastrar(RestauranteRequest restauranteRequest) {
         log.info("Iniciando cadastro de restaurante: {}", restauranteRequest.getNome());
         
@@ -29,11 +51,14 @@ public class RestauranteServiceImpl implements RestauranteService {
 /*         restaurante.setEndereco(restauranteRequest.getEndereco()); */
         restaurante.setTaxaEntrega(restauranteRequest.getTaxaEntrega());
         restaurante.setTelefone(restauranteRequest.getTelefone());
+        restaurante.setCep(restauranteRequest.getCep());
 /*         restaurante.setEmail(restauranteRequest.getEmail()); */
         restaurante.setTempoEntregaMinutos(restauranteRequest.getTempoEntregaMinutos()); 
         restaurante.setAtivo(true);
         
         Restaurante salvo = restauranteRepository.save(restaurante);
+        proximidadeService.indexar(salvo);
+        taxaEntregaService.atualizar(salvo);
         log.info("Restaurante cadastrado com sucesso - ID: {}", salvo.getId());
         
         return salvo;
@@ -45,6 +70,15 @@ public class RestauranteServiceImpl implements RestauranteService {
         return restauranteRepository.findById(id);
     }
 
+    // O cache guarda o DTO imutável, nunca a entidade (com as coleções lazy de produtos e pedidos);
+    // id inexistente não é guardado (o cache não aceita nulos)
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.RESTAURANTES, key = "#id", unless = "#result == null")
+    public Optional<RestauranteResponse> buscarResumoPorId(Long id) {
+        return restauranteRepository.findById(id).map(RestauranteResponse::de);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<Restaurante> listarTodos() {
@@ -54,14 +88,16 @@ public class RestauranteServiceImpl implements RestauranteService {
     // ✅ IMPLEMENTAR MÉTODO FALTANTE
     @Override
     @Transactional(readOnly = true)
-    public List<Restaurante> listarAtivos() {
-        return restauranteRepository.findByAtivoTrue();
+    @Cacheable(cacheNames = CacheConfig.RESTAURANTES_ATIVOS, key = "'todos'")
+    public List<RestauranteResponse> listarAtivos() {
+        return restauranteRepository.findByAtivoTrue().stream().map(RestauranteResponse::de).toList();
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<Restaurante> buscarPorCategoria(String categoria) {
-        return restauranteRepository.findByCategoria(categoria);
+    @Cacheable(cacheNames = CacheConfig.RESTAURANTES_POR_CATEGORIA, key = "#categoria")
+    public List<RestauranteResponse> buscarPorCategoria(String categoria) {
+        return restauranteRepository.findByCategoria(categoria).stream().map(RestauranteResponse::de).toList();
     }
 
     // ✅ IMPLEMENTAR MÉTODO FALTANTE
@@ -79,6 +115,12 @@ public class RestauranteServiceImpl implements RestauranteService {
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.RESTAURANTES, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.RESTAURANTES_ATIVOS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.RESTAURANTES_POR_CATEGORIA, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.RESTAURANTES_FILTROS, allEntries = true)
+    })
     public Restaurante atualizar(Long id, RestauranteRequest atualizado) {
         return restauranteRepository.findById(id)
             .map(r -> {
@@ -87,18 +129,30 @@ public class RestauranteServiceImpl implements RestauranteService {
                 r.setCategoria(atualizado.getCategoria());
                 r.setTaxaEntrega(atualizado.getTaxaEntrega());
                 r.setTempoEntregaMinutos(atualizado.getTempoEntregaMinutos());
-                return restauranteRepository.save(r);
+                r.setCep(atualizado.getCep());
+                Restaurante salvo = restauranteRepository.save(r);
+                proximidadeService.indexar(salvo);
+                taxaEntregaService.atualizar(salvo);
+                return salvo;
             }).orElseThrow(() -> new RuntimeException("Restaurante não encontrado"));
     }
 
     // ✅ IMPLEMENTAR MÉTODO FALTANTE
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.RESTAURANTES, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.RESTAURANTES_ATIVOS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.RESTAURANTES_POR_CATEGORIA, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.RESTAURANTES_FILTROS, allEntries = true)
+    })
     public void inativar(Long id) {
         restauranteRepository.findById(id)
             .ifPresentOrElse(
                 restaurante -> {
                     restaurante.setAtivo(false);
                     restauranteRepository.save(restaurante);
+                    proximidadeService.indexar(restaurante);
+                    taxaEntregaService.atualizar(restaurante);
                     log.info("Restaurante inativado - ID: {}", id);
                 },
                 () -> {
@@ -109,65 +163,35 @@ public class RestauranteServiceImpl implements RestauranteService {
 
     /**
      * Calcular taxa de entrega baseada no restaurante e CEP
-     * Lógica simplificada para demonstração
+     * Consulta a tabela pré-calculada por região do CEP
      */
     @Override
     @Transactional(readOnly = true)
     public BigDecimal calcularTaxaEntrega(Long restauranteId, String cep) {
-        log.info("Calculando taxa de entrega - Restaurante ID: {}, CEP: {}", restauranteId, cep);
-        
-        // Buscar restaurante
-        Restaurante restaurante = restauranteRepository.findById(restauranteId)
-            .orElseThrow(() -> new RuntimeException("Restaurante não encontrado - ID: " + restauranteId));
-        
-        // Verificar se restaurante está ativo
-        if (!restaurante.getAtivo()) {
-            throw new RuntimeException("Restaurante não está disponível para entrega");
-        }
-        
-        // Lógica simplificada de cálculo baseada no CEP
-        BigDecimal taxaBase = restaurante.getTaxaEntrega();
-        
-        // Simular cálculo por região do CEP
-        String primeirosDigitos = cep.substring(0, Math.min(2, cep.length()));
-        
-        try {
-            int codigoRegiao = Integer.parseInt(primeirosDigitos);
-            
-            // Lógica de exemplo:
-            // CEP 01xxx-xxx (centro) = taxa normal
-            // CEP 02xxx-xxx a 05xxx-xxx = taxa + 20%
-            // CEP 06xxx-xxx a 09xxx-xxx = taxa + 50%
-            // Outros = taxa + 100%
-            
-            BigDecimal multiplicador;
-            if (codigoRegiao == 1) {
-                multiplicador = BigDecimal.ONE; // Taxa normal
-            } else if (codigoRegiao >= 2 && codigoRegiao <= 5) {
-                multiplicador = new BigDecimal("1.20"); // +20%
-            } else if (codigoRegiao >= 6 && codigoRegiao <= 9) {
-                multiplicador = new BigDecimal("1.50"); // +50%
-            } else {
-                multiplicador = new BigDecimal("2.00"); // +100%
-            }
-            
-            BigDecimal taxaFinal = taxaBase.multiply(multiplicador).setScale(2, BigDecimal.ROUND_HALF_UP);
-            
-            log.info("Taxa calculada: R$ {} (base: R$ {}, multiplicador: {})", 
-                    taxaFinal, taxaBase, multiplicador);
-            
-            return taxaFinal;
-            
-        } catch (NumberFormatException e) {
-            log.warn("CEP inválido: {}, usando taxa base", cep);
-            return taxaBase;
-        }
+        BigDecimal taxa = taxaEntregaService.calcular(restauranteId, cep);
+        log.debug("Taxa de entrega - Restaurante ID: {}, CEP: {}, Taxa: R$ {}", restauranteId, cep, taxa);
+        return taxa;
+    }
+
+    /**
+     * Calcular taxas de vários restaurantes para o mesmo CEP
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, BigDecimal> calcularTaxasEntrega(List<Long> restauranteIds, String cep) {
+        return taxaEntregaService.calcularEmLote(restauranteIds, cep);
     }
 
     /**
      * Alterar status ativo/inativo do restaurante
      */
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.RESTAURANTES, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.RESTAURANTES_ATIVOS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.RESTAURANTES_POR_CATEGORIA, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.RESTAURANTES_FILTROS, allEntries = true)
+    })
     public Restaurante alterarStatus(Long id, Boolean ativo) {
         log.info("Alterando status do restaurante ID: {} para: {}", id, ativo);
         
@@ -176,50 +200,52 @@ public class RestauranteServiceImpl implements RestauranteService {
         
         restaurante.setAtivo(ativo);
         Restaurante salvo = restauranteRepository.save(restaurante);
+        proximidadeService.indexar(salvo);
+        taxaEntregaService.atualizar(salvo);
         
         log.info("Status do restaurante {} alterado para: {}", id, ativo);
         return salvo;
     }
 
     /**
-     * Buscar restaurantes próximos por CEP
-     * Lógica simplificada baseada nos primeiros dígitos do CEP
+     * Buscar restaurantes próximos por CEP (raio padrão, do mais próximo ao mais distante)
      */
     @Override
     @Transactional(readOnly = true)
     public List<Restaurante> buscarProximos(String cep) {
-        log.info("Buscando restaurantes próximos ao CEP: {}", cep);
-        
-        // Lógica simplificada: considera próximos os restaurantes ativos
-        // Em um cenário real, seria feita integração com API de mapas
-        List<Restaurante> restaurantesAtivos = restauranteRepository.findByAtivoTrue();
-        
-        // Simular proximidade baseada no CEP
-        String primeirosDigitos = cep.substring(0, Math.min(2, cep.length()));
-        
-        try {
-            int codigoRegiao = Integer.parseInt(primeirosDigitos);
-            
-            // Filtrar restaurantes "próximos" baseado na região do CEP
-            // Para demonstração, considera próximo se código da região for <= 5
-            if (codigoRegiao <= 5) {
-                log.info("Encontrados {} restaurantes próximos ao CEP {}", restaurantesAtivos.size(), cep);
-                return restaurantesAtivos;
-            } else {
-                // Para regiões mais distantes, retorna apenas restaurantes com taxa <= 10.00
-                List<Restaurante> restaurantesProximos = restaurantesAtivos.stream()
-                    .filter(r -> r.getTaxaEntrega().compareTo(new BigDecimal("10.00")) <= 0)
-                    .toList();
-                
-                log.info("Encontrados {} restaurantes próximos ao CEP {} (região distante)", 
-                        restaurantesProximos.size(), cep);
-                return restaurantesProximos;
-            }
-            
-        } catch (NumberFormatException e) {
-            log.warn("CEP inválido: {}, retornando todos os restaurantes ativos", cep);
-            return restaurantesAtivos;
+        return buscarProximos(cep, null, null).stream()
+                .map(Vizinho::item)
+                .toList();
+    }
+
+    /**
+     * Buscar restaurantes próximos pelo índice espacial: os k mais próximos (limite)
+     * ou todos dentro do raio
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Vizinho<Restaurante>> buscarProximos(String cep, Double raioKm, Integer limite) {
+        log.info("Buscando restaurantes próximos ao CEP: {} (raio: {}, limite: {})", cep, raioKm, limite);
+        if ((raioKm != null && raioKm <= 0) || (limite != null && limite < 1)) {
+            throw new IllegalArgumentException("Raio e limite devem ser maiores que zero");
         }
+
+        List<Vizinho<Long>> vizinhos = limite != null
+                ? proximidadeService.buscarMaisProximos(cep, limite)
+                : proximidadeService.buscarNoRaio(cep, raioKm != null ? raioKm : raioPadraoKm);
+
+        // Uma consulta só para os restaurantes encontrados, mantendo a ordem por distância
+        Map<Long, Restaurante> restaurantes = restauranteRepository
+                .findAllById(vizinhos.stream().map(Vizinho::item).toList()).stream()
+                .collect(Collectors.toMap(Restaurante::getId, Function.identity()));
+
+        List<Vizinho<Restaurante>> proximos = vizinhos.stream()
+                .filter(v -> restaurantes.containsKey(v.item()))
+                .map(v -> new Vizinho<>(restaurantes.get(v.item()), v.distanciaKm()))
+                .toList();
+
+        log.info("Encontrados {} restaurantes próximos ao CEP {}", proximos.size(), cep);
+        return proximos;
     }
 
     /**
@@ -227,26 +253,11 @@ public class RestauranteServiceImpl implements RestauranteService {
      */
     @Override
     @Transactional(readOnly = true)
-    public List<Restaurante> listarComFiltros(String categoria, Boolean ativo) {
+    @Cacheable(cacheNames = CacheConfig.RESTAURANTES_FILTROS, key = "{#categoria, #ativo}")
+    public List<RestauranteResponse> listarComFiltros(String categoria, Boolean ativo) {
         log.info("Listando restaurantes com filtros - Categoria: {}, Ativo: {}", categoria, ativo);
-        
-        // Se nenhum filtro foi fornecido, retorna todos
-        if (categoria == null && ativo == null) {
-            return restauranteRepository.findAll();
-        }
-        
-        // Se apenas categoria foi fornecida
-        if (categoria != null && ativo == null) {
-            return restauranteRepository.findByCategoria(categoria);
-        }
-        
-        // Se apenas status ativo foi fornecido
-        if (categoria == null && ativo != null) {
-            return ativo ? restauranteRepository.findByAtivoTrue() 
-                         : restauranteRepository.findByAtivoFalse();
-        }
-        
-        // Se ambos os filtros foram fornecidos
-        return restauranteRepository.findByCategoriaAndAtivo(categoria, ativo);
+
+        // Filtros nulos são ignorados na própria consulta; o cache guarda só os DTOs
+        return restauranteRepository.listarResumos(categoria, ativo);
     }
 }
\ No newline at end of file
@@ -0,0 +1,142 @@
+package com.deliverytech.delivery_api.service.impl;
+
+import com.deliverytech.delivery_api.model.Restaurante;
+import com.deliverytech.delivery_api.repository.RestauranteRepository;
+import com.deliverytech.delivery_api.service.TaxaEntregaService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tabela de taxas: uma linha int[] por restaurante ativo, com a taxa em centavos para
+ * cada região de CEP (dois primeiros dígitos, 00 a 99) e uma posição extra para CEP
+ * não numérico (taxa base). A linha só é recalculada quando a taxa base ou o status
+ * do restaurante mudam; a consulta é um acesso a array, sem banco e sem BigDecimal.
+ *
+ * Multiplicadores por região:
+ * 01 = taxa normal; 02 a 05 = +20%; 06 a 09 = +50%; demais = +100%.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaxaEntregaServiceImpl implements TaxaEntregaService {
+
+    private static final int REGIOES = 100;
+    private static final int POSICAO_CEP_INVALIDO = REGIOES;
+    private static final BigDecimal[] MULTIPLICADORES = new BigDecimal[REGIOES + 1];
+
+    static {
+        for (int regiao = 0; regiao < REGIOES; regiao++) {
+            if (regiao == 1) {
+                MULTIPLICADORES[regiao] = BigDecimal.ONE;
+            } else if (regiao >= 2 && regiao <= 5) {
+                MULTIPLICADORES[regiao] = new BigDecimal("1.20");
+            } else if (regiao >= 6 && regiao <= 9) {
+                MULTIPLICADORES[regiao] = new BigDecimal("1.50");
+            } else {
+                MULTIPLICADORES[regiao] = new BigDecimal("2.00");
+            }
+        }
+        MULTIPLICADORES[POSICAO_CEP_INVALIDO] = BigDecimal.ONE;
+    }
+
+    private final RestauranteRepository restauranteRepository;
+
+    // restauranteId -> taxa em centavos por região; a linha é trocada inteira (sem lock)
+    private final Map<Long, int[]> tabela = new ConcurrentHashMap<>();
+
+    // Carga inicial depois dos CommandLineRunner (DataLoader) terem populado o banco
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregarTabela() {
+        int total = reconstruir();
+        log.info("Tabela de taxas de entrega carregada com {} restaurantes", total);
+    }
+
+    @Override
+    public BigDecimal calcular(Long restauranteId, String cep) {
+        int[] linha = tabela.get(restauranteId);
+        if (linha == null) {
+            // Fora da tabela: descobrir o motivo para manter as mensagens de erro
+            Restaurante restaurante = restauranteRepository.findById(restauranteId)
+                .orElseThrow(() -> new RuntimeException("Restaurante não encontrado - ID: " + restauranteId));
+            if (!restaurante.getAtivo()) {
+                throw new RuntimeException("Restaurante não está disponível para entrega");
+            }
+            linha = calcularLinha(restaurante);
+            tabela.put(restauranteId, linha);
+        }
+        return BigDecimal.valueOf(linha[posicao(cep)], 2);
+    }
+
+    @Override
+    public Map<Long, BigDecimal> calcularEmLote(Collection<Long> restauranteIds, String cep) {
+        int posicao = posicao(cep);
+        Map<Long, BigDecimal> taxas = new LinkedHashMap<>();
+        for (Long id : restauranteIds) {
+            int[] linha = tabela.get(id);
+            if (linha != null) {
+                taxas.put(id, BigDecimal.valueOf(linha[posicao], 2));
+            }
+        }
+        return taxas;
+    }
+
+    @Override
+    public void atualizar(Restaurante restaurante) {
+        Long id = restaurante.getId();
+        int[] linha = Boolean.TRUE.equals(restaurante.getAtivo()) ? calcularLinha(restaurante) : null;
+        AposCommit.executar(() -> {
+            if (linha != null) {
+                tabela.put(id, linha);
+            } else {
+                tabela.remove(id);
+            }
+        });
+    }
+
+    @Override
+    public int reconstruir() {
+        Map<Long, int[]> nova = new ConcurrentHashMap<>();
+        for (Restaurante restaurante : restauranteRepository.findByAtivoTrue()) {
+            nova.put(restaurante.getId(), calcularLinha(restaurante));
+        }
+        tabela.keySet().retainAll(nova.keySet());
+        tabela.putAll(nova);
+        return tabela.size();
+    }
+
+    private static int[] calcularLinha(Restaurante restaurante) {
+        BigDecimal taxaBase = restaurante.getTaxaEntrega() != null ? restaurante.getTaxaEntrega() : BigDecimal.ZERO;
+        int[] linha = new int[REGIOES + 1];
+        for (int i = 0; i < linha.length; i++) {
+            linha[i] = taxaBase.multiply(MULTIPLICADORES[i])
+                    .setScale(2, RoundingMode.HALF_UP)
+                    .movePointRight(2)
+                    .intValueExact();
+        }
+        return linha;
+    }
+
+    // Região = dois primeiros caracteres do CEP; fora de 00-99 usa a taxa base
+    private static int posicao(String cep) {
+        if (cep == null || cep.isEmpty()) {
+            return POSICAO_CEP_INVALIDO;
+        }
+        String prefixo = cep.substring(0, Math.min(2, cep.length()));
+        try {
+            int regiao = Integer.parseInt(prefixo);
+            return regiao >= 0 && regiao < REGIOES ? regiao : POSICAO_CEP_INVALIDO;
+        } catch (NumberFormatException e) {
+            return POSICAO_CEP_INVALIDO;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.deliverytech.delivery_api.service.impl;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Travas por pedido (em faixas) que serializam, nesta instância, as alterações de um mesmo pedido.
+ *
+ * A trava é liberada só no fim da transação (commit ou rollback), então quem espera lê o
+ * status já confirmado. Cada transação trava um único pedido, o que evita deadlock; a espera
+ * tem limite e, esgotado, falha com PessimisticLockingFailureException (409). Entre instâncias
+ * a proteção fica a cargo do @Version de Pedido.
+ */
+@Component
+class TravasPedido {
+
+    private final ReentrantLock[] travas;
+    private final long esperaMaximaMs;
+
+    TravasPedido(@Value("${pedidos.travas.faixas:64}") int faixas,
+                 @Value("${pedidos.travas.espera-maxima-ms:2000}") long esperaMaximaMs) {
+        this.travas = new ReentrantLock[faixas];
+        for (int i = 0; i < faixas; i++) {
+            travas[i] = new ReentrantLock();
+        }
+        this.esperaMaximaMs = esperaMaximaMs;
+    }
+
+    /**
+     * Travar o pedido até o fim da transação corrente (exige transação ativa)
+     */
+    void travarAteFimDaTransacao(Long pedidoId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Trava de pedido exige uma transação ativa");
+        }
+        ReentrantLock trava = travas[Math.floorMod(Long.hashCode(pedidoId) * 0x9E3779B9, travas.length)];
+        try {
+            if (!trava.tryLock(esperaMaximaMs, TimeUnit.MILLISECONDS)) {
+                throw new PessimisticLockingFailureException("Pedido " + pedidoId + " está sendo alterado, tente novamente");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PessimisticLockingFailureException("Espera pela trava do pedido " + pedidoId + " interrompida", e);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                trava.unlock();
+            }
+        });
+    }
+}
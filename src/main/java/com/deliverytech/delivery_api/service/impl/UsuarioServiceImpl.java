@@ -8,6 +8,7 @@ import com.deliverytech.delivery_api.model.Usuario;
 import com.deliverytech.delivery_api.repository.UsuarioRepository;
 import com.deliverytech.delivery_api.service.UsuarioService;
 import com.deliverytech.delivery_api.security.JwtUtil;
+import com.deliverytech.delivery_api.security.UsuarioAutenticadoCache;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -35,6 +36,9 @@ public class UsuarioServiceImpl implements UsuarioService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private UsuarioAutenticadoCache usuarioAutenticadoCache;
+
     @Override
     public LoginResponse login(LoginRequest loginRequest) {
         try {
@@ -45,7 +49,7 @@ public class UsuarioServiceImpl implements UsuarioService {
                 )
             );
 
-            String token = jwtUtil.generateToken(authentication.getName());
+            String token = jwtUtil.gerarToken(authentication);
             
             LoginResponse response = new LoginResponse();
             response.setToken(token);
@@ -79,6 +83,8 @@ public class UsuarioServiceImpl implements UsuarioService {
             Usuario usuario = usuarioOpt.get();
             usuario.setAtivo(false);
             usuarioRepository.save(usuario);
+            // Token ainda válido não deve continuar autenticando o usuário inativo
+            usuarioAutenticadoCache.revogar(usuario.getEmail());
         } else {
             throw new RuntimeException("Usuário não encontrado com id: " + id);
         }
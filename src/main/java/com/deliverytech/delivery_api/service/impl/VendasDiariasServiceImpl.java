@@ -0,0 +1,140 @@
+package com.deliverytech.delivery_api.service.impl;
+
+import com.deliverytech.delivery_api.arquivo.ArquivoPedidos;
+import com.deliverytech.delivery_api.model.Pedido;
+import com.deliverytech.delivery_api.model.StatusPedido;
+import com.deliverytech.delivery_api.repository.ClienteDiarioRepository;
+import com.deliverytech.delivery_api.repository.PedidoRepository;
+import com.deliverytech.delivery_api.repository.VendaDiariaRepository;
+import com.deliverytech.delivery_api.service.VendasDiariasService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class VendasDiariasServiceImpl implements VendasDiariasService {
+
+    private final VendaDiariaRepository vendaDiariaRepository;
+    private final ClienteDiarioRepository clienteDiarioRepository;
+    private final PedidoRepository pedidoRepository;
+    private final ArquivoPedidos arquivoPedidos;
+
+    // Chave de uma linha do acumulado
+    private record Dia(Long restauranteId, LocalDate dia, StatusPedido status) {
+    }
+
+    // Chave de uma linha de clientes_diarios
+    private record ClienteNoDia(Long clienteId, LocalDate dia) {
+    }
+
+    @Override
+    public void registrarAlteracao(Pedido pedido, StatusPedido statusAnterior, BigDecimal valorAnterior) {
+        registrarCliente(pedido, contaParaCliente(pedido.getStatusPedido()) - contaParaCliente(statusAnterior));
+        if (!possuiChave(pedido)) {
+            return;
+        }
+        Long restauranteId = pedido.getRestaurante().getId();
+        LocalDate dia = pedido.getDataPedido().toLocalDate();
+        BigDecimal valorAtual = valor(pedido.getValorTotal());
+        StatusPedido statusAtual = pedido.getStatusPedido();
+
+        if (statusAnterior == statusAtual) {
+            // Mesmo status: só a diferença de valor (ex.: item adicionado)
+            BigDecimal diferenca = valorAtual.subtract(valor(valorAnterior));
+            if (diferenca.signum() != 0) {
+                vendaDiariaRepository.acumular(restauranteId, dia, statusAtual.name(), 0, diferenca);
+            }
+            return;
+        }
+
+        if (statusAnterior != null) {
+            vendaDiariaRepository.acumular(restauranteId, dia, statusAnterior.name(), -1, valor(valorAnterior).negate());
+        }
+        vendaDiariaRepository.acumular(restauranteId, dia, statusAtual.name(), 1, valorAtual);
+        log.debug("Acumulado diário atualizado - Restaurante: {}, Dia: {}, {} -> {}", restauranteId, dia, statusAnterior, statusAtual);
+    }
+
+    @Override
+    public void registrarExclusao(Pedido pedido) {
+        registrarCliente(pedido, -contaParaCliente(pedido.getStatusPedido()));
+        if (!possuiChave(pedido)) {
+            return;
+        }
+        vendaDiariaRepository.acumular(pedido.getRestaurante().getId(), pedido.getDataPedido().toLocalDate(),
+                pedido.getStatusPedido().name(), -1, valor(pedido.getValorTotal()).negate());
+    }
+
+    @Override
+    public int reconstruir() {
+        log.info("Reconstruindo acumulado de vendas diárias a partir dos pedidos");
+        vendaDiariaRepository.deleteAllInBatch();
+        clienteDiarioRepository.deleteAllInBatch();
+        int linhas = vendaDiariaRepository.reconstruirAPartirDosPedidos();
+        int clientes = clienteDiarioRepository.reconstruirAPartirDosPedidos();
+        int doArquivo = somarArquivados();
+        log.info("Acumulado de vendas diárias reconstruído - {} linhas ({} com pedidos arquivados), {} linhas de clientes por dia",
+                linhas + doArquivo, doArquivo, clientes);
+        return linhas + doArquivo;
+    }
+
+    // Pedidos arquivados saíram da tabela, mas continuam sendo vendas dos seus dias. Os que ainda
+    // estão na tabela (arquivados e não removidos) já entraram na reconstrução a partir dela
+    private int somarArquivados() {
+        Map<Dia, Long> quantidades = new HashMap<>();
+        Map<Dia, BigDecimal> valores = new HashMap<>();
+        Map<ClienteNoDia, Long> clientes = new HashMap<>();
+        Set<Long> naTabela = arquivoPedidos.ultimaData()
+                .map(data -> Set.copyOf(pedidoRepository.buscarIdsFinalizadosAntesDe(data.plusNanos(1))))
+                .orElse(Set.of());
+        arquivoPedidos.percorrer(LocalDateTime.MIN, LocalDateTime.MAX, pedido -> {
+            if (naTabela.contains(pedido.id())) {
+                return;
+            }
+            if (pedido.clienteId() != null && pedido.status() != StatusPedido.CANCELADO) {
+                clientes.merge(new ClienteNoDia(pedido.clienteId(), pedido.dataPedido().toLocalDate()), 1L, Long::sum);
+            }
+            if (pedido.restauranteId() == null || pedido.status() == null) {
+                return;
+            }
+            Dia dia = new Dia(pedido.restauranteId(), pedido.dataPedido().toLocalDate(), pedido.status());
+            quantidades.merge(dia, 1L, Long::sum);
+            valores.merge(dia, valor(pedido.valorTotal()), BigDecimal::add);
+        });
+        quantidades.forEach((dia, quantidade) -> vendaDiariaRepository.acumular(
+                dia.restauranteId(), dia.dia(), dia.status().name(), quantidade, valores.get(dia)));
+        clientes.forEach((cliente, quantidade) -> clienteDiarioRepository.acumular(
+                cliente.clienteId(), cliente.dia(), quantidade));
+        return quantidades.size();
+    }
+
+    // Pedido conta para o cliente no dia enquanto tiver status e não estiver cancelado
+    private void registrarCliente(Pedido pedido, long diferenca) {
+        if (diferenca != 0 && pedido.getCliente() != null && pedido.getDataPedido() != null) {
+            clienteDiarioRepository.acumular(pedido.getCliente().getId(), pedido.getDataPedido().toLocalDate(), diferenca);
+        }
+    }
+
+    private long contaParaCliente(StatusPedido status) {
+        return status != null && status != StatusPedido.CANCELADO ? 1 : 0;
+    }
+
+    // Pedidos sem restaurante, data ou status não entram no acumulado (mesmo critério da reconstrução)
+    private boolean possuiChave(Pedido pedido) {
+        return pedido.getRestaurante() != null && pedido.getDataPedido() != null && pedido.getStatusPedido() != null;
+    }
+
+    private BigDecimal valor(BigDecimal valor) {
+        return valor != null ? valor : BigDecimal.ZERO;
+    }
+}
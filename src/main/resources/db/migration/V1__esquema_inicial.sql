@@ -0,0 +1,145 @@
+-- Esquema inicial: o mesmo que o ddl-auto=update gerava a partir das entidades.
+-- Bancos que já existiam sem histórico são marcados na versão 0 (baseline) e também passam por aqui,
+-- em qualquer estado em que o ddl-auto=update os deixou: por isso tudo é IF NOT EXISTS, e as colunas
+-- que as entidades ganharam depois são acrescentadas no fim.
+
+CREATE SEQUENCE IF NOT EXISTS cliente_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS evento_outbox_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS item_pedido_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS pagamento_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS pedido_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS produto_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS restaurante_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS usuarios_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS cliente (
+    id BIGINT NOT NULL,
+    nome VARCHAR(255),
+    email VARCHAR(255),
+    telefone VARCHAR(255),
+    endereco VARCHAR(255),
+    data_criacao TIMESTAMP(6),
+    ativo BOOLEAN,
+    CONSTRAINT pk_cliente PRIMARY KEY (id),
+    CONSTRAINT uk_cliente_email UNIQUE (email)
+);
+
+CREATE TABLE IF NOT EXISTS restaurante (
+    id BIGINT NOT NULL,
+    nome VARCHAR(255),
+    categoria VARCHAR(255),
+    telefone VARCHAR(255),
+    cep VARCHAR(255),
+    taxa_entrega NUMERIC(38, 2),
+    tempo_entrega_minutos INTEGER,
+    avaliacao NUMERIC(38, 2),
+    ativo BOOLEAN,
+    CONSTRAINT pk_restaurante PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS produto (
+    id BIGINT NOT NULL,
+    nome VARCHAR(255),
+    descricao VARCHAR(255),
+    categoria VARCHAR(255),
+    preco NUMERIC(38, 2),
+    disponivel BOOLEAN,
+    restaurante_id BIGINT,
+    CONSTRAINT pk_produto PRIMARY KEY (id),
+    CONSTRAINT fk_produto_restaurante FOREIGN KEY (restaurante_id) REFERENCES restaurante (id)
+);
+
+CREATE TABLE IF NOT EXISTS pedido (
+    id BIGINT NOT NULL,
+    numero_pedido VARCHAR(255),
+    data_pedido TIMESTAMP(6),
+    status_pedido ENUM ('CANCELADO', 'CONFIRMADO', 'CRIADO', 'ENTREGUE', 'PENDENTE', 'PREPARANDO', 'SAIU_PARA_ENTREGA'),
+    subtotal NUMERIC(38, 2),
+    valor_total NUMERIC(38, 2),
+    observacoes VARCHAR(255),
+    cep VARCHAR(255),
+    logradouro VARCHAR(255),
+    numero VARCHAR(255),
+    complemento VARCHAR(255),
+    bairro VARCHAR(255),
+    cidade VARCHAR(255),
+    estado VARCHAR(255),
+    cliente_id BIGINT,
+    restaurante_id BIGINT,
+    versao BIGINT,
+    CONSTRAINT pk_pedido PRIMARY KEY (id),
+    CONSTRAINT fk_pedido_cliente FOREIGN KEY (cliente_id) REFERENCES cliente (id),
+    CONSTRAINT fk_pedido_restaurante FOREIGN KEY (restaurante_id) REFERENCES restaurante (id)
+);
+
+CREATE TABLE IF NOT EXISTS item_pedido (
+    id BIGINT NOT NULL,
+    pedido_id BIGINT NOT NULL,
+    produto_id BIGINT NOT NULL,
+    quantidade INTEGER NOT NULL,
+    preco_unitario NUMERIC(10, 2) NOT NULL,
+    subtotal NUMERIC(10, 2) NOT NULL,
+    CONSTRAINT pk_item_pedido PRIMARY KEY (id),
+    CONSTRAINT fk_item_pedido_pedido FOREIGN KEY (pedido_id) REFERENCES pedido (id),
+    CONSTRAINT fk_item_pedido_produto FOREIGN KEY (produto_id) REFERENCES produto (id)
+);
+
+CREATE TABLE IF NOT EXISTS pagamento (
+    id BIGINT NOT NULL,
+    pedido_id BIGINT NOT NULL,
+    chave_idempotencia VARCHAR(60) NOT NULL,
+    status ENUM ('APROVADO', 'FALHOU', 'PROCESSANDO', 'RECUSADO') NOT NULL,
+    valor NUMERIC(15, 2) NOT NULL,
+    gateway VARCHAR(30),
+    transacao_id VARCHAR(100),
+    motivo VARCHAR(500),
+    tentativas INTEGER NOT NULL,
+    criado_em TIMESTAMP(6) NOT NULL,
+    atualizado_em TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_pagamento PRIMARY KEY (id),
+    CONSTRAINT uk_pagamento_pedido UNIQUE (pedido_id),
+    CONSTRAINT uk_pagamento_chave_idempotencia UNIQUE (chave_idempotencia)
+);
+
+CREATE TABLE IF NOT EXISTS usuarios (
+    id BIGINT NOT NULL,
+    nome VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    senha VARCHAR(255) NOT NULL,
+    role ENUM ('ADMIN', 'CLIENT', 'ENTREGADOR', 'RESTAURANTE', 'USER') NOT NULL,
+    ativo BOOLEAN NOT NULL,
+    data_criacao TIMESTAMP(6),
+    restaurante_id BIGINT,
+    CONSTRAINT pk_usuarios PRIMARY KEY (id),
+    CONSTRAINT uk_usuarios_email UNIQUE (email)
+);
+
+CREATE TABLE IF NOT EXISTS evento_outbox (
+    id BIGINT NOT NULL,
+    tipo VARCHAR(60) NOT NULL,
+    agregado_id BIGINT,
+    payload VARCHAR(4000) NOT NULL,
+    status ENUM ('FALHOU', 'PENDENTE', 'PROCESSADO') NOT NULL,
+    tentativas INTEGER NOT NULL,
+    ultimo_erro VARCHAR(1000),
+    criado_em TIMESTAMP(6) NOT NULL,
+    proxima_tentativa TIMESTAMP(6) NOT NULL,
+    processado_em TIMESTAMP(6),
+    CONSTRAINT pk_evento_outbox PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_evento_outbox_pendentes ON evento_outbox (status, proxima_tentativa);
+
+CREATE TABLE IF NOT EXISTS vendas_diarias (
+    restaurante_id BIGINT NOT NULL,
+    dia DATE NOT NULL,
+    status_pedido ENUM ('CANCELADO', 'CONFIRMADO', 'CRIADO', 'ENTREGUE', 'PENDENTE', 'PREPARANDO', 'SAIU_PARA_ENTREGA') NOT NULL,
+    quantidade_pedidos BIGINT NOT NULL,
+    valor_total NUMERIC(15, 2) NOT NULL,
+    CONSTRAINT pk_vendas_diarias PRIMARY KEY (dia, restaurante_id, status_pedido)
+);
+
+-- Colunas que não existiam nas tabelas criadas pelo ddl-auto=update
+ALTER TABLE restaurante ADD COLUMN IF NOT EXISTS cep VARCHAR(255);
+ALTER TABLE pedido ADD COLUMN IF NOT EXISTS versao BIGINT;
+UPDATE pedido SET versao = 0 WHERE versao IS NULL;
@@ -0,0 +1,28 @@
+-- Índices dos caminhos de acesso do PedidoRepository.
+-- O id nos índices de pedido é o desempate da paginação por cursor (data_pedido DESC, id DESC).
+
+-- Listagens por cliente, restaurante e status
+CREATE INDEX idx_pedido_cliente_data ON pedido (cliente_id, data_pedido, id);
+CREATE INDEX idx_pedido_restaurante_data ON pedido (restaurante_id, data_pedido, id);
+CREATE INDEX idx_pedido_status_data ON pedido (status_pedido, data_pedido, id);
+
+-- Listagem geral e exportação (ordenadas por data_pedido, id) e relatórios por período (por dia/mês/ano,
+-- clientes mais ativos, parte ao vivo das vendas por restaurante): as colunas lidas estão todas no índice
+CREATE INDEX idx_pedido_data ON pedido (data_pedido, id, status_pedido, valor_total, cliente_id, restaurante_id);
+
+-- Itens: o H2 cria um índice próprio para cada chave estrangeira, a não ser que já exista um com as
+-- mesmas colunas. As FKs são recriadas depois dos índices para usá-los (bancos criados pelo
+-- ddl-auto=update têm as FKs com os nomes gerados pelo Hibernate).
+ALTER TABLE item_pedido DROP CONSTRAINT IF EXISTS FK60ym08cfoysa17wrn1swyiuda;
+ALTER TABLE item_pedido DROP CONSTRAINT IF EXISTS fk_item_pedido_pedido;
+ALTER TABLE item_pedido DROP CONSTRAINT IF EXISTS FKtk55mn6d6bvl5h0no5uagi3sf;
+ALTER TABLE item_pedido DROP CONSTRAINT IF EXISTS fk_item_pedido_produto;
+
+CREATE INDEX idx_item_pedido_pedido ON item_pedido (pedido_id);
+CREATE INDEX idx_item_pedido_produto ON item_pedido (produto_id);
+
+ALTER TABLE item_pedido ADD CONSTRAINT fk_item_pedido_pedido FOREIGN KEY (pedido_id) REFERENCES pedido (id);
+ALTER TABLE item_pedido ADD CONSTRAINT fk_item_pedido_produto FOREIGN KEY (produto_id) REFERENCES produto (id);
+
+-- Produtos mais vendidos: a junção por pedido lê quantidade e subtotal sem ir à tabela
+CREATE INDEX idx_item_pedido_vendas ON item_pedido (pedido_id, produto_id, quantidade, subtotal);
@@ -0,0 +1,16 @@
+-- Clientes distintos por dia (resumo de vendas): uma linha por cliente com pedido não cancelado no dia.
+-- O resumo conta os clientes do período nesta tabela em vez de varrer a tabela pedido.
+CREATE TABLE clientes_diarios (
+    dia DATE NOT NULL,
+    cliente_id BIGINT NOT NULL,
+    quantidade_pedidos BIGINT NOT NULL,
+    CONSTRAINT pk_clientes_diarios PRIMARY KEY (dia, cliente_id)
+);
+
+-- Carga a partir da tabela pedido. Pedidos já arquivados só entram com a reconstrução do acumulado
+-- (POST /api/relatorios/vendas-diarias/reconstruir ou --relatorios.vendas-diarias.reconstruir=true)
+INSERT INTO clientes_diarios (dia, cliente_id, quantidade_pedidos)
+SELECT CAST(p.data_pedido AS DATE), p.cliente_id, COUNT(*)
+FROM pedido p
+WHERE p.cliente_id IS NOT NULL AND p.data_pedido IS NOT NULL AND p.status_pedido <> 'CANCELADO'
+GROUP BY CAST(p.data_pedido AS DATE), p.cliente_id;
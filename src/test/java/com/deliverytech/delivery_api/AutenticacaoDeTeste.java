@@ -0,0 +1,38 @@
+package com.deliverytech.delivery_api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+
+/**
+ * JWT real para testes contra o servidor embutido (RANDOM_PORT), onde @WithMockUser não se aplica
+ */
+public final class AutenticacaoDeTeste {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private AutenticacaoDeTeste() {
+    }
+
+    /**
+     * Cadastra o usuário (se ainda não existir) e retorna o token do login
+     */
+    public static String token(TestRestTemplate rest, String email) throws Exception {
+        HttpHeaders json = new HttpHeaders();
+        json.setContentType(MediaType.APPLICATION_JSON);
+        rest.postForEntity("/api/auth/register", new HttpEntity<>(Map.of(
+                "nome", "Usuário de Teste", "email", email, "senha", "123456", "role", "ADMIN"), json),
+                String.class);
+        ResponseEntity<String> login = rest.postForEntity("/api/auth/login", new HttpEntity<>(Map.of(
+                "username", email, "password", "123456"), json), String.class);
+        if (!login.getStatusCode().is2xxSuccessful()) {
+            throw new IllegalStateException("Login de " + email + " respondeu " + login.getStatusCode());
+        }
+        return JSON.readTree(login.getBody()).get("token").asText();
+    }
+}
@@ -0,0 +1,38 @@
+package com.deliverytech.delivery_api;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SQL gerado pelo Hibernate durante um trecho do teste (registrado no perfil de teste em
+ * hibernate.session_factory.statement_inspector). Fora de {@link #capturar} não guarda nada.
+ */
+public class ConsultasDeTeste implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> CAPTURADAS = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        List<String> capturadas = CAPTURADAS.get();
+        if (capturadas != null) {
+            capturadas.add(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Executa o trecho na thread atual e retorna os comandos SQL preparados por ele, em ordem
+     */
+    public static List<String> capturar(Runnable trecho) {
+        List<String> capturadas = new ArrayList<>();
+        CAPTURADAS.set(capturadas);
+        try {
+            trecho.run();
+        } finally {
+            CAPTURADAS.remove();
+        }
+        return capturadas;
+    }
+}
@@ -0,0 +1,77 @@
+package com.deliverytech.delivery_api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pedidos criados pela API nos testes, sobre a carga do DataLoader
+ * (restaurante 1: produtos 1 e 2; restaurante 2: produtos 3 e 4; clientes 1, 2, 4 e 5 ativos)
+ */
+public final class PedidosDeTeste {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private PedidosDeTeste() {
+    }
+
+    /**
+     * Cria um pedido com um item e retorna o corpo da resposta
+     */
+    public static JsonNode criar(MockMvc mockMvc, long clienteId, long restauranteId, long produtoId, int quantidade)
+            throws Exception {
+        MvcResult resultado = mockMvc.perform(post("/api/pedidos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"clienteId":%d,"restauranteId":%d,
+                                 "enderecoEntrega":{"rua":"Rua Teste","numero":"1","cep":"01001000"},
+                                 "itens":[{"produtoId":%d,"quantidade":%d}]}
+                                """.formatted(clienteId, restauranteId, produtoId, quantidade)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return JSON.readTree(resultado.getResponse().getContentAsString());
+    }
+
+    public static long criarId(MockMvc mockMvc, long clienteId, long restauranteId, long produtoId, int quantidade)
+            throws Exception {
+        return criar(mockMvc, clienteId, restauranteId, produtoId, quantidade).get("id").asLong();
+    }
+
+    /**
+     * PATCH /status; retorna o código HTTP
+     */
+    public static int alterarStatus(MockMvc mockMvc, long pedidoId, String status) throws Exception {
+        return mockMvc.perform(patch("/api/pedidos/" + pedidoId + "/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"" + status + "\"}"))
+                .andReturn().getResponse().getStatus();
+    }
+
+    public static int confirmar(MockMvc mockMvc, long pedidoId) throws Exception {
+        return mockMvc.perform(put("/api/pedidos/" + pedidoId + "/confirmar")).andReturn().getResponse().getStatus();
+    }
+
+    public static int cancelar(MockMvc mockMvc, long pedidoId) throws Exception {
+        return mockMvc.perform(delete("/api/pedidos/" + pedidoId + "/cancelar")).andReturn().getResponse().getStatus();
+    }
+
+    /**
+     * Leva o pedido de CRIADO até ENTREGUE
+     */
+    public static void entregar(MockMvc mockMvc, long pedidoId) throws Exception {
+        for (String status : new String[] {"CONFIRMADO", "PREPARANDO", "SAIU_PARA_ENTREGA", "ENTREGUE"}) {
+            int codigo = alterarStatus(mockMvc, pedidoId, status);
+            if (codigo != 200) {
+                throw new IllegalStateException("Transição para " + status + " respondeu " + codigo);
+            }
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.deliverytech.delivery_api.arquivo;
+
+import com.deliverytech.delivery_api.model.StatusPedido;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Busca por id e leitura por período no arquivo frio, com blocos de dois pedidos
+ * espalhados por dois meses, e a reabertura do arquivo a partir do disco
+ */
+class ArquivoPedidosTest {
+
+    private static final int PEDIDOS_POR_BLOCO = 2;
+
+    @TempDir
+    Path diretorio;
+
+    private ArquivoPedidos arquivo;
+
+    @BeforeEach
+    void abrir() throws IOException {
+        arquivo = abrirArquivo();
+    }
+
+    @AfterEach
+    void fechar() {
+        arquivo.fechar();
+    }
+
+    @Test
+    void buscaCadaPedidoPeloIdEmQualquerBlocoOuMes() {
+        List<PedidoArquivado> pedidos = List.of(
+                pedido(10, "2024-03-05T12:00"), pedido(11, "2024-03-09T20:15"), pedido(12, "2024-03-30T23:59"),
+                pedido(13, "2024-04-01T00:00"), pedido(14, "2024-04-18T13:30"));
+        arquivo.anexar(new ArrayList<>(pedidos));
+
+        for (PedidoArquivado pedido : pedidos) {
+            assertThat(arquivo.buscar(pedido.id())).contains(pedido);
+        }
+        assertThat(arquivo.buscar(9L)).isEmpty();
+        assertThat(arquivo.buscar(15L)).isEmpty();
+    }
+
+    @Test
+    void percorreSoOsPedidosDoPeriodoSemIncluirOFim() {
+        arquivo.anexar(new ArrayList<>(List.of(
+                pedido(20, "2024-03-31T22:00"), pedido(21, "2024-04-01T00:00"),
+                pedido(22, "2024-04-02T10:00"), pedido(23, "2024-05-01T00:00"))));
+
+        assertThat(ids(LocalDateTime.parse("2024-04-01T00:00"), LocalDateTime.parse("2024-05-01T00:00")))
+                .containsExactly(21L, 22L);
+        assertThat(ids(LocalDateTime.parse("2024-03-01T00:00"), LocalDateTime.parse("2024-04-01T00:00")))
+                .containsExactly(20L);
+        assertThat(arquivo.possui(LocalDateTime.parse("2024-04-03T00:00"), LocalDateTime.parse("2024-04-30T00:00")))
+                .isFalse();
+        assertThat(arquivo.possui(LocalDateTime.parse("2024-06-01T00:00"), LocalDateTime.parse("2024-07-01T00:00")))
+                .isFalse();
+    }
+
+    @Test
+    void pedidoGravadoDuasVezesApareceUmaVez() {
+        // Queda entre a gravação do bloco e a remoção das linhas quentes: o lote é arquivado de novo
+        List<PedidoArquivado> lote = List.of(pedido(30, "2024-03-10T10:00"), pedido(31, "2024-03-11T10:00"));
+        arquivo.anexar(new ArrayList<>(lote));
+        arquivo.anexar(new ArrayList<>(lote));
+
+        assertThat(ids(LocalDateTime.parse("2024-03-01T00:00"), LocalDateTime.parse("2024-04-01T00:00")))
+                .containsExactly(30L, 31L);
+        assertThat(arquivo.buscar(31L)).contains(lote.get(1));
+    }
+
+    @Test
+    void percorreEmOrdemDeDataEIdEPaginaParaTrasAPartirDoCursor() {
+        // Arquivados fora da ordem de data: dentro do mês os blocos seguem a ordem de arquivamento
+        arquivo.anexar(new ArrayList<>(List.of(
+                pedido(50, "2024-03-20T10:00"), pedido(51, "2024-03-02T10:00"), pedido(52, "2024-04-10T10:00"))));
+        arquivo.anexar(new ArrayList<>(List.of(pedido(53, "2024-03-20T10:00"), pedido(54, "2024-04-01T08:00"))));
+
+        List<Long> emOrdem = new ArrayList<>();
+        arquivo.emOrdem(LocalDateTime.parse("2024-01-01T00:00"), LocalDateTime.parse("2025-01-01T00:00"))
+                .forEachRemaining(pedido -> emOrdem.add(pedido.id()));
+        assertThat(emOrdem).containsExactly(51L, 50L, 53L, 54L, 52L);
+
+        assertThat(arquivo.anteriores(LocalDateTime.parse("2024-01-01T00:00"),
+                LocalDateTime.parse("2024-04-10T10:00"), 52L, pedido -> true, 3))
+                .extracting(PedidoArquivado::id).containsExactly(54L, 53L, 50L);
+        assertThat(arquivo.anteriores(LocalDateTime.parse("2024-03-10T00:00"),
+                LocalDateTime.parse("2024-03-20T10:00"), 53L, pedido -> pedido.id() != 50L, 3))
+                .isEmpty();
+    }
+
+    @Test
+    void reabertoDoDiscoEncontraOsMesmosPedidos() throws IOException {
+        List<PedidoArquivado> pedidos = List.of(
+                pedido(40, "2024-03-02T08:00"), pedido(41, "2024-03-03T08:00"), pedido(42, "2024-04-04T08:00"));
+        arquivo.anexar(new ArrayList<>(pedidos));
+        arquivo.fechar();
+
+        arquivo = abrirArquivo();
+
+        assertThat(arquivo.buscar(42L)).contains(pedidos.get(2));
+        assertThat(ids(LocalDateTime.parse("2024-01-01T00:00"), LocalDateTime.parse("2025-01-01T00:00")))
+                .containsExactly(40L, 41L, 42L);
+
+        // Continua anexando depois dos blocos que já estavam no disco
+        PedidoArquivado novo = pedido(43, "2024-03-20T08:00");
+        arquivo.anexar(new ArrayList<>(List.of(novo)));
+        assertThat(arquivo.buscar(43L)).contains(novo);
+        assertThat(arquivo.buscar(40L)).contains(pedidos.get(0));
+    }
+
+    private ArquivoPedidos abrirArquivo() throws IOException {
+        ArquivoPedidos aberto = new ArquivoPedidos(diretorio.toString(), PEDIDOS_POR_BLOCO, 4);
+        aberto.abrir();
+        return aberto;
+    }
+
+    private List<Long> ids(LocalDateTime inicio, LocalDateTime fim) {
+        List<Long> ids = new ArrayList<>();
+        arquivo.percorrer(inicio, fim, pedido -> ids.add(pedido.id()));
+        return ids;
+    }
+
+    private static PedidoArquivado pedido(long id, String data) {
+        BigDecimal valor = BigDecimal.valueOf(id).setScale(2);
+        return new PedidoArquivado(id, "PED-" + id, LocalDateTime.parse(data), StatusPedido.ENTREGUE,
+                valor, valor, null, null, 1L, 1L, 4L,
+                List.of(new PedidoArquivado.Item(id * 10, 1L, "Pizza Margherita", 1, valor, valor)));
+    }
+}
@@ -0,0 +1,89 @@
+package com.deliverytech.delivery_api.config;
+
+import com.deliverytech.delivery_api.PedidosDeTeste;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Atualização de um banco criado antes das migrações (ddl-auto=update, sem histórico do Flyway):
+ * a aplicação sobe com ddl-auto=validate, os dados antigos continuam lá e os pedidos novos
+ * recebem ids depois dos antigos
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser
+class MigracaoBancoLegadoTest {
+
+    private static final String URL = "jdbc:h2:mem:delivery-legado;DB_CLOSE_DELAY=-1";
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // O banco antigo precisa existir antes de o contexto subir (o Flyway roda na inicialização)
+    @DynamicPropertySource
+    static void bancoLegado(DynamicPropertyRegistry registro) throws SQLException {
+        try (Connection conexao = DriverManager.getConnection(URL, "sa", "")) {
+            ScriptUtils.executeSqlScript(conexao, new ClassPathResource("db/banco-pre-flyway.sql"));
+        }
+        registro.add("spring.datasource.url", () -> URL);
+    }
+
+    @Test
+    void bancoSemHistoricoEMarcadoNaVersaoZeroERecebeTodasAsMigracoes() {
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT \"version\" FROM \"flyway_schema_history\" " +
+                "WHERE \"version\" IS NOT NULL AND \"success\" ORDER BY \"installed_rank\"",
+                String.class)).containsExactly("0", "1", "2", "3");
+
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT LOWER(INDEX_NAME) FROM INFORMATION_SCHEMA.INDEXES WHERE TABLE_SCHEMA = SCHEMA()",
+                String.class)).contains("idx_pedido_cliente_data", "idx_pedido_restaurante_data",
+                "idx_pedido_status_data", "idx_pedido_data", "idx_item_pedido_vendas");
+
+        // As FKs de item_pedido com os nomes gerados pelo Hibernate foram trocadas pelas da V1
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT LOWER(CONSTRAINT_NAME) FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS " +
+                "WHERE TABLE_SCHEMA = SCHEMA() AND TABLE_NAME = 'ITEM_PEDIDO' AND CONSTRAINT_TYPE = 'FOREIGN KEY'",
+                String.class)).containsExactlyInAnyOrder("fk_item_pedido_pedido", "fk_item_pedido_produto");
+    }
+
+    @Test
+    void pedidosAntigosContinuamLegiveisEOsNovosVemDepoisDeles() throws Exception {
+        String corpo = mockMvc.perform(get("/api/pedidos/1")).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode antigo = JSON.readTree(corpo);
+        assertThat(antigo.get("itens")).hasSize(2);
+        assertThat(antigo.get("valorTotal").decimalValue()).isEqualByComparingTo("89.20");
+        assertThat(jdbcTemplate.queryForObject("SELECT versao FROM pedido WHERE id = 1", Long.class)).isZero();
+
+        long novo = PedidosDeTeste.criarId(mockMvc, 4, 1, 1, 1);
+        assertThat(novo).isGreaterThan(2);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pedido", Long.class)).isEqualTo(3);
+    }
+}
@@ -0,0 +1,59 @@
+package com.deliverytech.delivery_api.config;
+
+import com.deliverytech.delivery_api.AutenticacaoDeTeste;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authorization.event.AuthorizationDeniedEvent;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cadeia de segurança em um servidor real: o MockMvc reaproveita o contexto de segurança do
+ * teste no redespacho assíncrono e não reproduz o JWT lido só na requisição original
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@RecordApplicationEvents
+class SecurityConfigTest {
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Autowired
+    private ApplicationEvents eventos;
+
+    @Test
+    void exportacaoEmStreamingNaoENegadaNoRedespachoAssincrono() throws Exception {
+        HttpHeaders cabecalhos = new HttpHeaders();
+        cabecalhos.setBearerAuth(AutenticacaoDeTeste.token(rest, "exportador@email.com"));
+        String hoje = LocalDate.now().toString();
+
+        ResponseEntity<String> resposta = rest.exchange(
+                "/api/pedidos/exportar?dataInicio={inicio}&dataFim={fim}&formato=csv",
+                HttpMethod.GET, new HttpEntity<>(cabecalhos), String.class, hoje, hoje);
+
+        assertThat(resposta.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(resposta.getBody()).startsWith("id,dataPedido,status,");
+        // A resposta já está confirmada quando o redespacho é negado: o sintoma é só o evento/log
+        assertThat(eventos.stream(AuthorizationDeniedEvent.class)).isEmpty();
+    }
+
+    @Test
+    void requisicaoSemTokenContinuaNegada() {
+        ResponseEntity<String> resposta = rest.getForEntity("/api/pedidos/1", String.class);
+
+        assertThat(resposta.getStatusCode().value()).isIn(401, 403);
+    }
+}
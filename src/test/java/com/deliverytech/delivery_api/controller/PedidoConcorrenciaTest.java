@@ -0,0 +1,244 @@
+package com.deliverytech.delivery_api.controller;
+
+import com.deliverytech.delivery_api.AutenticacaoDeTeste;
+import com.deliverytech.delivery_api.model.EventoOutbox;
+import com.deliverytech.delivery_api.model.StatusPedido;
+import com.deliverytech.delivery_api.model.VendaDiaria;
+import com.deliverytech.delivery_api.repository.EventoOutboxRepository;
+import com.deliverytech.delivery_api.repository.VendaDiariaRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Alterações simultâneas de status de um mesmo pedido contra o servidor real: só uma
+ * transição vence, as demais respondem 400 (transição inválida) ou 409 (trava esgotada), e o
+ * acumulado de vendas, a outbox e o stream SSE registram exatamente as transições que venceram
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class PedidoConcorrenciaTest {
+
+    private static final int REQUISICOES_SIMULTANEAS = 32;
+    private static final int RODADAS_CONFIRMAR_CANCELAR = 10;
+    private static final long RESTAURANTE = 3;
+    private static final long PRODUTO = 5;
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Autowired
+    private VendaDiariaRepository vendaDiariaRepository;
+
+    @Autowired
+    private EventoOutboxRepository eventoOutboxRepository;
+
+    @LocalServerPort
+    private int porta;
+
+    private HttpHeaders autenticado;
+    private ExecutorService executor;
+    private final HttpClient http = HttpClient.newHttpClient();
+    private final List<Stream<String>> streams = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void preparar() throws Exception {
+        autenticado = new HttpHeaders();
+        autenticado.setBearerAuth(AutenticacaoDeTeste.token(rest, "concorrencia@email.com"));
+        autenticado.setContentType(MediaType.APPLICATION_JSON);
+        executor = Executors.newFixedThreadPool(REQUISICOES_SIMULTANEAS);
+    }
+
+    @AfterEach
+    void encerrar() {
+        executor.shutdownNow();
+        // Streams SSE abertos segurariam o desligamento do servidor embutido
+        streams.forEach(Stream::close);
+        http.shutdownNow();
+    }
+
+    @Test
+    void patchesSimultaneosParaOMesmoStatusTemUmVencedor() throws Exception {
+        long pedidoId = criarPedido();
+        long criadosAntes = quantidadeNoAcumulado(StatusPedido.CRIADO);
+        long confirmadosAntes = quantidadeNoAcumulado(StatusPedido.CONFIRMADO);
+        List<String> sse = assinarEventos(pedidoId);
+
+        List<Integer> codigos = emParalelo(REQUISICOES_SIMULTANEAS, i -> () ->
+                status(HttpMethod.PATCH, "/api/pedidos/" + pedidoId + "/status", "{\"status\":\"CONFIRMADO\"}"));
+
+        assertThat(codigos).filteredOn(c -> c == 200).hasSize(1);
+        assertThat(codigos).filteredOn(c -> c != 200).allMatch(c -> c == 400 || c == 409);
+        assertThat(statusAtual(pedidoId)).isEqualTo("CONFIRMADO");
+
+        assertThat(quantidadeNoAcumulado(StatusPedido.CRIADO)).isEqualTo(criadosAntes - 1);
+        assertThat(quantidadeNoAcumulado(StatusPedido.CONFIRMADO)).isEqualTo(confirmadosAntes + 1);
+        assertThat(transicoesNaOutbox(pedidoId)).containsExactly("CRIADO->CONFIRMADO");
+        assertThat(eventosRecebidos(sse, 1)).containsExactly("CONFIRMADO");
+    }
+
+    @Test
+    void confirmarECancelarSimultaneosSerializam() throws Exception {
+        for (int rodada = 0; rodada < RODADAS_CONFIRMAR_CANCELAR; rodada++) {
+            long pedidoId = criarPedido();
+            long criadosAntes = quantidadeNoAcumulado(StatusPedido.CRIADO);
+            long confirmadosAntes = quantidadeNoAcumulado(StatusPedido.CONFIRMADO);
+            long canceladosAntes = quantidadeNoAcumulado(StatusPedido.CANCELADO);
+            List<String> sse = assinarEventos(pedidoId);
+
+            List<Integer> codigos = emParalelo(2, i -> () -> i == 0
+                    ? status(HttpMethod.PUT, "/api/pedidos/" + pedidoId + "/confirmar", null)
+                    : status(HttpMethod.DELETE, "/api/pedidos/" + pedidoId + "/cancelar", null));
+            int confirmar = codigos.get(0);
+            int cancelar = codigos.get(1);
+
+            // CRIADO->CANCELADO->(CONFIRMADO negado) ou CRIADO->CONFIRMADO->CANCELADO; nunca CONFIRMADO no fim
+            assertThat(cancelar).isEqualTo(200);
+            assertThat(confirmar).isIn(200, 400);
+            assertThat(statusAtual(pedidoId)).isEqualTo("CANCELADO");
+
+            List<String> esperadas = confirmar == 200
+                    ? List.of("CRIADO->CONFIRMADO", "CONFIRMADO->CANCELADO")
+                    : List.of("CRIADO->CANCELADO");
+            assertThat(transicoesNaOutbox(pedidoId)).containsExactlyElementsOf(esperadas);
+            assertThat(eventosRecebidos(sse, esperadas.size()))
+                    .containsExactlyElementsOf(esperadas.stream().map(t -> t.substring(t.indexOf('>') + 1)).toList());
+
+            assertThat(quantidadeNoAcumulado(StatusPedido.CRIADO)).isEqualTo(criadosAntes - 1);
+            assertThat(quantidadeNoAcumulado(StatusPedido.CONFIRMADO)).isEqualTo(confirmadosAntes);
+            assertThat(quantidadeNoAcumulado(StatusPedido.CANCELADO)).isEqualTo(canceladosAntes + 1);
+        }
+    }
+
+    private interface Tarefa {
+        Callable<Integer> para(int indice);
+    }
+
+    // Dispara todas as requisições juntas, liberadas pela mesma largada
+    private List<Integer> emParalelo(int quantidade, Tarefa tarefa) throws Exception {
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<Integer>> futuros = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            Callable<Integer> chamada = tarefa.para(i);
+            futuros.add(executor.submit(() -> {
+                largada.await();
+                return chamada.call();
+            }));
+        }
+        largada.countDown();
+        List<Integer> codigos = new ArrayList<>();
+        for (Future<Integer> futuro : futuros) {
+            codigos.add(futuro.get(30, TimeUnit.SECONDS));
+        }
+        return codigos;
+    }
+
+    private int status(HttpMethod metodo, String url, String corpo) {
+        return rest.exchange(url, metodo, new HttpEntity<>(corpo, autenticado), String.class)
+                .getStatusCode().value();
+    }
+
+    private long criarPedido() throws Exception {
+        String corpo = """
+                {"clienteId":1,"restauranteId":%d,
+                 "enderecoEntrega":{"rua":"Rua Teste","numero":"1","cep":"01001000"},
+                 "itens":[{"produtoId":%d,"quantidade":1}]}
+                """.formatted(RESTAURANTE, PRODUTO);
+        ResponseEntity<String> resposta = rest.exchange("/api/pedidos", HttpMethod.POST,
+                new HttpEntity<>(corpo, autenticado), String.class);
+        assertThat(resposta.getStatusCode().value()).isEqualTo(201);
+        return JSON.readTree(resposta.getBody()).get("id").asLong();
+    }
+
+    private String statusAtual(long pedidoId) throws Exception {
+        ResponseEntity<String> resposta = rest.exchange("/api/pedidos/" + pedidoId, HttpMethod.GET,
+                new HttpEntity<>(autenticado), String.class);
+        JsonNode pedido = JSON.readTree(resposta.getBody());
+        return pedido.get("status").asText();
+    }
+
+    private long quantidadeNoAcumulado(StatusPedido status) {
+        return vendaDiariaRepository.findById(new VendaDiaria.Chave(RESTAURANTE, LocalDate.now(), status))
+                .map(VendaDiaria::getQuantidadePedidos)
+                .orElse(0L);
+    }
+
+    // "anterior->atual" de cada evento do pedido na outbox, na ordem de gravação
+    private List<String> transicoesNaOutbox(long pedidoId) throws Exception {
+        List<String> transicoes = new ArrayList<>();
+        for (EventoOutbox evento : eventoOutboxRepository.findAll()) {
+            if (Long.valueOf(pedidoId).equals(evento.getAgregadoId())) {
+                JsonNode payload = JSON.readTree(evento.getPayload());
+                transicoes.add(payload.get("statusAnterior").asText() + "->" + payload.get("statusAtual").asText());
+            }
+        }
+        return transicoes;
+    }
+
+    // Cliente SSE real; retorna depois dos cabeçalhos, quando a assinatura já está na fila de entrega
+    private List<String> assinarEventos(long pedidoId) throws Exception {
+        List<String> linhas = new CopyOnWriteArrayList<>();
+        HttpRequest requisicao = HttpRequest.newBuilder(URI.create(
+                        "http://localhost:" + porta + "/api/pedidos/" + pedidoId + "/eventos"))
+                .header(HttpHeaders.AUTHORIZATION, autenticado.getFirst(HttpHeaders.AUTHORIZATION))
+                .header(HttpHeaders.ACCEPT, MediaType.TEXT_EVENT_STREAM_VALUE)
+                .build();
+        HttpResponse<Stream<String>> resposta =
+                http.sendAsync(requisicao, HttpResponse.BodyHandlers.ofLines()).get(10, TimeUnit.SECONDS);
+        assertThat(resposta.statusCode()).isEqualTo(200);
+        streams.add(resposta.body());
+        Thread.ofVirtual().start(() -> resposta.body().forEach(linhas::add));
+        return linhas;
+    }
+
+    // statusAtual de cada evento recebido; espera os esperados e confere que nada mais chegou
+    private static List<String> eventosRecebidos(List<String> linhas, int esperados) throws Exception {
+        long limite = System.currentTimeMillis() + 5000;
+        while (statusDosEventos(linhas).size() < esperados && System.currentTimeMillis() < limite) {
+            Thread.sleep(20);
+        }
+        Thread.sleep(300);
+        return statusDosEventos(linhas);
+    }
+
+    private static List<String> statusDosEventos(List<String> linhas) throws Exception {
+        List<String> status = new ArrayList<>();
+        for (String linha : linhas) {
+            if (linha.startsWith("data:")) {
+                status.add(JSON.readTree(linha.substring(5)).get("statusAtual").asText());
+            }
+        }
+        return status;
+    }
+}
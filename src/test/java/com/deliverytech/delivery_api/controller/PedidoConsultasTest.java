@@ -0,0 +1,144 @@
+package com.deliverytech.delivery_api.controller;
+
+import com.deliverytech.delivery_api.ConsultasDeTeste;
+import com.deliverytech.delivery_api.PedidosDeTeste;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Número de consultas por requisição (estatísticas do Hibernate): as páginas de pedidos
+ * não podem crescer com o tamanho da página (N+1), nem o detalhe com o número de itens
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser
+class PedidoConsultasTest {
+
+    // Pedidos do cliente 1 no restaurante 1 criados para encher a maior página
+    private static final int PEDIDOS = 110;
+    private static boolean semeado;
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics estatisticas;
+
+    @BeforeEach
+    void preparar() throws Exception {
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        assertThat(estatisticas.isStatisticsEnabled()).isTrue();
+        if (!semeado) {
+            for (int i = 0; i < PEDIDOS; i++) {
+                criarComDoisItens(1);
+            }
+            semeado = true;
+        }
+    }
+
+    // Pedidos da página, itens (lote) e produtos (lote)
+    @ParameterizedTest(name = "{0}?tamanho={1}")
+    @CsvSource({
+            "/api/pedidos, 10", "/api/pedidos, 50", "/api/pedidos, 100",
+            "/api/pedidos/cliente/1, 10", "/api/pedidos/cliente/1, 50", "/api/pedidos/cliente/1, 100",
+            "/api/pedidos/restaurante/1, 10", "/api/pedidos/restaurante/1, 50", "/api/pedidos/restaurante/1, 100"
+    })
+    void paginaDePedidosFazTresConsultasEmQualquerTamanho(String url, int tamanho) throws Exception {
+        estatisticas.clear();
+        JsonNode pagina = consultar(url + "?tamanho=" + tamanho);
+
+        assertThat(pagina.get("itens")).hasSize(tamanho);
+        assertThat(pagina.get("itens").get(0).get("itens")).isNotEmpty();
+        assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(3);
+
+        // A página seguinte (keyset) mantém o mesmo custo
+        estatisticas.clear();
+        JsonNode seguinte = consultar(url + "?tamanho=" + tamanho + "&cursor=" + pagina.get("proximoCursor").asText());
+        assertThat(seguinte.get("itens")).isNotEmpty();
+        assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void detalheDoPedidoFazUmaConsultaComUmOuVariosItens() throws Exception {
+        long umItem = PedidosDeTeste.criarId(mockMvc, 2, 1, 1, 3);
+        long doisItens = criarComDoisItens(2);
+
+        for (long pedidoId : new long[] {umItem, doisItens}) {
+            estatisticas.clear();
+            JsonNode pedido = consultar("/api/pedidos/" + pedidoId);
+
+            assertThat(pedido.get("itens")).isNotEmpty();
+            assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void criacaoNaoCarregaOsProdutosJaCotados() throws Exception {
+        // Produtos 1 e 2 já estão no cache do catálogo (pedidos da preparação)
+        JsonNode[] criado = new JsonNode[1];
+        List<String> consultas = ConsultasDeTeste.capturar(() -> {
+            try {
+                criado[0] = JSON.readTree(criar(3));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertThat(consultas).isNotEmpty()
+                .noneMatch(sql -> sql.toLowerCase().startsWith("select") && sql.toLowerCase().contains(" from produto "));
+        JsonNode itens = criado[0].get("itens");
+        assertThat(itens.get(0).get("nomeProduto").asText()).isEqualTo("Pizza Margherita");
+        assertThat(itens.get(0).get("precoUnitario").decimalValue()).isEqualByComparingTo("25.90");
+        assertThat(itens.get(1).get("nomeProduto").asText()).isEqualTo("Pizza Pepperoni");
+        assertThat(criado[0].get("valorTotal").decimalValue())
+                .isEqualByComparingTo(consultar("/api/pedidos/" + criado[0].get("id").asLong()).get("valorTotal").decimalValue());
+    }
+
+    private long criarComDoisItens(long clienteId) throws Exception {
+        return JSON.readTree(criar(clienteId)).get("id").asLong();
+    }
+
+    private String criar(long clienteId) throws Exception {
+        return mockMvc.perform(post("/api/pedidos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"clienteId":%d,"restauranteId":1,
+                                 "enderecoEntrega":{"rua":"Rua Teste","numero":"1","cep":"01001000"},
+                                 "itens":[{"produtoId":1,"quantidade":1},{"produtoId":2,"quantidade":2}]}
+                                """.formatted(clienteId)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    private JsonNode consultar(String url) throws Exception {
+        String corpo = mockMvc.perform(get(url)).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return JSON.readTree(corpo);
+    }
+}
@@ -0,0 +1,159 @@
+package com.deliverytech.delivery_api.controller;
+
+import com.deliverytech.delivery_api.PedidosDeTeste;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Streams SSE de status de pedidos: eventos ao vivo, replay por Last-Event-ID e resincronizar
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser
+class PedidoEventosTest {
+
+    private static final Pattern EVENTO_STATUS =
+            Pattern.compile("id:(\\d+)\\nevent:status\\ndata:\\{[^\\n]*\"statusAtual\":\"(\\w+)\"");
+    private static final long ESPERA_MS = 5000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void entregaAoVivoEReenviaOQueFoiPerdidoDepoisDoLastEventId() throws Exception {
+        long pedidoId = PedidosDeTeste.criarId(mockMvc, 5, 1, 1, 1);
+        MockHttpServletResponse aoVivo = assinar(get("/api/pedidos/" + pedidoId + "/eventos"));
+
+        assertThat(PedidosDeTeste.confirmar(mockMvc, pedidoId)).isEqualTo(200);
+        List<String[]> recebidos = aguardarEventos(aoVivo, 1);
+        assertThat(recebidos.get(0)[1]).isEqualTo("CONFIRMADO");
+        String ultimoRecebido = recebidos.get(0)[0];
+
+        // Conexão caiu aqui: estas duas mudanças só chegam pelo replay
+        assertThat(PedidosDeTeste.alterarStatus(mockMvc, pedidoId, "PREPARANDO")).isEqualTo(200);
+        assertThat(PedidosDeTeste.alterarStatus(mockMvc, pedidoId, "SAIU_PARA_ENTREGA")).isEqualTo(200);
+
+        MockHttpServletResponse reconexao = assinar(get("/api/pedidos/" + pedidoId + "/eventos")
+                .header("Last-Event-ID", ultimoRecebido));
+        List<String[]> reenviados = aguardarEventos(reconexao, 2);
+        assertThat(reenviados).extracting(e -> e[1]).containsExactly("PREPARANDO", "SAIU_PARA_ENTREGA");
+        assertThat(Long.parseLong(reenviados.get(0)[0])).isGreaterThan(Long.parseLong(ultimoRecebido));
+        assertThat(conteudo(reconexao)).doesNotContain("event:resincronizar");
+    }
+
+    @Test
+    void replayFiltraPeloEscopoDaAssinatura() throws Exception {
+        long doCliente = PedidosDeTeste.criarId(mockMvc, 4, 2, 3, 1);
+        long deOutroCliente = PedidosDeTeste.criarId(mockMvc, 2, 2, 4, 1);
+        MockHttpServletResponse restaurante = assinar(get("/api/pedidos/restaurante/2/eventos"));
+
+        assertThat(PedidosDeTeste.confirmar(mockMvc, doCliente)).isEqualTo(200);
+        String antes = aguardarEventos(restaurante, 1).get(0)[0];
+        assertThat(PedidosDeTeste.confirmar(mockMvc, deOutroCliente)).isEqualTo(200);
+        assertThat(PedidosDeTeste.alterarStatus(mockMvc, doCliente, "PREPARANDO")).isEqualTo(200);
+        aguardarEventos(restaurante, 3);
+
+        MockHttpServletResponse cliente = assinar(get("/api/pedidos/cliente/4/eventos")
+                .header("Last-Event-ID", antes));
+        List<String[]> reenviados = aguardarEventos(cliente, 1);
+        Thread.sleep(200);
+        assertThat(eventos(conteudo(cliente))).hasSize(1);
+        assertThat(reenviados.get(0)[1]).isEqualTo("PREPARANDO");
+        assertThat(conteudo(cliente)).contains("\"pedidoId\":" + doCliente);
+    }
+
+    @Test
+    void lastEventIdDesconhecidoPedeResincronizar() throws Exception {
+        long pedidoId = PedidosDeTeste.criarId(mockMvc, 1, 1, 2, 1);
+
+        // ID maior que o último publicado: de antes de um reinício da aplicação
+        MockHttpServletResponse resposta = assinar(get("/api/pedidos/" + pedidoId + "/eventos")
+                .header("Last-Event-ID", String.valueOf(Long.MAX_VALUE / 2)));
+
+        aguardar(resposta, "event:resincronizar");
+        assertThat(PedidosDeTeste.confirmar(mockMvc, pedidoId)).isEqualTo(200);
+        // Depois do aviso a conexão segue assinada e recebe os eventos novos
+        assertThat(aguardarEventos(resposta, 1).get(0)[1]).isEqualTo("CONFIRMADO");
+    }
+
+    @Test
+    void confirmaOsCabecalhosSemEsperarOPrimeiroEvento() throws Exception {
+        long pedidoId = PedidosDeTeste.criarId(mockMvc, 2, 1, 1, 1);
+
+        MockHttpServletResponse resposta = assinar(get("/api/pedidos/" + pedidoId + "/eventos"));
+
+        aguardar(resposta, ":conectado");
+        assertThat(resposta.isCommitted()).isTrue();
+        assertThat(resposta.getContentType()).startsWith("text/event-stream");
+        assertThat(eventos(conteudo(resposta))).isEmpty();
+    }
+
+    @Test
+    void lastEventIdInvalidoOuPedidoInexistenteNaoAbremStream() throws Exception {
+        long pedidoId = PedidosDeTeste.criarId(mockMvc, 1, 1, 1, 1);
+
+        mockMvc.perform(get("/api/pedidos/" + pedidoId + "/eventos").header("Last-Event-ID", "abc"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/pedidos/999999/eventos"))
+                .andExpect(status().isNotFound());
+    }
+
+    private MockHttpServletResponse assinar(MockHttpServletRequestBuilder requisicao) throws Exception {
+        return mockMvc.perform(requisicao)
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+    }
+
+    private static List<String[]> aguardarEventos(MockHttpServletResponse resposta, int quantidade)
+            throws Exception {
+        long limite = System.currentTimeMillis() + ESPERA_MS;
+        List<String[]> eventos = eventos(conteudo(resposta));
+        while (eventos.size() < quantidade && System.currentTimeMillis() < limite) {
+            Thread.sleep(20);
+            eventos = eventos(conteudo(resposta));
+        }
+        assertThat(eventos).as("eventos recebidos em %s", conteudo(resposta)).hasSizeGreaterThanOrEqualTo(quantidade);
+        return eventos;
+    }
+
+    private static void aguardar(MockHttpServletResponse resposta, String trecho) throws Exception {
+        long limite = System.currentTimeMillis() + ESPERA_MS;
+        while (!conteudo(resposta).contains(trecho) && System.currentTimeMillis() < limite) {
+            Thread.sleep(20);
+        }
+        assertThat(conteudo(resposta)).contains(trecho);
+    }
+
+    // [id, statusAtual] de cada evento "status" na ordem de chegada
+    private static List<String[]> eventos(String conteudo) {
+        List<String[]> eventos = new ArrayList<>();
+        Matcher m = EVENTO_STATUS.matcher(conteudo);
+        while (m.find()) {
+            eventos.add(new String[] {m.group(1), m.group(2)});
+        }
+        return eventos;
+    }
+
+    private static String conteudo(MockHttpServletResponse resposta) throws Exception {
+        return resposta.getContentAsString(StandardCharsets.UTF_8);
+    }
+}
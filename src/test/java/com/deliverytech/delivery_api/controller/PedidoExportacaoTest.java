@@ -0,0 +1,117 @@
+package com.deliverytech.delivery_api.controller;
+
+import com.deliverytech.delivery_api.PedidosDeTeste;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Conteúdo da exportação em streaming (NDJSON e CSV) para os pedidos do dia
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser
+class PedidoExportacaoTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void exportaNdjsonComUmObjetoPorLinha() throws Exception {
+        JsonNode pedido = PedidosDeTeste.criar(mockMvc, 2, 1, 1, 2);
+        long id = pedido.get("id").asLong();
+
+        String corpo = exportar("ndjson", "application/x-ndjson", "pedidos_%s_%s.ndjson");
+
+        Map<Long, JsonNode> porId = new HashMap<>();
+        for (String linha : corpo.split("\n")) {
+            JsonNode objeto = JSON.readTree(linha);
+            porId.put(objeto.get("id").asLong(), objeto);
+        }
+        assertThat(corpo).endsWith("\n");
+        JsonNode exportado = porId.get(id);
+        assertThat(exportado).isNotNull();
+        assertThat(exportado.get("status").asText()).isEqualTo("CRIADO");
+        assertThat(exportado.get("valorTotal").decimalValue())
+                .isEqualByComparingTo(pedido.get("valorTotal").decimalValue());
+        assertThat(exportado.get("clienteId").asLong()).isEqualTo(2);
+        assertThat(exportado.get("restauranteId").asLong()).isEqualTo(1);
+        assertThat(exportado.get("restauranteNome").asText()).isEqualTo("Pizza Express");
+    }
+
+    @Test
+    void exportaCsvComCabecalhoELinhaPorPedido() throws Exception {
+        JsonNode pedido = PedidosDeTeste.criar(mockMvc, 4, 2, 3, 1);
+        long id = pedido.get("id").asLong();
+
+        String[] linhas = exportar("csv", "text/csv", "pedidos_%s_%s.csv").split("\n");
+
+        assertThat(linhas[0])
+                .isEqualTo("id,dataPedido,status,valorTotal,clienteId,clienteNome,restauranteId,restauranteNome,cep");
+        String linhaDoPedido = null;
+        for (String linha : linhas) {
+            if (linha.startsWith(id + ",")) {
+                linhaDoPedido = linha;
+            }
+        }
+        assertThat(linhaDoPedido).isNotNull();
+        String[] campos = linhaDoPedido.split(",", -1);
+        assertThat(campos).hasSize(9);
+        assertThat(campos[2]).isEqualTo("CRIADO");
+        assertThat(new BigDecimal(campos[3]))
+                .isEqualByComparingTo(pedido.get("valorTotal").decimalValue());
+        assertThat(campos[4]).isEqualTo("4");
+        assertThat(campos[6]).isEqualTo("2");
+        assertThat(campos[7]).isEqualTo("Burger King");
+    }
+
+    @Test
+    void periodoInvertidoRespondeAntesDeAbrirOStream() throws Exception {
+        mockMvc.perform(get("/api/pedidos/exportar")
+                        .param("dataInicio", "2025-02-01")
+                        .param("dataFim", "2025-01-01"))
+                .andExpect(status().isBadRequest())
+                .andExpect(request().asyncNotStarted());
+    }
+
+    private String exportar(String formato, String tipo, String arquivo) throws Exception {
+        String hoje = LocalDate.now().toString();
+        MvcResult iniciado = mockMvc.perform(get("/api/pedidos/exportar")
+                        .param("dataInicio", hoje)
+                        .param("dataFim", hoje)
+                        .param("formato", formato))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        MvcResult resultado = mockMvc.perform(asyncDispatch(iniciado))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition",
+                        "attachment; filename=\"" + arquivo.formatted(hoje, hoje) + "\""))
+                .andReturn();
+        assertThat(resultado.getResponse().getContentType()).startsWith(tipo);
+        return resultado.getResponse().getContentAsString(StandardCharsets.UTF_8);
+    }
+}
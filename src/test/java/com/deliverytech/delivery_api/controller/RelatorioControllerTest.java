@@ -0,0 +1,104 @@
+package com.deliverytech.delivery_api.controller;
+
+import com.deliverytech.delivery_api.PedidosDeTeste;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Relatórios por período seguem a mesma regra dos demais: pedido cancelado não conta
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser
+class RelatorioControllerTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void pedidosPorPeriodoIgnoraCancelados() throws Exception {
+        String hoje = LocalDate.now().toString();
+        JsonNode totalAntes = periodo(hoje, null).get(0);
+        JsonNode diaAntes = linhaDoDia(periodo(hoje, "dia"), hoje);
+
+        JsonNode valido = PedidosDeTeste.criar(mockMvc, 1, 1, 1, 2);
+        long cancelado = PedidosDeTeste.criarId(mockMvc, 1, 1, 2, 3);
+        assertThat(PedidosDeTeste.cancelar(mockMvc, cancelado)).isEqualTo(200);
+
+        BigDecimal valor = valido.get("valorTotal").decimalValue();
+        JsonNode totalDepois = periodo(hoje, null).get(0);
+        assertThat(totalDepois.get("totalPedidos").asLong()).isEqualTo(totalAntes.get("totalPedidos").asLong() + 1);
+        assertThat(totalDepois.get("valorTotal").decimalValue())
+                .isEqualByComparingTo(totalAntes.get("valorTotal").decimalValue().add(valor));
+
+        JsonNode diaDepois = linhaDoDia(periodo(hoje, "dia"), hoje);
+        long pedidosAntes = diaAntes != null ? diaAntes.get("totalPedidos").asLong() : 0;
+        assertThat(diaDepois.get("totalPedidos").asLong()).isEqualTo(pedidosAntes + 1);
+    }
+
+    @Test
+    void clientesPorDiaMantidosNosPedidosFicamIguaisAosReconstruidos() throws Exception {
+        long cancelado = PedidosDeTeste.criarId(mockMvc, 5, 2, 3, 1);
+        long entregue = PedidosDeTeste.criarId(mockMvc, 4, 2, 4, 1);
+        PedidosDeTeste.entregar(mockMvc, entregue);
+        assertThat(PedidosDeTeste.cancelar(mockMvc, cancelado)).isEqualTo(200);
+
+        List<Map<String, Object>> mantidos = clientesPorDia();
+        assertThat(mantidos).anySatisfy(linha -> {
+            assertThat(linha.get("CLIENTE_ID")).isEqualTo(4L);
+            assertThat(linha.get("DIA").toString()).isEqualTo(LocalDate.now().toString());
+        });
+
+        mockMvc.perform(post("/api/relatorios/vendas-diarias/reconstruir")).andExpect(status().isOk());
+        assertThat(clientesPorDia()).isEqualTo(mantidos);
+    }
+
+    // Linhas com quantidade zero (cliente que só tem pedidos cancelados no dia) não contam no resumo
+    private List<Map<String, Object>> clientesPorDia() {
+        return jdbcTemplate.queryForList("SELECT dia, cliente_id, quantidade_pedidos FROM clientes_diarios " +
+                "WHERE quantidade_pedidos > 0 ORDER BY dia, cliente_id");
+    }
+
+    private JsonNode periodo(String dia, String agrupamento) throws Exception {
+        var requisicao = get("/api/relatorios/pedidos-por-periodo").param("dataInicio", dia).param("dataFim", dia);
+        if (agrupamento != null) {
+            requisicao.param("agrupamento", agrupamento);
+        }
+        String corpo = mockMvc.perform(requisicao).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return JSON.readTree(corpo);
+    }
+
+    private static JsonNode linhaDoDia(JsonNode linhas, String dia) {
+        for (JsonNode linha : linhas) {
+            if (dia.equals(linha.get("periodo").asText())) {
+                return linha;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,158 @@
+package com.deliverytech.delivery_api.pagamento;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Transições do disjuntor contra o gateway simulado: fechado, aberto, meio aberto e de volta
+ */
+class GatewayProtegidoTest {
+
+    private static final int JANELA = 4;
+    private static final long TEMPO_ABERTO_MS = 150;
+    private static final long TIMEOUT_MS = 100;
+    private static final BigDecimal LIMITE = new BigDecimal("1000");
+
+    private static final GatewaySimulado FORA_DO_AR = new GatewaySimulado(0, 1.0, LIMITE);
+    private static final GatewaySimulado SAUDAVEL = new GatewaySimulado(0, 0.0, LIMITE);
+    private static final GatewaySimulado LENTO = new GatewaySimulado(TIMEOUT_MS * 3, 0.0, LIMITE);
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    // Gateway simulado da vez; conta as chamadas que de fato chegaram a ele
+    private final AtomicReference<GatewaySimulado> atual = new AtomicReference<>(SAUDAVEL);
+    private final AtomicInteger chamadasAoGateway = new AtomicInteger();
+    private final DisjuntorCircuito disjuntor = new DisjuntorCircuito("simulado", JANELA, JANELA, 0.5, TEMPO_ABERTO_MS);
+    private final GatewayProtegido gateway = new GatewayProtegido(new GatewayPagamento() {
+        @Override
+        public String nome() {
+            return "simulado";
+        }
+
+        @Override
+        public ResultadoGateway cobrar(SolicitacaoCobranca solicitacao) throws Exception {
+            chamadasAoGateway.incrementAndGet();
+            return atual.get().cobrar(solicitacao);
+        }
+    }, disjuntor, 4, TIMEOUT_MS, 50, executor);
+
+    private int sequencia;
+
+    @AfterEach
+    void encerrar() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void abrePelaTaxaDeFalhaERecusaSemChamarOGateway() {
+        atual.set(SAUDAVEL);
+        cobrar();
+        cobrar();
+        atual.set(FORA_DO_AR);
+        falhar("Falha simulada");
+        assertThat(disjuntor.estado()).isEqualTo(DisjuntorCircuito.Estado.FECHADO);
+        falhar("Falha simulada");
+
+        // 2 falhas em 4 chamadas: atingiu 50% com a janela mínima cheia
+        assertThat(disjuntor.estado()).isEqualTo(DisjuntorCircuito.Estado.ABERTO);
+        int chamadas = chamadasAoGateway.get();
+        atual.set(SAUDAVEL);
+        falhar("circuito aberto");
+        falhar("circuito aberto");
+        assertThat(chamadasAoGateway.get()).isEqualTo(chamadas);
+    }
+
+    @Test
+    void meioAbertoFechaComSucessoDaChamadaDeTeste() throws Exception {
+        abrir();
+        Thread.sleep(TEMPO_ABERTO_MS + 50);
+        atual.set(SAUDAVEL);
+
+        assertThat(cobrar().aprovado()).isTrue();
+
+        assertThat(disjuntor.estado()).isEqualTo(DisjuntorCircuito.Estado.FECHADO);
+        // A janela recomeça: as falhas de antes não reabrem o circuito
+        assertThat(disjuntor.taxaFalha()).isZero();
+        atual.set(FORA_DO_AR);
+        falhar("Falha simulada");
+        assertThat(disjuntor.estado()).isEqualTo(DisjuntorCircuito.Estado.FECHADO);
+    }
+
+    @Test
+    void meioAbertoReabreQuandoAChamadaDeTesteEstouraOTimeout() throws Exception {
+        abrir();
+        Thread.sleep(TEMPO_ABERTO_MS + 50);
+        atual.set(LENTO);
+
+        falhar("timeout após " + TIMEOUT_MS + " ms");
+
+        assertThat(disjuntor.estado()).isEqualTo(DisjuntorCircuito.Estado.ABERTO);
+        // Reaberto agora: a espera conta de novo a partir da falha do teste
+        int chamadas = chamadasAoGateway.get();
+        atual.set(SAUDAVEL);
+        falhar("circuito aberto");
+        assertThat(chamadasAoGateway.get()).isEqualTo(chamadas);
+        Thread.sleep(TEMPO_ABERTO_MS + 50);
+        assertThat(cobrar().aprovado()).isTrue();
+        assertThat(disjuntor.estado()).isEqualTo(DisjuntorCircuito.Estado.FECHADO);
+    }
+
+    @Test
+    void meioAbertoLiberaUmaUnicaChamadaDeTeste() throws Exception {
+        abrir();
+        Thread.sleep(TEMPO_ABERTO_MS + 50);
+
+        assertThat(disjuntor.permitir()).isTrue();
+        assertThat(disjuntor.estado()).isEqualTo(DisjuntorCircuito.Estado.MEIO_ABERTO);
+        assertThat(disjuntor.permitir()).isFalse();
+        assertThat(disjuntor.permitir()).isFalse();
+
+        disjuntor.registrarSucesso();
+        assertThat(disjuntor.estado()).isEqualTo(DisjuntorCircuito.Estado.FECHADO);
+        assertThat(disjuntor.permitir()).isTrue();
+    }
+
+    @Test
+    void recusaDoGatewayNaoContaComoFalha() {
+        atual.set(SAUDAVEL);
+        for (int i = 0; i < JANELA * 2; i++) {
+            ResultadoGateway resultado = gateway.cobrar(new SolicitacaoCobranca(
+                    "recusa-" + i, 1L, LIMITE.add(BigDecimal.ONE)));
+            assertThat(resultado.aprovado()).isFalse();
+        }
+        assertThat(disjuntor.estado()).isEqualTo(DisjuntorCircuito.Estado.FECHADO);
+        assertThat(disjuntor.taxaFalha()).isZero();
+    }
+
+    // Janela cheia de falhas
+    private void abrir() {
+        atual.set(FORA_DO_AR);
+        for (int i = 0; i < JANELA; i++) {
+            falhar("Falha simulada");
+        }
+        assertThat(disjuntor.estado()).isEqualTo(DisjuntorCircuito.Estado.ABERTO);
+    }
+
+    private ResultadoGateway cobrar() {
+        return gateway.cobrar(novaSolicitacao());
+    }
+
+    private void falhar(String motivo) {
+        assertThatThrownBy(() -> gateway.cobrar(novaSolicitacao()))
+                .isInstanceOf(GatewayIndisponivelException.class)
+                .hasMessageContaining(motivo);
+    }
+
+    private SolicitacaoCobranca novaSolicitacao() {
+        sequencia++;
+        return new SolicitacaoCobranca("pagamento-" + sequencia, (long) sequencia, new BigDecimal("50.00"));
+    }
+}
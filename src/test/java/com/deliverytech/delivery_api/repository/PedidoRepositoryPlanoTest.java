@@ -0,0 +1,83 @@
+package com.deliverytech.delivery_api.repository;
+
+import com.deliverytech.delivery_api.ConsultasDeTeste;
+import com.deliverytech.delivery_api.model.StatusPedido;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Planos de execução (EXPLAIN do H2) do SQL que o Hibernate gera para os caminhos de acesso
+ * do PedidoRepository: cada um tem que usar o índice criado para ele na V2
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class PedidoRepositoryPlanoTest {
+
+    private static final LocalDateTime INICIO = LocalDateTime.of(2020, 1, 1, 0, 0);
+    private static final LocalDateTime FIM = LocalDateTime.of(2100, 1, 1, 0, 0);
+    private static final PageRequest LIMITE = PageRequest.of(0, 20);
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void paginasPorClienteRestauranteEStatusUsamOsIndicesCompostos() {
+        assertThat(plano(() -> pedidoRepository.buscarPaginaPorClienteApos(1L, FIM, Long.MAX_VALUE, LIMITE)))
+                .contains("IDX_PEDIDO_CLIENTE_DATA");
+        assertThat(plano(() -> pedidoRepository.buscarPaginaPorRestauranteApos(1L, FIM, Long.MAX_VALUE, LIMITE)))
+                .contains("IDX_PEDIDO_RESTAURANTE_DATA");
+        assertThat(plano(() -> pedidoRepository.buscarPaginaPorStatusApos(StatusPedido.CRIADO, INICIO, FIM, Long.MAX_VALUE, LIMITE)))
+                .contains("IDX_PEDIDO_STATUS_DATA");
+    }
+
+    @Test
+    void listagemGeralLeNaOrdemDoIndiceDeData() {
+        assertThat(plano(() -> pedidoRepository.buscarPaginaApos(INICIO, FIM, Long.MAX_VALUE, LIMITE)))
+                .contains("IDX_PEDIDO_DATA")
+                .contains("index sorted");
+    }
+
+    @Test
+    void exportacaoERelatoriosPorPeriodoUsamOIndiceDeData() {
+        assertThat(plano(() -> transactionTemplate.executeWithoutResult(status -> {
+            try (var linhas = pedidoRepository.streamExportacao(INICIO, FIM)) {
+                linhas.count();
+            }
+        }))).contains("IDX_PEDIDO_DATA");
+        assertThat(plano(() -> pedidoRepository.obterPedidosPorDia(INICIO, FIM))).contains("IDX_PEDIDO_DATA");
+        assertThat(plano(() -> pedidoRepository.obterClientesMaisAtivos(INICIO, FIM, LIMITE))).contains("IDX_PEDIDO_DATA");
+    }
+
+    @Test
+    void produtosMaisVendidosLeemOsItensPeloIndiceDeVendas() {
+        assertThat(plano(() -> pedidoRepository.obterProdutosMaisVendidos(INICIO, FIM, LIMITE)))
+                .contains("IDX_PEDIDO_DATA")
+                .contains("IDX_ITEM_PEDIDO_VENDAS");
+    }
+
+    /**
+     * Plano da única consulta que a chamada faz ao banco
+     */
+    private String plano(Runnable chamada) {
+        List<String> consultas = ConsultasDeTeste.capturar(chamada);
+        assertThat(consultas).hasSize(1);
+        return jdbcTemplate.query(conexao -> conexao.prepareStatement("EXPLAIN " + consultas.get(0)),
+                resultado -> resultado.next() ? resultado.getString(1) : "");
+    }
+}
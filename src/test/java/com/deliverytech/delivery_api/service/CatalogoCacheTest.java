@@ -0,0 +1,80 @@
+package com.deliverytech.delivery_api.service;
+
+import com.deliverytech.delivery_api.config.CacheConfig;
+import com.deliverytech.delivery_api.dto.response.ProdutoResponse;
+import com.deliverytech.delivery_api.dto.response.RestauranteResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Cache do catálogo: id inexistente responde 404 (e não é guardado) e o valor em cache é o DTO imutável
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser
+class CatalogoCacheTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    void idInexistenteRespondeNaoEncontradoSemFalharNoCache() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/api/produtos/999999")).andExpect(status().isNotFound());
+            mockMvc.perform(get("/api/restaurantes/999999")).andExpect(status().isNotFound());
+            mockMvc.perform(get("/api/restaurantes/999999/produtos")).andExpect(status().isNotFound());
+        }
+        assertThat(cacheManager.getCache(CacheConfig.PRODUTOS).get(999999L)).isNull();
+        assertThat(cacheManager.getCache(CacheConfig.RESTAURANTES).get(999999L)).isNull();
+    }
+
+    @Test
+    void cadastroComRestauranteInexistenteRespondeNaoEncontrado() throws Exception {
+        mockMvc.perform(post("/api/produtos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"nome":"Teste","categoria":"Teste","descricao":"Teste",
+                                 "preco":10.00,"restauranteId":999999}
+                                """))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void cacheGuardaDtoEAlteracaoInvalida() throws Exception {
+        mockMvc.perform(get("/api/restaurantes/1")).andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1));
+        mockMvc.perform(get("/api/produtos/1")).andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.restauranteId").doesNotExist());
+
+        assertThat(cacheManager.getCache(CacheConfig.RESTAURANTES).get(1L).get()).isInstanceOf(RestauranteResponse.class);
+        assertThat(cacheManager.getCache(CacheConfig.PRODUTOS).get(1L).get()).isInstanceOf(ProdutoResponse.class);
+
+        for (boolean ativo : new boolean[] {false, true}) {
+            mockMvc.perform(patch("/api/restaurantes/5/status")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"ativo\":" + ativo + "}"))
+                    .andExpect(status().isOk());
+            mockMvc.perform(get("/api/restaurantes/5")).andExpect(status().isOk())
+                    .andExpect(jsonPath("$.ativo").value(ativo));
+        }
+    }
+}
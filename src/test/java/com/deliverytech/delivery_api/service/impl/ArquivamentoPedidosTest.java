@@ -0,0 +1,271 @@
+package com.deliverytech.delivery_api.service.impl;
+
+import com.deliverytech.delivery_api.PedidosDeTeste;
+import com.deliverytech.delivery_api.arquivo.ArquivoPedidos;
+import com.deliverytech.delivery_api.arquivo.PedidoArquivado;
+import com.deliverytech.delivery_api.repository.PedidoRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Arquivamento de pedidos finalizados antigos: relatórios, listagens paginadas e exportação
+ * intercalam tabela e arquivo e ficam iguais aos de antes do arquivamento, e a busca por id
+ * continua achando o pedido (só leitura). Um pedido gravado no arquivo e ainda não removido da
+ * tabela (queda entre as duas etapas) é contado uma vez só
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser
+class ArquivamentoPedidosTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private static final String INICIO = "2024-01-01";
+
+    private static final LocalDateTime LIMITE = LocalDateTime.parse("2024-05-01T00:00");
+
+    // Banco e diretório próprios: o arquivo fica no disco entre execuções e não pode misturar ids de outro banco
+    @DynamicPropertySource
+    static void arquivoIsolado(DynamicPropertyRegistry registro) throws IOException {
+        Path diretorio = Files.createTempDirectory("arquivo-pedidos");
+        registro.add("spring.datasource.url", () -> "jdbc:h2:mem:delivery-arquivo;DB_CLOSE_DELAY=-1");
+        registro.add("arquivo.pedidos.diretorio", diretorio::toString);
+        // Blocos e lotes de dois pedidos: o arquivamento passa por vários lotes e a busca por vários blocos
+        registro.add("arquivo.pedidos.lote", () -> "2");
+    }
+
+    private static boolean preparado;
+    private static List<Long> antigosFinalizados;
+    private static List<Long> naTabela;
+    private static long arquivados;
+    private static final Map<String, JsonNode> RELATORIOS_ANTES = new LinkedHashMap<>();
+    private static final Map<Long, JsonNode> DETALHES_ANTES = new LinkedHashMap<>();
+    private static final Map<String, List<JsonNode>> LISTAGENS_ANTES = new LinkedHashMap<>();
+    private static final Map<String, String> EXPORTACOES_ANTES = new LinkedHashMap<>();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ArquivamentoPedidos arquivamentoPedidos;
+
+    @Autowired
+    private ArquivoPedidos arquivoPedidos;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void preparar() throws Exception {
+        if (preparado) {
+            return;
+        }
+        // Quantidades diferentes por produto e por cliente: a ordem dos relatórios não depende de empate
+        long entregueMarco = entregue(1, 1, 1, 3, "2024-03-05T10:00");
+        long entregueMarcoOutro = entregue(2, 1, 2, 1, "2024-03-20T19:00");
+        long cancelado = criado(4, 2, 3, 2, "2024-04-02T12:00");
+        assertThat(PedidosDeTeste.cancelar(mockMvc, cancelado)).isEqualTo(200);
+        long entregueAbril = entregue(1, 2, 4, 5, "2024-04-15T13:00");
+        // Antigo mas em andamento, finalizado depois do limite do arquivamento e finalizado hoje: ficam na tabela
+        long emAndamento = criado(2, 1, 1, 1, "2024-04-20T09:00");
+        long entregueMaio = entregue(2, 2, 4, 4, "2024-05-10T18:00");
+        long entregueHoje = entregue(4, 2, 3, 6, null);
+
+        antigosFinalizados = List.of(entregueMarco, entregueMarcoOutro, cancelado, entregueAbril);
+        naTabela = List.of(emAndamento, entregueMaio, entregueHoje);
+        mockMvc.perform(post("/api/relatorios/vendas-diarias/reconstruir")).andExpect(status().isOk());
+
+        for (String url : relatorios()) {
+            RELATORIOS_ANTES.put(url, consultar(url));
+        }
+        for (long id : antigosFinalizados) {
+            DETALHES_ANTES.put(id, consultar("/api/pedidos/" + id));
+        }
+        for (String url : listagens()) {
+            LISTAGENS_ANTES.put(url, paginas(url));
+        }
+        for (String formato : List.of("csv", "ndjson")) {
+            EXPORTACOES_ANTES.put(formato, exportar(formato));
+        }
+
+        arquivados = arquivamentoPedidos.arquivar(LIMITE);
+        // Entregue em maio gravado no arquivo sem a remoção da tabela que viria em seguida
+        PedidoArquivado copia = transactionTemplate.execute(status ->
+                PedidoArquivado.de(pedidoRepository.buscarComItensPorIds(List.of(entregueMaio)).get(0)));
+        arquivoPedidos.anexar(new ArrayList<>(List.of(copia)));
+        preparado = true;
+    }
+
+    @Test
+    void arquivaSoOsFinalizadosAntesDoLimite() {
+        assertThat(arquivados).isEqualTo(antigosFinalizados.size());
+        List<Long> restantes = jdbcTemplate.queryForList("SELECT id FROM pedido", Long.class);
+        assertThat(restantes).containsAll(naTabela).doesNotContainAnyElementsOf(antigosFinalizados);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM item_pedido WHERE pedido_id IN (?, ?, ?, ?)", Long.class,
+                antigosFinalizados.toArray())).isZero();
+    }
+
+    @Test
+    void relatoriosSomamOArquivoEFicamIguaisAosDeAntes() throws Exception {
+        for (String url : relatorios()) {
+            assertThat(consultar(url)).as(url).isEqualTo(RELATORIOS_ANTES.get(url));
+        }
+        // Março só existe no arquivo agora
+        assertThat(consultar("/api/relatorios/pedidos-por-periodo?dataInicio=2024-03-01&dataFim=2024-03-31&agrupamento=mes"))
+                .singleElement()
+                .satisfies(mes -> assertThat(mes.get("totalPedidos").asLong()).isEqualTo(2));
+    }
+
+    @Test
+    void listagensPaginadasIntercalamOsArquivadosNaOrdemDoCursor() throws Exception {
+        for (String url : listagens()) {
+            assertThat(paginas(url)).as(url).isEqualTo(LISTAGENS_ANTES.get(url));
+        }
+        assertThat(paginas("/api/pedidos/cliente/1?tamanho=2"))
+                .extracting(pedido -> pedido.get("id").asLong())
+                .contains(antigosFinalizados.get(0), antigosFinalizados.get(3));
+    }
+
+    @Test
+    void exportacaoIntercalaOsArquivadosNaOrdemDeDataEId() throws Exception {
+        for (String formato : List.of("csv", "ndjson")) {
+            assertThat(exportar(formato)).as(formato).isEqualTo(EXPORTACOES_ANTES.get(formato));
+        }
+        assertThat(exportar("csv")).contains(antigosFinalizados.get(0) + ",2024-03-05T10:00,ENTREGUE,");
+    }
+
+    @Test
+    void acumuladoReconstruidoDepoisDoArquivamentoContaOsArquivados() throws Exception {
+        mockMvc.perform(post("/api/relatorios/vendas-diarias/reconstruir")).andExpect(status().isOk());
+
+        for (String url : List.of(resumoVendas(), vendasPorRestaurante())) {
+            assertThat(consultar(url)).as(url).isEqualTo(RELATORIOS_ANTES.get(url));
+        }
+    }
+
+    @Test
+    void pedidoArquivadoContinuaNaBuscaPorIdSoParaLeitura() throws Exception {
+        for (long id : antigosFinalizados) {
+            assertThat(consultar("/api/pedidos/" + id)).isEqualTo(DETALHES_ANTES.get(id));
+        }
+        assertThat(PedidosDeTeste.alterarStatus(mockMvc, antigosFinalizados.get(0), "CANCELADO")).isEqualTo(404);
+    }
+
+    private long criado(long clienteId, long restauranteId, long produtoId, int quantidade, String data) throws Exception {
+        long id = PedidosDeTeste.criarId(mockMvc, clienteId, restauranteId, produtoId, quantidade);
+        if (data != null) {
+            jdbcTemplate.update("UPDATE pedido SET data_pedido = ? WHERE id = ?", LocalDateTime.parse(data), id);
+        }
+        return id;
+    }
+
+    private long entregue(long clienteId, long restauranteId, long produtoId, int quantidade, String data) throws Exception {
+        long id = PedidosDeTeste.criarId(mockMvc, clienteId, restauranteId, produtoId, quantidade);
+        PedidosDeTeste.entregar(mockMvc, id);
+        if (data != null) {
+            jdbcTemplate.update("UPDATE pedido SET data_pedido = ? WHERE id = ?", LocalDateTime.parse(data), id);
+        }
+        return id;
+    }
+
+    private static List<String> relatorios() {
+        String periodo = "dataInicio=" + INICIO + "&dataFim=" + LocalDate.now();
+        return List.of(
+                "/api/relatorios/produtos-mais-vendidos?limite=10&" + periodo,
+                "/api/relatorios/clientes-ativos?limite=10&" + periodo,
+                "/api/relatorios/pedidos-por-periodo?" + periodo,
+                "/api/relatorios/pedidos-por-periodo?agrupamento=dia&" + periodo,
+                "/api/relatorios/pedidos-por-periodo?agrupamento=mes&" + periodo,
+                "/api/relatorios/pedidos-por-periodo?agrupamento=ano&" + periodo,
+                resumoVendas(),
+                vendasPorRestaurante());
+    }
+
+    private static String resumoVendas() {
+        return "/api/relatorios/resumo-vendas?dataInicio=" + INICIO + "&dataFim=" + LocalDate.now();
+    }
+
+    private static String vendasPorRestaurante() {
+        return "/api/relatorios/vendas-por-restaurante?dataInicio=" + INICIO + "&dataFim=" + LocalDate.now();
+    }
+
+    // Tamanho 2: as páginas cruzam a fronteira entre tabela e arquivo
+    private static List<String> listagens() {
+        return List.of(
+                "/api/pedidos/cliente/1?tamanho=2",
+                "/api/pedidos/cliente/2?tamanho=2",
+                "/api/pedidos/restaurante/1?tamanho=2",
+                "/api/pedidos/restaurante/2?tamanho=2",
+                "/api/pedidos?tamanho=2",
+                "/api/pedidos?tamanho=2&status=ENTREGUE",
+                "/api/pedidos?tamanho=2&status=CANCELADO");
+    }
+
+    // Todos os pedidos da listagem, seguindo o cursor até a última página
+    private List<JsonNode> paginas(String url) throws Exception {
+        List<JsonNode> pedidos = new ArrayList<>();
+        JsonNode pagina = consultar(url);
+        pagina.get("itens").forEach(pedidos::add);
+        while (pagina.get("temMais").asBoolean()) {
+            pagina = consultar(url + "&cursor=" + pagina.get("proximoCursor").asText());
+            pagina.get("itens").forEach(pedidos::add);
+        }
+        return pedidos;
+    }
+
+    private String exportar(String formato) throws Exception {
+        MvcResult iniciado = mockMvc.perform(get("/api/pedidos/exportar")
+                        .param("dataInicio", INICIO)
+                        .param("dataFim", LocalDate.now().toString())
+                        .param("formato", formato))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(iniciado)).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+    }
+
+    private JsonNode consultar(String url) throws Exception {
+        String corpo = mockMvc.perform(get(url)).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return JSON.readTree(corpo);
+    }
+}
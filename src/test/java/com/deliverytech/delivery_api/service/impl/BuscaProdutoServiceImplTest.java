@@ -0,0 +1,96 @@
+package com.deliverytech.delivery_api.service.impl;
+
+import com.deliverytech.delivery_api.model.Produto;
+import com.deliverytech.delivery_api.repository.ProdutoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Semântica da busca: palavra inteira, prefixo e trecho do meio da palavra, nessa ordem de relevância
+ */
+class BuscaProdutoServiceImplTest {
+
+    private final List<Produto> catalogo = List.of(
+            produto(1L, "Big Burger", "Lanches", "Pão, carne e queijo"),
+            produto(2L, "Hambúrguer Artesanal", "Lanches", "Blend da casa"),
+            produto(3L, "Sushi Salmão", "Japonesa", "8 peças"),
+            produto(4L, "Urgbur Especial", "Teste", "Trigramas fora de ordem"),
+            produto(5L, "Pizza Margherita", "Pizzas", "Molho de tomate e manjericão"));
+
+    private BuscaProdutoServiceImpl busca;
+
+    @BeforeEach
+    void preparar() {
+        Map<Long, Produto> porId = catalogo.stream().collect(Collectors.toMap(Produto::getId, Function.identity()));
+        ProdutoRepository repositorio = mock(ProdutoRepository.class);
+        when(repositorio.findByDisponivelTrue()).thenReturn(catalogo);
+        when(repositorio.findAllById(any())).thenAnswer(chamada -> ((Collection<?>) chamada.getArgument(0)).stream()
+                .map(porId::get)
+                .toList());
+
+        busca = new BuscaProdutoServiceImpl(repositorio);
+        ReflectionTestUtils.setField(busca, "limiteResultados", 50);
+        busca.reconstruir();
+    }
+
+    @Test
+    void casaNoMeioDaPalavraComoOAntigoLike() {
+        assertThat(ids("burg")).containsExactly(1L, 2L);
+        assertThat(ids("mão")).containsExactly(3L);
+        assertThat(ids("ARTESA")).containsExactly(2L);
+    }
+
+    @Test
+    void ordenaPalavraInteiraPrefixoEInfixo() {
+        // "burger": palavra inteira em 1; "burg": prefixo em 1 e trecho do meio em 2
+        assertThat(ids("burger")).containsExactly(1L);
+        assertThat(ids("hamburguer")).containsExactly(2L);
+        assertThat(ids("burg").get(0)).isEqualTo(1L);
+    }
+
+    @Test
+    void trigramasDePalavrasDiferentesOuForaDeOrdemNaoCasam() {
+        // "Urgbur" tem os trigramas "urg" e "bur", mas não contém "burg"; "bur" + "rg" também não
+        assertThat(ids("burg")).doesNotContain(4L);
+        assertThat(ids("gerbu")).isEmpty();
+    }
+
+    @Test
+    void termosCurtosCasamSoPorPrefixo() {
+        assertThat(ids("pi")).containsExactly(5L);
+        assertThat(ids("zz")).isEmpty();
+    }
+
+    @Test
+    void todosOsTermosPrecisamCasar() {
+        assertThat(ids("lanche burg")).containsExactly(1L, 2L);
+        assertThat(ids("sushi burg")).isEmpty();
+    }
+
+    @Test
+    void produtoRemovidoSaiDoIndiceDeTrigramas() {
+        busca.remover(2L);
+        assertThat(ids("burg")).containsExactly(1L);
+        assertThat(ids("artesanal")).isEmpty();
+    }
+
+    private List<Long> ids(String texto) {
+        return busca.buscar(texto).stream().map(Produto::getId).toList();
+    }
+
+    private static Produto produto(Long id, String nome, String categoria, String descricao) {
+        return Produto.builder().id(id).nome(nome).categoria(categoria).descricao(descricao).disponivel(true).build();
+    }
+}
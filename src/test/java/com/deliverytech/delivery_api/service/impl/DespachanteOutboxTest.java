@@ -0,0 +1,152 @@
+package com.deliverytech.delivery_api.service.impl;
+
+import com.deliverytech.delivery_api.model.EventoOutbox;
+import com.deliverytech.delivery_api.model.StatusEventoOutbox;
+import com.deliverytech.delivery_api.repository.EventoOutboxRepository;
+import com.deliverytech.delivery_api.service.TratadorEventoOutbox;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Reentrega com backoff exponencial até o limite de tentativas e dead-letter (FALHOU)
+ */
+class DespachanteOutboxTest {
+
+    private static final String TIPO = "TESTE";
+    private static final int TENTATIVAS_MAXIMAS = 4;
+    private static final long BACKOFF_INICIAL_MS = 1000;
+    private static final long BACKOFF_MAXIMO_MS = 3000;
+
+    private final EventoOutboxRepository repositorio = mock(EventoOutboxRepository.class);
+    private final MeterRegistry metricas = new SimpleMeterRegistry();
+    // Resultado de cada chamada ao tratador: null entrega, exceção falha
+    private final Deque<Exception> respostas = new ArrayDeque<>();
+    private EventoOutbox evento;
+    private DespachanteOutbox despachante;
+
+    @BeforeEach
+    void preparar() {
+        evento = EventoOutbox.builder()
+                .id(1L)
+                .tipo(TIPO)
+                .agregadoId(10L)
+                .payload("{\"pedidoId\":10}")
+                .status(StatusEventoOutbox.PENDENTE)
+                .proximaTentativa(LocalDateTime.now())
+                .criadoEm(LocalDateTime.now())
+                .build();
+        // O mock devolve o evento enquanto estiver pendente, sem esperar o horário da próxima tentativa
+        when(repositorio.buscarProntos(eq(StatusEventoOutbox.PENDENTE), any(), any()))
+                .thenAnswer(chamada -> evento.getStatus() == StatusEventoOutbox.PENDENTE ? List.of(evento) : List.of());
+
+        TratadorEventoOutbox tratador = new TratadorEventoOutbox() {
+            @Override
+            public Set<String> tipos() {
+                return Set.of(TIPO);
+            }
+
+            @Override
+            public void tratar(EventoOutbox e, JsonNode payload) throws Exception {
+                assertThat(payload.get("pedidoId").asLong()).isEqualTo(10L);
+                Exception falha = respostas.poll();
+                if (falha != null) {
+                    throw falha;
+                }
+            }
+        };
+        despachante = new DespachanteOutbox(repositorio, new ObjectMapper(), mock(PlatformTransactionManager.class),
+                List.of(tratador), metricas);
+        ReflectionTestUtils.setField(despachante, "tamanhoLote", 100);
+        ReflectionTestUtils.setField(despachante, "tentativasMaximas", TENTATIVAS_MAXIMAS);
+        ReflectionTestUtils.setField(despachante, "backoffInicialMs", BACKOFF_INICIAL_MS);
+        ReflectionTestUtils.setField(despachante, "backoffMaximoMs", BACKOFF_MAXIMO_MS);
+    }
+
+    @Test
+    void reagendaComBackoffExponencialAteFalhou() {
+        for (int i = 0; i < TENTATIVAS_MAXIMAS + 2; i++) {
+            respostas.add(new IllegalStateException("gateway fora do ar " + (i + 1)));
+        }
+
+        // 1 s, 2 s e então o teto de 3 s, cada um com jitter de ±20%
+        long[] esperasBase = {1000, 2000, 3000};
+        for (int tentativa = 1; tentativa < TENTATIVAS_MAXIMAS; tentativa++) {
+            LocalDateTime antes = LocalDateTime.now();
+            ciclo();
+            assertThat(evento.getStatus()).isEqualTo(StatusEventoOutbox.PENDENTE);
+            assertThat(evento.getTentativas()).isEqualTo(tentativa);
+            assertThat(evento.getUltimoErro()).isEqualTo("IllegalStateException: gateway fora do ar " + tentativa);
+            long esperaMs = Duration.between(antes, evento.getProximaTentativa()).toMillis();
+            long base = esperasBase[tentativa - 1];
+            assertThat(esperaMs).isBetween((long) (base * 0.8) - 50, (long) (base * 1.2) + 50);
+        }
+
+        ciclo();
+        assertThat(evento.getStatus()).isEqualTo(StatusEventoOutbox.FALHOU);
+        assertThat(evento.getTentativas()).isEqualTo(TENTATIVAS_MAXIMAS);
+        assertThat(evento.getProcessadoEm()).isNull();
+
+        // Em dead-letter não é mais buscado nem entregue
+        ciclo();
+        assertThat(evento.getTentativas()).isEqualTo(TENTATIVAS_MAXIMAS);
+        assertThat(respostas).hasSize(2);
+
+        verify(repositorio, times(TENTATIVAS_MAXIMAS)).save(evento);
+        assertThat(metricas.counter("outbox.eventos.reagendados").count()).isEqualTo(TENTATIVAS_MAXIMAS - 1);
+        assertThat(metricas.counter("outbox.eventos.dead-letter").count()).isEqualTo(1);
+        assertThat(metricas.counter("outbox.eventos.entregues").count()).isZero();
+    }
+
+    @Test
+    void entregaDepoisDeFalhasLimpaOErro() {
+        respostas.add(new IllegalStateException("timeout"));
+        respostas.add(new IllegalStateException("timeout"));
+
+        ciclo();
+        ciclo();
+        assertThat(evento.getTentativas()).isEqualTo(2);
+        ciclo();
+
+        assertThat(evento.getStatus()).isEqualTo(StatusEventoOutbox.PROCESSADO);
+        assertThat(evento.getProcessadoEm()).isNotNull();
+        assertThat(evento.getUltimoErro()).isNull();
+        assertThat(metricas.counter("outbox.eventos.entregues").count()).isEqualTo(1);
+        assertThat(metricas.counter("outbox.eventos.dead-letter").count()).isZero();
+    }
+
+    @Test
+    void payloadInvalidoContaComoFalha() {
+        evento.setPayload("{nao e json");
+        ReflectionTestUtils.setField(despachante, "tentativasMaximas", 1);
+
+        ciclo();
+
+        assertThat(evento.getStatus()).isEqualTo(StatusEventoOutbox.FALHOU);
+        assertThat(evento.getUltimoErro()).startsWith("JsonParseException");
+    }
+
+    private void ciclo() {
+        ReflectionTestUtils.invokeMethod(despachante, "executarCiclo");
+    }
+}
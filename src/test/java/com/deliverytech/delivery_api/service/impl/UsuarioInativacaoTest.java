@@ -0,0 +1,87 @@
+package com.deliverytech.delivery_api.service.impl;
+
+import com.deliverytech.delivery_api.AutenticacaoDeTeste;
+import com.deliverytech.delivery_api.config.CacheConfig;
+import com.deliverytech.delivery_api.model.Usuario;
+import com.deliverytech.delivery_api.repository.UsuarioRepository;
+import com.deliverytech.delivery_api.security.JwtAuthenticationFilter;
+import com.deliverytech.delivery_api.service.UsuarioService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Inativação com token ainda válido: a próxima requisição com o mesmo token é recusada,
+ * consultando o usuário (padrão) ou só as claims do token (jwt.autorizacao-por-claims=true)
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class UsuarioInativacaoTest {
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+    @Test
+    void inativacaoRemoveOUsuarioDoCacheERecusaOTokenEmitido() throws Exception {
+        String email = "inativado@email.com";
+        String token = AutenticacaoDeTeste.token(rest, email);
+        Cache autenticados = cacheManager.getCache(CacheConfig.USUARIOS_AUTENTICADOS);
+
+        assertThat(status(token)).isEqualTo(200);
+        assertThat(autenticados.get(email)).isNotNull();
+
+        usuarioService.inativarUsuario(id(email));
+
+        assertThat(autenticados.get(email)).isNull();
+        assertThat(status(token)).isIn(401, 403);
+    }
+
+    @Test
+    void inativacaoRecusaOTokenEmitidoTambemComAutorizacaoPorClaims() throws Exception {
+        String email = "inativado-claims@email.com";
+        String token = AutenticacaoDeTeste.token(rest, email);
+        ReflectionTestUtils.setField(jwtAuthenticationFilter, "autorizacaoPorClaims", true);
+        try {
+            assertThat(status(token)).isEqualTo(200);
+
+            usuarioService.inativarUsuario(id(email));
+
+            assertThat(status(token)).isIn(401, 403);
+        } finally {
+            ReflectionTestUtils.setField(jwtAuthenticationFilter, "autorizacaoPorClaims", false);
+        }
+    }
+
+    private int status(String token) {
+        HttpHeaders cabecalhos = new HttpHeaders();
+        cabecalhos.setBearerAuth(token);
+        return rest.exchange("/api/restaurantes/1", HttpMethod.GET, new HttpEntity<>(cabecalhos), String.class)
+                .getStatusCode().value();
+    }
+
+    private Long id(String email) {
+        return ((Usuario) usuarioRepository.findByEmail(email)).getId();
+    }
+}
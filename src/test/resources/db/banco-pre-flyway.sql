@@ -0,0 +1,122 @@
+-- Banco H2 criado pela versão anterior às migrações (ddl-auto=update, ids IDENTITY), como o volume
+-- /app/data do docker-compose: esquema extraído do arquivo gerado por ela (SCRIPT do H2), com a carga
+-- do DataLoader daquela versão e dois pedidos. Sem flyway_schema_history.
+
+CREATE TABLE cliente (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY (START WITH 1 RESTART WITH 6) NOT NULL,
+    ativo BOOLEAN,
+    data_criacao TIMESTAMP(6),
+    email CHARACTER VARYING(255),
+    endereco CHARACTER VARYING(255),
+    nome CHARACTER VARYING(255),
+    telefone CHARACTER VARYING(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE item_pedido (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY (START WITH 1 RESTART WITH 4) NOT NULL,
+    preco_unitario NUMERIC(10, 2) NOT NULL,
+    quantidade INTEGER NOT NULL,
+    subtotal NUMERIC(10, 2) NOT NULL,
+    pedido_id BIGINT NOT NULL,
+    produto_id BIGINT NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE pedido (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY (START WITH 1 RESTART WITH 3) NOT NULL,
+    data_pedido TIMESTAMP(6),
+    bairro CHARACTER VARYING(255),
+    cep CHARACTER VARYING(255),
+    cidade CHARACTER VARYING(255),
+    complemento CHARACTER VARYING(255),
+    estado CHARACTER VARYING(255),
+    numero CHARACTER VARYING(255),
+    logradouro CHARACTER VARYING(255),
+    numero_pedido CHARACTER VARYING(255),
+    observacoes CHARACTER VARYING(255),
+    status_pedido ENUM ('CANCELADO', 'CONFIRMADO', 'CRIADO', 'ENTREGUE', 'PENDENTE', 'PREPARANDO', 'SAIU_PARA_ENTREGA'),
+    subtotal NUMERIC(38, 2),
+    valor_total NUMERIC(38, 2),
+    cliente_id BIGINT,
+    restaurante_id BIGINT,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE produto (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY (START WITH 1 RESTART WITH 11) NOT NULL,
+    categoria CHARACTER VARYING(255),
+    descricao CHARACTER VARYING(255),
+    disponivel BOOLEAN,
+    nome CHARACTER VARYING(255),
+    preco NUMERIC(38, 2),
+    restaurante_id BIGINT,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE restaurante (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY (START WITH 1 RESTART WITH 6) NOT NULL,
+    ativo BOOLEAN,
+    avaliacao NUMERIC(38, 2),
+    categoria CHARACTER VARYING(255),
+    nome CHARACTER VARYING(255),
+    taxa_entrega NUMERIC(38, 2),
+    telefone CHARACTER VARYING(255),
+    tempo_entrega_minutos INTEGER,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE usuarios (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY (START WITH 1) NOT NULL,
+    ativo BOOLEAN NOT NULL,
+    data_criacao TIMESTAMP(6),
+    email CHARACTER VARYING(255) NOT NULL,
+    nome CHARACTER VARYING(255) NOT NULL,
+    restaurante_id BIGINT,
+    role ENUM ('ADMIN', 'CLIENT', 'ENTREGADOR', 'RESTAURANTE', 'USER') NOT NULL,
+    senha CHARACTER VARYING(255) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+ALTER TABLE cliente ADD CONSTRAINT UKcmxo70m08n43599l3h0h07cc6 UNIQUE (email);
+ALTER TABLE usuarios ADD CONSTRAINT UKkfsp0s1tflm1cwlj8idhqsad0 UNIQUE (email);
+ALTER TABLE item_pedido ADD CONSTRAINT FKtk55mn6d6bvl5h0no5uagi3sf FOREIGN KEY (produto_id) REFERENCES produto (id);
+ALTER TABLE pedido ADD CONSTRAINT FK30s8j2ktpay6of18lbyqn3632 FOREIGN KEY (cliente_id) REFERENCES cliente (id);
+ALTER TABLE item_pedido ADD CONSTRAINT FK60ym08cfoysa17wrn1swyiuda FOREIGN KEY (pedido_id) REFERENCES pedido (id);
+ALTER TABLE pedido ADD CONSTRAINT FK3eud5cqmgsnltyk704hu3qj71 FOREIGN KEY (restaurante_id) REFERENCES restaurante (id);
+ALTER TABLE produto ADD CONSTRAINT FKb9jhjyghjcn25guim7q4pt8qx FOREIGN KEY (restaurante_id) REFERENCES restaurante (id);
+
+INSERT INTO cliente (id, ativo, data_criacao, email, endereco, nome, telefone) VALUES
+    (1, TRUE, TIMESTAMP '2025-06-01 10:00:00', 'joao@email.com', 'Rua das Flores, 123 - Vila Madalena, São Paulo - SP', 'João Silva', '11987654321'),
+    (2, TRUE, TIMESTAMP '2025-06-01 10:00:00', 'maria@email.com', 'Av. Paulista, 456 - Bela Vista, São Paulo - SP', 'Maria Santos', '11876543210'),
+    (3, FALSE, TIMESTAMP '2025-06-01 10:00:00', 'pedro@email.com', 'Rua Augusta, 789 - Consolação, São Paulo - SP', 'Pedro Oliveira', '11765432109'),
+    (4, TRUE, TIMESTAMP '2025-06-01 10:00:00', 'ana@email.com', 'Rua Oscar Freire, 321 - Jardins, São Paulo - SP', 'Ana Costa', '11654321098'),
+    (5, TRUE, TIMESTAMP '2025-06-01 10:00:00', 'carlos@email.com', 'Rua 25 de Março, 654 - Centro, São Paulo - SP', 'Carlos Ferreira', '11543210987');
+
+INSERT INTO restaurante (id, ativo, avaliacao, categoria, nome, taxa_entrega, telefone, tempo_entrega_minutos) VALUES
+    (1, TRUE, NULL, 'Italiana', 'Pizza Express', 3.50, '1133333333', NULL),
+    (2, TRUE, NULL, 'Fast Food', 'Burger King', 5.00, '1144444444', NULL),
+    (3, TRUE, NULL, 'Japonesa', 'Sushi House', 4.00, '1155555555', NULL),
+    (4, TRUE, NULL, 'Grega', 'Gyros Athenas', 6.50, '1166666666', NULL),
+    (5, TRUE, NULL, 'Frutos do Mar', 'Chiparia do Porto', 7.00, '1177777777', NULL);
+
+INSERT INTO produto (id, categoria, descricao, disponivel, nome, preco, restaurante_id) VALUES
+    (1, 'Pizza', 'Pizza clássica com molho de tomate, mussarela e manjericão', TRUE, 'Pizza Margherita', 25.90, 1),
+    (2, 'Pizza', 'Pizza com molho de tomate, mussarela e pepperoni', TRUE, 'Pizza Pepperoni', 29.90, 1),
+    (3, 'Hambúrguer', 'Hambúrguer duplo com queijo, alface, tomate e molho especial', TRUE, 'Big Burger', 18.50, 2),
+    (4, 'Acompanhamento', 'Porção grande de batatas fritas crocantes', TRUE, 'Batata Frita Grande', 8.90, 2),
+    (5, 'Sushi', '8 peças de sushi de salmão fresco', TRUE, 'Sushi Salmão', 32.00, 3),
+    (6, 'Sushi', '8 peças de hot roll empanado com salmão', TRUE, 'Hot Roll', 28.50, 3),
+    (7, 'Espeto', 'Espeto de cordeiro grelhado com molho tzatziki, tomate e cebola roxa', TRUE, 'Gyros de Cordeiro', 35.90, 4),
+    (8, 'Espeto', 'Espetinho de frango marinado com ervas gregas e batata frita', TRUE, 'Souvlaki de Frango', 28.50, 4),
+    (9, 'Peixe', 'Filé de bacalhau empanado com batatas fritas e molho tártaro', TRUE, 'Fish & Chips Tradicional', 42.90, 5),
+    (10, 'Frutos do Mar', '500g de camarão empanado com molho agridoce', TRUE, 'Porção de Camarão Empanado', 52.00, 5);
+
+INSERT INTO pedido (id, data_pedido, cep, logradouro, numero, numero_pedido, status_pedido, subtotal, valor_total, cliente_id, restaurante_id) VALUES
+    (1, TIMESTAMP '2025-06-02 12:00:00', '01001000', 'Rua Teste', '1', 'PED-1', 'ENTREGUE', 85.70, 89.20, 1, 1),
+    (2, TIMESTAMP '2025-06-03 19:30:00', '01001000', 'Rua Teste', '1', 'PED-2', 'CRIADO', 18.50, 23.50, 2, 2);
+
+INSERT INTO item_pedido (id, preco_unitario, quantidade, subtotal, pedido_id, produto_id) VALUES
+    (1, 25.90, 1, 25.90, 1, 1),
+    (2, 29.90, 2, 59.80, 1, 2),
+    (3, 18.50, 1, 18.50, 2, 3);